@@ -13,6 +13,7 @@ package alluxio.client;
 
 import alluxio.Configuration;
 import alluxio.Constants;
+import alluxio.client.block.DirectBufferPool;
 import alluxio.util.ThreadFactoryUtils;
 import alluxio.worker.ClientMetrics;
 
@@ -32,9 +33,13 @@ import javax.annotation.concurrent.ThreadSafe;
 public final class ClientContext {
   private static ExecutorService sBlockClientExecutorService;
   private static ExecutorService sFileClientExecutorService;
+  private static ExecutorService sReadAheadExecutorService;
+  private static ExecutorService sVectoredReadExecutorService;
+  private static ExecutorService sWritePipelineExecutorService;
   private static Configuration sConf;
   private static InetSocketAddress sMasterAddress;
   private static ClientMetrics sClientMetrics;
+  private static DirectBufferPool sBufferPool;
 
   static {
     reset();
@@ -71,6 +76,21 @@ public final class ClientContext {
     sFileClientExecutorService =
         Executors.newFixedThreadPool(sConf.getInt(Constants.USER_FILE_WORKER_CLIENT_THREADS),
             ThreadFactoryUtils.build("file-worker-heartbeat-%d", true));
+    sReadAheadExecutorService =
+        Executors.newFixedThreadPool(sConf.getInt(Constants.USER_FILE_READ_AHEAD_THREADS),
+            ThreadFactoryUtils.build("read-ahead-%d", true));
+    sVectoredReadExecutorService =
+        Executors.newFixedThreadPool(sConf.getInt(Constants.USER_FILE_VECTORED_READ_THREADS),
+            ThreadFactoryUtils.build("vectored-read-%d", true));
+    // Background writers live as long as their streams or blocks, so the pool must not bound their
+    // number.
+    sWritePipelineExecutorService =
+        Executors.newCachedThreadPool(ThreadFactoryUtils.build("write-pipeline-%d", true));
+
+    if (sBufferPool != null) {
+      sBufferPool.close();
+    }
+    sBufferPool = new DirectBufferPool(sConf.getBytes(Constants.USER_BLOCK_BUFFER_POOL_MAX_BYTES));
   }
 
   /**
@@ -108,5 +128,33 @@ public final class ClientContext {
     return sFileClientExecutorService;
   }
 
+  /**
+   * @return the executor service which fetches data ahead of sequential readers
+   */
+  public static ExecutorService getReadAheadExecutorService() {
+    return sReadAheadExecutorService;
+  }
+
+  /**
+   * @return the executor service which fetches the ranges of vectored reads
+   */
+  public static ExecutorService getVectoredReadExecutorService() {
+    return sVectoredReadExecutorService;
+  }
+
+  /**
+   * @return the executor service which runs the background writers of file out streams
+   */
+  public static ExecutorService getWritePipelineExecutorService() {
+    return sWritePipelineExecutorService;
+  }
+
+  /**
+   * @return the pool of buffers shared by the block streams of this client
+   */
+  public static DirectBufferPool getBufferPool() {
+    return sBufferPool;
+  }
+
   private ClientContext() {} // prevent instantiation
 }
@@ -20,6 +20,7 @@ import com.google.common.base.Throwables;
 import java.io.Closeable;
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
 /**
  * The interface to write a remote block to the data server.
@@ -60,12 +61,11 @@ public interface RemoteBlockWriter extends Closeable {
   void open(InetSocketAddress address, long blockId, long sessionId) throws IOException;
 
   /**
-   * Writes data to the remote block.
+   * Writes the remaining bytes of a buffer to the remote block. The buffer may be direct, and its
+   * position is advanced to its limit once the data has been written.
    *
-   * @param bytes an array of bytes representing the source data
-   * @param offset the offset into the source array of bytes
-   * @param length the length of the data to write (in bytes)
+   * @param data the source data, from its position to its limit
    * @throws IOException when the operation fails
    */
-  void write(byte[] bytes, int offset, int length) throws IOException;
+  void write(ByteBuffer data) throws IOException;
 }
@@ -103,6 +103,20 @@ public final class AlluxioBlockStore {
    * @throws IOException if the block does not exist
    */
   public BufferedBlockInStream getInStream(long blockId) throws IOException {
+    return getInStream(blockId, 0);
+  }
+
+  /**
+   * Gets a stream to read the data of a block. The stream is backed by Alluxio storage. If the
+   * block is read from a remote worker, the stream fetches data ahead of sequential reads.
+   *
+   * @param blockId the block to read from
+   * @param readAheadChunks the maximum number of buffer-sized chunks a remote stream fetches ahead
+   *        of sequential reads, or 0 to disable read-ahead
+   * @return a {@link BlockInStream} which can be used to read the data in a streaming fashion
+   * @throws IOException if the block does not exist
+   */
+  public BufferedBlockInStream getInStream(long blockId, int readAheadChunks) throws IOException {
     BlockInfo blockInfo;
     try (CloseableResource<BlockMasterClient> masterClientResource =
         mContext.acquireMasterClientResource()) {
@@ -137,7 +151,8 @@ public final class AlluxioBlockStore {
     }
     // No local worker/block, get the first location since it's nearest to memory tier.
     WorkerNetAddress workerNetAddress = blockInfo.getLocations().get(0).getWorkerAddress();
-    return new RemoteBlockInStream(blockId, blockInfo.getLength(), workerNetAddress);
+    return new RemoteBlockInStream(blockId, blockInfo.getLength(), workerNetAddress,
+        readAheadChunks);
   }
 
   /**
@@ -13,8 +13,13 @@ package alluxio.client.block;
 
 import alluxio.client.BoundedStream;
 import alluxio.client.Seekable;
+import alluxio.exception.PreconditionMessage;
 
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -26,5 +31,60 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 // TODO(calvin): Resolve the confusion between Alluxio BufferedBlockInStream and BlockInStream.
 public abstract class BlockInStream extends InputStream implements BoundedStream, Seekable {
+  /** The maximum size of the array used to copy data into a buffer without a backing array. */
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Reads data into a byte buffer, starting at the position of the buffer, and moves the position
+   * of the buffer past the data read. Streams which can write their data straight into the buffer
+   * override this; by default the data is copied through an array.
+   *
+   * @param buf the buffer to read into
+   * @return the number of bytes read, or -1 if the end of the block has been reached
+   * @throws IOException if the data cannot be read
+   */
+  public int read(ByteBuffer buf) throws IOException {
+    Preconditions.checkArgument(buf != null, PreconditionMessage.ERR_READ_BUFFER_NULL);
+    if (buf.hasArray()) {
+      int bytesRead = read(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+      if (bytesRead > 0) {
+        buf.position(buf.position() + bytesRead);
+      }
+      return bytesRead;
+    }
+    byte[] b = new byte[Math.min(buf.remaining(), COPY_BUFFER_SIZE)];
+    int bytesRead = read(b, 0, b.length);
+    if (bytesRead > 0) {
+      buf.put(b, 0, bytesRead);
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Reads up to the given number of bytes without copying them, by lending a read-only buffer over
+   * the storage of the block, and moves the stream past the data lent. The buffer stays valid after
+   * the stream is closed, until it is given back to this stream with
+   * {@link #releaseZeroCopyBuffer(ByteBuffer)}. By default a stream cannot lend its data.
+   *
+   * @param maxLength the maximum number of bytes to lend
+   * @return a read-only buffer holding the data, or null if the stream cannot lend its data or has
+   *         no data left
+   * @throws IOException if the data cannot be read
+   */
+  public ByteBuffer readZeroCopy(int maxLength) throws IOException {
+    return null;
+  }
 
+  /**
+   * Gives back a buffer lent by {@link #readZeroCopy(int)} of this stream, which may be closed.
+   * The buffer must not be used afterwards.
+   *
+   * @param buf the buffer to give back
+   * @throws IllegalArgumentException if the buffer was not lent by this stream or was already given
+   *         back
+   */
+  public void releaseZeroCopyBuffer(ByteBuffer buf) {
+    throw new IllegalArgumentException(
+        PreconditionMessage.ERR_ZERO_COPY_BUFFER_NOT_LENT.toString());
+  }
 }
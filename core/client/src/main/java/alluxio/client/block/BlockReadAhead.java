@@ -0,0 +1,331 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block;
+
+import alluxio.Constants;
+import alluxio.client.ClientContext;
+import alluxio.worker.ClientMetrics;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Fetches the data of a block ahead of a sequential reader on a background executor.
+ *
+ * Every read is checked against the end of the previous read. While reads are sequential, the
+ * number of chunks fetched ahead of the reader starts at one and doubles with every read up to a
+ * maximum, and reads are served from the fetched chunks where possible. A read which jumps
+ * backwards or skips ahead resets the window and discards the fetched chunks, as does a seek away
+ * from the fetched range. Chunk buffers are reused, so the memory used by a stream is bounded by
+ * the maximum window. Closing waits for the fetches which are already running, so the block source
+ * is no longer used once {@link #close()} returns.
+ */
+@NotThreadSafe
+final class BlockReadAhead implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+
+  /**
+   * Reads a range of a block from its source. Implementations must be safe to call from the
+   * read-ahead threads concurrently with the reader.
+   */
+  interface ChunkReader {
+    /**
+     * Reads a range of the block into a buffer, filling it from its position to its limit.
+     *
+     * @param pos the block offset to read from
+     * @param dst the buffer to read into, whose remaining bytes never extend past the end of the
+     *        block
+     * @throws IOException if the read fails
+     */
+    void read(long pos, ByteBuffer dst) throws IOException;
+  }
+
+  private final ChunkReader mReader;
+  private final long mBlockSize;
+  private final int mChunkSize;
+  private final int mMaxChunks;
+  private final ClientMetrics mMetrics;
+  /** The chunks fetched or being fetched, contiguous and in order of block offset. */
+  private final Deque<Chunk> mChunks = new ArrayDeque<>();
+  /** Chunk buffers which are no longer in use. */
+  private final Deque<byte[]> mFreeBuffers = new ArrayDeque<>();
+  /** Discarded chunks whose fetch may still be running, and so still use the block source. */
+  private final Deque<Chunk> mDiscardedChunks = new ArrayDeque<>();
+
+  /** The number of chunks to keep ahead of the reader. */
+  private int mWindow;
+  /** The block offset of the last read. */
+  private long mLastReadPos;
+  /** The block offset just past the last read, where the next sequential read is expected. */
+  private long mNextReadPos;
+
+  /**
+   * @param reader the source of the block data
+   * @param blockSize the size of the block in bytes
+   * @param chunkSize the size of each chunk fetched ahead in bytes
+   * @param maxChunks the maximum number of chunks to fetch ahead of the reader
+   * @param metrics the metrics to record read-ahead effectiveness in
+   */
+  BlockReadAhead(ChunkReader reader, long blockSize, int chunkSize, int maxChunks,
+      ClientMetrics metrics) {
+    Preconditions.checkArgument(chunkSize > 0 && maxChunks > 0);
+    mReader = reader;
+    mBlockSize = blockSize;
+    mChunkSize = chunkSize;
+    mMaxChunks = maxChunks;
+    mMetrics = metrics;
+  }
+
+  /**
+   * Reads a range of the block, using fetched chunks where they cover it and reading the rest
+   * synchronously, then fetches further chunks if the read was sequential.
+   *
+   * @param pos the block offset to read from
+   * @param dst the buffer to fill from its position to its limit, which must not extend past the
+   *        end of the block
+   * @throws IOException if reading the part not covered by fetched chunks fails
+   */
+  void read(long pos, ByteBuffer dst) throws IOException {
+    int len = dst.remaining();
+    // A read which skips ahead into the fetched chunks, e.g. after a short seek, still counts as
+    // sequential.
+    boolean sequential = pos >= mLastReadPos
+        && (pos <= mNextReadPos || (!mChunks.isEmpty() && pos < mChunks.peekLast().end()));
+    if (sequential) {
+      mWindow = Math.min(Math.max(1, mWindow * 2), mMaxChunks);
+    } else {
+      discardChunks();
+      mWindow = 0;
+    }
+
+    int bytesRead = 0;
+    while (bytesRead < len) {
+      long current = pos + bytesRead;
+      Chunk head = mChunks.peekFirst();
+      if (head != null && head.end() <= current) {
+        discard(mChunks.removeFirst());
+        continue;
+      }
+      if (head != null && head.mPos <= current) {
+        int copied = head.copy(current, dst);
+        if (copied < 0) {
+          // The fetch failed, so fall back to reading the range synchronously.
+          discard(mChunks.removeFirst());
+          continue;
+        }
+        bytesRead += copied;
+        mMetrics.incBytesReadAheadHit(copied);
+        if (current + copied == head.end()) {
+          discard(mChunks.removeFirst());
+        }
+        continue;
+      }
+      int toRead = len - bytesRead;
+      if (head != null) {
+        toRead = (int) Math.min(toRead, head.mPos - current);
+      }
+      int limit = dst.limit();
+      dst.limit(dst.position() + toRead);
+      try {
+        mReader.read(current, dst);
+      } finally {
+        dst.limit(limit);
+      }
+      bytesRead += toRead;
+    }
+    mLastReadPos = pos;
+    mNextReadPos = pos + len;
+
+    if (sequential) {
+      fetchAhead();
+    }
+  }
+
+  /**
+   * Starts fetching the first chunks of the block before anything has been read from it.
+   */
+  void prefetch() {
+    if (mChunks.isEmpty() && mNextReadPos == 0) {
+      mWindow = Math.max(1, mWindow);
+      fetchAhead();
+    }
+  }
+
+  /**
+   * Discards the fetched chunks if the reader moves outside the range they cover.
+   *
+   * @param pos the block offset the reader has moved to
+   */
+  void seek(long pos) {
+    Chunk head = mChunks.peekFirst();
+    if (head != null && (pos < head.mPos || pos >= mChunks.peekLast().end())) {
+      discardChunks();
+      mWindow = 0;
+    }
+  }
+
+  /**
+   * Discards the fetched chunks and waits for the fetches which are still running to finish,
+   * ignoring their results, so that the block source can be released afterwards.
+   */
+  @Override
+  public void close() {
+    discardChunks();
+    boolean interrupted = false;
+    while (!mDiscardedChunks.isEmpty()) {
+      try {
+        mDiscardedChunks.peekFirst().mFetched.await();
+        mDiscardedChunks.removeFirst();
+      } catch (InterruptedException e) {
+        // The source must not be released under a running fetch, so keep waiting.
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    mFreeBuffers.clear();
+  }
+
+  /**
+   * Submits fetches for the chunks following the last read until the window is full or the end of
+   * the block is reached.
+   */
+  private void fetchAhead() {
+    reuseFinishedBuffers();
+    long next = mChunks.isEmpty() ? mNextReadPos : Math.max(mChunks.peekLast().end(), mNextReadPos);
+    while (mChunks.size() < mWindow && next < mBlockSize) {
+      int length = (int) Math.min(mChunkSize, mBlockSize - next);
+      byte[] buffer = mFreeBuffers.isEmpty() ? new byte[mChunkSize] : mFreeBuffers.removeFirst();
+      mChunks.addLast(new Chunk(next, length, buffer));
+      mMetrics.incBytesReadAhead(length);
+      next += length;
+    }
+  }
+
+  private void discardChunks() {
+    while (!mChunks.isEmpty()) {
+      discard(mChunks.removeFirst());
+    }
+  }
+
+  /**
+   * Releases a chunk which has been removed from {@link #mChunks}, recording the bytes of it which
+   * were never read and reusing its buffer if no fetch can still write to it.
+   *
+   * @param chunk the chunk to release
+   */
+  private void discard(Chunk chunk) {
+    mMetrics.incBytesReadAheadWasted(chunk.mLength - chunk.mBytesRead);
+    chunk.mFuture.cancel(false);
+    // A fetch which was running when cancelled may still write to the buffer, so the buffer is
+    // only reused if the fetch will never run or has finished.
+    if (chunk.mClaimed.compareAndSet(false, true) || chunk.mFetched.getCount() == 0) {
+      mFreeBuffers.addLast(chunk.mBuffer);
+    } else {
+      mDiscardedChunks.addLast(chunk);
+    }
+  }
+
+  /**
+   * Reuses the buffers of the discarded chunks whose fetch has finished since.
+   */
+  private void reuseFinishedBuffers() {
+    Iterator<Chunk> iterator = mDiscardedChunks.iterator();
+    while (iterator.hasNext()) {
+      Chunk chunk = iterator.next();
+      if (chunk.mFetched.getCount() == 0) {
+        iterator.remove();
+        mFreeBuffers.addLast(chunk.mBuffer);
+      }
+    }
+  }
+
+  /**
+   * A range of the block which is being fetched into a buffer.
+   */
+  private final class Chunk implements Callable<Void> {
+    private final long mPos;
+    private final int mLength;
+    private final byte[] mBuffer;
+    private final Future<Void> mFuture;
+    /** Set by whichever of the fetch and {@link #discard} gets to the chunk first. */
+    private final AtomicBoolean mClaimed = new AtomicBoolean(false);
+    /** Counted down once a fetch which claimed the chunk has finished, successfully or not. */
+    private final CountDownLatch mFetched = new CountDownLatch(1);
+    /** The number of bytes of this chunk which have been read. */
+    private int mBytesRead;
+
+    Chunk(long pos, int length, byte[] buffer) {
+      mPos = pos;
+      mLength = length;
+      mBuffer = buffer;
+      mFuture = ClientContext.getReadAheadExecutorService().submit(this);
+    }
+
+    @Override
+    public Void call() throws IOException {
+      if (mClaimed.compareAndSet(false, true)) {
+        try {
+          mReader.read(mPos, ByteBuffer.wrap(mBuffer, 0, mLength));
+        } finally {
+          mFetched.countDown();
+        }
+      }
+      return null;
+    }
+
+    long end() {
+      return mPos + mLength;
+    }
+
+    /**
+     * Waits for the chunk to be fetched, then copies from it.
+     *
+     * @param pos the block offset to copy from, within this chunk
+     * @param dst the buffer to copy into, up to its limit
+     * @return the number of bytes copied, or -1 if the fetch failed
+     */
+    int copy(long pos, ByteBuffer dst) {
+      try {
+        mFuture.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return -1;
+      } catch (ExecutionException e) {
+        LOG.warn("Failed to read ahead {} bytes at offset {}: {}", mLength, mPos,
+            e.getCause().getMessage());
+        return -1;
+      }
+      int offset = (int) (pos - mPos);
+      int length = Math.min(dst.remaining(), mLength - offset);
+      dst.put(mBuffer, offset, length);
+      mBytesRead += length;
+      return length;
+    }
+  }
+}
@@ -15,12 +15,14 @@ import alluxio.Constants;
 import alluxio.client.ClientContext;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.PreconditionMessage;
+import alluxio.heartbeat.HeartbeatContext;
+import alluxio.heartbeat.HeartbeatExecutor;
+import alluxio.heartbeat.HeartbeatThread;
 import alluxio.resource.CloseableResource;
-import alluxio.util.IdUtils;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.network.NetworkAddressUtils;
 import alluxio.wire.WorkerInfo;
 import alluxio.wire.WorkerNetAddress;
-import alluxio.worker.ClientMetrics;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
@@ -33,13 +35,17 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * A shared context in each client JVM for common block master client functionality such as a pool
- * of master clients and a pool of local worker clients. Any remote clients will be created and
- * destroyed on a per use basis.
+ * of master clients and pools of worker clients. There is one pool of worker clients for every
+ * worker, local or remote. Remote worker clients which stay idle for longer than
+ * {@link Constants#USER_BLOCK_WORKER_CLIENT_IDLE_TIMEOUT_MS} are closed by a background thread.
  * <p/>
  * NOTE: The context maintains a pool of block master clients and a pool of block worker clients
  * that are already thread-safe. Synchronizing {@link BlockStoreContext} methods could lead to
@@ -65,6 +71,18 @@ public enum BlockStoreContext {
 
   private boolean mLocalBlockWorkerClientPoolInitialized = false;
 
+  /**
+   * A map from the address of a remote worker to its client pool. Pools are created on first use,
+   * and idle clients are closed by {@link #mRemoteClientGc}.
+   */
+  private final ConcurrentHashMap<WorkerNetAddress, BlockWorkerClientPool>
+      mRemoteBlockWorkerClientPoolMap = new ConcurrentHashMap<>();
+
+  /** Runs the thread which closes idle remote worker clients. */
+  private final ExecutorService mRemoteClientGcExecutor = Executors.newSingleThreadExecutor(
+      ThreadFactoryUtils.build("remote-worker-client-gc-%d", true));
+  private Future<?> mRemoteClientGc;
+
   /**
    * Creates a new block store context.
    */
@@ -184,7 +202,8 @@ public enum BlockStoreContext {
    * be created with a connection to the hostname.
    *
    * @param address the address of the worker
-   * @return a worker client with a connection to the specified hostname
+   * @return a worker client with a connection to the specified hostname, from the pool of clients
+   *         to the worker
    */
   private BlockWorkerClient acquireRemoteWorkerClient(WorkerNetAddress address) {
     // If we couldn't find a worker, crash.
@@ -195,14 +214,19 @@ public enum BlockStoreContext {
     Preconditions.checkArgument(
         !address.getHost().equals(NetworkAddressUtils.getLocalHostName(ClientContext.getConf())),
         PreconditionMessage.REMOTE_CLIENT_BUT_LOCAL_HOSTNAME);
-    long clientId = IdUtils.getRandomNonNegativeLong();
-    return new BlockWorkerClient(address, ClientContext.getBlockClientExecutorService(),
-        ClientContext.getConf(), clientId, false, new ClientMetrics());
+    BlockWorkerClientPool pool = mRemoteBlockWorkerClientPoolMap.get(address);
+    if (pool == null) {
+      BlockWorkerClientPool newPool = new BlockWorkerClientPool(address, false);
+      pool = mRemoteBlockWorkerClientPoolMap.putIfAbsent(address, newPool);
+      if (pool == null) {
+        pool = newPool;
+      }
+    }
+    return pool.acquire();
   }
 
   /**
-   * Releases the {@link BlockWorkerClient} back to the client pool, or destroys it if it was a
-   * remote client.
+   * Releases the {@link BlockWorkerClient} back to the client pool of its worker.
    *
    * @param blockWorkerClient the worker client to release, the client should not be accessed after
    *        this method is called
@@ -221,8 +245,16 @@ public enum BlockStoreContext {
         mLocalBlockWorkerClientPoolMap.get(address).release(blockWorkerClient);
       }
     } else {
-      // Destroy remote worker client.
-      blockWorkerClient.close();
+      // Return remote worker client to its resource pool.
+      WorkerNetAddress address = blockWorkerClient.getWorkerNetAddress();
+      BlockWorkerClientPool pool = mRemoteBlockWorkerClientPoolMap.get(address);
+      if (pool == null) {
+        LOG.error("The client to worker at {} to release is no longer registered in the context.",
+            address);
+        blockWorkerClient.close();
+      } else {
+        pool.release(blockWorkerClient);
+      }
     }
   }
 
@@ -247,7 +279,28 @@ public enum BlockStoreContext {
       pool.close();
     }
     mLocalBlockWorkerClientPoolMap.clear();
+    if (mRemoteClientGc != null) {
+      mRemoteClientGc.cancel(true);
+    }
+    for (BlockWorkerClientPool pool : mRemoteBlockWorkerClientPoolMap.values()) {
+      pool.close();
+    }
+    mRemoteBlockWorkerClientPoolMap.clear();
     mBlockMasterClientPool = new BlockMasterClientPool(ClientContext.getMasterAddress());
     mLocalBlockWorkerClientPoolInitialized = false;
+    final long idleTimeoutMs =
+        ClientContext.getConf().getLong(Constants.USER_BLOCK_WORKER_CLIENT_IDLE_TIMEOUT_MS);
+    mRemoteClientGc = mRemoteClientGcExecutor.submit(new HeartbeatThread(
+        HeartbeatContext.WORKER_CLIENT_POOL_GC, new HeartbeatExecutor() {
+          @Override
+          public void heartbeat() {
+            for (BlockWorkerClientPool pool : mRemoteBlockWorkerClientPoolMap.values()) {
+              pool.evictIdleClients(idleTimeoutMs);
+            }
+          }
+
+          @Override
+          public void close() {}
+        }, idleTimeoutMs));
   }
 }
@@ -16,16 +16,24 @@ import alluxio.client.ClientContext;
 import alluxio.resource.ResourcePool;
 import alluxio.util.IdUtils;
 import alluxio.wire.WorkerNetAddress;
+import alluxio.worker.ClientMetrics;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
- * Class for managing local block worker clients. After obtaining a client with
+ * Class for managing the block worker clients to one worker. After obtaining a client with
  * {@link ResourcePool#acquire()}, {@link ResourcePool#release(Object)} must be called when the
  * thread is done using the client.
+ *
+ * Clients which have been idle for longer than a timeout can be closed with
+ * {@link #evictIdleClients(long)}, so that the connections to workers which are no longer read from
+ * are eventually closed.
  */
 @ThreadSafe
 final class BlockWorkerClientPool extends ResourcePool<BlockWorkerClient> {
@@ -35,20 +43,46 @@ final class BlockWorkerClientPool extends ResourcePool<BlockWorkerClient> {
    * the block is committed at the end of the file completion.
    */
   private final WorkerNetAddress mWorkerNetAddress;
+  private final boolean mIsLocal;
+  /** The time at which each idle client was released, keyed by client. */
+  private final Map<BlockWorkerClient, Long> mIdleSinceMs = new ConcurrentHashMap<>();
+  private volatile boolean mClosed;
 
   /**
-   * Creates a new block worker client pool.
+   * Creates a new block worker client pool for a local worker.
    *
    * @param workerAddress the worker address
    */
   public BlockWorkerClientPool(WorkerNetAddress workerAddress) {
+    this(workerAddress, true);
+  }
+
+  /**
+   * Creates a new block worker client pool.
+   *
+   * @param workerAddress the worker address
+   * @param isLocal whether the worker is on the same machine as the client
+   */
+  public BlockWorkerClientPool(WorkerNetAddress workerAddress, boolean isLocal) {
     super(ClientContext.getConf().getInt(Constants.USER_BLOCK_WORKER_CLIENT_THREADS));
     mWorkerNetAddress = workerAddress;
+    mIsLocal = isLocal;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * Closes the idle clients. Clients which are in use are closed when they are released.
+   */
   @Override
   public void close() {
-    // TODO(calvin): Consider collecting all the clients and shutting them down.
+    mClosed = true;
+    BlockWorkerClient client;
+    while ((client = mResources.poll()) != null) {
+      mIdleSinceMs.remove(client);
+      mCurrentCapacity.decrementAndGet();
+      client.close();
+    }
   }
 
   @Override
@@ -59,14 +93,47 @@ final class BlockWorkerClientPool extends ResourcePool<BlockWorkerClient> {
     } catch (Exception e) {
       LOG.warn("Failed sending client metrics before releasing the worker client", e);
     }
+    if (mClosed) {
+      mCurrentCapacity.decrementAndGet();
+      blockWorkerClient.close();
+      return;
+    }
     blockWorkerClient.createNewSession(IdUtils.getRandomNonNegativeLong());
+    mIdleSinceMs.put(blockWorkerClient, System.currentTimeMillis());
     super.release(blockWorkerClient);
   }
 
+  /**
+   * Closes the clients which have not been used for longer than the idle timeout.
+   *
+   * @param idleTimeoutMs the time in milliseconds after which an idle client is closed
+   * @return the number of clients closed
+   */
+  public int evictIdleClients(long idleTimeoutMs) {
+    long cutoffMs = System.currentTimeMillis() - idleTimeoutMs;
+    int evicted = 0;
+    for (BlockWorkerClient client : mResources) {
+      Long idleSinceMs = mIdleSinceMs.get(client);
+      // Removing the client from the queue fails if it has been acquired in the meantime.
+      if (idleSinceMs != null && idleSinceMs <= cutoffMs && mResources.remove(client)) {
+        mIdleSinceMs.remove(client);
+        mCurrentCapacity.decrementAndGet();
+        client.close();
+        evicted++;
+      }
+    }
+    if (evicted > 0) {
+      LOG.debug("Closed {} idle clients to worker {}", evicted, mWorkerNetAddress);
+    }
+    return evicted;
+  }
+
   @Override
   protected BlockWorkerClient createNewResource() {
     long clientId = IdUtils.getRandomNonNegativeLong();
+    // Clients to remote workers report their metrics to the worker they read from.
+    ClientMetrics metrics = mIsLocal ? ClientContext.getClientMetrics() : new ClientMetrics();
     return new BlockWorkerClient(mWorkerNetAddress, ClientContext.getBlockClientExecutorService(),
-        ClientContext.getConf(), clientId, true, ClientContext.getClientMetrics());
+        ClientContext.getConf(), clientId, mIsLocal, metrics);
   }
 }
@@ -22,6 +22,9 @@ import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -45,12 +48,20 @@ public abstract class BufferedBlockInStream extends BlockInStream {
   /** The size in bytes of the block. */
   protected final long mBlockSize;
 
-  /** Internal buffer to improve small read performance. */
+  /** The pool the internal buffer is leased from. */
+  private final DirectBufferPool mBufferPool;
+  /** Internal buffer to improve small read performance, leased from the client buffer pool. */
   protected ByteBuffer mBuffer;
   /** Flag indicating if the stream is closed, can only go from false to true. */
   protected boolean mClosed;
   /** Flag indicating if the stream is read. */
   protected boolean mBlockIsRead;
+  /**
+   * The buffers lent by {@link #readZeroCopy(int)} and not given back yet, compared by identity.
+   * They may be given back by another thread after the stream has been passed on or closed.
+   */
+  private final Set<ByteBuffer> mLentBuffers = Collections.synchronizedSet(
+      Collections.newSetFromMap(new IdentityHashMap<ByteBuffer, Boolean>()));
 
   /**
    * Basic constructor for a {@link BufferedBlockInStream}. This sets the necessary variables and
@@ -63,6 +74,7 @@ public abstract class BufferedBlockInStream extends BlockInStream {
   public BufferedBlockInStream(long blockId, long blockSize) {
     mBlockId = blockId;
     mBlockSize = blockSize;
+    mBufferPool = ClientContext.getBufferPool();
     mBuffer = allocateBuffer();
     mBufferIsValid = false; // No data in buffer
     mClosed = false;
@@ -75,6 +87,7 @@ public abstract class BufferedBlockInStream extends BlockInStream {
       return;
     }
     mClosed = true;
+    releaseBuffer();
   }
 
   @Override
@@ -134,6 +147,72 @@ public abstract class BufferedBlockInStream extends BlockInStream {
     return toRead;
   }
 
+  @Override
+  public int read(ByteBuffer buf) throws IOException {
+    checkIfClosed();
+    Preconditions.checkArgument(buf != null, PreconditionMessage.ERR_READ_BUFFER_NULL);
+    if (!buf.hasRemaining()) {
+      return 0;
+    } else if (remaining() == 0) { // End of block
+      return -1;
+    }
+
+    int toRead = (int) Math.min(buf.remaining(), remaining());
+    if (mBufferIsValid && mBuffer.remaining() >= toRead) { // data is fully contained in the buffer
+      copyFromBuffer(buf, toRead);
+      return toRead;
+    }
+
+    if (toRead > mBuffer.capacity() / 2) { // directly read if request is > one-half buffer size
+      mBufferIsValid = false;
+      int bytesRead = directRead(buf, toRead);
+      mPos += bytesRead;
+      mBlockIsRead = true;
+      incrementBytesReadMetric(bytesRead);
+      return bytesRead;
+    }
+
+    // For a read <= half the buffer size, fill the buffer first, then read from the buffer.
+    updateBuffer();
+    copyFromBuffer(buf, toRead);
+    return toRead;
+  }
+
+  @Override
+  public ByteBuffer readZeroCopy(int maxLength) throws IOException {
+    checkIfClosed();
+    Preconditions.checkArgument(maxLength >= 0, "maxLength must be non-negative");
+    int toRead = (int) Math.min(maxLength, remaining());
+    if (toRead == 0) {
+      return null;
+    }
+    ByteBuffer buf = zeroCopyRead(toRead);
+    if (buf == null) {
+      return null;
+    }
+    mLentBuffers.add(buf);
+    mBufferIsValid = false;
+    mPos += toRead;
+    mBlockIsRead = true;
+    incrementBytesReadMetric(toRead);
+    return buf;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * Only the buffers lent by this stream are unmapped, once each, so memory which the caller
+   * owns or which was already released is never freed.
+   */
+  @Override
+  public void releaseZeroCopyBuffer(ByteBuffer buf) {
+    Preconditions.checkArgument(buf != null && mLentBuffers.remove(buf),
+        PreconditionMessage.ERR_ZERO_COPY_BUFFER_NOT_LENT);
+    if (buf.isDirect()) {
+      BufferUtils.cleanDirectBuffer(buf);
+    }
+  }
+
   @Override
   public long remaining() {
     return mBlockSize - mPos;
@@ -169,6 +248,17 @@ public abstract class BufferedBlockInStream extends BlockInStream {
     return mPos;
   }
 
+  /**
+   * Gives the internal buffer back to the client buffer pool. Inheriting classes which do not call
+   * {@link #close()} of this class must call this when they are closed.
+   */
+  protected void releaseBuffer() {
+    if (mBuffer != null) {
+      mBufferPool.release(mBuffer);
+      mBuffer = null;
+    }
+  }
+
   /**
    * Reads from the data source into the buffer. The buffer should be at position 0 and have len
    * valid bytes available after this method is called. This method should not modify mBufferPos,
@@ -191,6 +281,44 @@ public abstract class BufferedBlockInStream extends BlockInStream {
    */
   protected abstract int directRead(byte[] b, int off, int len) throws IOException;
 
+  /**
+   * Directly reads data to the given byte buffer, starting at its position, and moves the position
+   * of the buffer past the data read. The data will not go through the internal buffer. This
+   * method should not modify mPos or update any metrics collection for bytes read. By default the
+   * data goes through {@link #directRead(byte[], int, int)}, and inheriting classes which can
+   * write into the buffer directly should override this.
+   *
+   * @param buf the byte buffer to write the data to
+   * @param len the length of data to write into the buffer must always be valid within the block
+   * @return the number of bytes successfully read
+   * @throws IOException if an error occurs reading the data
+   */
+  protected int directRead(ByteBuffer buf, int len) throws IOException {
+    if (buf.hasArray()) {
+      int bytesRead = directRead(buf.array(), buf.arrayOffset() + buf.position(), len);
+      buf.position(buf.position() + bytesRead);
+      return bytesRead;
+    }
+    byte[] b = new byte[len];
+    int bytesRead = directRead(b, 0, len);
+    buf.put(b, 0, bytesRead);
+    return bytesRead;
+  }
+
+  /**
+   * Returns a read-only buffer over the next len bytes of the block without copying them. This
+   * method should not modify mPos or update any metrics collection for bytes read. By default the
+   * data cannot be lent and null is returned.
+   *
+   * @param len the length of data to lend, must always be valid within the block
+   * @return a read-only buffer of len bytes, which {@link #releaseZeroCopyBuffer(ByteBuffer)} can
+   *         give back, or null if the data cannot be lent
+   * @throws IOException if an error occurs reading the data
+   */
+  protected ByteBuffer zeroCopyRead(int len) throws IOException {
+    return null;
+  }
+
   /**
    * Increments the number of bytes read metric. Inheriting classes should implement this to
    * increment the correct metric.
@@ -203,11 +331,11 @@ public abstract class BufferedBlockInStream extends BlockInStream {
    * Initializes the internal buffer based on the user's specified size. Any reads above half
    * this size will not be buffered.
    *
-   * @return a heap buffer of user configured size
+   * @return a buffer of user configured size from the client buffer pool
    */
   private ByteBuffer allocateBuffer() {
     Configuration conf = ClientContext.getConf();
-    return ByteBuffer.allocate(
+    return mBufferPool.acquire(
         (int) conf.getBytes(Constants.USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES));
   }
 
@@ -218,6 +346,21 @@ public abstract class BufferedBlockInStream extends BlockInStream {
     Preconditions.checkState(!mClosed, PreconditionMessage.ERR_CLOSED_BLOCK_IN_STREAM);
   }
 
+  /**
+   * Copies data from the internal buffer to the given buffer and moves the stream past it.
+   *
+   * @param buf the buffer to copy to
+   * @param len the length of data to copy, which must be in the internal buffer
+   */
+  private void copyFromBuffer(ByteBuffer buf, int len) {
+    ByteBuffer data = mBuffer.duplicate();
+    data.limit(data.position() + len);
+    buf.put(data);
+    mBuffer.position(mBuffer.position() + len);
+    mPos += len;
+    mBlockIsRead = true;
+  }
+
   /**
    * Updates the buffer so it is ready to be read from. After calling this method, the buffer will
    * be positioned at 0 and mBufferIsValid will be true. Inheriting classes should implement
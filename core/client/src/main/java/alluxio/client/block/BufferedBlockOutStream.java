@@ -46,8 +46,13 @@ public abstract class BufferedBlockOutStream extends OutputStream implements Can
   protected final long mBlockSize;
   /** Block store context. */
   protected final BlockStoreContext mContext;
-  /** Java heap buffer to store writes before flushing them to the backing store. */
-  protected final ByteBuffer mBuffer;
+  /** The pool the buffer is leased from. */
+  private final DirectBufferPool mBufferPool;
+  /**
+   * Buffer to store writes before flushing them to the backing store, leased from the client
+   * buffer pool. It is usually direct, so it may not have a backing array.
+   */
+  protected ByteBuffer mBuffer;
 
   /** If the stream is closed, this can only go from false to true. */
   protected boolean mClosed;
@@ -65,6 +70,7 @@ public abstract class BufferedBlockOutStream extends OutputStream implements Can
   public BufferedBlockOutStream(long blockId, long blockSize) {
     mBlockId = blockId;
     mBlockSize = blockSize;
+    mBufferPool = ClientContext.getBufferPool();
     mBuffer = allocateBuffer();
     mClosed = false;
     mContext = BlockStoreContext.INSTANCE;
@@ -127,6 +133,17 @@ public abstract class BufferedBlockOutStream extends OutputStream implements Can
     Preconditions.checkState(!mClosed, PreconditionMessage.ERR_CLOSED_BLOCK_OUT_STREAM);
   }
 
+  /**
+   * Gives the buffer back to the client buffer pool. Inheriting classes must call this once the
+   * stream is closed or cancelled.
+   */
+  protected void releaseBuffer() {
+    if (mBuffer != null) {
+      mBufferPool.release(mBuffer);
+      mBuffer = null;
+    }
+  }
+
   /**
    * Writes the data in the byte array directly to the backing store. This should only be used for
    * writes which would not be able to be buffered.
@@ -139,10 +156,10 @@ public abstract class BufferedBlockOutStream extends OutputStream implements Can
   protected abstract void unBufferedWrite(byte[] b, int off, int len) throws IOException;
 
   /**
-   * @return a newly allocated byte buffer of the user defined default size
+   * @return a byte buffer of the user defined default size from the client buffer pool
    */
   private ByteBuffer allocateBuffer() {
     Configuration conf = ClientContext.getConf();
-    return ByteBuffer.allocate((int) conf.getBytes(Constants.USER_FILE_BUFFER_BYTES));
+    return mBufferPool.acquire((int) conf.getBytes(Constants.USER_FILE_BUFFER_BYTES));
   }
 }
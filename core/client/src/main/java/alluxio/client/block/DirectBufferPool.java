@@ -0,0 +1,233 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block;
+
+import alluxio.Constants;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A pool of direct buffers shared by the block streams of a client. Buffers are kept in a free list
+ * per size, so streams opened and closed in quick succession reuse the same memory instead of
+ * allocating a new buffer each, and data moves between the buffers and channels without a copy
+ * through the heap.
+ *
+ * The direct memory held by the pool, whether leased or idle, never exceeds a configured maximum.
+ * When a buffer cannot be allocated within it, even after freeing idle buffers of other sizes, a
+ * heap buffer is handed out instead, which is not tracked by the pool.
+ *
+ * Every leased direct buffer is tracked until it is released. Releasing a buffer twice, or one the
+ * pool did not lease, is logged and otherwise ignored, and {@link #close()} reports the buffers
+ * which were never released. The allocation site of each lease is recorded when debug logging is
+ * enabled, so that leaks can be traced to the stream which caused them.
+ */
+@ThreadSafe
+public final class DirectBufferPool implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+
+  private final long mMaxBytes;
+
+  /** Idle buffers, keyed by capacity. */
+  @GuardedBy("this")
+  private final TreeMap<Integer, Deque<ByteBuffer>> mFreeBuffers = new TreeMap<>();
+  /** Leased buffers, mapped to their allocation site if debug logging is enabled. */
+  @GuardedBy("this")
+  private final Map<ByteBuffer, Throwable> mLeasedBuffers = new IdentityHashMap<>();
+  /** Bytes of direct memory held by the pool, both leased and idle. */
+  @GuardedBy("this")
+  private long mAllocatedBytes;
+  /** Bytes of direct memory held by idle buffers. */
+  @GuardedBy("this")
+  private long mIdleBytes;
+  /** The number of buffers handed out on the heap because the pool was full. */
+  @GuardedBy("this")
+  private long mHeapBuffers;
+  @GuardedBy("this")
+  private boolean mClosed;
+
+  /**
+   * @param maxBytes the maximum number of bytes of direct memory the pool may hold, or 0 to only
+   *        hand out heap buffers
+   */
+  public DirectBufferPool(long maxBytes) {
+    Preconditions.checkArgument(maxBytes >= 0, "maxBytes must be non-negative");
+    mMaxBytes = maxBytes;
+  }
+
+  /**
+   * Leases a cleared buffer of the given capacity. The buffer is direct unless the pool is full.
+   *
+   * @param capacity the capacity of the buffer in bytes
+   * @return the buffer, which must be given back with {@link #release(ByteBuffer)}
+   */
+  public synchronized ByteBuffer acquire(int capacity) {
+    Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+    ByteBuffer buffer = null;
+    Deque<ByteBuffer> free = mFreeBuffers.get(capacity);
+    if (free != null && !free.isEmpty()) {
+      buffer = free.removeFirst();
+      mIdleBytes -= capacity;
+    } else if (!mClosed && reserve(capacity)) {
+      buffer = ByteBuffer.allocateDirect(capacity);
+      mAllocatedBytes += capacity;
+    }
+    if (buffer == null) {
+      mHeapBuffers++;
+      return ByteBuffer.allocate(capacity);
+    }
+    buffer.clear();
+    mLeasedBuffers.put(buffer, LOG.isDebugEnabled() ? new Throwable("Buffer leased here") : null);
+    return buffer;
+  }
+
+  /**
+   * Gives back a buffer leased from {@link #acquire(int)}. The caller must not use the buffer
+   * afterwards.
+   *
+   * @param buffer the buffer to give back
+   */
+  public synchronized void release(ByteBuffer buffer) {
+    if (!buffer.isDirect()) {
+      // Heap buffers are not pooled, the garbage collector takes care of them.
+      return;
+    }
+    if (!mLeasedBuffers.containsKey(buffer)) {
+      LOG.warn("Ignoring release of a buffer which is not leased from the pool",
+          new IllegalStateException("Buffer released here"));
+      return;
+    }
+    mLeasedBuffers.remove(buffer);
+    if (mClosed) {
+      free(buffer);
+      return;
+    }
+    Deque<ByteBuffer> free = mFreeBuffers.get(buffer.capacity());
+    if (free == null) {
+      free = new ArrayDeque<>();
+      mFreeBuffers.put(buffer.capacity(), free);
+    }
+    free.addFirst(buffer);
+    mIdleBytes += buffer.capacity();
+  }
+
+  /**
+   * @return the number of bytes of direct memory held by the pool, both leased and idle
+   */
+  public synchronized long getAllocatedBytes() {
+    return mAllocatedBytes;
+  }
+
+  /**
+   * @return the number of bytes of direct memory held by idle buffers
+   */
+  public synchronized long getIdleBytes() {
+    return mIdleBytes;
+  }
+
+  /**
+   * @return the number of direct buffers which are leased and not yet released
+   */
+  public synchronized int getLeasedBuffers() {
+    return mLeasedBuffers.size();
+  }
+
+  /**
+   * @return the number of heap buffers handed out because the pool was full
+   */
+  public synchronized long getHeapBuffers() {
+    return mHeapBuffers;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * Frees the idle buffers and reports the buffers which are still leased. Leased buffers are
+   * freed rather than pooled when they are released.
+   */
+  @Override
+  public synchronized void close() {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    if (!mLeasedBuffers.isEmpty()) {
+      LOG.warn("{} stream buffers ({} bytes) were not released, streams may not have been closed",
+          mLeasedBuffers.size(), mAllocatedBytes - mIdleBytes);
+      for (Throwable site : mLeasedBuffers.values()) {
+        if (site != null) {
+          LOG.debug("Buffer was leased and never released", site);
+        }
+      }
+    }
+    freeIdleBuffers(Long.MAX_VALUE);
+  }
+
+  /**
+   * Makes room in the pool for a new buffer, freeing idle buffers if needed.
+   *
+   * @param capacity the capacity of the new buffer
+   * @return true if the buffer fits within the maximum of the pool, false otherwise
+   */
+  private boolean reserve(int capacity) {
+    if (capacity > mMaxBytes) {
+      return false;
+    }
+    long excess = mAllocatedBytes + capacity - mMaxBytes;
+    if (excess > 0) {
+      freeIdleBuffers(excess);
+    }
+    return mAllocatedBytes + capacity <= mMaxBytes;
+  }
+
+  /**
+   * Frees idle buffers, largest first, until at least the given number of bytes has been freed or
+   * no idle buffers remain.
+   *
+   * @param bytes the number of bytes to free
+   */
+  private void freeIdleBuffers(long bytes) {
+    long freed = 0;
+    Iterator<Deque<ByteBuffer>> it = mFreeBuffers.descendingMap().values().iterator();
+    while (freed < bytes && it.hasNext()) {
+      Deque<ByteBuffer> free = it.next();
+      while (freed < bytes && !free.isEmpty()) {
+        ByteBuffer buffer = free.removeFirst();
+        mIdleBytes -= buffer.capacity();
+        freed += buffer.capacity();
+        free(buffer);
+      }
+      if (free.isEmpty()) {
+        it.remove();
+      }
+    }
+  }
+
+  private void free(ByteBuffer buffer) {
+    mAllocatedBytes -= buffer.capacity();
+    BufferUtils.cleanDirectBuffer(buffer);
+  }
+}
@@ -24,6 +24,7 @@ import com.google.common.io.Closer;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -90,9 +91,7 @@ public final class LocalBlockInStream extends BufferedBlockInStream {
     } finally {
       mContext.releaseWorkerClient(mBlockWorkerClient);
       mCloser.close();
-      if (mBuffer != null && mBuffer.isDirect()) {
-        BufferUtils.cleanDirectBuffer(mBuffer);
-      }
+      releaseBuffer();
     }
 
     mClosed = true;
@@ -100,10 +99,16 @@ public final class LocalBlockInStream extends BufferedBlockInStream {
 
   @Override
   protected void bufferedRead(int len) throws IOException {
-    if (mBuffer.isDirect()) { // Buffer may not be direct on initialization
-      BufferUtils.cleanDirectBuffer(mBuffer);
+    // Reading into the pooled buffer avoids mapping and unmapping the block file for every fill.
+    FileChannel channel = mReader.getChannel();
+    mBuffer.clear();
+    mBuffer.limit(len);
+    while (mBuffer.hasRemaining()) {
+      if (channel.read(mBuffer, getPosition() + mBuffer.position()) == -1) {
+        throw new IOException(ExceptionMessage.BLOCK_UNAVAILABLE.getMessage(mBlockId));
+      }
     }
-    mBuffer = mReader.read(getPosition(), len);
+    mBuffer.flip();
   }
 
   @Override
@@ -114,6 +119,28 @@ public final class LocalBlockInStream extends BufferedBlockInStream {
     return len;
   }
 
+  @Override
+  protected int directRead(ByteBuffer buf, int len) throws IOException {
+    // The block file is read straight into the caller's buffer, with no intermediate copy.
+    FileChannel channel = mReader.getChannel();
+    ByteBuffer dst = buf.duplicate();
+    dst.limit(dst.position() + len);
+    while (dst.hasRemaining()) {
+      int offset = dst.position() - buf.position();
+      if (channel.read(dst, getPosition() + offset) == -1) {
+        throw new IOException(ExceptionMessage.BLOCK_UNAVAILABLE.getMessage(mBlockId));
+      }
+    }
+    buf.position(dst.position());
+    return len;
+  }
+
+  @Override
+  protected ByteBuffer zeroCopyRead(int len) throws IOException {
+    // The mapping is read-only, and it remains valid after the block is unlocked.
+    return mReader.read(getPosition(), len);
+  }
+
   @Override
   protected void incrementBytesReadMetric(int bytes) {
     ClientContext.getClientMetrics().incBytesReadLocal(bytes);
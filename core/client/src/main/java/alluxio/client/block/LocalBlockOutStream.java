@@ -140,10 +140,11 @@ public final class LocalBlockOutStream extends BufferedBlockOutStream {
   }
 
   /**
-   * Releases {@link #mBlockWorkerClient} and sets {@link #mClosed} to true.
+   * Releases {@link #mBlockWorkerClient} and the buffer, and sets {@link #mClosed} to true.
    */
   private void releaseAndClose() {
     mContext.releaseWorkerClient(mBlockWorkerClient);
+    releaseBuffer();
     mClosed = true;
   }
 }
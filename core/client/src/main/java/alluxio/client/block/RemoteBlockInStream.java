@@ -11,8 +11,10 @@
 
 package alluxio.client.block;
 
+import alluxio.Constants;
 import alluxio.client.ClientContext;
 import alluxio.client.RemoteBlockReader;
+import alluxio.client.netty.NettyRemoteBlockStreamReader;
 import alluxio.exception.ConnectionFailedException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.wire.LockBlockResult;
@@ -31,6 +33,10 @@ import javax.annotation.concurrent.NotThreadSafe;
  */
 @NotThreadSafe
 public final class RemoteBlockInStream extends BufferedBlockInStream {
+  /** Whether to stream the block in chunks instead of issuing one request per read. */
+  private static final boolean STREAMING_ENABLED = ClientContext.getConf()
+      .getBoolean(Constants.USER_BLOCK_REMOTE_READ_STREAMING_ENABLED);
+
   /** The address of the worker to read the data from. */
   private final WorkerNetAddress mWorkerNetAddress;
   /** mWorkerNetAddress converted to an InetSocketAddress. */
@@ -44,6 +50,15 @@ public final class RemoteBlockInStream extends BufferedBlockInStream {
   private final BlockStoreContext mContext;
   private final ClientMetrics mMetrics;
 
+  /** The stream of the rest of the block, opened on the first read when streaming is enabled. */
+  private NettyRemoteBlockStreamReader mStreamReader;
+  /** The chunk of the stream currently being consumed. */
+  private ByteBuffer mStreamChunk;
+  /** The block offset of the next byte {@link #mStreamReader} will return. */
+  private long mStreamPosition;
+  /** Fetches data ahead of sequential reads, or null if read-ahead is disabled. */
+  private final BlockReadAhead mReadAhead;
+
   /**
    * Creates a new remote block input stream.
    *
@@ -54,6 +69,22 @@ public final class RemoteBlockInStream extends BufferedBlockInStream {
    */
   public RemoteBlockInStream(long blockId, long blockSize, WorkerNetAddress workerNetAddress)
       throws IOException {
+    this(blockId, blockSize, workerNetAddress, 0);
+  }
+
+  /**
+   * Creates a new remote block input stream which reads ahead of sequential reads. Read-ahead is
+   * not used when the block is streamed, since streaming already keeps data in flight.
+   *
+   * @param blockId the block id
+   * @param blockSize the block size
+   * @param workerNetAddress the worker address
+   * @param readAheadChunks the maximum number of buffer-sized chunks to fetch ahead of sequential
+   *        reads, or 0 to disable read-ahead
+   * @throws IOException if the block is not available on the remote worker
+   */
+  public RemoteBlockInStream(long blockId, long blockSize, WorkerNetAddress workerNetAddress,
+      int readAheadChunks) throws IOException {
     super(blockId, blockSize);
     mWorkerNetAddress = workerNetAddress;
     mWorkerInetSocketAddress =
@@ -73,6 +104,16 @@ public final class RemoteBlockInStream extends BufferedBlockInStream {
       mContext.releaseWorkerClient(mBlockWorkerClient);
       throw e;
     }
+    if (readAheadChunks > 0 && !STREAMING_ENABLED) {
+      mReadAhead = new BlockReadAhead(new BlockReadAhead.ChunkReader() {
+        @Override
+        public void read(long pos, ByteBuffer dst) throws IOException {
+          readFromRemote(pos, dst);
+        }
+      }, blockSize, mBuffer.capacity(), readAheadChunks, mMetrics);
+    } else {
+      mReadAhead = null;
+    }
   }
 
   @Override
@@ -85,25 +126,40 @@ public final class RemoteBlockInStream extends BufferedBlockInStream {
       mMetrics.incBlocksReadRemote(1);
     }
     try {
+      if (mReadAhead != null) {
+        // Waits for running fetches, which use the lock and the client released below.
+        mReadAhead.close();
+      }
+      closeStreamReader();
       mBlockWorkerClient.unlockBlock(mBlockId);
     } catch (ConnectionFailedException e) {
       throw new IOException(e);
     } finally {
       mContext.releaseWorkerClient(mBlockWorkerClient);
+      releaseBuffer();
     }
     mClosed = true;
   }
 
+  @Override
+  public void seek(long pos) throws IOException {
+    super.seek(pos);
+    if (mReadAhead != null) {
+      mReadAhead.seek(pos);
+    }
+  }
+
   @Override
   protected void bufferedRead(int len) throws IOException {
     mBuffer.clear();
-    int bytesRead = readFromRemote(mBuffer.array(), 0, len);
-    mBuffer.limit(bytesRead);
+    mBuffer.limit(len);
+    readAtPosition(mBuffer);
+    mBuffer.flip();
   }
 
   @Override
   protected int directRead(byte[] b, int off, int len) throws IOException {
-    return readFromRemote(b, off, len);
+    return readAtPosition(ByteBuffer.wrap(b, off, len));
   }
 
   /**
@@ -124,34 +180,111 @@ public final class RemoteBlockInStream extends BufferedBlockInStream {
   }
 
   /**
-   * Reads a portion of the block from the remote worker.
+   * Starts fetching the beginning of the block ahead of the first read, if read-ahead is enabled.
+   * This is used to overlap opening the next block of a file with reading the current one.
+   */
+  public void startReadAhead() {
+    if (mReadAhead != null && getPosition() == 0) {
+      mReadAhead.prefetch();
+    }
+  }
+
+  /**
+   * Reads a portion of the block at the current position, from the stream of the block, the
+   * read-ahead chunks, or directly from the remote worker.
    *
-   * @param b the byte array to write the data to
-   * @param off the offset in the array to write to
-   * @param len the length of data to write into the array
+   * @param dst the buffer to read into, from its position up to its limit
    * @return the number of bytes successfully read
    * @throws IOException if an error occurs reading the data
    */
-  private int readFromRemote(byte[] b, int off, int len) throws IOException {
-    // We read at most len bytes, but if mPos + len exceeds the length of the block, we only
-    // read up to the end of the block.
-    int toRead = (int) Math.min(len, remaining());
-    int bytesLeft = toRead;
-    while (bytesLeft > 0) {
+  private int readAtPosition(ByteBuffer dst) throws IOException {
+    // We read at most the remaining bytes of the buffer, but if that exceeds the length of the
+    // block, we only read up to the end of the block.
+    int toRead = (int) Math.min(dst.remaining(), remaining());
+    dst.limit(dst.position() + toRead);
+    if (STREAMING_ENABLED) {
+      readFromStream(dst);
+    } else if (mReadAhead != null) {
+      mReadAhead.read(getPosition(), dst);
+    } else {
+      readFromRemote(getPosition(), dst);
+    }
+    return toRead;
+  }
+
+  /**
+   * Reads a portion of the block from the remote worker. This may be called concurrently by the
+   * read-ahead threads.
+   *
+   * @param pos the block offset to read from
+   * @param dst the buffer to fill up to its limit, within the block
+   * @throws IOException if an error occurs reading the data
+   */
+  private void readFromRemote(long pos, ByteBuffer dst) throws IOException {
+    int bytesDone = 0;
+    int len = dst.remaining();
+    while (bytesDone < len) {
       // TODO(calvin): Fix needing to recreate reader each time.
       RemoteBlockReader reader =
           RemoteBlockReader.Factory.create(ClientContext.getConf());
       try {
-        ByteBuffer data = reader.readRemoteBlock(mWorkerInetSocketAddress, mBlockId, getPosition(),
-            bytesLeft, mLockId, mBlockWorkerClient.getSessionId());
-        int bytesRead = data.remaining();
-        data.get(b, off, bytesRead);
-        bytesLeft -= bytesRead;
+        ByteBuffer data = reader.readRemoteBlock(mWorkerInetSocketAddress, mBlockId,
+            pos + bytesDone, len - bytesDone, mLockId, mBlockWorkerClient.getSessionId());
+        bytesDone += data.remaining();
+        dst.put(data);
       } finally {
         reader.close();
       }
     }
+  }
 
-    return toRead;
+  /**
+   * Reads a portion of the block from a stream of the rest of the block. The stream is opened on
+   * the first read, and reopened if the stream has been moved away from the position of the
+   * stream since.
+   *
+   * @param dst the buffer to fill up to its limit, within the block
+   * @throws IOException if an error occurs reading the data
+   */
+  private void readFromStream(ByteBuffer dst) throws IOException {
+    int toRead = dst.remaining();
+    if (mStreamReader == null || mStreamPosition != getPosition()) {
+      closeStreamReader();
+      mStreamReader = new NettyRemoteBlockStreamReader(mWorkerInetSocketAddress, mBlockId,
+          getPosition(), remaining(), mLockId, mBlockWorkerClient.getSessionId());
+      mStreamPosition = getPosition();
+    }
+    int bytesRead = 0;
+    while (bytesRead < toRead) {
+      if (mStreamChunk == null || !mStreamChunk.hasRemaining()) {
+        mStreamChunk = mStreamReader.readChunk();
+        if (mStreamChunk == null) {
+          throw new IOException(ExceptionMessage.BLOCK_UNAVAILABLE.getMessage(mBlockId));
+        }
+      }
+      int bytes = Math.min(toRead - bytesRead, mStreamChunk.remaining());
+      ByteBuffer slice = mStreamChunk.duplicate();
+      slice.limit(slice.position() + bytes);
+      dst.put(slice);
+      mStreamChunk.position(slice.position());
+      bytesRead += bytes;
+    }
+    mStreamPosition += toRead;
+  }
+
+  /**
+   * Closes the stream of the block, if one is open.
+   *
+   * @throws IOException if closing the stream fails
+   */
+  private void closeStreamReader() throws IOException {
+    if (mStreamReader != null) {
+      mStreamChunk = null;
+      try {
+        mStreamReader.close();
+      } finally {
+        mStreamReader = null;
+      }
+    }
   }
 }
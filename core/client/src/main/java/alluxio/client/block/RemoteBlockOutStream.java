@@ -11,13 +11,18 @@
 
 package alluxio.client.block;
 
+import alluxio.Constants;
 import alluxio.client.ClientContext;
 import alluxio.client.RemoteBlockWriter;
 import alluxio.exception.AlluxioException;
 import alluxio.wire.WorkerNetAddress;
 import alluxio.worker.ClientMetrics;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -27,6 +32,8 @@ import javax.annotation.concurrent.NotThreadSafe;
  */
 @NotThreadSafe
 public final class RemoteBlockOutStream extends BufferedBlockOutStream {
+  private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+
   private final RemoteBlockWriter mRemoteWriter;
   private final BlockWorkerClient mBlockWorkerClient;
   private final ClientMetrics mMetrics;
@@ -60,7 +67,12 @@ public final class RemoteBlockOutStream extends BufferedBlockOutStream {
     if (mClosed) {
       return;
     }
-    mRemoteWriter.close();
+    try {
+      mRemoteWriter.close();
+    } catch (IOException e) {
+      // The block is being cancelled, so it does not matter whether outstanding writes succeeded.
+      LOG.warn("Failed to close the writer of cancelled block {}: {}", mBlockId, e.getMessage());
+    }
     try {
       mBlockWorkerClient.cancelBlock(mBlockId);
     } catch (AlluxioException e) {
@@ -75,50 +87,49 @@ public final class RemoteBlockOutStream extends BufferedBlockOutStream {
     if (mClosed) {
       return;
     }
-    flush();
-    mRemoteWriter.close();
-    if (mFlushedBytes > 0) {
-      try {
+    // Closing the writer waits for the acks of the outstanding writes, which may fail, so the
+    // client and the buffer are released whatever happens.
+    try {
+      flush();
+      mRemoteWriter.close();
+      if (mFlushedBytes > 0) {
         mBlockWorkerClient.cacheBlock(mBlockId);
-      } catch (AlluxioException e) {
-        throw new IOException(e);
-      } finally {
-        releaseAndClose();
-      }
-      mMetrics.incBlocksWrittenRemote(1);
-    } else {
-      try {
+        mMetrics.incBlocksWrittenRemote(1);
+      } else {
         mBlockWorkerClient.cancelBlock(mBlockId);
-      } catch (AlluxioException e) {
-        throw new IOException(e);
-      } finally {
-        releaseAndClose();
       }
+    } catch (AlluxioException e) {
+      throw new IOException(e);
+    } finally {
+      releaseAndClose();
     }
   }
 
   @Override
   public void flush() throws IOException {
-    writeToRemoteBlock(mBuffer.array(), 0, mBuffer.position());
+    mBuffer.flip();
+    writeToRemoteBlock(mBuffer);
     mBuffer.clear();
   }
 
   @Override
   protected void unBufferedWrite(byte[] b, int off, int len) throws IOException {
-    writeToRemoteBlock(b, off, len);
+    writeToRemoteBlock(ByteBuffer.wrap(b, off, len));
   }
 
-  private void writeToRemoteBlock(byte[] b, int off, int len) throws IOException {
-    mRemoteWriter.write(b, off, len);
+  private void writeToRemoteBlock(ByteBuffer data) throws IOException {
+    int len = data.remaining();
+    mRemoteWriter.write(data);
     mFlushedBytes += len;
     mMetrics.incBytesWrittenRemote(len);
   }
 
   /**
-   * Releases {@link #mBlockWorkerClient} and sets {@link #mClosed} to true.
+   * Releases {@link #mBlockWorkerClient} and the buffer, and sets {@link #mClosed} to true.
    */
   private void releaseAndClose() {
     mContext.releaseWorkerClient(mBlockWorkerClient);
+    releaseBuffer();
     mClosed = true;
   }
 }
@@ -14,6 +14,7 @@ package alluxio.client.file;
 import alluxio.AlluxioURI;
 import alluxio.Constants;
 import alluxio.annotation.PublicApi;
+import alluxio.client.ClientContext;
 import alluxio.client.file.options.CreateDirectoryOptions;
 import alluxio.client.file.options.CreateFileOptions;
 import alluxio.client.file.options.DeleteOptions;
@@ -33,6 +34,7 @@ import alluxio.exception.ExceptionMessage;
 import alluxio.exception.FileAlreadyExistsException;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidPathException;
+import alluxio.wire.BatchPathResult;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -102,6 +104,19 @@ public class BaseFileSystem implements FileSystem {
     return new FileOutStream(path, options.toOutStreamOptions());
   }
 
+  @Override
+  public List<BatchPathResult> createFileBatch(List<AlluxioURI> paths, CreateFileOptions options)
+      throws IOException, AlluxioException {
+    FileSystemMasterClient masterClient = mContext.acquireMasterClient();
+    try {
+      List<BatchPathResult> results = masterClient.createFileBatch(paths, options);
+      LOG.debug("Created " + paths.size() + " files in a batch");
+      return results;
+    } finally {
+      mContext.releaseMasterClient(masterClient);
+    }
+  }
+
   @Override
   public void delete(AlluxioURI path)
       throws DirectoryNotEmptyException, FileDoesNotExistException, IOException, AlluxioException {
@@ -120,6 +135,19 @@ public class BaseFileSystem implements FileSystem {
     }
   }
 
+  @Override
+  public List<BatchPathResult> deleteBatch(List<AlluxioURI> paths, DeleteOptions options)
+      throws IOException, AlluxioException {
+    FileSystemMasterClient masterClient = mContext.acquireMasterClient();
+    try {
+      List<BatchPathResult> results = masterClient.deleteBatch(paths, options);
+      LOG.debug("Deleted " + paths.size() + " paths in a batch");
+      return results;
+    } finally {
+      mContext.releaseMasterClient(masterClient);
+    }
+  }
+
   @Override
   public boolean exists(AlluxioURI path)
       throws InvalidPathException, IOException, AlluxioException {
@@ -180,6 +208,17 @@ public class BaseFileSystem implements FileSystem {
     }
   }
 
+  @Override
+  public List<BatchPathResult> getStatusBatch(List<AlluxioURI> paths)
+      throws IOException, AlluxioException {
+    FileSystemMasterClient masterClient = mContext.acquireMasterClient();
+    try {
+      return masterClient.getStatusBatch(paths);
+    } finally {
+      mContext.releaseMasterClient(masterClient);
+    }
+  }
+
   @Override
   public List<URIStatus> listStatus(AlluxioURI path)
       throws FileDoesNotExistException, IOException, AlluxioException {
@@ -200,6 +239,18 @@ public class BaseFileSystem implements FileSystem {
     }
   }
 
+  @Override
+  public ListStatusIterator listStatusIterator(AlluxioURI path) {
+    return listStatusIterator(path, ListStatusOptions.defaults());
+  }
+
+  @Override
+  public ListStatusIterator listStatusIterator(AlluxioURI path, ListStatusOptions options) {
+    int pageSize = options.getMaxResults() > 0 ? options.getMaxResults()
+        : ClientContext.getConf().getInt(Constants.USER_LIST_STATUS_PAGE_SIZE);
+    return new ListStatusIterator(mContext, path, options, pageSize);
+  }
+
   /**
    * {@inheritDoc}
    *
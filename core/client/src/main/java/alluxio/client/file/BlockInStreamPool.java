@@ -0,0 +1,122 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.Constants;
+import alluxio.client.block.BlockInStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Keeps idle block streams of a file, keyed by block, so that positioned reads of the same block
+ * reuse a stream instead of opening one each time. A stream is used by one reader at a time:
+ * {@link #acquire(long)} takes it out of the pool and {@link #release(long, BlockInStream)} puts it
+ * back. Streams which do not fit in the pool, or are released after it is closed, are closed.
+ */
+@ThreadSafe
+final class BlockInStreamPool {
+  private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+
+  private final int mMaxIdleStreams;
+  private final ConcurrentMap<Long, Queue<BlockInStream>> mIdleStreams =
+      new ConcurrentHashMap<>();
+  private final AtomicInteger mIdleCount = new AtomicInteger();
+  private volatile boolean mClosed;
+
+  /**
+   * @param maxIdleStreams the maximum number of idle streams kept over all blocks
+   */
+  BlockInStreamPool(int maxIdleStreams) {
+    mMaxIdleStreams = maxIdleStreams;
+  }
+
+  /**
+   * Takes an idle stream of a block out of the pool.
+   *
+   * @param blockId the id of the block
+   * @return an idle stream of the block, or null if there is none
+   */
+  BlockInStream acquire(long blockId) {
+    Queue<BlockInStream> streams = mIdleStreams.get(blockId);
+    if (streams == null) {
+      return null;
+    }
+    BlockInStream stream = streams.poll();
+    if (stream != null) {
+      mIdleCount.decrementAndGet();
+    }
+    return stream;
+  }
+
+  /**
+   * Puts a stream of a block back in the pool, or closes it if the pool is full or closed.
+   *
+   * @param blockId the id of the block
+   * @param stream the stream, which must not be used by the caller afterwards
+   */
+  void release(long blockId, BlockInStream stream) {
+    if (mClosed) {
+      closeQuietly(stream);
+      return;
+    }
+    if (mIdleCount.incrementAndGet() > mMaxIdleStreams) {
+      mIdleCount.decrementAndGet();
+      closeQuietly(stream);
+      return;
+    }
+    Queue<BlockInStream> streams = mIdleStreams.get(blockId);
+    if (streams == null) {
+      mIdleStreams.putIfAbsent(blockId, new ConcurrentLinkedQueue<BlockInStream>());
+      streams = mIdleStreams.get(blockId);
+    }
+    streams.add(stream);
+    if (mClosed) {
+      // The pool was closed while the stream was being added, so it may have been missed.
+      closeAll();
+    }
+  }
+
+  /**
+   * Closes the idle streams. Streams released afterwards are closed right away.
+   */
+  void close() {
+    mClosed = true;
+    closeAll();
+  }
+
+  private void closeAll() {
+    for (Queue<BlockInStream> streams : mIdleStreams.values()) {
+      BlockInStream stream;
+      while ((stream = streams.poll()) != null) {
+        closeQuietly(stream);
+      }
+    }
+  }
+
+  private static void closeQuietly(BlockInStream stream) {
+    try {
+      stream.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close an idle block stream: {}", e.getMessage());
+    }
+  }
+}
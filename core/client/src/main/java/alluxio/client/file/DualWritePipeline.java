@@ -0,0 +1,330 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Writes the same data to two sinks, each on its own thread. Written data is copied into buffers
+ * which are handed to both sinks through bounded queues, and a buffer is reused once both sinks
+ * have written it. The caller only blocks when all buffers are in flight, so writing costs the
+ * time of the slower sink instead of the sum of both.
+ * <p>
+ * When a sink fails, both sinks stop writing and the failure is thrown by the next call to the
+ * pipeline. The pipeline itself must be used by one thread at a time.
+ */
+@NotThreadSafe
+final class DualWritePipeline {
+  /** The interval at which a blocked caller checks whether a sink has failed. */
+  private static final long POLL_INTERVAL_MS = 100;
+
+  /** Marks the end of the queue of a sink. */
+  private static final Chunk END = new Chunk(0);
+
+  /**
+   * A destination of the data written to a pipeline. The methods of a sink are only called from
+   * the thread of its writer.
+   */
+  interface Sink {
+    /**
+     * Writes data to the sink.
+     *
+     * @param b the buffer holding the data
+     * @param off the offset of the data in the buffer
+     * @param len the length of the data
+     * @throws IOException if the write fails
+     */
+    void write(byte[] b, int off, int len) throws IOException;
+
+    /**
+     * Flushes the data written so far.
+     *
+     * @throws IOException if the flush fails
+     */
+    void flush() throws IOException;
+  }
+
+  private final int mBufferSize;
+  private final int mMaxBuffers;
+  private final BlockingQueue<Chunk> mFreeChunks;
+  private final BlockingQueue<Chunk> mFirstQueue;
+  private final BlockingQueue<Chunk> mSecondQueue;
+  private final Future<?> mFirstWriter;
+  private final Future<?> mSecondWriter;
+  /** The first failure of either sink. */
+  private final AtomicReference<Throwable> mFailure = new AtomicReference<>();
+  /** Whether the sinks should discard the data which is still queued. */
+  private volatile boolean mAborted;
+
+  private int mAllocatedBuffers;
+  /** The chunk being filled by the caller, or null if none has been taken yet. */
+  private Chunk mCurrent;
+  private boolean mClosed;
+
+  /**
+   * Creates a pipeline and starts its writers.
+   *
+   * @param first the first sink
+   * @param second the second sink
+   * @param bufferSize the size of each buffer
+   * @param maxBuffers the maximum number of buffers
+   * @param executor the executor to run the writers on, which must be able to run both at once
+   */
+  DualWritePipeline(Sink first, Sink second, int bufferSize, int maxBuffers,
+      ExecutorService executor) {
+    Preconditions.checkArgument(bufferSize > 0, "bufferSize must be positive");
+    Preconditions.checkArgument(maxBuffers > 0, "maxBuffers must be positive");
+    mBufferSize = bufferSize;
+    mMaxBuffers = maxBuffers;
+    mFreeChunks = new ArrayBlockingQueue<>(maxBuffers);
+    // Room for every buffer plus a flush marker and the end marker, so queueing never blocks.
+    mFirstQueue = new ArrayBlockingQueue<>(maxBuffers + 2);
+    mSecondQueue = new ArrayBlockingQueue<>(maxBuffers + 2);
+    mFirstWriter = executor.submit(new Writer(first, mFirstQueue));
+    mSecondWriter = executor.submit(new Writer(second, mSecondQueue));
+  }
+
+  /**
+   * Writes a byte to both sinks.
+   *
+   * @param b the byte to write
+   * @throws IOException if a sink has failed
+   */
+  void write(int b) throws IOException {
+    Chunk chunk = currentChunk();
+    chunk.mData[chunk.mLength++] = (byte) b;
+  }
+
+  /**
+   * Writes data to both sinks.
+   *
+   * @param b the buffer holding the data
+   * @param off the offset of the data in the buffer
+   * @param len the length of the data
+   * @throws IOException if a sink has failed
+   */
+  void write(byte[] b, int off, int len) throws IOException {
+    while (len > 0) {
+      Chunk chunk = currentChunk();
+      int toCopy = Math.min(len, chunk.mData.length - chunk.mLength);
+      System.arraycopy(b, off, chunk.mData, chunk.mLength, toCopy);
+      chunk.mLength += toCopy;
+      off += toCopy;
+      len -= toCopy;
+    }
+  }
+
+  /**
+   * Hands the buffered data to both sinks and waits until both have written and flushed it.
+   *
+   * @throws IOException if a sink has failed
+   */
+  void flush() throws IOException {
+    checkNotFailed();
+    handOffCurrent();
+    Chunk marker = new Chunk(0);
+    marker.mFlushed = new CountDownLatch(2);
+    enqueue(marker);
+    try {
+      while (!marker.mFlushed.await(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+        checkNotFailed();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+    checkNotFailed();
+  }
+
+  /**
+   * Hands the buffered data to both sinks and waits until both have written it. The sinks are not
+   * used by the pipeline afterwards.
+   *
+   * @throws IOException if a sink has failed
+   */
+  void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    if (mFailure.get() == null) {
+      handOffCurrent();
+    }
+    stopWriters();
+    checkNotFailed();
+  }
+
+  /**
+   * Discards the data which has not been written yet and waits until both sinks are idle. The
+   * sinks are not used by the pipeline afterwards.
+   *
+   * @throws IOException if waiting for the writers is interrupted
+   */
+  void abort() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mAborted = true;
+    stopWriters();
+  }
+
+  private void stopWriters() throws IOException {
+    mClosed = true;
+    mCurrent = null;
+    enqueue(END);
+    try {
+      mFirstWriter.get();
+      mSecondWriter.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      // The writers catch every failure of their sinks, so this is not expected.
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /**
+   * @return the chunk to write into, after handing the current one to the sinks if it is full
+   */
+  private Chunk currentChunk() throws IOException {
+    Preconditions.checkState(!mClosed, "the pipeline is closed");
+    checkNotFailed();
+    if (mCurrent != null && mCurrent.mLength == mCurrent.mData.length) {
+      handOffCurrent();
+    }
+    if (mCurrent == null) {
+      mCurrent = takeFreeChunk();
+    }
+    return mCurrent;
+  }
+
+  private void handOffCurrent() {
+    if (mCurrent == null || mCurrent.mLength == 0) {
+      return;
+    }
+    mCurrent.mPendingSinks.set(2);
+    enqueue(mCurrent);
+    mCurrent = null;
+  }
+
+  private void enqueue(Chunk chunk) {
+    Preconditions.checkState(mFirstQueue.offer(chunk) && mSecondQueue.offer(chunk),
+        "the queue of a pipeline writer is full");
+  }
+
+  private Chunk takeFreeChunk() throws IOException {
+    Chunk chunk = mFreeChunks.poll();
+    if (chunk == null && mAllocatedBuffers < mMaxBuffers) {
+      mAllocatedBuffers++;
+      return new Chunk(mBufferSize);
+    }
+    try {
+      while (chunk == null) {
+        checkNotFailed();
+        chunk = mFreeChunks.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+    chunk.mLength = 0;
+    return chunk;
+  }
+
+  private void checkNotFailed() throws IOException {
+    Throwable failure = mFailure.get();
+    if (failure != null) {
+      Throwables.propagateIfPossible(failure, IOException.class);
+      throw new IOException(failure);
+    }
+  }
+
+  /**
+   * A buffer of data on its way to the sinks, or a flush marker.
+   */
+  private static final class Chunk {
+    private final byte[] mData;
+    private int mLength;
+    /** The number of sinks which have yet to write this chunk. */
+    private final AtomicInteger mPendingSinks = new AtomicInteger();
+    /** Counted down by each sink once it has flushed, null unless this is a flush marker. */
+    private CountDownLatch mFlushed;
+
+    private Chunk(int size) {
+      mData = new byte[size];
+    }
+  }
+
+  /**
+   * Writes the chunks of one queue to a sink until it reaches the end marker. After a failure or
+   * an abort, chunks are released without being written so that the caller is never stuck.
+   */
+  private final class Writer implements Runnable {
+    private final Sink mSink;
+    private final BlockingQueue<Chunk> mQueue;
+
+    private Writer(Sink sink, BlockingQueue<Chunk> queue) {
+      mSink = sink;
+      mQueue = queue;
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (true) {
+          Chunk chunk = mQueue.take();
+          if (chunk == END) {
+            return;
+          }
+          try {
+            if (!mAborted && mFailure.get() == null) {
+              if (chunk.mFlushed != null) {
+                mSink.flush();
+              } else {
+                mSink.write(chunk.mData, 0, chunk.mLength);
+              }
+            }
+          } catch (Throwable t) {
+            mFailure.compareAndSet(null, t);
+          } finally {
+            release(chunk);
+          }
+        }
+      } catch (InterruptedException e) {
+        mFailure.compareAndSet(null, e);
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private void release(Chunk chunk) {
+      if (chunk.mFlushed != null) {
+        chunk.mFlushed.countDown();
+      } else if (chunk.mPendingSinks.decrementAndGet() == 0) {
+        mFreeChunks.offer(chunk);
+      }
+    }
+  }
+}
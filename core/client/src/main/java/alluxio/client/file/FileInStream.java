@@ -15,6 +15,7 @@ import alluxio.Constants;
 import alluxio.annotation.PublicApi;
 import alluxio.client.AlluxioStorageType;
 import alluxio.client.BoundedStream;
+import alluxio.client.ClientContext;
 import alluxio.client.Seekable;
 import alluxio.client.block.BlockInStream;
 import alluxio.client.block.BlockStoreContext;
@@ -33,11 +34,22 @@ import alluxio.master.block.BlockId;
 import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.SettableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -49,6 +61,10 @@ import javax.annotation.concurrent.NotThreadSafe;
  * This class wraps the {@link BlockInStream} for each of the blocks in the file and abstracts the
  * switching between streams. The backing streams can read from Alluxio space in the local machine,
  * remote machines, or the under storage system.
+ * <p>
+ * Although a stream must not be read by several threads at once, {@link #positionedRead} and
+ * {@link #readVectored} may be called by any number of threads concurrently, with each other and
+ * with the other methods.
  */
 @PublicApi
 @NotThreadSafe
@@ -100,6 +116,26 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
   /** The read buffer in file seek. This is used in {@link #readCurrentBlockToEnd()}. */
   private byte[] mSeekBuffer;
 
+  /** The maximum number of chunks remote block streams fetch ahead of sequential reads. */
+  private final int mReadAheadChunks;
+  /** How close to the end of the current block a sequential reader opens the next block. */
+  private final long mNextBlockReadAheadBytes;
+  /** Whether the current block has only been read sequentially from its start. */
+  private boolean mSequentialRead;
+  /** Opens the next block ahead of a sequential reader, null if no block is being opened. */
+  private BlockInStreamOpener mNextBlockOpener;
+  /** The idle block streams of positioned and vectored reads. */
+  private final BlockInStreamPool mPositionedReadStreams;
+  /** The largest gap between two ranges of a vectored read which are fetched together. */
+  private final long mVectoredReadMergeGap;
+  /** The largest request which ranges of a vectored read are merged into. */
+  private final long mVectoredReadMaxMergedBytes;
+  /**
+   * The buffers lent by {@link #readZeroCopy(int)} and not given back yet, compared by identity,
+   * with the block streams which lent them. Guarded by itself.
+   */
+  private final Map<ByteBuffer, BlockInStream> mLentBuffers = new IdentityHashMap<>();
+
   /**
    * Creates a new file input stream.
    *
@@ -136,6 +172,15 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     }
     int seekBufferSizeBytes = Math.max((int) options.getSeekBufferSizeBytes(), 1);
     mSeekBuffer = new byte[seekBufferSizeBytes];
+    mReadAheadChunks = options.getReadAheadChunks();
+    mNextBlockReadAheadBytes = mReadAheadChunks
+        * ClientContext.getConf().getBytes(Constants.USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES);
+    mPositionedReadStreams = new BlockInStreamPool(
+        ClientContext.getConf().getInt(Constants.USER_FILE_POSITIONED_READ_IDLE_STREAMS));
+    mVectoredReadMergeGap =
+        ClientContext.getConf().getBytes(Constants.USER_FILE_VECTORED_READ_MERGE_GAP_BYTES);
+    mVectoredReadMaxMergedBytes = Math.min(Integer.MAX_VALUE,
+        ClientContext.getConf().getBytes(Constants.USER_FILE_VECTORED_READ_MAX_MERGED_BYTES));
     LOG.debug("Init FileInStream with options {}", options);
   }
 
@@ -152,6 +197,8 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
       mCurrentBlockInStream.close();
     }
     closeOrCancelCacheStream();
+    abandonNextBlock();
+    mPositionedReadStreams.close();
     mClosed = true;
   }
 
@@ -178,6 +225,7 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
         handleCacheStreamIOException(e);
       }
     }
+    openNextBlockAhead();
     return data;
   }
 
@@ -219,6 +267,67 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
         currentOffset += bytesRead;
       }
     }
+    openNextBlockAhead();
+
+    if (bytesLeftToRead == len && mCurrentBlockInStream.remaining() == 0) {
+      // Nothing was read, and the underlying stream is done.
+      return -1;
+    }
+
+    return len - bytesLeftToRead;
+  }
+
+  /**
+   * Reads data into a byte buffer, starting at the position of the buffer, and moves the position
+   * of the buffer past the data read. Data of a block on the local worker is read straight into a
+   * direct buffer, without going through an intermediate array.
+   *
+   * @param buf the buffer to read into
+   * @return the number of bytes read, or -1 if the end of the file has been reached
+   * @throws IOException if the data cannot be read
+   */
+  public int read(ByteBuffer buf) throws IOException {
+    Preconditions.checkArgument(buf != null, PreconditionMessage.ERR_READ_BUFFER_NULL);
+    if (buf.hasArray()) {
+      int bytesRead = read(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+      if (bytesRead > 0) {
+        buf.position(buf.position() + bytesRead);
+      }
+      return bytesRead;
+    }
+    int len = buf.remaining();
+    if (len == 0) {
+      return 0;
+    } else if (remaining() <= 0) {
+      return -1;
+    }
+
+    int bytesLeftToRead = len;
+    while (bytesLeftToRead > 0 && remaining() > 0) {
+      updateStreams();
+      Preconditions.checkNotNull(mCurrentBlockInStream, PreconditionMessage.ERR_UNEXPECTED_EOF);
+      int bytesToRead = (int) Math.min(bytesLeftToRead, mCurrentBlockInStream.remaining());
+
+      ByteBuffer dst = buf.duplicate();
+      dst.limit(dst.position() + bytesToRead);
+      int bytesRead = mCurrentBlockInStream.read(dst);
+      if (bytesRead > 0) {
+        if (mCurrentCacheStream != null) {
+          byte[] data = new byte[bytesRead];
+          ByteBuffer readData = buf.duplicate();
+          readData.get(data);
+          try {
+            mCurrentCacheStream.write(data);
+          } catch (IOException e) {
+            handleCacheStreamIOException(e);
+          }
+        }
+        buf.position(buf.position() + bytesRead);
+        mPos += bytesRead;
+        bytesLeftToRead -= bytesRead;
+      }
+    }
+    openNextBlockAhead();
 
     if (bytesLeftToRead == len && mCurrentBlockInStream.remaining() == 0) {
       // Nothing was read, and the underlying stream is done.
@@ -228,6 +337,166 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     return len - bytesLeftToRead;
   }
 
+  /**
+   * Reads up to the specified number of bytes without copying them, by lending a read-only buffer
+   * over the storage of the current block. This is only possible when the block is on the local
+   * worker and is not being cached by this stream; otherwise null is returned and the stream does
+   * not move, and the caller should fall back to {@link #read(ByteBuffer)}. At most the rest of the
+   * current block is lent. The buffer stays valid after the stream is closed, and must be given
+   * back with {@link #releaseZeroCopyBuffer(ByteBuffer)}.
+   *
+   * @param maxLength the maximum number of bytes to lend
+   * @return a read-only buffer holding the data, or null if the data cannot be lent or the end of
+   *         the file has been reached
+   * @throws IOException if the data cannot be read
+   */
+  public ByteBuffer readZeroCopy(int maxLength) throws IOException {
+    Preconditions.checkArgument(maxLength >= 0, "maxLength must be non-negative");
+    if (maxLength == 0 || remaining() <= 0) {
+      return null;
+    }
+    updateStreams();
+    Preconditions.checkNotNull(mCurrentBlockInStream, PreconditionMessage.ERR_UNEXPECTED_EOF);
+    if (mCurrentCacheStream != null) {
+      // The data read has to be written to the cache stream, which needs a copy anyway.
+      return null;
+    }
+    ByteBuffer buf = mCurrentBlockInStream.readZeroCopy(
+        (int) Math.min(maxLength, mCurrentBlockInStream.remaining()));
+    if (buf != null) {
+      synchronized (mLentBuffers) {
+        mLentBuffers.put(buf, mCurrentBlockInStream);
+      }
+      mPos += buf.remaining();
+      openNextBlockAhead();
+    }
+    return buf;
+  }
+
+  /**
+   * Gives back a buffer lent by {@link #readZeroCopy(int)} of this stream. The buffer must not be
+   * used afterwards.
+   *
+   * @param buf the buffer to give back
+   * @throws IllegalArgumentException if the buffer was not lent by this stream or was already given
+   *         back
+   */
+  public void releaseZeroCopyBuffer(ByteBuffer buf) {
+    BlockInStream stream;
+    synchronized (mLentBuffers) {
+      stream = mLentBuffers.remove(buf);
+    }
+    Preconditions.checkArgument(stream != null,
+        PreconditionMessage.ERR_ZERO_COPY_BUFFER_NOT_LENT);
+    stream.releaseZeroCopyBuffer(buf);
+  }
+
+  /**
+   * Reads up to the specified number of bytes at a position of the file, without changing the
+   * position of the stream. Unlike the other methods, this may be called by several threads at
+   * once. Each call reads through a block stream of its own, taken from a small pool of idle
+   * streams of the file, so concurrent calls do not wait for each other and do not disturb the
+   * streams of sequential reads. The data read this way is not cached into Alluxio.
+   *
+   * @param pos the position of the file to read at
+   * @param b the buffer to read into
+   * @param off the offset in the buffer to read into
+   * @param len the maximum number of bytes to read
+   * @return the number of bytes read, or -1 if the position is at or past the end of the file
+   * @throws IOException if the data cannot be read
+   */
+  public int positionedRead(long pos, byte[] b, int off, int len) throws IOException {
+    Preconditions.checkArgument(b != null, PreconditionMessage.ERR_READ_BUFFER_NULL);
+    Preconditions.checkArgument(off >= 0 && len >= 0 && len + off <= b.length,
+        PreconditionMessage.ERR_BUFFER_STATE.toString(), b.length, off, len);
+    Preconditions.checkArgument(pos >= 0, PreconditionMessage.ERR_SEEK_NEGATIVE.toString(), pos);
+    if (len == 0) {
+      return 0;
+    }
+    long end = maxSeekPosition();
+    int bytesRead = 0;
+    while (bytesRead < len && pos < end) {
+      int index = (int) (pos / mBlockSize);
+      if (index >= mStatus.getBlockIds().size()) {
+        break;
+      }
+      long blockId = mStatus.getBlockIds().get(index);
+      BlockInStream stream = mPositionedReadStreams.acquire(blockId);
+      if (stream == null) {
+        stream = openPositionedReadStream(blockId);
+      }
+      int read;
+      boolean succeeded = false;
+      try {
+        stream.seek(pos % mBlockSize);
+        read = stream.read(b, off + bytesRead,
+            (int) Math.min(len - bytesRead, stream.remaining()));
+        succeeded = true;
+      } finally {
+        releasePositionedReadStream(blockId, stream, succeeded);
+      }
+      if (read <= 0) {
+        break;
+      }
+      bytesRead += read;
+      pos += read;
+    }
+    return bytesRead == 0 ? -1 : bytesRead;
+  }
+
+  /**
+   * Puts a stream used for a positioned read back in the pool of idle streams, or closes it if the
+   * read failed, since the failure may have left it in any state. A failure to close the stream
+   * is logged rather than thrown, so it does not hide the failure of the read.
+   *
+   * @param blockId the id of the block of the stream
+   * @param stream the stream
+   * @param reusable whether the read succeeded and the stream can be reused
+   */
+  private void releasePositionedReadStream(long blockId, BlockInStream stream, boolean reusable) {
+    if (reusable) {
+      mPositionedReadStreams.release(blockId, stream);
+      return;
+    }
+    try {
+      stream.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close the stream of block {} after a failed read: {}", blockId,
+          e.getMessage());
+    }
+  }
+
+  /**
+   * Reads several ranges of the file at once, without changing the position of the stream. The
+   * ranges are cut at block boundaries, and nearby ranges of a block are merged so that each group
+   * of them is fetched with a single request; the data between merged ranges is discarded. The
+   * requests of all groups run in parallel. A request to a block on the local worker maps the
+   * block file once instead of reading it through the stream. Like {@link #positionedRead}, this
+   * may be called by several threads at once, and the data read is not cached into Alluxio.
+   *
+   * @param ranges the ranges to read, which may overlap and be in any order
+   * @return the data of the ranges, in the order of the ranges; each future completes once all of
+   *         the data of its range has been read, or fails with the error of a request for it
+   */
+  public List<Future<ByteBuffer>> readVectored(List<FileRange> ranges) {
+    Preconditions.checkArgument(ranges != null, "ranges must not be null");
+    long end = maxSeekPosition();
+    List<RangeResult> results = new ArrayList<>(ranges.size());
+    List<Future<ByteBuffer>> futures = new ArrayList<>(ranges.size());
+    for (FileRange range : ranges) {
+      Preconditions.checkArgument(range.getEnd() <= end,
+          PreconditionMessage.ERR_RANGE_PAST_END_OF_FILE.toString(), range);
+      RangeResult result = new RangeResult(range.getLength());
+      results.add(result);
+      futures.add(result.mFuture);
+    }
+    for (RangeCoalescer.Group group : RangeCoalescer.coalesce(ranges, mBlockSize,
+        mVectoredReadMergeGap, mVectoredReadMaxMergedBytes)) {
+      ClientContext.getVectoredReadExecutorService().submit(new RangeGroupReader(group, results));
+    }
+    return futures;
+  }
+
   @Override
   public long remaining() {
     return mFileLength - mPos;
@@ -241,6 +510,10 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     Preconditions.checkArgument(pos >= 0, PreconditionMessage.ERR_SEEK_NEGATIVE.toString(), pos);
     Preconditions.checkArgument(pos <= maxSeekPosition(),
         PreconditionMessage.ERR_SEEK_PAST_END_OF_FILE.toString(), pos);
+    // The reader is no longer sequential, unless the seek lands at the start of a block which is
+    // then opened afresh.
+    mSequentialRead = false;
+    abandonNextBlock();
     if (!mShouldCachePartiallyReadBlock) {
       seekInternal(pos);
     } else {
@@ -494,18 +767,17 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
 
     // blockId = -1 if mPos = EOF.
     if (blockId < 0) {
+      abandonNextBlock();
+      return;
+    }
+    mSequentialRead = mPos % mBlockSize == 0;
+    BlockInStream openedAhead = takeNextBlock(blockId);
+    if (openedAhead != null) {
+      mCurrentBlockInStream = openedAhead;
       return;
     }
     try {
-      if (mAlluxioStorageType.isPromote()) {
-        try {
-          mContext.getAlluxioBlockStore().promote(blockId);
-        } catch (IOException e) {
-          // Failed to promote
-          LOG.warn("Promotion of block with ID {} failed.", blockId, e);
-        }
-      }
-      mCurrentBlockInStream = mContext.getAlluxioBlockStore().getInStream(blockId);
+      mCurrentBlockInStream = openBlockInStream(blockId);
     } catch (IOException e) {
       LOG.debug("Failed to get BlockInStream for block with ID {}, using UFS instead. {}", blockId,
           e);
@@ -520,6 +792,99 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     }
   }
 
+  /**
+   * Opens a {@link BlockInStream} for a block stored in Alluxio, promoting the block first if the
+   * read type asks for it.
+   *
+   * @param blockId the id of the block
+   * @return the stream of the block
+   * @throws IOException if the block is not available in Alluxio
+   */
+  private BlockInStream openBlockInStream(long blockId) throws IOException {
+    if (mAlluxioStorageType.isPromote()) {
+      try {
+        mContext.getAlluxioBlockStore().promote(blockId);
+      } catch (IOException e) {
+        // Failed to promote
+        LOG.warn("Promotion of block with ID {} failed.", blockId, e);
+      }
+    }
+    if (mReadAheadChunks > 0) {
+      return mContext.getAlluxioBlockStore().getInStream(blockId, mReadAheadChunks);
+    }
+    return mContext.getAlluxioBlockStore().getInStream(blockId);
+  }
+
+  /**
+   * Opens a stream of a block for positioned reads. The block is neither promoted nor read ahead,
+   * since positioned reads are usually small and scattered.
+   *
+   * @param blockId the id of the block
+   * @return the stream of the block, from Alluxio or else from the under storage
+   * @throws IOException if the block is available neither in Alluxio nor in the under storage
+   */
+  private BlockInStream openPositionedReadStream(long blockId) throws IOException {
+    try {
+      return mContext.getAlluxioBlockStore().getInStream(blockId);
+    } catch (IOException e) {
+      if (!mStatus.isPersisted()) {
+        throw e;
+      }
+      LOG.debug("Failed to get BlockInStream for block with ID {}, using UFS instead. {}", blockId,
+          e);
+      long blockStart = BlockId.getSequenceNumber(blockId) * mBlockSize;
+      return createUnderStoreBlockInStream(blockStart, getBlockSize(blockStart),
+          mStatus.getUfsPath());
+    }
+  }
+
+  /**
+   * Starts opening the next block of the file in the background if read-ahead is enabled, the
+   * current block has been read sequentially, and the reader is close to the end of it.
+   */
+  private void openNextBlockAhead() {
+    if (mReadAheadChunks <= 0 || !mSequentialRead || mNextBlockOpener != null
+        || mCurrentBlockInStream == null || mCurrentBlockInStream.remaining() == 0
+        || mCurrentBlockInStream.remaining() > mNextBlockReadAheadBytes) {
+      return;
+    }
+    int nextIndex = (int) (mPos / mBlockSize) + 1;
+    if (nextIndex >= mStatus.getBlockIds().size()) {
+      return;
+    }
+    mNextBlockOpener = new BlockInStreamOpener(mStatus.getBlockIds().get(nextIndex));
+  }
+
+  /**
+   * Takes the stream opened ahead of time for a block. A stream opened for any other block is
+   * closed.
+   *
+   * @param blockId the id of the block about to be read
+   * @return the stream of the block, or null if it was not opened ahead of time
+   */
+  private BlockInStream takeNextBlock(long blockId) {
+    BlockInStreamOpener opener = mNextBlockOpener;
+    mNextBlockOpener = null;
+    if (opener == null) {
+      return null;
+    }
+    if (opener.mBlockId != blockId) {
+      opener.abandon();
+      return null;
+    }
+    return opener.get();
+  }
+
+  /**
+   * Closes the stream being opened ahead of time, if any, once it has been opened.
+   */
+  private void abandonNextBlock() {
+    if (mNextBlockOpener != null) {
+      mNextBlockOpener.abandon();
+      mNextBlockOpener = null;
+    }
+  }
+
   /**
    * Seeks to a file position. Blocks are not cached unless they are fully read. This is only called
    * by {@link FileInStream#seek}.
@@ -627,4 +992,177 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
   private void readCurrentBlockToEnd() throws IOException {
     readCurrentBlockToPos(Long.MAX_VALUE);
   }
+
+  /**
+   * The data of a range of a vectored read, which is complete once every piece of the range has
+   * been read.
+   */
+  private static final class RangeResult {
+    private final byte[] mData;
+    private final AtomicInteger mBytesLeft;
+    private final SettableFuture<ByteBuffer> mFuture = SettableFuture.create();
+
+    RangeResult(int length) {
+      mData = new byte[length];
+      mBytesLeft = new AtomicInteger(length);
+      if (length == 0) {
+        mFuture.set(ByteBuffer.wrap(mData));
+      }
+    }
+
+    /**
+     * Copies the data of a piece of the range.
+     *
+     * @param src the data of the piece
+     * @param offset the offset of the piece in the range
+     */
+    void put(ByteBuffer src, int offset) {
+      int length = src.remaining();
+      src.get(mData, offset, length);
+      if (mBytesLeft.addAndGet(-length) == 0) {
+        mFuture.set(ByteBuffer.wrap(mData));
+      }
+    }
+  }
+
+  /**
+   * Fetches a group of ranges of a vectored read with one request on the vectored read executor,
+   * and hands each range its part of the data. The request uses an idle block stream of the file
+   * if there is one, and the stream is put back afterwards.
+   */
+  private final class RangeGroupReader implements Runnable {
+    private final RangeCoalescer.Group mGroup;
+    private final List<RangeResult> mResults;
+
+    RangeGroupReader(RangeCoalescer.Group group, List<RangeResult> results) {
+      mGroup = group;
+      mResults = results;
+    }
+
+    @Override
+    public void run() {
+      try {
+        read();
+      } catch (Throwable t) {
+        for (RangeCoalescer.Piece piece : mGroup.mPieces) {
+          mResults.get(piece.mRangeIndex).mFuture.setException(t);
+        }
+      }
+    }
+
+    private void read() throws IOException {
+      long blockId = mStatus.getBlockIds().get(mGroup.mBlockIndex);
+      BlockInStream stream = mPositionedReadStreams.acquire(blockId);
+      if (stream == null) {
+        stream = openPositionedReadStream(blockId);
+      }
+      boolean succeeded = false;
+      try {
+        stream.seek(mGroup.mOffset % mBlockSize);
+        // A local block lends its data from a single mapping of the block file.
+        ByteBuffer data = stream.readZeroCopy(mGroup.getLength());
+        if (data != null) {
+          try {
+            deliver(data);
+          } finally {
+            stream.releaseZeroCopyBuffer(data);
+          }
+        } else {
+          byte[] b = new byte[mGroup.getLength()];
+          int bytesRead = 0;
+          while (bytesRead < b.length) {
+            int read = stream.read(b, bytesRead, b.length - bytesRead);
+            if (read <= 0) {
+              throw new EOFException(PreconditionMessage.ERR_UNEXPECTED_EOF.toString());
+            }
+            bytesRead += read;
+          }
+          deliver(ByteBuffer.wrap(b));
+        }
+        succeeded = true;
+      } finally {
+        releasePositionedReadStream(blockId, stream, succeeded);
+      }
+    }
+
+    private void deliver(ByteBuffer data) {
+      for (RangeCoalescer.Piece piece : mGroup.mPieces) {
+        ByteBuffer src = data.duplicate();
+        src.position((int) (piece.mOffset - mGroup.mOffset));
+        src.limit(src.position() + piece.mLength);
+        mResults.get(piece.mRangeIndex).put(src, piece.mRangeOffset);
+      }
+    }
+  }
+
+  /**
+   * Opens the stream of a block on the read-ahead executor and starts reading ahead in it. If the
+   * stream is abandoned, it is closed as soon as it has been opened.
+   */
+  private final class BlockInStreamOpener implements Callable<BlockInStream> {
+    private final long mBlockId;
+    private final Future<BlockInStream> mFuture;
+    /** The opened stream, guarded by this object. */
+    private BlockInStream mStream;
+    /** Whether the stream is no longer wanted, guarded by this object. */
+    private boolean mAbandoned;
+
+    BlockInStreamOpener(long blockId) {
+      mBlockId = blockId;
+      mFuture = ClientContext.getReadAheadExecutorService().submit(this);
+    }
+
+    @Override
+    public BlockInStream call() throws IOException {
+      BlockInStream stream = openBlockInStream(mBlockId);
+      if (stream instanceof RemoteBlockInStream) {
+        ((RemoteBlockInStream) stream).startReadAhead();
+      }
+      synchronized (this) {
+        if (!mAbandoned) {
+          mStream = stream;
+          return stream;
+        }
+      }
+      stream.close();
+      return null;
+    }
+
+    /**
+     * Waits for the stream to be opened.
+     *
+     * @return the stream, or null if it could not be opened
+     */
+    BlockInStream get() {
+      try {
+        return mFuture.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        LOG.debug("Failed to open block {} ahead of time: {}", mBlockId,
+            e.getCause().getMessage());
+      }
+      abandon();
+      return null;
+    }
+
+    /**
+     * Closes the stream if it has been opened, or makes sure it is closed once it is opened.
+     */
+    void abandon() {
+      BlockInStream stream;
+      synchronized (this) {
+        mAbandoned = true;
+        stream = mStream;
+        mStream = null;
+      }
+      if (stream != null) {
+        try {
+          stream.close();
+        } catch (IOException e) {
+          LOG.warn("Failed to close block {} opened ahead of time: {}", mBlockId, e.getMessage());
+        }
+      }
+    }
+  }
 }
@@ -12,6 +12,7 @@
 package alluxio.client.file;
 
 import alluxio.AlluxioURI;
+import alluxio.Configuration;
 import alluxio.Constants;
 import alluxio.annotation.PublicApi;
 import alluxio.client.AbstractOutStream;
@@ -34,6 +35,7 @@ import alluxio.util.io.PathUtils;
 import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +43,9 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -50,6 +55,12 @@ import javax.annotation.concurrent.NotThreadSafe;
  * Alluxio space in the local machine or remote machines. If the {@link UnderStorageType} is
  * {@link UnderStorageType#SYNC_PERSIST}, another stream will write the data to the under storage
  * system.
+ * <p>
+ * When {@link Constants#USER_FILE_WRITE_PIPELINED_ENABLED} is set and the data goes to both Alluxio
+ * and the under storage, the two streams are written on separate threads through a
+ * {@link DualWritePipeline}, and closing the file commits the blocks while the under storage file
+ * is finalized. When {@link Constants#USER_FILE_WRITE_PARALLEL_ENABLED} is set, the blocks are
+ * written concurrently through a {@link ParallelBlockWriter}.
  */
 @PublicApi
 @NotThreadSafe
@@ -68,6 +79,10 @@ public class FileOutStream extends AbstractOutStream {
   private final FileSystemWorkerClient mFileSystemWorkerClient;
   /** The worker file id for the ufs file, null if mUfsDelegation is false. */
   private final Long mUfsFileId;
+  /** Writes to Alluxio and the under storage concurrently, null unless the write is pipelined. */
+  private final DualWritePipeline mPipeline;
+  /** Writes the blocks of the file concurrently, null unless the write is parallel. */
+  private final ParallelBlockWriter mBlockWriter;
 
   private String mUfsPath;
   private FileWriteLocationPolicy mLocationPolicy;
@@ -134,6 +149,29 @@ public class FileOutStream extends AbstractOutStream {
     mBytesWritten = 0;
     mLocationPolicy = Preconditions.checkNotNull(options.getLocationPolicy(),
         PreconditionMessage.FILE_WRITE_LOCATION_POLICY_UNSPECIFIED);
+    Configuration conf = ClientContext.getConf();
+    if (mAlluxioStorageType.isStore()
+        && conf.getBoolean(Constants.USER_FILE_WRITE_PARALLEL_ENABLED)) {
+      mBlockWriter = new ParallelBlockWriter(new ParallelBlockWriter.BlockOpener() {
+        @Override
+        public BufferedBlockOutStream openNextBlock() throws IOException {
+          return openBlock();
+        }
+      }, (int) conf.getBytes(Constants.USER_FILE_BUFFER_BYTES),
+          conf.getBytes(Constants.USER_FILE_WRITE_PARALLEL_MAX_BYTES),
+          ClientContext.getWritePipelineExecutorService());
+    } else {
+      mBlockWriter = null;
+    }
+    if (mAlluxioStorageType.isStore() && mUnderStorageType.isSyncPersist()
+        && conf.getBoolean(Constants.USER_FILE_WRITE_PIPELINED_ENABLED)) {
+      mPipeline = new DualWritePipeline(new AlluxioSink(), new UnderStorageSink(),
+          (int) conf.getBytes(Constants.USER_FILE_WRITE_PIPELINED_BUFFER_SIZE_BYTES),
+          conf.getInt(Constants.USER_FILE_WRITE_PIPELINED_BUFFERS),
+          ClientContext.getWritePipelineExecutorService());
+    } else {
+      mPipeline = null;
+    }
   }
 
   @Override
@@ -147,71 +185,42 @@ public class FileOutStream extends AbstractOutStream {
     if (mClosed) {
       return;
     }
+    IOException pipelineFailure = null;
+    if (mPipeline != null) {
+      if (mCanceled) {
+        mPipeline.abort();
+      } else {
+        try {
+          mPipeline.close();
+        } catch (IOException e) {
+          // The file is incomplete, so clean up as if the stream was canceled.
+          pipelineFailure = e;
+          mCanceled = true;
+        }
+      }
+    }
     if (mCurrentBlockOutStream != null) {
       mPreviousBlockOutStreams.add(mCurrentBlockOutStream);
     }
 
     CompleteFileOptions options = CompleteFileOptions.defaults();
-    if (mUnderStorageType.isSyncPersist()) {
-      if (mUfsDelegation) {
-        mUnderStorageOutputStream.close();
-        try {
-          if (mCanceled) {
-            mFileSystemWorkerClient.cancelUfsFile(mUfsFileId, CancelUfsFileOptions.defaults());
-          } else {
-            long len =
-                mFileSystemWorkerClient.completeUfsFile(mUfsFileId,
-                    CompleteUfsFileOptions.defaults());
-            options.setUfsLength(len);
-          }
-        } catch (AlluxioException e) {
-          throw new IOException(e);
-        } finally {
-          mFileSystemWorkerClient.close();
-        }
-      } else {
-        String tmpPath = PathUtils.temporaryFileName(mNonce, mUfsPath);
-        UnderFileSystem ufs = UnderFileSystem.get(tmpPath, ClientContext.getConf());
-        if (mCanceled) {
-          // TODO(yupeng): Handle this special case in under storage integrations.
-          mUnderStorageOutputStream.close();
-          if (!ufs.exists(tmpPath)) {
-            // Location of the temporary file has changed, recompute it.
-            updateUfsPath();
-            tmpPath = PathUtils.temporaryFileName(mNonce, mUfsPath);
-          }
-          ufs.delete(tmpPath, false);
-        } else {
-          mUnderStorageOutputStream.flush();
-          mUnderStorageOutputStream.close();
-          if (!ufs.exists(tmpPath)) {
-            // Location of the temporary file has changed, recompute it.
-            updateUfsPath();
-            tmpPath = PathUtils.temporaryFileName(mNonce, mUfsPath);
-          }
-          if (!ufs.rename(tmpPath, mUfsPath)) {
-            throw new IOException("Failed to rename " + tmpPath + " to " + mUfsPath);
-          }
-          options.setUfsLength(ufs.getFileSize(mUfsPath));
+    if (mPipeline != null && !mCanceled) {
+      completeConcurrently(options);
+    } else {
+      if (mUnderStorageType.isSyncPersist()) {
+        Long ufsLength = completeUfsFile();
+        if (ufsLength != null) {
+          options.setUfsLength(ufsLength);
         }
       }
-    }
-
-    if (mAlluxioStorageType.isStore()) {
-      try {
-        if (mCanceled) {
-          for (BufferedBlockOutStream bos : mPreviousBlockOutStreams) {
-            bos.cancel();
-          }
-        } else {
-          for (BufferedBlockOutStream bos : mPreviousBlockOutStreams) {
-            bos.close();
-          }
-        }
-      } catch (IOException e) {
-        handleCacheWriteException(e);
+      if (mAlluxioStorageType.isStore()) {
+        closeBlockOutStreams();
       }
     }
+    if (pipelineFailure != null) {
+      mClosed = true;
+      throw pipelineFailure;
+    }
 
     // Complete the file if it's ready to be completed.
     if (!mCanceled && (mUnderStorageType.isSyncPersist() || mAlluxioStorageType.isStore())) {
@@ -231,22 +240,148 @@ public class FileOutStream extends AbstractOutStream {
     mClosed = true;
   }
 
+  /**
+   * Finalizes the under storage file on another thread while the blocks are committed, as neither
+   * depends on the other.
+   *
+   * @param options the options to set the length of the under storage file in
+   * @throws IOException if either step fails
+   */
+  private void completeConcurrently(CompleteFileOptions options) throws IOException {
+    Future<Long> ufsLength = ClientContext.getWritePipelineExecutorService().submit(
+        new Callable<Long>() {
+          @Override
+          public Long call() throws IOException {
+            return completeUfsFile();
+          }
+        });
+    IOException blockFailure = null;
+    try {
+      closeBlockOutStreams();
+    } catch (IOException e) {
+      blockFailure = e;
+    }
+    // Wait for the under storage even after a failure, so it is not used once close returns.
+    try {
+      options.setUfsLength(ufsLength.get());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), IOException.class);
+      throw new IOException(e.getCause());
+    }
+    if (blockFailure != null) {
+      throw blockFailure;
+    }
+  }
+
+  /**
+   * Closes the under storage stream, then completes the under storage file or deletes it if the
+   * stream was canceled.
+   *
+   * @return the length of the under storage file, or null if the stream was canceled
+   * @throws IOException if an I/O error occurs
+   */
+  private Long completeUfsFile() throws IOException {
+    if (mUfsDelegation) {
+      mUnderStorageOutputStream.close();
+      try {
+        if (mCanceled) {
+          mFileSystemWorkerClient.cancelUfsFile(mUfsFileId, CancelUfsFileOptions.defaults());
+        } else {
+          return mFileSystemWorkerClient.completeUfsFile(mUfsFileId,
+              CompleteUfsFileOptions.defaults());
+        }
+      } catch (AlluxioException e) {
+        throw new IOException(e);
+      } finally {
+        mFileSystemWorkerClient.close();
+      }
+    } else {
+      String tmpPath = PathUtils.temporaryFileName(mNonce, mUfsPath);
+      UnderFileSystem ufs = UnderFileSystem.get(tmpPath, ClientContext.getConf());
+      if (mCanceled) {
+        // TODO(yupeng): Handle this special case in under storage integrations.
+        mUnderStorageOutputStream.close();
+        if (!ufs.exists(tmpPath)) {
+          // Location of the temporary file has changed, recompute it.
+          updateUfsPath();
+          tmpPath = PathUtils.temporaryFileName(mNonce, mUfsPath);
+        }
+        ufs.delete(tmpPath, false);
+      } else {
+        mUnderStorageOutputStream.flush();
+        mUnderStorageOutputStream.close();
+        if (!ufs.exists(tmpPath)) {
+          // Location of the temporary file has changed, recompute it.
+          updateUfsPath();
+          tmpPath = PathUtils.temporaryFileName(mNonce, mUfsPath);
+        }
+        if (!ufs.rename(tmpPath, mUfsPath)) {
+          throw new IOException("Failed to rename " + tmpPath + " to " + mUfsPath);
+        }
+        return ufs.getFileSize(mUfsPath);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Closes the block streams of the file, or cancels them if the stream was canceled.
+   *
+   * @throws IOException if the streams fail and the data is not written to the under storage
+   */
+  private void closeBlockOutStreams() throws IOException {
+    try {
+      if (mBlockWriter != null) {
+        if (mCanceled) {
+          mBlockWriter.cancel();
+        } else {
+          mBlockWriter.close();
+        }
+      } else if (mCanceled) {
+        for (BufferedBlockOutStream bos : mPreviousBlockOutStreams) {
+          bos.cancel();
+        }
+      } else {
+        for (BufferedBlockOutStream bos : mPreviousBlockOutStreams) {
+          bos.close();
+        }
+      }
+    } catch (IOException e) {
+      handleCacheWriteException(e);
+    }
+  }
+
   @Override
   public void flush() throws IOException {
     // TODO(yupeng): Handle flush for Alluxio storage stream as well.
-    if (mUnderStorageType.isSyncPersist()) {
+    if (mPipeline != null) {
+      mPipeline.flush();
+    } else if (mUnderStorageType.isSyncPersist()) {
       mUnderStorageOutputStream.flush();
     }
   }
 
   @Override
   public void write(int b) throws IOException {
+    if (mPipeline != null) {
+      mPipeline.write(b);
+      ClientContext.getClientMetrics().incBytesWrittenUfs(1);
+      mBytesWritten++;
+      return;
+    }
     if (mShouldCacheCurrentBlock) {
       try {
-        if (mCurrentBlockOutStream == null || mCurrentBlockOutStream.remaining() == 0) {
-          getNextBlock();
+        if (mBlockWriter != null) {
+          mBlockWriter.write(b);
+        } else {
+          if (mCurrentBlockOutStream == null || mCurrentBlockOutStream.remaining() == 0) {
+            getNextBlock();
+          }
+          mCurrentBlockOutStream.write(b);
         }
-        mCurrentBlockOutStream.write(b);
       } catch (IOException e) {
         handleCacheWriteException(e);
       }
@@ -271,27 +406,14 @@ public class FileOutStream extends AbstractOutStream {
     Preconditions.checkArgument(off >= 0 && len >= 0 && len + off <= b.length,
         PreconditionMessage.ERR_BUFFER_STATE.toString(), b.length, off, len);
 
+    if (mPipeline != null) {
+      mPipeline.write(b, off, len);
+      ClientContext.getClientMetrics().incBytesWrittenUfs(len);
+      mBytesWritten += len;
+      return;
+    }
     if (mShouldCacheCurrentBlock) {
-      try {
-        int tLen = len;
-        int tOff = off;
-        while (tLen > 0) {
-          if (mCurrentBlockOutStream == null || mCurrentBlockOutStream.remaining() == 0) {
-            getNextBlock();
-          }
-          long currentBlockLeftBytes = mCurrentBlockOutStream.remaining();
-          if (currentBlockLeftBytes >= tLen) {
-            mCurrentBlockOutStream.write(b, tOff, tLen);
-            tLen = 0;
-          } else {
-            mCurrentBlockOutStream.write(b, tOff, (int) currentBlockLeftBytes);
-            tOff += currentBlockLeftBytes;
-            tLen -= currentBlockLeftBytes;
-          }
-        }
-      } catch (IOException e) {
-        handleCacheWriteException(e);
-      }
+      writeToAlluxio(b, off, len);
     }
 
     if (mUnderStorageType.isSyncPersist()) {
@@ -301,6 +423,33 @@ public class FileOutStream extends AbstractOutStream {
     mBytesWritten += len;
   }
 
+  private void writeToAlluxio(byte[] b, int off, int len) throws IOException {
+    try {
+      if (mBlockWriter != null) {
+        mBlockWriter.write(b, off, len);
+        return;
+      }
+      int tLen = len;
+      int tOff = off;
+      while (tLen > 0) {
+        if (mCurrentBlockOutStream == null || mCurrentBlockOutStream.remaining() == 0) {
+          getNextBlock();
+        }
+        long currentBlockLeftBytes = mCurrentBlockOutStream.remaining();
+        if (currentBlockLeftBytes >= tLen) {
+          mCurrentBlockOutStream.write(b, tOff, tLen);
+          tLen = 0;
+        } else {
+          mCurrentBlockOutStream.write(b, tOff, (int) currentBlockLeftBytes);
+          tOff += currentBlockLeftBytes;
+          tLen -= currentBlockLeftBytes;
+        }
+      }
+    } catch (IOException e) {
+      handleCacheWriteException(e);
+    }
+  }
+
   private void getNextBlock() throws IOException {
     if (mCurrentBlockOutStream != null) {
       Preconditions.checkState(mCurrentBlockOutStream.remaining() <= 0,
@@ -309,15 +458,18 @@ public class FileOutStream extends AbstractOutStream {
     }
 
     if (mAlluxioStorageType.isStore()) {
-      try {
-        WorkerNetAddress address = mLocationPolicy
-            .getWorkerForNextBlock(mContext.getAlluxioBlockStore().getWorkerInfoList(), mBlockSize);
-        mCurrentBlockOutStream =
-            mContext.getAlluxioBlockStore().getOutStream(getNextBlockId(), mBlockSize, address);
-        mShouldCacheCurrentBlock = true;
-      } catch (AlluxioException e) {
-        throw new IOException(e);
-      }
+      mCurrentBlockOutStream = openBlock();
+      mShouldCacheCurrentBlock = true;
+    }
+  }
+
+  private BufferedBlockOutStream openBlock() throws IOException {
+    try {
+      WorkerNetAddress address = mLocationPolicy
+          .getWorkerForNextBlock(mContext.getAlluxioBlockStore().getWorkerInfoList(), mBlockSize);
+      return mContext.getAlluxioBlockStore().getOutStream(getNextBlockId(), mBlockSize, address);
+    } catch (AlluxioException e) {
+      throw new IOException(e);
     }
   }
 
@@ -338,7 +490,10 @@ public class FileOutStream extends AbstractOutStream {
     }
 
     LOG.warn("Failed to write into AlluxioStore, canceling write attempt.", e);
-    if (mCurrentBlockOutStream != null) {
+    if (mBlockWriter != null) {
+      mShouldCacheCurrentBlock = false;
+      mBlockWriter.cancel();
+    } else if (mCurrentBlockOutStream != null) {
       mShouldCacheCurrentBlock = false;
       mCurrentBlockOutStream.cancel();
     }
@@ -356,6 +511,39 @@ public class FileOutStream extends AbstractOutStream {
     }
   }
 
+  /**
+   * Writes the data of a pipelined write to Alluxio. As on the caller thread, a failure to cache a
+   * block is tolerated since the data also goes to the under storage.
+   */
+  private final class AlluxioSink implements DualWritePipeline.Sink {
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (mShouldCacheCurrentBlock) {
+        writeToAlluxio(b, off, len);
+      }
+    }
+
+    @Override
+    public void flush() {
+      // Block streams are flushed when they are closed.
+    }
+  }
+
+  /**
+   * Writes the data of a pipelined write to the under storage.
+   */
+  private final class UnderStorageSink implements DualWritePipeline.Sink {
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      mUnderStorageOutputStream.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      mUnderStorageOutputStream.flush();
+    }
+  }
+
   /**
    * Schedules the async persistence of the current file.
    *
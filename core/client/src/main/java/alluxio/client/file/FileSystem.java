@@ -34,6 +34,7 @@ import alluxio.exception.DirectoryNotEmptyException;
 import alluxio.exception.FileAlreadyExistsException;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidPathException;
+import alluxio.wire.BatchPathResult;
 
 import java.io.IOException;
 import java.util.List;
@@ -115,6 +116,21 @@ public interface FileSystem {
   FileOutStream createFile(AlluxioURI path, CreateFileOptions options)
       throws FileAlreadyExistsException, InvalidPathException, IOException, AlluxioException;
 
+  /**
+   * Creates a file for each of the given paths with a single request to the master. A path which
+   * fails to be created does not fail the others; its exception is returned in its result. Data
+   * is written to a created file through a {@link FileOutStream} opened with
+   * {@link CreateFileOptions#toOutStreamOptions()}.
+   *
+   * @param paths the paths of the files to create in Alluxio space
+   * @param options options to associate with the creation of every file
+   * @return the result for each of the given paths, in order, carrying the status of each new file
+   * @throws IOException if a non-Alluxio exception occurs
+   * @throws AlluxioException if an unexpected Alluxio exception is thrown
+   */
+  List<BatchPathResult> createFileBatch(List<AlluxioURI> paths, CreateFileOptions options)
+      throws IOException, AlluxioException;
+
   /**
    * Convenience method for {@link #delete(AlluxioURI, DeleteOptions)} with default options.
    *
@@ -140,6 +156,19 @@ public interface FileSystem {
   void delete(AlluxioURI path, DeleteOptions options)
       throws DirectoryNotEmptyException, FileDoesNotExistException, IOException, AlluxioException;
 
+  /**
+   * Deletes each of the given files or directories with a single request to the master. A path
+   * which fails to be deleted does not fail the others; its exception is returned in its result.
+   *
+   * @param paths the paths to delete in Alluxio space
+   * @param options options to associate with the deletion of every path
+   * @return the result for each of the given paths, in order
+   * @throws IOException if a non-Alluxio exception occurs
+   * @throws AlluxioException if an unexpected Alluxio exception is thrown
+   */
+  List<BatchPathResult> deleteBatch(List<AlluxioURI> paths, DeleteOptions options)
+      throws IOException, AlluxioException;
+
   /**
    * Convenience method for {@link #exists(AlluxioURI, ExistsOptions)} with default options.
    *
@@ -212,6 +241,19 @@ public interface FileSystem {
   URIStatus getStatus(AlluxioURI path, GetStatusOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException;
 
+  /**
+   * Gets the metadata of each of the given Alluxio paths with a single request to the master. A
+   * path which does not exist does not fail the others; its exception is returned in its result.
+   *
+   * @param paths the paths to obtain information about
+   * @return the result for each of the given paths, in order, carrying the status of each path
+   *         which exists
+   * @throws IOException if a non-Alluxio exception occurs
+   * @throws AlluxioException if an unexpected Alluxio exception is thrown
+   */
+  List<BatchPathResult> getStatusBatch(List<AlluxioURI> paths)
+      throws IOException, AlluxioException;
+
   /**
    * Convenience method for {@link #listStatus(AlluxioURI, ListStatusOptions)} with default options.
    *
@@ -240,6 +282,29 @@ public interface FileSystem {
   List<URIStatus> listStatus(AlluxioURI path, ListStatusOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException;
 
+  /**
+   * Convenience method for {@link #listStatusIterator(AlluxioURI, ListStatusOptions)} with default
+   * options.
+   *
+   * @param path the path to list information about
+   * @return a {@link ListStatusIterator} over the {@link URIStatus}s of the files and directories
+   *         which are the direct children of the given path, or of the file itself
+   */
+  ListStatusIterator listStatusIterator(AlluxioURI path);
+
+  /**
+   * Lists the same entries as {@link #listStatus(AlluxioURI, ListStatusOptions)}, fetching them
+   * from the master lazily, a page at a time, instead of in a single response. This is the way to
+   * list directories too large to hold in one response. The page size is the max results of the
+   * options if set, otherwise {@link Constants#USER_LIST_STATUS_PAGE_SIZE}.
+   *
+   * @param path the path to list information about
+   * @param options options to associate with this operation
+   * @return a {@link ListStatusIterator} over the {@link URIStatus}s of the files and directories
+   *         which are the direct children of the given path, or of the file itself
+   */
+  ListStatusIterator listStatusIterator(AlluxioURI path, ListStatusOptions options);
+
   /**
    * Convenience method for {@link #loadMetadata(AlluxioURI, LoadMetadataOptions)} with default
    * options.
@@ -28,6 +28,7 @@ import alluxio.exception.AlluxioException;
 import alluxio.thrift.AlluxioService;
 import alluxio.thrift.AlluxioTException;
 import alluxio.thrift.FileSystemMasterClientService;
+import alluxio.wire.BatchPathResult;
 import alluxio.wire.ThriftUtils;
 
 import org.apache.thrift.TException;
@@ -117,6 +118,25 @@ public final class FileSystemMasterClient extends AbstractMasterClient {
     });
   }
 
+  /**
+   * Creates new files in a single RPC.
+   *
+   * @param paths the file paths
+   * @param options method options, applied to every file
+   * @return the result for each of the given paths, in order
+   * @throws IOException if an I/O error occurs
+   * @throws AlluxioException if an Alluxio error occurs
+   */
+  public synchronized List<BatchPathResult> createFileBatch(final List<AlluxioURI> paths,
+      final CreateFileOptions options) throws IOException, AlluxioException {
+    return retryRPC(new RpcCallableThrowsAlluxioTException<List<BatchPathResult>>() {
+      @Override
+      public List<BatchPathResult> call() throws AlluxioTException, TException {
+        return fromThrift(mClient.createFileBatch(toPaths(paths), options.toThrift()));
+      }
+    });
+  }
+
   /**
    * Marks a file as completed.
    *
@@ -155,6 +175,25 @@ public final class FileSystemMasterClient extends AbstractMasterClient {
     });
   }
 
+  /**
+   * Deletes files or directories in a single RPC.
+   *
+   * @param paths the paths to delete
+   * @param options method options, applied to every path
+   * @return the result for each of the given paths, in order
+   * @throws IOException if an I/O error occurs
+   * @throws AlluxioException if an Alluxio error occurs
+   */
+  public synchronized List<BatchPathResult> deleteBatch(final List<AlluxioURI> paths,
+      final DeleteOptions options) throws IOException, AlluxioException {
+    return retryRPC(new RpcCallableThrowsAlluxioTException<List<BatchPathResult>>() {
+      @Override
+      public List<BatchPathResult> call() throws AlluxioTException, TException {
+        return fromThrift(mClient.removeBatch(toPaths(paths), options.isRecursive()));
+      }
+    });
+  }
+
   /**
    * Frees a file.
    *
@@ -190,6 +229,23 @@ public final class FileSystemMasterClient extends AbstractMasterClient {
     });
   }
 
+  /**
+   * @param paths the file paths
+   * @return the result for each of the given paths, in order, carrying the file info of each
+   *         path which could be resolved
+   * @throws IOException if an I/O error occurs
+   * @throws AlluxioException if an Alluxio error occurs
+   */
+  public synchronized List<BatchPathResult> getStatusBatch(final List<AlluxioURI> paths)
+      throws IOException, AlluxioException {
+    return retryRPC(new RpcCallableThrowsAlluxioTException<List<BatchPathResult>>() {
+      @Override
+      public List<BatchPathResult> call() throws AlluxioTException, TException {
+        return fromThrift(mClient.getStatusBatch(toPaths(paths)));
+      }
+    });
+  }
+
   /**
    * @param path the file path
    * @return the next blockId for the file
@@ -342,4 +398,28 @@ public final class FileSystemMasterClient extends AbstractMasterClient {
       }
     });
   }
+
+  /**
+   * @param uris the URIs to convert
+   * @return the paths of the URIs
+   */
+  private static List<String> toPaths(List<AlluxioURI> uris) {
+    List<String> paths = new ArrayList<>(uris.size());
+    for (AlluxioURI uri : uris) {
+      paths.add(uri.getPath());
+    }
+    return paths;
+  }
+
+  /**
+   * @param results the thrift representation of batch path results
+   * @return the wire representation of the results
+   */
+  private static List<BatchPathResult> fromThrift(List<alluxio.thrift.BatchPathResult> results) {
+    List<BatchPathResult> wireResults = new ArrayList<>(results.size());
+    for (alluxio.thrift.BatchPathResult result : results) {
+      wireResults.add(ThriftUtils.fromThrift(result));
+    }
+    return wireResults;
+  }
 }
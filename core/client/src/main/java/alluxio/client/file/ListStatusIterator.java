@@ -0,0 +1,117 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.AlluxioURI;
+import alluxio.annotation.PublicApi;
+import alluxio.client.file.options.ListStatusOptions;
+import alluxio.exception.AlluxioException;
+import alluxio.exception.ExceptionMessage;
+import alluxio.exception.FileDoesNotExistException;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Iterates over the {@link URIStatus} of the entries of a path, fetching them from the master a
+ * page at a time. Neither the client nor the master holds the whole listing of a huge directory at
+ * once, and the master only holds the directory lock while it builds one page.
+ * <p>
+ * Entries are returned in file id order, and each page starts after the last id of the previous
+ * one. An entry added while the directory is being listed is returned only if its id is greater
+ * than the ids already returned, and an entry removed before its page is fetched is not returned.
+ */
+@PublicApi
+@NotThreadSafe
+public final class ListStatusIterator {
+  private final FileSystemContext mContext;
+  private final AlluxioURI mPath;
+  private final boolean mLoadDirectChildren;
+  private final int mPageSize;
+
+  private Iterator<URIStatus> mPage = Collections.emptyIterator();
+  private long mStartAfterId;
+  private boolean mLastPageFetched;
+
+  /**
+   * Creates a new instance of {@link ListStatusIterator}.
+   *
+   * @param context the file system context to get master clients from
+   * @param path the path to list
+   * @param options the listStatus options; the first page starts after their start id
+   * @param pageSize the number of entries to fetch in each request
+   */
+  ListStatusIterator(FileSystemContext context, AlluxioURI path, ListStatusOptions options,
+      int pageSize) {
+    Preconditions.checkArgument(pageSize > 0, "page size must be positive");
+    mContext = Preconditions.checkNotNull(context);
+    mPath = Preconditions.checkNotNull(path);
+    mLoadDirectChildren = options.isLoadDirectChildren();
+    mStartAfterId = options.getStartAfterId();
+    mPageSize = pageSize;
+  }
+
+  /**
+   * @return whether there are more entries, fetching the next page if the current one is consumed
+   * @throws FileDoesNotExistException if the path does not exist
+   * @throws IOException if a non-Alluxio exception occurs
+   * @throws AlluxioException if an unexpected Alluxio exception is thrown
+   */
+  public boolean hasNext() throws IOException, AlluxioException {
+    while (!mPage.hasNext() && !mLastPageFetched) {
+      fetchPage();
+    }
+    return mPage.hasNext();
+  }
+
+  /**
+   * @return the next entry
+   * @throws FileDoesNotExistException if the path does not exist
+   * @throws IOException if a non-Alluxio exception occurs
+   * @throws AlluxioException if an unexpected Alluxio exception is thrown
+   */
+  public URIStatus next() throws IOException, AlluxioException {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return mPage.next();
+  }
+
+  private void fetchPage() throws IOException, AlluxioException {
+    ListStatusOptions options = ListStatusOptions.defaults()
+        .setLoadDirectChildren(mLoadDirectChildren)
+        .setStartAfterId(mStartAfterId)
+        .setMaxResults(mPageSize);
+    List<URIStatus> page;
+    FileSystemMasterClient masterClient = mContext.acquireMasterClient();
+    try {
+      page = masterClient.listStatus(mPath, options);
+    } catch (FileDoesNotExistException e) {
+      throw new FileDoesNotExistException(ExceptionMessage.PATH_DOES_NOT_EXIST.getMessage(mPath));
+    } finally {
+      mContext.releaseMasterClient(masterClient);
+    }
+    // A short page is the last one; a full page may be followed by an empty one.
+    mLastPageFetched = page.size() < mPageSize;
+    if (!page.isEmpty()) {
+      mStartAfterId = page.get(page.size() - 1).getFileId();
+    }
+    mPage = page.iterator();
+  }
+}
@@ -0,0 +1,335 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.Constants;
+import alluxio.client.block.BufferedBlockOutStream;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Writes the blocks of a file concurrently. Each block has a writer of its own which writes the
+ * block's data to its stream and then closes the stream, committing the block. The caller moves on
+ * to the next block as soon as it has handed over the data of the current one, so block N+1 is
+ * filled while block N is still being written or committed, and consecutive blocks may go to
+ * different workers.
+ * <p>
+ * Data is copied into chunks of one stream buffer, which are reused once their writers have
+ * written them. The number of chunks is bounded, and the caller blocks when all of them are in
+ * use. When a block
+ * fails, the other blocks stop writing and the failure is thrown by the next call to the writer.
+ * The writer itself must be used by one thread at a time.
+ */
+@NotThreadSafe
+final class ParallelBlockWriter {
+  private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+
+  /** The interval at which a blocked caller checks whether a block has failed. */
+  private static final long POLL_INTERVAL_MS = 100;
+
+  /** Marks the end of the data of a block. */
+  private static final Chunk END = new Chunk(0);
+
+  /**
+   * Opens the streams of the blocks of a file. It is only called from the thread using the writer,
+   * one block after another.
+   */
+  interface BlockOpener {
+    /**
+     * @return the stream of the next block of the file
+     * @throws IOException if the block cannot be opened
+     */
+    BufferedBlockOutStream openNextBlock() throws IOException;
+  }
+
+  private final BlockOpener mOpener;
+  private final int mChunkSize;
+  private final ExecutorService mExecutor;
+  private final int mMaxChunks;
+  /** The chunks which have been written, ready to be filled again. */
+  private final BlockingQueue<Chunk> mFreeChunks;
+  private final List<BlockWriter> mWriters = new ArrayList<>();
+  /** The first failure of any block. */
+  private final AtomicReference<Throwable> mFailure = new AtomicReference<>();
+  /** Whether the blocks should discard the data which is still queued instead of committing. */
+  private volatile boolean mCanceled;
+
+  /** The writer of the block being filled, or null if the next block has not been opened yet. */
+  private BlockWriter mCurrentWriter;
+  /** The chunk being filled, or null if it has been handed to the writer of its block. */
+  private Chunk mCurrentChunk;
+  private final byte[] mSingleByte = new byte[1];
+  private boolean mClosed;
+  /** The number of chunks allocated so far, only used by the caller. */
+  private int mAllocatedChunks;
+
+  /**
+   * @param opener the opener of the block streams
+   * @param chunkSize the maximum size of a chunk of data handed to a block writer
+   * @param maxInFlightBytes the maximum total size of the chunks, which bounds the bytes handed to
+   *        block writers but not written
+   * @param executor the executor to run the block writers on, which must not bound their number
+   */
+  ParallelBlockWriter(BlockOpener opener, int chunkSize, long maxInFlightBytes,
+      ExecutorService executor) {
+    Preconditions.checkArgument(chunkSize > 0, "chunkSize must be positive");
+    mOpener = Preconditions.checkNotNull(opener);
+    mChunkSize = chunkSize;
+    // At least one chunk, or the caller would wait forever.
+    mMaxChunks = (int) Math.min(Integer.MAX_VALUE, Math.max(1, maxInFlightBytes / chunkSize));
+    mFreeChunks = new ArrayBlockingQueue<>(mMaxChunks);
+    mExecutor = executor;
+  }
+
+  /**
+   * Writes a byte to the blocks of the file.
+   *
+   * @param b the byte to write
+   * @throws IOException if a block cannot be opened or a block has failed
+   */
+  void write(int b) throws IOException {
+    mSingleByte[0] = (byte) b;
+    write(mSingleByte, 0, 1);
+  }
+
+  /**
+   * Writes data to the blocks of the file, opening new blocks as the current one fills up.
+   *
+   * @param b the buffer holding the data
+   * @param off the offset of the data in the buffer
+   * @param len the length of the data
+   * @throws IOException if a block cannot be opened or a block has failed
+   */
+  void write(byte[] b, int off, int len) throws IOException {
+    Preconditions.checkState(!mClosed, "the block writer is closed");
+    while (len > 0) {
+      checkNotFailed();
+      if (mCurrentChunk == null) {
+        if (mCurrentWriter == null) {
+          openNextBlock();
+        }
+        mCurrentChunk = takeFreeChunk();
+        mCurrentChunk.mCapacity = (int) Math.min(mChunkSize, mCurrentWriter.mUnassignedBytes);
+        mCurrentWriter.mUnassignedBytes -= mCurrentChunk.mCapacity;
+      }
+      Chunk chunk = mCurrentChunk;
+      int toCopy = Math.min(len, chunk.mCapacity - chunk.mLength);
+      System.arraycopy(b, off, chunk.mData, chunk.mLength, toCopy);
+      chunk.mLength += toCopy;
+      off += toCopy;
+      len -= toCopy;
+      if (chunk.mLength == chunk.mCapacity) {
+        handOffCurrentChunk();
+      }
+    }
+  }
+
+  /**
+   * Hands the buffered data to the writer of the last block and waits until every block has been
+   * written and committed. If a block has failed, the blocks which have not been committed are
+   * canceled instead.
+   *
+   * @throws IOException if a block has failed
+   */
+  void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    if (mFailure.get() == null) {
+      handOffCurrentChunk();
+    }
+    stopWriters();
+    if (mFailure.get() != null) {
+      cancelBlocks();
+      checkNotFailed();
+    }
+  }
+
+  /**
+   * Discards the data which has not been written yet and cancels the blocks which have not been
+   * committed. Blocks which were committed before are kept.
+   *
+   * @throws IOException if a block cannot be canceled
+   */
+  void cancel() throws IOException {
+    mCanceled = true;
+    if (!mClosed) {
+      stopWriters();
+    }
+    IOException failure = cancelBlocks();
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Cancels the streams of the blocks once their writers have stopped. Canceling a committed block
+   * does nothing.
+   *
+   * @return the last failure to cancel a block, or null if all were canceled
+   */
+  private IOException cancelBlocks() {
+    IOException failure = null;
+    for (BlockWriter writer : mWriters) {
+      try {
+        writer.mStream.cancel();
+      } catch (IOException e) {
+        LOG.warn("Failed to cancel a block of the file: {}", e.getMessage());
+        failure = e;
+      }
+    }
+    return failure;
+  }
+
+  private void openNextBlock() throws IOException {
+    BufferedBlockOutStream stream = mOpener.openNextBlock();
+    mCurrentWriter = new BlockWriter(stream);
+    mWriters.add(mCurrentWriter);
+    mCurrentWriter.mFuture = mExecutor.submit(mCurrentWriter);
+  }
+
+  private Chunk takeFreeChunk() throws IOException {
+    Chunk chunk = mFreeChunks.poll();
+    if (chunk == null && mAllocatedChunks < mMaxChunks) {
+      mAllocatedChunks++;
+      return new Chunk(mChunkSize);
+    }
+    try {
+      while (chunk == null) {
+        checkNotFailed();
+        chunk = mFreeChunks.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+    chunk.mLength = 0;
+    return chunk;
+  }
+
+  private void handOffCurrentChunk() {
+    if (mCurrentChunk == null) {
+      return;
+    }
+    mCurrentWriter.mQueue.add(mCurrentChunk);
+    mCurrentChunk = null;
+    if (mCurrentWriter.mUnassignedBytes == 0) {
+      // The block is full, so its writer can commit it while the next block is filled.
+      mCurrentWriter.mQueue.add(END);
+      mCurrentWriter = null;
+    }
+  }
+
+  private void stopWriters() throws IOException {
+    mClosed = true;
+    if (mCurrentWriter != null) {
+      mCurrentWriter.mQueue.add(END);
+      mCurrentWriter = null;
+    }
+    mCurrentChunk = null;
+    try {
+      for (BlockWriter writer : mWriters) {
+        writer.mFuture.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      // The writers catch every failure of their blocks, so this is not expected.
+      throw new IOException(e.getCause());
+    }
+  }
+
+  private void checkNotFailed() throws IOException {
+    Throwable failure = mFailure.get();
+    if (failure != null) {
+      Throwables.propagateIfPossible(failure, IOException.class);
+      throw new IOException(failure);
+    }
+  }
+
+  /**
+   * A piece of the data of a block.
+   */
+  private static final class Chunk {
+    private final byte[] mData;
+    /** The number of bytes of the block assigned to the chunk, at most the size of its buffer. */
+    private int mCapacity;
+    private int mLength;
+
+    private Chunk(int size) {
+      mData = new byte[size];
+    }
+  }
+
+  /**
+   * Writes the chunks of one block to its stream and commits the block once it reaches the end
+   * marker. After a failure or a cancel, chunks are freed without being written so that the
+   * caller is never stuck.
+   */
+  private final class BlockWriter implements Runnable {
+    private final BufferedBlockOutStream mStream;
+    private final BlockingQueue<Chunk> mQueue = new LinkedBlockingQueue<>();
+    /** The bytes of the block which have not been put in a chunk yet, only used by the caller. */
+    private long mUnassignedBytes;
+    private Future<?> mFuture;
+
+    private BlockWriter(BufferedBlockOutStream stream) {
+      mStream = stream;
+      mUnassignedBytes = stream.remaining();
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (true) {
+          Chunk chunk = mQueue.take();
+          try {
+            if (!mCanceled && mFailure.get() == null) {
+              if (chunk == END) {
+                mStream.close();
+              } else {
+                mStream.write(chunk.mData, 0, chunk.mLength);
+              }
+            }
+          } catch (Throwable t) {
+            mFailure.compareAndSet(null, t);
+          }
+          if (chunk == END) {
+            return;
+          }
+          mFreeChunks.offer(chunk);
+        }
+      } catch (InterruptedException e) {
+        mFailure.compareAndSet(null, e);
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
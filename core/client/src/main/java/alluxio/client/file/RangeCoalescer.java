@@ -0,0 +1,137 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Plans the requests of a vectored read. The ranges are cut at block boundaries, since a request
+ * reads from one block, and the pieces of each block are merged into groups: two pieces share a
+ * group when the gap between them is small enough and the group does not grow too large. Each
+ * group is then fetched with a single request, and the data in the gaps is discarded.
+ */
+@ThreadSafe
+final class RangeCoalescer {
+  private RangeCoalescer() {} // prevent instantiation
+
+  /**
+   * Merges the ranges into groups.
+   *
+   * @param ranges the ranges to read, which may overlap and be in any order
+   * @param blockSize the block size of the file
+   * @param mergeGap the largest gap between two pieces which are fetched together
+   * @param maxMergedBytes the largest group which pieces are merged into
+   * @return the groups, ordered by offset, with every non-empty range covered by their pieces
+   */
+  static List<Group> coalesce(List<FileRange> ranges, long blockSize, long mergeGap,
+      long maxMergedBytes) {
+    Preconditions.checkArgument(blockSize > 0, "blockSize must be positive");
+    List<Piece> pieces = new ArrayList<>();
+    for (int i = 0; i < ranges.size(); i++) {
+      FileRange range = ranges.get(i);
+      long pos = range.getOffset();
+      while (pos < range.getEnd()) {
+        long blockIndex = pos / blockSize;
+        long pieceEnd = Math.min(range.getEnd(), (blockIndex + 1) * blockSize);
+        pieces.add(new Piece(i, pos, (int) (pos - range.getOffset()), (int) (pieceEnd - pos)));
+        pos = pieceEnd;
+      }
+    }
+    Collections.sort(pieces, new Comparator<Piece>() {
+      @Override
+      public int compare(Piece a, Piece b) {
+        return Long.compare(a.mOffset, b.mOffset);
+      }
+    });
+
+    List<Group> groups = new ArrayList<>();
+    Group group = null;
+    for (Piece piece : pieces) {
+      long blockIndex = piece.mOffset / blockSize;
+      if (group == null || group.mBlockIndex != blockIndex
+          || piece.mOffset - group.getEnd() > mergeGap
+          || Math.max(group.getEnd(), piece.getEnd()) - group.mOffset > maxMergedBytes) {
+        group = new Group((int) blockIndex, piece.mOffset);
+        groups.add(group);
+      }
+      group.add(piece);
+    }
+    return groups;
+  }
+
+  /**
+   * The part of a range which falls in one block.
+   */
+  static final class Piece {
+    /** The index of the range in the list of ranges read. */
+    final int mRangeIndex;
+    /** The offset of the piece in the file. */
+    final long mOffset;
+    /** The offset of the piece in its range. */
+    final int mRangeOffset;
+    final int mLength;
+
+    Piece(int rangeIndex, long offset, int rangeOffset, int length) {
+      mRangeIndex = rangeIndex;
+      mOffset = offset;
+      mRangeOffset = rangeOffset;
+      mLength = length;
+    }
+
+    long getEnd() {
+      return mOffset + mLength;
+    }
+  }
+
+  /**
+   * Pieces of one block which are fetched with a single request.
+   */
+  static final class Group {
+    final int mBlockIndex;
+    /** The offset of the group in the file. */
+    final long mOffset;
+    final List<Piece> mPieces = new ArrayList<>();
+    private long mEnd;
+
+    Group(int blockIndex, long offset) {
+      mBlockIndex = blockIndex;
+      mOffset = offset;
+      mEnd = offset;
+    }
+
+    void add(Piece piece) {
+      mPieces.add(piece);
+      mEnd = Math.max(mEnd, piece.getEnd());
+    }
+
+    /**
+     * @return the offset just past the last byte of the group in the file
+     */
+    long getEnd() {
+      return mEnd;
+    }
+
+    /**
+     * @return the number of bytes fetched for the group
+     */
+    int getLength() {
+      return (int) (mEnd - mOffset);
+    }
+  }
+}
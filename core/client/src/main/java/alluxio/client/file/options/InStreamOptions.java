@@ -39,6 +39,11 @@ public final class InStreamOptions {
    * is enabled.
    */
   private long mSeekBufferSizeBytes;
+  /**
+   * The maximum number of buffer-sized chunks fetched ahead of sequential reads of remote blocks.
+   * Zero disables read-ahead.
+   */
+  private int mReadAheadChunks;
 
   /**
    * @return the default {@link InStreamOptions}
@@ -61,6 +66,7 @@ public final class InStreamOptions {
         ClientContext.getConf().getBoolean(Constants.USER_FILE_CACHE_PARTIALLY_READ_BLOCK);
     mSeekBufferSizeBytes =
         ClientContext.getConf().getBytes(Constants.USER_FILE_SEEK_BUFFER_SIZE_BYTES);
+    mReadAheadChunks = ClientContext.getConf().getInt(Constants.USER_FILE_READ_AHEAD_CHUNKS);
   }
 
   /**
@@ -133,6 +139,26 @@ public final class InStreamOptions {
     return this;
   }
 
+  /**
+   * @return the maximum number of chunks to read ahead of sequential reads, 0 if disabled
+   */
+  public int getReadAheadChunks() {
+    return mReadAheadChunks;
+  }
+
+  /**
+   * Sets the maximum number of buffer-sized chunks to fetch ahead of sequential reads of remote
+   * blocks. When enabled, the next block of the file is also opened ahead of time once a
+   * sequential reader gets within this many chunks of the end of the current block.
+   *
+   * @param readAheadChunks the maximum number of chunks, or 0 to disable read-ahead
+   * @return the updated options object
+   */
+  public InStreamOptions setReadAheadChunks(int readAheadChunks) {
+    mReadAheadChunks = readAheadChunks;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -145,19 +171,21 @@ public final class InStreamOptions {
     return Objects.equal(mLocationPolicy, that.mLocationPolicy)
         && Objects.equal(mReadType, that.mReadType)
         && Objects.equal(mCachePartiallyReadBlock, that.mCachePartiallyReadBlock)
-        && Objects.equal(mSeekBufferSizeBytes, that.mSeekBufferSizeBytes);
+        && Objects.equal(mSeekBufferSizeBytes, that.mSeekBufferSizeBytes)
+        && Objects.equal(mReadAheadChunks, that.mReadAheadChunks);
   }
 
   @Override
   public int hashCode() {
-    return Objects
-        .hashCode(mLocationPolicy, mReadType, mCachePartiallyReadBlock, mSeekBufferSizeBytes);
+    return Objects.hashCode(mLocationPolicy, mReadType, mCachePartiallyReadBlock,
+        mSeekBufferSizeBytes, mReadAheadChunks);
   }
 
   @Override
   public String toString() {
     return Objects.toStringHelper(this).add("locationPolicy", mLocationPolicy)
         .add("readType", mReadType).add("cachePartiallyReadBlock", mCachePartiallyReadBlock)
-        .add("seekBufferSize", mSeekBufferSizeBytes).toString();
+        .add("seekBufferSize", mSeekBufferSizeBytes).add("readAheadChunks", mReadAheadChunks)
+        .toString();
   }
 }
@@ -13,6 +13,7 @@ package alluxio.client.file.options;
 
 import alluxio.annotation.PublicApi;
 import alluxio.thrift.ListStatusTOptions;
+import alluxio.util.IdUtils;
 
 import com.google.common.base.Objects;
 
@@ -25,6 +26,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 public final class ListStatusOptions {
   private boolean mLoadDirectChildren;
+  private long mStartAfterId;
+  private int mMaxResults;
 
   /**
    * @return the default {@link ListStatusOptions}
@@ -35,6 +38,8 @@ public final class ListStatusOptions {
 
   private ListStatusOptions() {
     mLoadDirectChildren = true;
+    mStartAfterId = IdUtils.INVALID_FILE_ID;
+    mMaxResults = 0;
   }
 
   /**
@@ -45,6 +50,48 @@ public final class ListStatusOptions {
     return mLoadDirectChildren;
   }
 
+  /**
+   * @return the file id the listing starts after; entries are listed in file id order, so a page
+   *         of a directory starts after the last id of the previous page
+   */
+  public long getStartAfterId() {
+    return mStartAfterId;
+  }
+
+  /**
+   * @return the maximum number of entries to list, or a non-positive value for no limit
+   */
+  public int getMaxResults() {
+    return mMaxResults;
+  }
+
+  /**
+   * @param loadDirectChildren the load direct children flag to use
+   * @return the updated options object
+   */
+  public ListStatusOptions setLoadDirectChildren(boolean loadDirectChildren) {
+    mLoadDirectChildren = loadDirectChildren;
+    return this;
+  }
+
+  /**
+   * @param startAfterId the file id to start the listing after
+   * @return the updated options object
+   */
+  public ListStatusOptions setStartAfterId(long startAfterId) {
+    mStartAfterId = startAfterId;
+    return this;
+  }
+
+  /**
+   * @param maxResults the maximum number of entries to list
+   * @return the updated options object
+   */
+  public ListStatusOptions setMaxResults(int maxResults) {
+    mMaxResults = maxResults;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -54,18 +101,22 @@ public final class ListStatusOptions {
       return false;
     }
     ListStatusOptions that = (ListStatusOptions) o;
-    return Objects.equal(mLoadDirectChildren, that.mLoadDirectChildren);
+    return Objects.equal(mLoadDirectChildren, that.mLoadDirectChildren)
+        && Objects.equal(mStartAfterId, that.mStartAfterId)
+        && Objects.equal(mMaxResults, that.mMaxResults);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mLoadDirectChildren);
+    return Objects.hashCode(mLoadDirectChildren, mStartAfterId, mMaxResults);
   }
 
   @Override
   public String toString() {
     return Objects.toStringHelper(this)
         .add("loadDirectChildren", mLoadDirectChildren)
+        .add("startAfterId", mStartAfterId)
+        .add("maxResults", mMaxResults)
         .toString();
   }
 
@@ -75,6 +126,8 @@ public final class ListStatusOptions {
   public ListStatusTOptions toThrift() {
     ListStatusTOptions options = new ListStatusTOptions();
     options.setLoadDirectChildren(mLoadDirectChildren);
+    options.setStartAfterId(mStartAfterId);
+    options.setMaxResults(mMaxResults);
     return options;
   }
 }
@@ -0,0 +1,218 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.netty;
+
+import alluxio.Constants;
+import alluxio.network.protocol.RPCBlockReadResponse;
+import alluxio.network.protocol.RPCErrorResponse;
+import alluxio.network.protocol.RPCRequest;
+import alluxio.network.protocol.RPCResponse;
+import alluxio.network.protocol.databuffer.DataBuffer;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A long-lived Netty channel to a data server which is shared by many outstanding requests.
+ * Every request carries a request id which the data server echoes back in its response, so the
+ * response can be routed to the caller waiting for it. Requests sent through this channel must ask
+ * the data server to keep the channel alive.
+ * <p>
+ * A failed request only fails the caller waiting for it: the data server answers it with an error
+ * status and the same request id. Every outstanding request fails only when the channel itself
+ * breaks, and the channel is then closed.
+ */
+@ThreadSafe
+public final class MultiplexedChannel implements ClientHandler.ResponseListener, Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+
+  private final InetSocketAddress mAddress;
+  private final Channel mChannel;
+  /** The source of request ids for this channel. */
+  private final AtomicLong mNextRequestId = new AtomicLong(1);
+  /** Requests which have been sent but not yet answered, keyed by request id. */
+  private final Map<Long, SettableFuture<RPCResponse>> mPendingRequests =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Connects a new {@link MultiplexedChannel} to the given data server.
+   *
+   * @param address the address of the data server
+   * @throws IOException if the connection cannot be established
+   */
+  MultiplexedChannel(InetSocketAddress address) throws IOException {
+    mAddress = address;
+    ClientHandler handler = new ClientHandler();
+    // The listener must be registered before any request is sent, and is never removed, so the
+    // handler is not mutated after the channel becomes active.
+    handler.addListener(this);
+    try {
+      mChannel = NettyClient.createClientBootstrap(handler).connect(address).sync().channel();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (Exception e) {
+      throw new IOException(e);
+    }
+    mChannel.closeFuture().addListener(new ChannelFutureListener() {
+      @Override
+      public void operationComplete(ChannelFuture future) {
+        failPendingRequests(new IOException("Channel to " + mAddress + " was closed"));
+      }
+    });
+    LOG.info("Connected multiplexed channel to remote machine {}", address);
+  }
+
+  /**
+   * @return a new request id which is unique within this channel
+   */
+  public long nextRequestId() {
+    return mNextRequestId.getAndIncrement();
+  }
+
+  /**
+   * @return true if the channel is still open and usable, false otherwise
+   */
+  public boolean isActive() {
+    return mChannel.isActive();
+  }
+
+  /**
+   * Sends a request through this channel and waits for the response with the same request id.
+   *
+   * @param requestId the id of the request, obtained from {@link #nextRequestId()}
+   * @param request the request to send, which must carry {@code requestId}
+   * @param timeoutMs the maximum number of milliseconds to wait for the response
+   * @return the response to the request
+   * @throws IOException if the request fails, or no response arrives before the timeout
+   */
+  public RPCResponse call(long requestId, RPCRequest request, long timeoutMs) throws IOException {
+    final SettableFuture<RPCResponse> response = SettableFuture.create();
+    mPendingRequests.put(requestId, response);
+    try {
+      mChannel.writeAndFlush(request).addListener(new ChannelFutureListener() {
+        @Override
+        public void operationComplete(ChannelFuture future) {
+          if (!future.isSuccess()) {
+            response.setException(future.cause());
+          }
+        }
+      });
+      return response.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    } catch (TimeoutException e) {
+      if (!response.cancel(false)) {
+        // The response raced with the timeout, release it since the caller will not see it.
+        try {
+          releasePayload(Futures.getUnchecked(response));
+        } catch (UncheckedExecutionException ee) {
+          // The request failed, so there is no payload to release.
+        }
+      }
+      throw new IOException("Timed out waiting for response to " + request + " from " + mAddress,
+          e);
+    } finally {
+      mPendingRequests.remove(requestId);
+    }
+  }
+
+  @Override
+  public void onResponseReceived(RPCResponse response) {
+    switch (response.getType()) {
+      case RPC_BLOCK_READ_RESPONSE:
+        RPCBlockReadResponse readResponse = (RPCBlockReadResponse) response;
+        if (readResponse.getRequestId() == 0) {
+          // Only a data server which does not know request ids leaves it out, and it closes the
+          // channel after responding, so the response cannot be matched and the channel is lost.
+          releasePayload(readResponse);
+          failChannel(new IOException("Data server " + mAddress + " does not support "
+              + Constants.USER_NETWORK_NETTY_KEEPALIVE_ENABLED));
+          break;
+        }
+        SettableFuture<RPCResponse> future =
+            mPendingRequests.remove(readResponse.getRequestId());
+        if (future == null || !future.set(response)) {
+          // The caller has given up on this request, so nobody else will release the payload.
+          LOG.warn("Discarding response for unknown request: {}", readResponse);
+          releasePayload(readResponse);
+        }
+        break;
+      case RPC_ERROR_RESPONSE:
+        // The data server sends an error response without a request id only when it cannot
+        // decode or handle a message at all, and then closes the channel. Errors of a request it
+        // understood come back as block read responses with an error status.
+        failChannel(new IOException(((RPCErrorResponse) response).getStatus().getMessage()));
+        break;
+      default:
+        LOG.error("Unexpected response on multiplexed channel to {}: {}", mAddress, response);
+        break;
+    }
+  }
+
+  /**
+   * Closes the underlying channel. Outstanding requests fail with an {@link IOException}.
+   */
+  @Override
+  public void close() {
+    mChannel.close();
+  }
+
+  private static void releasePayload(RPCResponse response) {
+    DataBuffer data = response.getPayloadDataBuffer();
+    if (data != null) {
+      data.release();
+    }
+  }
+
+  /**
+   * Fails every outstanding request with the given exception and closes the channel, after the
+   * channel itself has broken.
+   *
+   * @param e the exception to fail the requests with
+   */
+  private void failChannel(IOException e) {
+    LOG.error("Multiplexed channel to {} failed: {}", mAddress, e.getMessage());
+    failPendingRequests(e);
+    mChannel.close();
+  }
+
+  private void failPendingRequests(IOException e) {
+    for (Long requestId : mPendingRequests.keySet()) {
+      SettableFuture<RPCResponse> future = mPendingRequests.remove(requestId);
+      if (future != null) {
+        future.setException(e);
+      }
+    }
+  }
+}
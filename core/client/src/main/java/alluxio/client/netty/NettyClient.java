@@ -28,6 +28,10 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -57,6 +61,10 @@ public final class NettyClient {
   public static final long TIMEOUT_MS =
       CONF.getInt(Constants.USER_NETWORK_NETTY_TIMEOUT_MS);
 
+  /** Long-lived channels shared by all keep-alive requests, one per data server address. */
+  private static final ConcurrentHashMap<InetSocketAddress, MultiplexedChannel>
+      MULTIPLEXED_CHANNELS = new ConcurrentHashMap<>();
+
   private NettyClient() {} // prevent instantiation
 
   /**
@@ -87,4 +95,32 @@ public final class NettyClient {
 
     return boot;
   }
+
+  /**
+   * Returns the long-lived {@link MultiplexedChannel} to the given data server, connecting a new
+   * one if there is none or the previous one has been closed.
+   *
+   * @param address the address of the data server
+   * @return the shared channel to the data server
+   * @throws IOException if a new connection cannot be established
+   */
+  public static MultiplexedChannel acquireMultiplexedChannel(InetSocketAddress address)
+      throws IOException {
+    MultiplexedChannel channel = MULTIPLEXED_CHANNELS.get(address);
+    if (channel != null && channel.isActive()) {
+      return channel;
+    }
+    synchronized (MULTIPLEXED_CHANNELS) {
+      channel = MULTIPLEXED_CHANNELS.get(address);
+      if (channel != null) {
+        if (channel.isActive()) {
+          return channel;
+        }
+        channel.close();
+      }
+      channel = new MultiplexedChannel(address);
+      MULTIPLEXED_CHANNELS.put(address, channel);
+      return channel;
+    }
+  }
 }
@@ -12,6 +12,7 @@
 package alluxio.client.netty;
 
 import alluxio.Constants;
+import alluxio.client.ClientContext;
 import alluxio.client.RemoteBlockReader;
 import alluxio.exception.ExceptionMessage;
 import alluxio.network.protocol.RPCBlockReadRequest;
@@ -39,6 +40,9 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 public final class NettyRemoteBlockReader implements RemoteBlockReader {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+  /** Whether reads share a long-lived channel per data server instead of connecting each time. */
+  private static final boolean KEEP_ALIVE_ENABLED =
+      ClientContext.getConf().getBoolean(Constants.USER_NETWORK_NETTY_KEEPALIVE_ENABLED);
 
   private final Bootstrap mClientBootstrap;
   private final ClientHandler mHandler;
@@ -47,8 +51,6 @@ public final class NettyRemoteBlockReader implements RemoteBlockReader {
 
   /**
    * Creates a new {@link NettyRemoteBlockReader}.
-   *
-   * TODO(gene): Creating a new remote block reader may be expensive, so consider a connection pool.
    */
   public NettyRemoteBlockReader() {
     mHandler = new ClientHandler();
@@ -60,16 +62,25 @@ public final class NettyRemoteBlockReader implements RemoteBlockReader {
       long length, long lockId, long sessionId) throws IOException {
     SingleResponseListener listener = null;
     try {
-      ChannelFuture f = mClientBootstrap.connect(address).sync();
+      RPCResponse response;
+      if (KEEP_ALIVE_ENABLED) {
+        MultiplexedChannel channel = NettyClient.acquireMultiplexedChannel(address);
+        long requestId = channel.nextRequestId();
+        response = channel.call(requestId,
+            new RPCBlockReadRequest(blockId, offset, length, lockId, sessionId, requestId, true),
+            NettyClient.TIMEOUT_MS);
+      } else {
+        ChannelFuture f = mClientBootstrap.connect(address).sync();
 
-      LOG.info("Connected to remote machine {}", address);
-      Channel channel = f.channel();
-      listener = new SingleResponseListener();
-      mHandler.addListener(listener);
-      channel.writeAndFlush(new RPCBlockReadRequest(blockId, offset, length, lockId, sessionId));
+        LOG.info("Connected to remote machine {}", address);
+        Channel channel = f.channel();
+        listener = new SingleResponseListener();
+        mHandler.addListener(listener);
+        channel.writeAndFlush(new RPCBlockReadRequest(blockId, offset, length, lockId, sessionId));
 
-      RPCResponse response = listener.get(NettyClient.TIMEOUT_MS, TimeUnit.MILLISECONDS);
-      channel.close().sync();
+        response = listener.get(NettyClient.TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        channel.close().sync();
+      }
 
       switch (response.getType()) {
         case RPC_BLOCK_READ_RESPONSE:
@@ -0,0 +1,205 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.netty;
+
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.client.ClientContext;
+import alluxio.exception.ExceptionMessage;
+import alluxio.network.protocol.RPCBlockReadResponse;
+import alluxio.network.protocol.RPCBlockStreamCreditRequest;
+import alluxio.network.protocol.RPCBlockStreamReadRequest;
+import alluxio.network.protocol.RPCErrorResponse;
+import alluxio.network.protocol.RPCMessage;
+import alluxio.network.protocol.RPCResponse;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Streams a range of a remote block from a data server as a sequence of chunks. The data server
+ * pushes chunks without waiting for a request per chunk, but never has more than a configured
+ * window of chunks in flight; the reader grants more credits as it consumes chunks. Memory use on
+ * both ends is therefore bounded by the window, regardless of the length of the range.
+ */
+@NotThreadSafe
+public final class NettyRemoteBlockStreamReader implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+
+  /** The request id of the stream. Every stream has its own channel, so it can be constant. */
+  private static final long REQUEST_ID = 1;
+  /** Marker put in the response queue when the channel is closed. */
+  private static final RPCResponse CHANNEL_CLOSED =
+      new RPCErrorResponse(RPCResponse.Status.UNEXPECTED_STATUS_CODE);
+
+  private final long mChunkSize;
+  private final int mWindow;
+  private final Channel mChannel;
+  /** Chunks received from the data server but not yet consumed. At most a window's worth. */
+  private final BlockingQueue<RPCResponse> mResponses = new LinkedBlockingQueue<>();
+
+  /** The chunk currently being consumed, released when the next chunk is read. */
+  private RPCBlockReadResponse mCurrentChunk;
+  /** The number of chunks consumed since credits were last granted. */
+  private int mUnacknowledgedChunks;
+  /** Whether the end of stream marker has been received. */
+  private boolean mEndOfStream;
+
+  /**
+   * Opens a new stream of a remote block.
+   *
+   * @param address the address of the data server
+   * @param blockId the id of the block
+   * @param offset the block offset to begin reading at
+   * @param length the number of bytes to read, or -1 to read to the end of the block
+   * @param lockId the acquired block lock id
+   * @param sessionId the session id of the client
+   * @throws IOException if the connection cannot be established
+   */
+  public NettyRemoteBlockStreamReader(InetSocketAddress address, long blockId, long offset,
+      long length, long lockId, long sessionId) throws IOException {
+    Configuration conf = ClientContext.getConf();
+    mChunkSize = conf.getBytes(Constants.USER_BLOCK_REMOTE_READ_STREAMING_CHUNK_SIZE_BYTES);
+    mWindow = conf.getInt(Constants.USER_BLOCK_REMOTE_READ_STREAMING_WINDOW);
+
+    ClientHandler handler = new ClientHandler();
+    handler.addListener(new ClientHandler.ResponseListener() {
+      @Override
+      public void onResponseReceived(RPCResponse response) {
+        mResponses.offer(response);
+      }
+    });
+    try {
+      mChannel = NettyClient.createClientBootstrap(handler).connect(address).sync().channel();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (Exception e) {
+      throw new IOException(e);
+    }
+    mChannel.closeFuture().addListener(new ChannelFutureListener() {
+      @Override
+      public void operationComplete(ChannelFuture future) {
+        mResponses.offer(CHANNEL_CLOSED);
+      }
+    });
+    LOG.info("Connected to remote machine {} to stream block {}", address, blockId);
+    mChannel.writeAndFlush(new RPCBlockStreamReadRequest(blockId, offset, length, lockId,
+        sessionId, REQUEST_ID, mChunkSize, mWindow));
+  }
+
+  /**
+   * Returns the next chunk of the stream. The returned buffer is only valid until the next call to
+   * this method or to {@link #close()}.
+   *
+   * @return the data of the next chunk, or null if the end of the stream has been reached
+   * @throws IOException if the data server responds with a failure, or does not respond in time
+   */
+  public ByteBuffer readChunk() throws IOException {
+    releaseCurrentChunk();
+    if (mEndOfStream) {
+      return null;
+    }
+    RPCResponse response;
+    try {
+      response = mResponses.poll(NettyClient.TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+    if (response == null) {
+      throw new IOException("Timed out waiting for the next chunk from " + mChannel);
+    }
+    if (response == CHANNEL_CLOSED) {
+      throw new IOException("Channel " + mChannel + " was closed before the end of the stream");
+    }
+    switch (response.getType()) {
+      case RPC_BLOCK_READ_RESPONSE:
+        RPCBlockReadResponse chunk = (RPCBlockReadResponse) response;
+        RPCResponse.Status status = chunk.getStatus();
+        if (status != RPCResponse.Status.SUCCESS) {
+          throw new IOException(status.getMessage() + " response: " + chunk);
+        }
+        if (chunk.getLength() == 0) {
+          mEndOfStream = true;
+          return null;
+        }
+        mCurrentChunk = chunk;
+        return chunk.getPayloadDataBuffer().getReadOnlyByteBuffer();
+      case RPC_ERROR_RESPONSE:
+        RPCErrorResponse error = (RPCErrorResponse) response;
+        throw new IOException(error.getStatus().getMessage());
+      default:
+        throw new IOException(ExceptionMessage.UNEXPECTED_RPC_RESPONSE
+            .getMessage(response.getType(), RPCMessage.Type.RPC_BLOCK_READ_RESPONSE));
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * Releases any chunks which have been received, and closes the channel. The data server stops
+   * the stream when the channel is closed.
+   */
+  @Override
+  public void close() throws IOException {
+    if (mCurrentChunk != null) {
+      mCurrentChunk.getPayloadDataBuffer().release();
+      mCurrentChunk = null;
+    }
+    mEndOfStream = true;
+    try {
+      mChannel.close().sync();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } finally {
+      // No more responses can arrive after the channel is closed.
+      RPCResponse response;
+      while ((response = mResponses.poll()) != null) {
+        if (response.getPayloadDataBuffer() != null) {
+          response.getPayloadDataBuffer().release();
+        }
+      }
+    }
+  }
+
+  /**
+   * Releases the chunk being consumed, and grants the data server more credits once half of the
+   * window has been consumed.
+   */
+  private void releaseCurrentChunk() {
+    if (mCurrentChunk == null) {
+      return;
+    }
+    mCurrentChunk.getPayloadDataBuffer().release();
+    mCurrentChunk = null;
+    mUnacknowledgedChunks++;
+    if (mUnacknowledgedChunks >= Math.max(1, mWindow / 2)) {
+      mChannel.writeAndFlush(new RPCBlockStreamCreditRequest(REQUEST_ID, mUnacknowledgedChunks));
+      mUnacknowledgedChunks = 0;
+    }
+  }
+}
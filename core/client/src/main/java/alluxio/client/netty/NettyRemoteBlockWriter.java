@@ -12,6 +12,7 @@
 package alluxio.client.netty;
 
 import alluxio.Constants;
+import alluxio.client.ClientContext;
 import alluxio.client.RemoteBlockWriter;
 import alluxio.exception.ExceptionMessage;
 import alluxio.network.protocol.RPCBlockWriteRequest;
@@ -19,26 +20,39 @@ import alluxio.network.protocol.RPCBlockWriteResponse;
 import alluxio.network.protocol.RPCErrorResponse;
 import alluxio.network.protocol.RPCMessage;
 import alluxio.network.protocol.RPCResponse;
-import alluxio.network.protocol.databuffer.DataByteArrayChannel;
+import alluxio.network.protocol.databuffer.DataByteBuffer;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * Write data to a remote data server using Netty.
+ *
+ * By default every write opens a new connection and waits for the data server to acknowledge it.
+ * When write sessions are enabled, one connection is kept open from {@link #open} to
+ * {@link #close()}, and writes are pipelined: up to a configured window of writes may be awaiting
+ * acknowledgement at any time. A failed write is reported by a later call to {@link #write} or by
+ * {@link #close()}, which waits for all outstanding writes to be acknowledged.
  */
 @NotThreadSafe
 public final class NettyRemoteBlockWriter implements RemoteBlockWriter {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+  private static final boolean SESSION_ENABLED =
+      ClientContext.getConf().getBoolean(Constants.USER_BLOCK_REMOTE_WRITE_SESSION_ENABLED);
+  private static final int SESSION_WINDOW =
+      ClientContext.getConf().getInt(Constants.USER_BLOCK_REMOTE_WRITE_SESSION_WINDOW);
 
   private final Bootstrap mClientBootstrap;
   private final ClientHandler mHandler;
@@ -51,6 +65,9 @@ public final class NettyRemoteBlockWriter implements RemoteBlockWriter {
   // Total number of bytes written to the remote block.
   private long mWrittenBytes;
 
+  /** The write session of the open block, or null if write sessions are disabled. */
+  private WriteSession mSession;
+
   /**
    * Creates a new {@link NettyRemoteBlockWriter}.
    */
@@ -70,18 +87,30 @@ public final class NettyRemoteBlockWriter implements RemoteBlockWriter {
     mBlockId = blockId;
     mSessionId = sessionId;
     mWrittenBytes = 0;
+    if (SESSION_ENABLED) {
+      mSession = new WriteSession();
+    }
     mOpen = true;
   }
 
   @Override
-  public void close() {
+  public void close() throws IOException {
     if (mOpen) {
       mOpen = false;
+      if (mSession != null) {
+        closeSession();
+      }
     }
   }
 
   @Override
-  public void write(byte[] bytes, int offset, int length) throws IOException {
+  public void write(ByteBuffer data) throws IOException {
+    int length = data.remaining();
+    if (mSession != null) {
+      writeInSession(data, length);
+      data.position(data.limit());
+      return;
+    }
     SingleResponseListener listener = null;
     try {
       // TODO(hy): keep connection open across multiple write calls.
@@ -92,7 +121,7 @@ public final class NettyRemoteBlockWriter implements RemoteBlockWriter {
       listener = new SingleResponseListener();
       mHandler.addListener(listener);
       channel.writeAndFlush(new RPCBlockWriteRequest(mSessionId, mBlockId, mWrittenBytes, length,
-          new DataByteArrayChannel(bytes, offset, length)));
+          new DataByteBuffer(data, length)));
 
       RPCResponse response = listener.get(NettyClient.TIMEOUT_MS, TimeUnit.MILLISECONDS);
       channel.close().sync();
@@ -108,6 +137,7 @@ public final class NettyRemoteBlockWriter implements RemoteBlockWriter {
                 mSessionId, mAddress, status.getMessage()));
           }
           mWrittenBytes += length;
+          data.position(data.limit());
           break;
         case RPC_ERROR_RESPONSE:
           RPCErrorResponse error = (RPCErrorResponse) response;
@@ -124,4 +154,138 @@ public final class NettyRemoteBlockWriter implements RemoteBlockWriter {
       }
     }
   }
+
+  /**
+   * Sends a write through the write session without waiting for it to be acknowledged, unless the
+   * window of unacknowledged writes is full.
+   *
+   * @param data the source data, from its position to its limit
+   * @param length the length of the data to write (in bytes)
+   * @throws IOException if an earlier write failed, or the window does not open up in time
+   */
+  private void writeInSession(ByteBuffer data, int length) throws IOException {
+    mSession.checkFailure();
+    try {
+      if (!mSession.mPermits.tryAcquire(NettyClient.TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+        throw new IOException("Timed out waiting for writes to block " + mBlockId
+            + " to be acknowledged by " + mAddress);
+      }
+      mSession.checkFailure();
+      // The request wraps the caller's buffer, so it must have been written to the socket before
+      // the caller may reuse the buffer. The acknowledgement is not waited for.
+      ChannelFuture future = mSession.mChannel.writeAndFlush(new RPCBlockWriteRequest(mSessionId,
+          mBlockId, mWrittenBytes, length, new DataByteBuffer(data, length), true));
+      future.await();
+      if (!future.isSuccess()) {
+        throw new IOException(future.cause());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+    mWrittenBytes += length;
+  }
+
+  /**
+   * Waits for all the writes of the session to be acknowledged, then closes its channel. The data
+   * server closes the block writer when the channel is closed.
+   *
+   * @throws IOException if any write of the session failed
+   */
+  private void closeSession() throws IOException {
+    WriteSession session = mSession;
+    mSession = null;
+    try {
+      if (!session.mPermits.tryAcquire(SESSION_WINDOW, NettyClient.TIMEOUT_MS,
+          TimeUnit.MILLISECONDS)) {
+        throw new IOException("Timed out waiting for writes to block " + mBlockId
+            + " to be acknowledged by " + mAddress);
+      }
+      session.checkFailure();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } finally {
+      session.mChannel.close().awaitUninterruptibly();
+    }
+  }
+
+  /**
+   * The connection used to write a single block when write sessions are enabled. Responses and
+   * channel events are delivered by the channel's event loop, so the failure is volatile.
+   */
+  private final class WriteSession implements ClientHandler.ResponseListener {
+    private final Channel mChannel;
+    /** One permit for every write which may be sent before earlier ones are acknowledged. */
+    private final Semaphore mPermits = new Semaphore(SESSION_WINDOW);
+    /** The first failure of the session, or null if every write so far has succeeded. */
+    private volatile IOException mFailure;
+
+    /**
+     * Connects the channel of a new write session.
+     *
+     * @throws IOException if the connection cannot be established
+     */
+    WriteSession() throws IOException {
+      ClientHandler handler = new ClientHandler();
+      handler.addListener(this);
+      try {
+        mChannel = NettyClient.createClientBootstrap(handler).connect(mAddress).sync().channel();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      } catch (Exception e) {
+        throw new IOException(e);
+      }
+      mChannel.closeFuture().addListener(new ChannelFutureListener() {
+        @Override
+        public void operationComplete(ChannelFuture future) {
+          fail(new IOException("Channel to " + mAddress + " was closed"));
+        }
+      });
+      LOG.info("Connected to remote machine {} to write block {}", mAddress, mBlockId);
+    }
+
+    @Override
+    public void onResponseReceived(RPCResponse response) {
+      switch (response.getType()) {
+        case RPC_BLOCK_WRITE_RESPONSE:
+          RPCResponse.Status status = ((RPCBlockWriteResponse) response).getStatus();
+          if (status != RPCResponse.Status.SUCCESS) {
+            fail(new IOException(ExceptionMessage.BLOCK_WRITE_ERROR.getMessage(mBlockId,
+                mSessionId, mAddress, status.getMessage())));
+            return;
+          }
+          mPermits.release();
+          break;
+        case RPC_ERROR_RESPONSE:
+          fail(new IOException(((RPCErrorResponse) response).getStatus().getMessage()));
+          break;
+        default:
+          fail(new IOException(ExceptionMessage.UNEXPECTED_RPC_RESPONSE
+              .getMessage(response.getType(), RPCMessage.Type.RPC_BLOCK_WRITE_RESPONSE)));
+          break;
+      }
+    }
+
+    /**
+     * Records the failure of the session, and wakes up any thread waiting for a permit so it can
+     * observe the failure.
+     *
+     * @param e the failure
+     */
+    private void fail(IOException e) {
+      if (mFailure == null) {
+        mFailure = e;
+      }
+      mPermits.release(SESSION_WINDOW);
+    }
+
+    private void checkFailure() throws IOException {
+      IOException failure = mFailure;
+      if (failure != null) {
+        throw new IOException(failure.getMessage(), failure);
+      }
+    }
+  }
 }
@@ -20,6 +20,7 @@ import alluxio.client.file.FileOutStream;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.FileSystemContext;
 import alluxio.client.file.FileSystemMasterClient;
+import alluxio.client.file.ListStatusIterator;
 import alluxio.client.file.URIStatus;
 import alluxio.client.file.options.CreateDirectoryOptions;
 import alluxio.client.file.options.CreateFileOptions;
@@ -453,22 +454,22 @@ abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem {
     }
 
     AlluxioURI uri = new AlluxioURI(HadoopUtils.getPathWithoutScheme(path));
-    List<URIStatus> statuses;
+    // Fetch the entries a page at a time, so that a huge directory is not sent in one response and
+    // only one page of URIStatus is held alongside the FileStatus array.
+    List<FileStatus> ret = new ArrayList<>();
     try {
-      statuses = sFileSystem.listStatus(uri);
+      ListStatusIterator statuses = sFileSystem.listStatusIterator(uri);
+      while (statuses.hasNext()) {
+        URIStatus status = statuses.next();
+        // TODO(hy): Replicate 3 with the number of disk replications.
+        ret.add(new FileStatus(status.getLength(), status.isFolder(), 3,
+            status.getBlockSizeBytes(), status.getCreationTimeMs(), status.getCreationTimeMs(),
+            null, null, null, new Path(mAlluxioHeader + status.getPath())));
+      }
     } catch (AlluxioException e) {
       throw new IOException(e);
     }
-
-    FileStatus[] ret = new FileStatus[statuses.size()];
-    for (int k = 0; k < statuses.size(); k++) {
-      URIStatus status = statuses.get(k);
-      // TODO(hy): Replicate 3 with the number of disk replications.
-      ret[k] = new FileStatus(status.getLength(), status.isFolder(), 3, status.getBlockSizeBytes(),
-          status.getCreationTimeMs(), status.getCreationTimeMs(), null, null, null,
-          new Path(mAlluxioHeader + status.getPath()));
-    }
-    return ret;
+    return ret.toArray(new FileStatus[ret.size()]);
   }
 
   /**
@@ -26,6 +26,7 @@ import alluxio.exception.FileDoesNotExistException;
 import alluxio.util.io.BufferUtils;
 
 import com.google.common.primitives.Ints;
+import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem.Statistics;
 import org.apache.hadoop.fs.Path;
@@ -38,6 +39,7 @@ import java.io.EOFException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -45,7 +47,8 @@ import javax.annotation.concurrent.NotThreadSafe;
  * An input stream for reading a file from HDFS.
  */
 @NotThreadSafe
-public class HdfsFileInputStream extends InputStream implements Seekable, PositionedReadable {
+public class HdfsFileInputStream extends InputStream
+    implements Seekable, PositionedReadable, ByteBufferReadable {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
 
   private long mCurrentPosition;
@@ -57,9 +60,10 @@ public class HdfsFileInputStream extends InputStream implements Seekable, Positi
 
   private FSDataInputStream mHdfsInputStream = null;
 
-  private FileInStream mAlluxioFileInputStream = null;
+  /** The stream of the file in Alluxio, null once reading from Alluxio has failed. */
+  private volatile FileInStream mAlluxioFileInputStream = null;
 
-  private boolean mClosed = false;
+  private volatile boolean mClosed = false;
 
   private int mBufferLimit = 0;
   private int mBufferPosition = 0;
@@ -213,34 +217,76 @@ public class HdfsFileInputStream extends InputStream implements Seekable, Positi
     return 1;
   }
 
+  /**
+   * Reads data into a byte buffer. When the data is in a block on the local worker, it is read
+   * straight into a direct buffer without an intermediate copy.
+   */
   @Override
-  public synchronized int read(long position, byte[] buffer, int offset, int length)
-      throws IOException {
+  public int read(ByteBuffer buf) throws IOException {
     if (mClosed) {
-      throw new IOException(ExceptionMessage.READ_CLOSED_STREAM.getMessage());
-    }
-    int ret = -1;
-    long oldPos = getPos();
-    if ((position < 0) || (position >= mFileInfo.getLength())) {
-      return ret;
+      throw new IOException("Cannot read from a closed stream.");
     }
-
     if (mAlluxioFileInputStream != null) {
       try {
-        mAlluxioFileInputStream.seek(position);
-        ret = mAlluxioFileInputStream.read(buffer, offset, length);
+        int ret = mAlluxioFileInputStream.read(buf);
         if (mStatistics != null && ret != -1) {
           mStatistics.incrementBytesRead(ret);
         }
+        if (ret > 0) {
+          mCurrentPosition += ret;
+        }
         return ret;
-      } finally {
-        mAlluxioFileInputStream.seek(oldPos);
+      } catch (IOException e) {
+        LOG.error(e.getMessage(), e);
+        mAlluxioFileInputStream.close();
+        mAlluxioFileInputStream = null;
+      }
+    }
+
+    if (!buf.hasRemaining()) {
+      return 0;
+    }
+    getHdfsInputStream();
+    int byteRead = readFromHdfsBuffer();
+    // byteRead is an unsigned byte, if its -1 then we have hit EOF
+    if (byteRead == -1) {
+      return -1;
+    }
+    buf.put((byte) byteRead);
+    return 1;
+  }
+
+  /**
+   * Reads at a position of the file without changing the position of the stream. Reads from
+   * Alluxio do not lock the stream, so concurrent positioned reads run in parallel. Only the
+   * fallback to the under storage, which seeks a shared stream, is serialized.
+   */
+  @Override
+  public int read(long position, byte[] buffer, int offset, int length) throws IOException {
+    if (mClosed) {
+      throw new IOException(ExceptionMessage.READ_CLOSED_STREAM.getMessage());
+    }
+    if ((position < 0) || (position >= mFileInfo.getLength())) {
+      return -1;
+    }
+
+    FileInStream alluxioStream = mAlluxioFileInputStream;
+    if (alluxioStream != null) {
+      int ret = alluxioStream.positionedRead(position, buffer, offset, length);
+      if (mStatistics != null && ret != -1) {
+        mStatistics.incrementBytesRead(ret);
       }
+      return ret;
     }
+    return readFromHdfs(position, buffer, offset, length);
+  }
 
+  private synchronized int readFromHdfs(long position, byte[] buffer, int offset, int length)
+      throws IOException {
+    long oldPos = getPos();
     try {
       getHdfsInputStream(position);
-      ret = mHdfsInputStream.read(buffer, offset, length);
+      int ret = mHdfsInputStream.read(buffer, offset, length);
       if (mStatistics != null && ret != -1) {
         mStatistics.incrementBytesRead(ret);
       }
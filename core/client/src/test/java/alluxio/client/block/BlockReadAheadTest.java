@@ -0,0 +1,163 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block;
+
+import alluxio.Constants;
+import alluxio.util.io.BufferUtils;
+import alluxio.worker.ClientMetrics;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the {@link BlockReadAhead} class.
+ */
+public class BlockReadAheadTest {
+  private static final int CHUNK_SIZE = 100;
+  private static final int MAX_CHUNKS = 4;
+  private static final long BLOCK_SIZE = CHUNK_SIZE * 20;
+
+  private final byte[] mData = BufferUtils.getIncreasingByteArray((int) BLOCK_SIZE);
+  private final AtomicInteger mSourceReads = new AtomicInteger();
+  private ClientMetrics mMetrics;
+  private BlockReadAhead mReadAhead;
+
+  /**
+   * Sets up the read-ahead over an in-memory block before a test runs.
+   */
+  @Before
+  public void before() {
+    mMetrics = new ClientMetrics();
+    mReadAhead = new BlockReadAhead(new BlockReadAhead.ChunkReader() {
+      @Override
+      public void read(long pos, ByteBuffer dst) {
+        mSourceReads.incrementAndGet();
+        dst.put(mData, (int) pos, dst.remaining());
+      }
+    }, BLOCK_SIZE, CHUNK_SIZE, MAX_CHUNKS, mMetrics);
+  }
+
+  private void read(long pos, byte[] buffer) throws Exception {
+    mReadAhead.read(pos, ByteBuffer.wrap(buffer));
+  }
+
+  /**
+   * Tests that sequential reads return the data of the block and are served from read-ahead.
+   */
+  @Test
+  public void sequentialReadTest() throws Exception {
+    byte[] buffer = new byte[CHUNK_SIZE];
+    for (int pos = 0; pos < BLOCK_SIZE; pos += CHUNK_SIZE) {
+      read(pos, buffer);
+      Assert.assertTrue(BufferUtils.equalIncreasingByteArray(pos, CHUNK_SIZE, buffer));
+    }
+    mReadAhead.close();
+    List<Long> metrics = mMetrics.getHeartbeatData();
+    // Only the first read misses, every later chunk has been fetched ahead.
+    Assert.assertEquals(BLOCK_SIZE - CHUNK_SIZE,
+        (long) metrics.get(Constants.BYTES_READ_AHEAD_HIT_INDEX));
+    Assert.assertEquals(0L, (long) metrics.get(Constants.BYTES_READ_AHEAD_WASTED_INDEX));
+    Assert.assertEquals(metrics.get(Constants.BYTES_READ_AHEAD_INDEX),
+        metrics.get(Constants.BYTES_READ_AHEAD_HIT_INDEX));
+  }
+
+  /**
+   * Tests that a read away from the fetched chunks discards them and still returns the right data.
+   */
+  @Test
+  public void randomReadTest() throws Exception {
+    byte[] buffer = new byte[CHUNK_SIZE];
+    read(0, buffer);
+    read(CHUNK_SIZE, buffer);
+    read(CHUNK_SIZE * 15, buffer);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteArray(CHUNK_SIZE * 15, CHUNK_SIZE, buffer));
+    // A read straddling chunk boundaries after the window has been reset.
+    read(CHUNK_SIZE * 3 + 50, buffer);
+    Assert.assertTrue(
+        BufferUtils.equalIncreasingByteArray(CHUNK_SIZE * 3 + 50, CHUNK_SIZE, buffer));
+    mReadAhead.close();
+    List<Long> metrics = mMetrics.getHeartbeatData();
+    Assert.assertEquals((long) metrics.get(Constants.BYTES_READ_AHEAD_INDEX),
+        metrics.get(Constants.BYTES_READ_AHEAD_HIT_INDEX)
+            + metrics.get(Constants.BYTES_READ_AHEAD_WASTED_INDEX));
+    Assert.assertTrue(metrics.get(Constants.BYTES_READ_AHEAD_WASTED_INDEX) > 0);
+  }
+
+  /**
+   * Tests that a seek away from the fetched chunks discards them.
+   */
+  @Test
+  public void seekTest() throws Exception {
+    byte[] buffer = new byte[CHUNK_SIZE];
+    read(0, buffer);
+    read(CHUNK_SIZE, buffer);
+    mReadAhead.seek(CHUNK_SIZE * 10);
+    List<Long> metrics = mMetrics.getHeartbeatData();
+    Assert.assertEquals(metrics.get(Constants.BYTES_READ_AHEAD_INDEX),
+        metrics.get(Constants.BYTES_READ_AHEAD_WASTED_INDEX));
+    read(CHUNK_SIZE * 10, buffer);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteArray(CHUNK_SIZE * 10, CHUNK_SIZE, buffer));
+    mReadAhead.close();
+  }
+
+  /**
+   * Tests that closing waits for a fetch which is already running, so the block source is not used
+   * after close returns.
+   */
+  @Test
+  public void closeWaitsForRunningFetchTest() throws Exception {
+    final CountDownLatch fetchStarted = new CountDownLatch(1);
+    final CountDownLatch fetchReleased = new CountDownLatch(1);
+    final AtomicBoolean fetchDone = new AtomicBoolean(false);
+    final BlockReadAhead readAhead = new BlockReadAhead(new BlockReadAhead.ChunkReader() {
+      @Override
+      public void read(long pos, ByteBuffer dst) throws IOException {
+        if (pos >= CHUNK_SIZE) {
+          fetchStarted.countDown();
+          try {
+            fetchReleased.await();
+          } catch (InterruptedException e) {
+            throw new IOException(e);
+          }
+          fetchDone.set(true);
+        }
+        dst.put(mData, (int) pos, dst.remaining());
+      }
+    }, BLOCK_SIZE, CHUNK_SIZE, MAX_CHUNKS, mMetrics);
+    // The first read fetches the next chunk ahead, which blocks in the source.
+    readAhead.read(0, ByteBuffer.wrap(new byte[CHUNK_SIZE]));
+    Assert.assertTrue(fetchStarted.await(10, TimeUnit.SECONDS));
+
+    Thread closer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        readAhead.close();
+      }
+    });
+    closer.start();
+    closer.join(200);
+    Assert.assertTrue(closer.isAlive());
+    fetchReleased.countDown();
+    closer.join(10 * Constants.SECOND_MS);
+    Assert.assertFalse(closer.isAlive());
+    Assert.assertTrue(fetchDone.get());
+  }
+}
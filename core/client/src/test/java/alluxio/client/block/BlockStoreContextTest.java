@@ -31,6 +31,7 @@ import org.powermock.reflect.Whitebox;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Tests {@link BlockStoreContext}.
@@ -214,6 +215,41 @@ public final class BlockStoreContextTest {
     Assert.assertFalse(BlockStoreContext.INSTANCE.hasLocalWorker());
   }
 
+  /**
+   * Tests that clients to a remote worker are reused after they are released, and closed once they
+   * have been idle for too long.
+   */
+  @Test
+  public void remoteWorkerClientPoolTest() throws Exception {
+    Whitebox.setInternalState(NetworkAddressUtils.class, "sLocalHost", "localhost");
+    WorkerNetAddress remoteAddress = new WorkerNetAddress().setHost("remotehost");
+    BlockWorkerClient workerClientMock = PowerMockito.mock(BlockWorkerClient.class);
+    PowerMockito.doNothing().when(workerClientMock).sessionHeartbeat();
+    PowerMockito.doReturn(false).when(workerClientMock).isLocal();
+    PowerMockito.doReturn(remoteAddress).when(workerClientMock).getWorkerNetAddress();
+    PowerMockito
+        .whenNew(BlockWorkerClient.class)
+        .withArguments(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong(),
+            Mockito.eq(false), Mockito.any())
+        .thenReturn(workerClientMock);
+
+    BlockWorkerClient client = BlockStoreContext.INSTANCE.acquireWorkerClient(remoteAddress);
+    BlockStoreContext.INSTANCE.releaseWorkerClient(client);
+    Mockito.verify(workerClientMock, Mockito.never()).close();
+    Assert.assertSame(client, BlockStoreContext.INSTANCE.acquireWorkerClient(remoteAddress));
+    PowerMockito.verifyNew(BlockWorkerClient.class, Mockito.times(1))
+        .withArguments(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong(),
+            Mockito.eq(false), Mockito.any());
+
+    BlockStoreContext.INSTANCE.releaseWorkerClient(client);
+    Map<WorkerNetAddress, BlockWorkerClientPool> pools =
+        Whitebox.getInternalState(BlockStoreContext.INSTANCE, "mRemoteBlockWorkerClientPoolMap");
+    BlockWorkerClientPool pool = pools.get(remoteAddress);
+    Assert.assertEquals(0, pool.evictIdleClients(Constants.HOUR_MS));
+    Assert.assertEquals(1, pool.evictIdleClients(0));
+    Mockito.verify(workerClientMock).close();
+  }
+
   class AcquireWorkerClient implements Runnable {
     @Override
     public void run() {
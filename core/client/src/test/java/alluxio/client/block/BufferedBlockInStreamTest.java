@@ -19,6 +19,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+
 /**
  * Tests for the {@link BufferedBlockInStream} class.
  */
@@ -145,4 +147,96 @@ public class BufferedBlockInStreamTest {
     Assert.assertTrue(BufferUtils.equalIncreasingByteArray(position, size, readBytes));
     Assert.assertEquals(shouldRemain, mTestStream.mBuffer.remaining());
   }
+
+  /**
+   * Tests that {@link BufferedBlockInStream#read(ByteBuffer)} reads into direct and heap buffers,
+   * both through the internal buffer and directly.
+   *
+   * @throws Exception when reading from the stream fails
+   */
+  @Test
+  public void byteBufferReadTest() throws Exception {
+    int position = 0;
+    int size = (int) mBufferSize / 2;
+
+    // Read half buffer into a direct buffer, should be from buffer
+    ByteBuffer buf = ByteBuffer.allocateDirect(size);
+    Assert.assertEquals(size, mTestStream.read(buf));
+    Assert.assertFalse(buf.hasRemaining());
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(position, size, buf));
+    Assert.assertEquals(mBufferSize - size, mTestStream.mBuffer.remaining());
+    position += size;
+
+    // Read buffer size bytes into a direct buffer, should not be from buffer
+    size = (int) mBufferSize;
+    buf = ByteBuffer.allocateDirect(size);
+    Assert.assertEquals(size, mTestStream.read(buf));
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(position, size, buf));
+    position += size;
+
+    // Read into a heap buffer
+    buf = ByteBuffer.allocate(size);
+    Assert.assertEquals(size, mTestStream.read(buf));
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(position, size, buf));
+
+    // Read at the end of the block
+    mTestStream.seek(mBlockSize);
+    buf.clear();
+    Assert.assertEquals(-1, mTestStream.read(buf));
+  }
+
+  /**
+   * Tests that {@link BufferedBlockInStream#readZeroCopy(int)} does not move a stream which cannot
+   * lend its data.
+   *
+   * @throws Exception when reading from the stream fails
+   */
+  @Test
+  public void readZeroCopyUnsupportedTest() throws Exception {
+    Assert.assertNull(mTestStream.readZeroCopy((int) mBufferSize));
+    Assert.assertEquals(mBlockSize, mTestStream.remaining());
+    Assert.assertEquals(0, mTestStream.read());
+  }
+
+  /**
+   * Tests that {@link BufferedBlockInStream#releaseZeroCopyBuffer(ByteBuffer)} only releases the
+   * buffers lent by the stream, each of them once.
+   *
+   * @throws Exception when reading from the stream fails
+   */
+  @Test
+  public void releaseZeroCopyBufferTest() throws Exception {
+    BufferedBlockInStream stream = new TestBufferedBlockInStream(1L, 0, mBlockSize) {
+      @Override
+      protected ByteBuffer zeroCopyRead(int len) {
+        return ByteBuffer.allocateDirect(len);
+      }
+    };
+    ByteBuffer lent = stream.readZeroCopy((int) mBufferSize);
+    Assert.assertNotNull(lent);
+    ByteBuffer owned = ByteBuffer.allocateDirect((int) mBufferSize);
+    try {
+      stream.releaseZeroCopyBuffer(owned);
+      Assert.fail("a buffer the stream did not lend must not be released");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    // A buffer equal to the lent one is still not the lent one.
+    try {
+      stream.releaseZeroCopyBuffer(lent.duplicate());
+      Assert.fail("a buffer the stream did not lend must not be released");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    stream.close();
+    // The lent buffer can be given back after the stream is closed, but only once.
+    stream.releaseZeroCopyBuffer(lent);
+    try {
+      stream.releaseZeroCopyBuffer(lent);
+      Assert.fail("a buffer must not be released twice");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    Assert.assertEquals(0, owned.get(0));
+  }
 }
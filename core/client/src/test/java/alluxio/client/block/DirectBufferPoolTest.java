@@ -0,0 +1,114 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block;
+
+import alluxio.Constants;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Tests for the {@link DirectBufferPool} class.
+ */
+public class DirectBufferPoolTest {
+  private static final int MAX_BYTES = 4 * Constants.KB;
+
+  private DirectBufferPool mPool;
+
+  /**
+   * Sets up a new pool before a test runs.
+   */
+  @Before
+  public void before() {
+    mPool = new DirectBufferPool(MAX_BYTES);
+  }
+
+  /**
+   * Tests that a released buffer is reused by the next lease of the same size.
+   */
+  @Test
+  public void reuseTest() {
+    ByteBuffer buffer = mPool.acquire(Constants.KB);
+    Assert.assertTrue(buffer.isDirect());
+    Assert.assertEquals(Constants.KB, buffer.capacity());
+    buffer.put((byte) 1);
+    mPool.release(buffer);
+    Assert.assertEquals(Constants.KB, mPool.getIdleBytes());
+
+    ByteBuffer reused = mPool.acquire(Constants.KB);
+    Assert.assertSame(buffer, reused);
+    Assert.assertEquals(0, reused.position());
+    Assert.assertEquals(Constants.KB, reused.limit());
+    Assert.assertEquals(0, mPool.getIdleBytes());
+    Assert.assertEquals(Constants.KB, mPool.getAllocatedBytes());
+    Assert.assertEquals(1, mPool.getLeasedBuffers());
+  }
+
+  /**
+   * Tests that the direct memory held by the pool never exceeds its maximum.
+   */
+  @Test
+  public void boundedTest() {
+    ByteBuffer first = mPool.acquire(MAX_BYTES / 2);
+    ByteBuffer second = mPool.acquire(MAX_BYTES / 2);
+    ByteBuffer overflow = mPool.acquire(MAX_BYTES / 2);
+    Assert.assertTrue(first.isDirect());
+    Assert.assertTrue(second.isDirect());
+    Assert.assertFalse(overflow.isDirect());
+    Assert.assertEquals(1, mPool.getHeapBuffers());
+    Assert.assertEquals(MAX_BYTES, mPool.getAllocatedBytes());
+
+    // Idle buffers of another size are freed to make room.
+    mPool.release(first);
+    mPool.release(second);
+    ByteBuffer large = mPool.acquire(MAX_BYTES);
+    Assert.assertTrue(large.isDirect());
+    Assert.assertEquals(MAX_BYTES, mPool.getAllocatedBytes());
+    Assert.assertEquals(0, mPool.getIdleBytes());
+
+    Assert.assertFalse(mPool.acquire(MAX_BYTES + 1).isDirect());
+  }
+
+  /**
+   * Tests that releasing a buffer twice does not put it in the pool twice.
+   */
+  @Test
+  public void doubleReleaseTest() {
+    ByteBuffer buffer = mPool.acquire(Constants.KB);
+    mPool.release(buffer);
+    mPool.release(buffer);
+    Assert.assertEquals(Constants.KB, mPool.getIdleBytes());
+    Assert.assertSame(buffer, mPool.acquire(Constants.KB));
+    Assert.assertNotSame(buffer, mPool.acquire(Constants.KB));
+  }
+
+  /**
+   * Tests that closing the pool frees idle buffers, and buffers released afterwards.
+   */
+  @Test
+  public void closeTest() {
+    ByteBuffer leaked = mPool.acquire(Constants.KB);
+    mPool.release(mPool.acquire(Constants.KB * 2));
+    mPool.close();
+    Assert.assertEquals(0, mPool.getIdleBytes());
+    Assert.assertEquals(Constants.KB, mPool.getAllocatedBytes());
+    Assert.assertEquals(1, mPool.getLeasedBuffers());
+
+    mPool.release(leaked);
+    Assert.assertEquals(0, mPool.getAllocatedBytes());
+    Assert.assertEquals(0, mPool.getLeasedBuffers());
+    Assert.assertFalse(mPool.acquire(Constants.KB).isDirect());
+  }
+}
@@ -84,6 +84,17 @@ public class TestBufferedBlockOutStream extends BufferedBlockOutStream {
     return mBuffer;
   }
 
+  /**
+   * @return the data in the buffer which has not been flushed yet
+   */
+  public byte[] getBufferedData() {
+    ByteBuffer buffer = mBuffer.duplicate();
+    buffer.flip();
+    byte[] data = new byte[buffer.remaining()];
+    buffer.get(data);
+    return data;
+  }
+
   /**
    * @return true if the stream is canceled, false otherwise
    */
@@ -112,7 +123,8 @@ public class TestBufferedBlockOutStream extends BufferedBlockOutStream {
   @Override
   public void flush() {
     int bytesToWrite = mBuffer.position();
-    mDataWritten.put(mBuffer.array(), 0, bytesToWrite);
+    mBuffer.flip();
+    mDataWritten.put(mBuffer);
     mFlushedBytes += bytesToWrite;
     mBuffer.clear();
     mHasFlushed = true;
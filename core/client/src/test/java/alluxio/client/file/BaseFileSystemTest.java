@@ -245,6 +245,28 @@ public final class BaseFileSystemTest {
     }
   }
 
+  /**
+   * Tests for the {@link BaseFileSystem#listStatusIterator(AlluxioURI, ListStatusOptions)} method.
+   *
+   * @throws Exception when listing the status fails
+   */
+  @Test
+  public void listStatusIteratorTest() throws Exception {
+    AlluxioURI dir = new AlluxioURI("/dir");
+    List<URIStatus> infos = new ArrayList<>();
+    infos.add(new URIStatus(new FileInfo().setFileId(1)));
+    infos.add(new URIStatus(new FileInfo().setFileId(2)));
+    // A page shorter than the page size is the last one, so a single request is made.
+    ListStatusOptions pageOptions = ListStatusOptions.defaults().setMaxResults(3);
+    Mockito.when(mFileSystemMasterClient.listStatus(dir, pageOptions)).thenReturn(infos);
+    ListStatusIterator iterator = mFileSystem.listStatusIterator(dir, pageOptions);
+    Assert.assertTrue(iterator.hasNext());
+    Assert.assertSame(infos.get(0), iterator.next());
+    Assert.assertSame(infos.get(1), iterator.next());
+    Assert.assertFalse(iterator.hasNext());
+    Mockito.verify(mFileSystemMasterClient).listStatus(dir, pageOptions);
+  }
+
   /**
    * Tests for the {@link BaseFileSystem#loadMetadata(AlluxioURI, LoadMetadataOptions)}
    * method.
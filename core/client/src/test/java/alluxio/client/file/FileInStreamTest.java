@@ -34,6 +34,7 @@ import alluxio.util.io.BufferUtils;
 import alluxio.wire.FileInfo;
 import alluxio.wire.WorkerNetAddress;
 
+import com.google.common.collect.Lists;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -49,8 +50,11 @@ import org.powermock.reflect.Whitebox;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * Tests for the {@link FileInStream} class.
@@ -283,6 +287,166 @@ public class FileInStreamTest {
     mTestStream.seek(FILE_LENGTH);
   }
 
+  /**
+   * Tests that reading the file into a direct buffer yields the correct data and caches the blocks.
+   *
+   * @throws IOException when reading from the stream fails
+   */
+  @Test
+  public void readByteBufferTest() throws IOException {
+    ByteBuffer buf = ByteBuffer.allocateDirect((int) FILE_LENGTH);
+    while (buf.hasRemaining()) {
+      Assert.assertTrue(mTestStream.read(buf) > 0);
+    }
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(0, (int) FILE_LENGTH, buf));
+    buf.clear();
+    Assert.assertEquals(-1, mTestStream.read(buf));
+    verifyCacheStreams(FILE_LENGTH);
+  }
+
+  /**
+   * Tests that a zero-copy read of a block which cannot be lent returns null and does not move the
+   * stream.
+   *
+   * @throws IOException when reading from the stream fails
+   */
+  @Test
+  public void readZeroCopyUnsupportedTest() throws IOException {
+    Assert.assertNull(mTestStream.readZeroCopy((int) BLOCK_LENGTH));
+    Assert.assertEquals(FILE_LENGTH, mTestStream.remaining());
+    Assert.assertEquals(0, mTestStream.read());
+  }
+
+  /**
+   * Tests that a buffer which was not lent by the stream cannot be given back to it.
+   */
+  @Test
+  public void releaseZeroCopyBufferNotLentTest() {
+    try {
+      mTestStream.releaseZeroCopyBuffer(ByteBuffer.allocateDirect(10));
+      Assert.fail("a buffer the stream did not lend must not be released");
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals(PreconditionMessage.ERR_ZERO_COPY_BUFFER_NOT_LENT.toString(),
+          e.getMessage());
+    }
+  }
+
+  /**
+   * Tests that positioned reads return the data at their position without moving the stream or
+   * caching the blocks they read, and that they reuse the streams of the blocks.
+   *
+   * @throws IOException when reading from the stream fails
+   */
+  @Test
+  public void positionedReadTest() throws IOException {
+    mTestStream.seek(10);
+    // Read from the middle of block 1 to the middle of block 2
+    int position = (int) (BLOCK_LENGTH * 1.5);
+    byte[] buffer = new byte[(int) BLOCK_LENGTH];
+    Assert.assertEquals(BLOCK_LENGTH,
+        mTestStream.positionedRead(position, buffer, 0, buffer.length));
+    Assert.assertArrayEquals(BufferUtils.getIncreasingByteArray(position, buffer.length), buffer);
+    // Read block 2 again, which reuses its idle stream
+    position = (int) (BLOCK_LENGTH * 2);
+    buffer = new byte[10];
+    Assert.assertEquals(10, mTestStream.positionedRead(position, buffer, 0, buffer.length));
+    Assert.assertArrayEquals(BufferUtils.getIncreasingByteArray(position, buffer.length), buffer);
+    Mockito.verify(mBlockStore, Mockito.times(1)).getInStream(2L);
+    // Reading at the end of the file returns -1
+    Assert.assertEquals(-1, mTestStream.positionedRead(FILE_LENGTH, buffer, 0, buffer.length));
+
+    // The stream is still where it was, and nothing was cached by the positioned reads
+    Assert.assertEquals(10, mTestStream.read());
+    Assert.assertEquals(0, mCacheStreams.get(1).getWrittenData().length);
+    Assert.assertEquals(0, mCacheStreams.get(2).getWrittenData().length);
+  }
+
+  /**
+   * Tests that a block stream which fails a positioned read with an unchecked exception is closed
+   * instead of being put back in the pool.
+   *
+   * @throws IOException when reading from the stream fails
+   */
+  @Test
+  public void positionedReadUncheckedFailureTest() throws IOException {
+    final BufferedBlockInStream failing =
+        Mockito.spy(new TestBufferedBlockInStream(1, (int) BLOCK_LENGTH, BLOCK_LENGTH));
+    Mockito.doThrow(new IllegalStateException("test failure")).when(failing)
+        .read(Mockito.any(byte[].class), Mockito.anyInt(), Mockito.anyInt());
+    Mockito.when(mBlockStore.getInStream(1L)).thenReturn(failing)
+        .thenReturn(new TestBufferedBlockInStream(1, (int) BLOCK_LENGTH, BLOCK_LENGTH));
+    byte[] buffer = new byte[10];
+    try {
+      mTestStream.positionedRead(BLOCK_LENGTH, buffer, 0, buffer.length);
+      Assert.fail("the positioned read should fail");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("test failure", e.getMessage());
+    }
+    Mockito.verify(failing).close();
+    // The failed stream is not reused by the next read, which opens a new one.
+    Assert.assertEquals(buffer.length,
+        mTestStream.positionedRead(BLOCK_LENGTH, buffer, 0, buffer.length));
+    Assert.assertArrayEquals(
+        BufferUtils.getIncreasingByteArray((int) BLOCK_LENGTH, buffer.length), buffer);
+    Mockito.verify(mBlockStore, Mockito.times(2)).getInStream(1L);
+  }
+
+  /**
+   * Tests that a vectored read returns the data of each range, with one request per group of
+   * nearby ranges of a block, without moving the stream.
+   *
+   * @throws Exception when reading from the stream fails
+   */
+  @Test
+  public void readVectoredTest() throws Exception {
+    List<FileRange> ranges = new ArrayList<>();
+    // Three ranges in block 0, the last of which continues into block 1
+    ranges.add(new FileRange(20, 10));
+    ranges.add(new FileRange(10, 5));
+    ranges.add(new FileRange(95, 10));
+    ranges.add(new FileRange(300, 50));
+    ranges.add(new FileRange(FILE_LENGTH, 0));
+    List<Future<ByteBuffer>> results = mTestStream.readVectored(ranges);
+    Assert.assertEquals(ranges.size(), results.size());
+    for (int i = 0; i < ranges.size(); i++) {
+      FileRange range = ranges.get(i);
+      Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer((int) range.getOffset(),
+          range.getLength(), results.get(i).get()));
+    }
+    Mockito.verify(mBlockStore, Mockito.times(1)).getInStream(0L);
+    Mockito.verify(mBlockStore, Mockito.times(1)).getInStream(1L);
+    Mockito.verify(mBlockStore, Mockito.never()).getInStream(2L);
+    Mockito.verify(mBlockStore, Mockito.times(1)).getInStream(3L);
+
+    // The stream has not moved, and nothing was cached
+    Assert.assertEquals(0, mTestStream.read());
+    Assert.assertEquals(0, mCacheStreams.get(1).getWrittenData().length);
+  }
+
+  /**
+   * Tests that a block stream which fails a vectored read with an unchecked exception fails the
+   * ranges it was reading and is closed instead of being put back in the pool.
+   *
+   * @throws Exception when reading from the stream fails
+   */
+  @Test
+  public void readVectoredUncheckedFailureTest() throws Exception {
+    BufferedBlockInStream failing =
+        Mockito.spy(new TestBufferedBlockInStream(1, (int) BLOCK_LENGTH, BLOCK_LENGTH));
+    Mockito.doThrow(new IllegalStateException("test failure")).when(failing)
+        .read(Mockito.any(byte[].class), Mockito.anyInt(), Mockito.anyInt());
+    Mockito.when(mBlockStore.getInStream(1L)).thenReturn(failing);
+    List<Future<ByteBuffer>> results =
+        mTestStream.readVectored(Lists.newArrayList(new FileRange(BLOCK_LENGTH, 10)));
+    try {
+      results.get(0).get();
+      Assert.fail("the vectored read should fail");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+    Mockito.verify(failing).close();
+  }
+
   /**
    * Tests seeking with incomplete block caching enabled. It seeks backward for more than a block.
    */
@@ -54,6 +54,7 @@ import org.powermock.reflect.Whitebox;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -405,6 +406,110 @@ public class FileOutStreamTest {
     Mockito.verify(mFileSystemMasterClient).scheduleAsyncPersist(Mockito.eq(FILE_NAME));
   }
 
+  /**
+   * Tests that a pipelined write sends all bytes to both Alluxio and the under storage, and that
+   * closing it commits the blocks and completes the file.
+   *
+   * @throws Exception when the write fails
+   */
+  @Test
+  public void pipelinedWriteTest() throws Exception {
+    mTestStream = createPipelinedTestStream();
+    Mockito.when(mUnderFileSystem.rename(Mockito.anyString(), Mockito.anyString()))
+        .thenReturn(true);
+    int bytesToWrite = (int) ((BLOCK_LENGTH * 5) + (BLOCK_LENGTH / 2));
+    mTestStream.write(BufferUtils.getIncreasingByteArray(bytesToWrite));
+    // Flushing waits for both writers, after which the streams hold all the data.
+    mTestStream.flush();
+    verifyIncreasingBytesWritten(bytesToWrite);
+    mTestStream.close();
+    for (TestBufferedBlockOutStream stream : mAlluxioOutStreamMap.values()) {
+      Assert.assertTrue(stream.isClosed());
+      Assert.assertFalse(stream.isCanceled());
+    }
+    Mockito.verify(mFileSystemMasterClient).completeFile(Mockito.eq(FILE_NAME),
+        Mockito.any(CompleteFileOptions.class));
+  }
+
+  /**
+   * Tests that a failure of the under storage fails a pipelined write, and that closing the stream
+   * afterwards cleans up without completing the file.
+   *
+   * @throws Exception when the write fails unexpectedly
+   */
+  @Test
+  public void pipelinedWriteUfsFailureTest() throws Exception {
+    mTestStream = createPipelinedTestStream();
+    Whitebox.setInternalState(mTestStream, "mUnderStorageOutputStream", new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException("test error");
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        throw new IOException("test error");
+      }
+    });
+    try {
+      mTestStream.write(BufferUtils.getIncreasingByteArray((int) (BLOCK_LENGTH * 5)));
+      mTestStream.flush();
+      Assert.fail("the under storage failure should fail the write");
+    } catch (IOException e) {
+      Assert.assertEquals("test error", e.getMessage());
+    }
+    try {
+      mTestStream.close();
+      Assert.fail("the under storage failure should fail the close");
+    } catch (IOException e) {
+      Assert.assertEquals("test error", e.getMessage());
+    }
+    for (TestBufferedBlockOutStream stream : mAlluxioOutStreamMap.values()) {
+      Assert.assertTrue(stream.isCanceled());
+    }
+    Mockito.verify(mFileSystemMasterClient, Mockito.times(0)).completeFile(Mockito.eq(FILE_NAME),
+        Mockito.any(CompleteFileOptions.class));
+  }
+
+  /**
+   * Tests that a parallel write writes every block correctly and commits them all on close.
+   *
+   * @throws Exception when the write fails
+   */
+  @Test
+  public void parallelWriteTest() throws Exception {
+    mTestStream = createParallelTestStream();
+    Mockito.when(mUnderFileSystem.rename(Mockito.anyString(), Mockito.anyString()))
+        .thenReturn(true);
+    int bytesToWrite = (int) ((BLOCK_LENGTH * 5) + (BLOCK_LENGTH / 2));
+    mTestStream.write(BufferUtils.getIncreasingByteArray(bytesToWrite));
+    mTestStream.close();
+    verifyIncreasingBytesWritten(bytesToWrite);
+    Assert.assertEquals(6, mAlluxioOutStreamMap.size());
+    for (TestBufferedBlockOutStream stream : mAlluxioOutStreamMap.values()) {
+      Assert.assertTrue(stream.isClosed());
+      Assert.assertFalse(stream.isCanceled());
+    }
+    Mockito.verify(mFileSystemMasterClient).completeFile(Mockito.eq(FILE_NAME),
+        Mockito.any(CompleteFileOptions.class));
+  }
+
+  /**
+   * Tests that canceling a parallel write cancels the block which has not been committed yet.
+   *
+   * @throws Exception when the write fails
+   */
+  @Test
+  public void parallelCancelTest() throws Exception {
+    mTestStream = createParallelTestStream();
+    mTestStream.write(BufferUtils.getIncreasingByteArray((int) (BLOCK_LENGTH * 1.5)));
+    mTestStream.cancel();
+    // The full first block may already be committed, the partial second one never is.
+    Assert.assertTrue(mAlluxioOutStreamMap.get(1L).isCanceled());
+    Mockito.verify(mFileSystemMasterClient, Mockito.times(0)).completeFile(Mockito.eq(FILE_NAME),
+        Mockito.any(CompleteFileOptions.class));
+  }
+
   /**
    * Tests the location policy created with different options.
    *
@@ -493,6 +598,27 @@ public class FileOutStreamTest {
         mUnderStorageOutputStream.toByteArray());
   }
 
+  private FileOutStream createPipelinedTestStream() throws IOException {
+    ClientContext.getConf().set(Constants.USER_FILE_WRITE_PIPELINED_ENABLED, "true");
+    // Buffers smaller than a block, and few of them, so the writers fall behind the caller.
+    ClientContext.getConf().set(Constants.USER_FILE_WRITE_PIPELINED_BUFFER_SIZE_BYTES, "30B");
+    ClientContext.getConf().set(Constants.USER_FILE_WRITE_PIPELINED_BUFFERS, "2");
+    OutStreamOptions options =
+        OutStreamOptions.defaults().setBlockSizeBytes(BLOCK_LENGTH)
+            .setWriteType(WriteType.CACHE_THROUGH);
+    return createTestStream(FILE_NAME, options);
+  }
+
+  private FileOutStream createParallelTestStream() throws IOException {
+    ClientContext.getConf().set(Constants.USER_FILE_WRITE_PARALLEL_ENABLED, "true");
+    // Room for less than two blocks, so the caller waits for the block writers.
+    ClientContext.getConf().set(Constants.USER_FILE_WRITE_PARALLEL_MAX_BYTES, "150B");
+    OutStreamOptions options =
+        OutStreamOptions.defaults().setBlockSizeBytes(BLOCK_LENGTH)
+            .setWriteType(WriteType.CACHE_THROUGH);
+    return createTestStream(FILE_NAME, options);
+  }
+
   private FileOutStream createTestStream(AlluxioURI path, OutStreamOptions options)
       throws IOException {
     Whitebox.setInternalState(BlockStoreContext.class, "INSTANCE", mBlockStoreContext);
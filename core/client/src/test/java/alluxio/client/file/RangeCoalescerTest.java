@@ -0,0 +1,76 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Tests for the {@link RangeCoalescer} class.
+ */
+public class RangeCoalescerTest {
+  private static final long BLOCK_SIZE = 100;
+
+  /**
+   * Tests that nearby ranges of a block are merged, in offset order, and far ones are not.
+   */
+  @Test
+  public void mergeNearbyRangesTest() {
+    List<RangeCoalescer.Group> groups = RangeCoalescer.coalesce(Lists.newArrayList(
+        new FileRange(40, 10), new FileRange(10, 5), new FileRange(20, 5), new FileRange(45, 10)),
+        BLOCK_SIZE, 5, 100);
+    Assert.assertEquals(2, groups.size());
+    checkGroup(groups.get(0), 0, 10, 15);
+    Assert.assertEquals(1, groups.get(0).mPieces.get(0).mRangeIndex);
+    Assert.assertEquals(2, groups.get(0).mPieces.get(1).mRangeIndex);
+    // Overlapping ranges are merged
+    checkGroup(groups.get(1), 0, 40, 15);
+  }
+
+  /**
+   * Tests that ranges are cut at block boundaries and never merged across blocks.
+   */
+  @Test
+  public void splitAtBlockBoundaryTest() {
+    List<RangeCoalescer.Group> groups = RangeCoalescer.coalesce(
+        Lists.newArrayList(new FileRange(90, 20), new FileRange(120, 5)), BLOCK_SIZE, 50, 100);
+    Assert.assertEquals(2, groups.size());
+    checkGroup(groups.get(0), 0, 90, 10);
+    checkGroup(groups.get(1), 1, 100, 25);
+    RangeCoalescer.Piece piece = groups.get(1).mPieces.get(0);
+    Assert.assertEquals(0, piece.mRangeIndex);
+    Assert.assertEquals(10, piece.mRangeOffset);
+    Assert.assertEquals(10, piece.mLength);
+  }
+
+  /**
+   * Tests that ranges are not merged into a group larger than the maximum, and that empty ranges
+   * are left out.
+   */
+  @Test
+  public void maxMergedBytesTest() {
+    List<RangeCoalescer.Group> groups = RangeCoalescer.coalesce(Lists.newArrayList(
+        new FileRange(0, 20), new FileRange(20, 20), new FileRange(30, 0)), BLOCK_SIZE, 10, 30);
+    Assert.assertEquals(2, groups.size());
+    checkGroup(groups.get(0), 0, 0, 20);
+    checkGroup(groups.get(1), 0, 20, 20);
+  }
+
+  private void checkGroup(RangeCoalescer.Group group, int blockIndex, long offset, int length) {
+    Assert.assertEquals(blockIndex, group.mBlockIndex);
+    Assert.assertEquals(offset, group.mOffset);
+    Assert.assertEquals(length, group.getLength());
+  }
+}
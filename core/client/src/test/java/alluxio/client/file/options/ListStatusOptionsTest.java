@@ -13,6 +13,7 @@ package alluxio.client.file.options;
 
 import alluxio.CommonTestUtils;
 import alluxio.thrift.ListStatusTOptions;
+import alluxio.util.IdUtils;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -26,19 +27,27 @@ public class ListStatusOptionsTest {
     ListStatusOptions options = ListStatusOptions.defaults();
 
     Assert.assertTrue(options.isLoadDirectChildren());
+    Assert.assertEquals(IdUtils.INVALID_FILE_ID, options.getStartAfterId());
+    Assert.assertEquals(0, options.getMaxResults());
   }
 
   @Test
   public void fieldsTest() {
     ListStatusOptions options = ListStatusOptions.defaults();
     Assert.assertEquals(true, options.isLoadDirectChildren());
+    options.setLoadDirectChildren(false).setStartAfterId(5).setMaxResults(10);
+    Assert.assertFalse(options.isLoadDirectChildren());
+    Assert.assertEquals(5, options.getStartAfterId());
+    Assert.assertEquals(10, options.getMaxResults());
   }
 
   @Test
   public void toThriftTest() {
-    ListStatusOptions options = ListStatusOptions.defaults();
+    ListStatusOptions options = ListStatusOptions.defaults().setStartAfterId(5).setMaxResults(10);
     ListStatusTOptions thriftOptions = options.toThrift();
-    Assert.assertEquals(true, options.isLoadDirectChildren());
+    Assert.assertEquals(true, thriftOptions.isLoadDirectChildren());
+    Assert.assertEquals(5, thriftOptions.getStartAfterId());
+    Assert.assertEquals(10, thriftOptions.getMaxResults());
   }
 
   @Test
@@ -212,6 +212,12 @@ public final class Constants {
       "alluxio.integration.worker.resource.mem";
 
   public static final String MASTER_FORMAT_FILE_PREFIX = "alluxio.master.format.file_prefix";
+  public static final String MASTER_JOURNAL_CHECKPOINT_PERIOD_ENTRIES =
+      "alluxio.master.journal.checkpoint.period.entries";
+  public static final String MASTER_JOURNAL_CHECKPOINT_THREADS =
+      "alluxio.master.journal.checkpoint.threads";
+  public static final String MASTER_JOURNAL_FLUSH_BATCH_SIZE_BYTES_MAX =
+      "alluxio.master.journal.flush.batch.size.bytes.max";
   public static final String MASTER_JOURNAL_FLUSH_BATCH_TIME_MS =
       "alluxio.master.journal.flush.batch.time.ms";
   public static final String MASTER_JOURNAL_FOLDER = "alluxio.master.journal.folder";
@@ -223,9 +229,34 @@ public final class Constants {
       "alluxio.master.journal.tailer.sleep.time.ms";
   public static final String MASTER_JOURNAL_LOG_SIZE_BYTES_MAX =
       "alluxio.master.journal.log.size.bytes.max";
-
+  public static final String MASTER_JOURNAL_QUEUE_SIZE_MAX =
+      "alluxio.master.journal.queue.size.max";
+  public static final String MASTER_JOURNAL_REPLAY_THREADS =
+      "alluxio.master.journal.replay.threads";
+
+  public static final String MASTER_FILE_ASYNC_DELETE_BATCH_SIZE =
+      "alluxio.master.file.async.delete.batch.size";
+  public static final String MASTER_FILE_ASYNC_DELETE_ENABLED =
+      "alluxio.master.file.async.delete.enabled";
+  public static final String MASTER_FILE_ASYNC_DELETE_RATE_LIMIT =
+      "alluxio.master.file.async.delete.rate.limit";
+  public static final String MASTER_FILE_ASYNC_DELETE_THREADS =
+      "alluxio.master.file.async.delete.threads";
   public static final String MASTER_FILE_ASYNC_PERSIST_HANDLER =
       "alluxio.master.file.async.persist.handler";
+  public static final String MASTER_FILE_METADATA_LOAD_BATCH_SIZE =
+      "alluxio.master.file.metadata.load.batch.size";
+  public static final String MASTER_FILE_METADATA_LOAD_THREADS =
+      "alluxio.master.file.metadata.load.threads";
+  public static final String MASTER_FILE_METADATA_LOAD_THREADS_PER_MOUNT =
+      "alluxio.master.file.metadata.load.threads.per.mount";
+  public static final String MASTER_INODE_PATH_CACHE_SIZE_MAX =
+      "alluxio.master.inode.path.cache.size.max";
+  public static final String MASTER_INODE_STORE_CLASS = "alluxio.master.inode.store.class";
+  public static final String MASTER_INODE_STORE_TIERED_CACHE_SIZE =
+      "alluxio.master.inode.store.tiered.cache.size";
+  public static final String MASTER_INODE_STORE_TIERED_DIR =
+      "alluxio.master.inode.store.tiered.dir";
   public static final String MASTER_HOSTNAME = "alluxio.master.hostname";
   public static final String MASTER_BIND_HOST = "alluxio.master.bind.host";
   public static final String MASTER_RPC_PORT = "alluxio.master.port";
@@ -296,6 +327,8 @@ public final class Constants {
       "alluxio.worker.network.netty.shutdown.quiet.period";
   public static final String WORKER_NETWORK_NETTY_SHUTDOWN_TIMEOUT =
       "alluxio.worker.network.netty.shutdown.timeout";
+  public static final String WORKER_NETWORK_NETTY_WRITE_RESERVATION_BYTES =
+      "alluxio.worker.network.netty.write.reservation.bytes";
   public static final String WORKER_ALLOCATOR_CLASS = "alluxio.worker.allocator.class";
   public static final String WORKER_EVICTOR_CLASS = "alluxio.worker.evictor.class";
   public static final String WORKER_EVICTOR_LRFU_STEP_FACTOR =
@@ -360,12 +393,42 @@ public final class Constants {
   public static final String USER_NETWORK_NETTY_CHANNEL = "alluxio.user.network.netty.channel";
   public static final String USER_NETWORK_NETTY_TIMEOUT_MS =
       "alluxio.user.network.netty.timeout.ms";
+  public static final String USER_NETWORK_NETTY_KEEPALIVE_ENABLED =
+      "alluxio.user.network.netty.keepalive.enabled";
+  public static final String USER_BLOCK_BUFFER_POOL_MAX_BYTES =
+      "alluxio.user.block.buffer.pool.max.bytes";
   public static final String USER_BLOCK_REMOTE_READ_BUFFER_SIZE_BYTES =
       "alluxio.user.block.remote.read.buffer.size.bytes";
+  public static final String USER_BLOCK_REMOTE_READ_STREAMING_ENABLED =
+      "alluxio.user.block.remote.read.streaming.enabled";
+  public static final String USER_BLOCK_REMOTE_READ_STREAMING_CHUNK_SIZE_BYTES =
+      "alluxio.user.block.remote.read.streaming.chunk.size.bytes";
+  public static final String USER_BLOCK_REMOTE_READ_STREAMING_WINDOW =
+      "alluxio.user.block.remote.read.streaming.window";
   public static final String USER_FILE_WRITE_TYPE_DEFAULT = "alluxio.user.file.writetype.default";
   public static final String USER_FILE_READ_TYPE_DEFAULT = "alluxio.user.file.readtype.default";
+  public static final String USER_FILE_READ_AHEAD_CHUNKS = "alluxio.user.file.readahead.chunks";
+  public static final String USER_FILE_READ_AHEAD_THREADS = "alluxio.user.file.readahead.threads";
+  public static final String USER_FILE_POSITIONED_READ_IDLE_STREAMS =
+      "alluxio.user.file.positioned.read.idle.streams";
+  public static final String USER_FILE_VECTORED_READ_MAX_MERGED_BYTES =
+      "alluxio.user.file.vectored.read.max.merged.bytes";
+  public static final String USER_FILE_VECTORED_READ_MERGE_GAP_BYTES =
+      "alluxio.user.file.vectored.read.merge.gap.bytes";
+  public static final String USER_FILE_VECTORED_READ_THREADS =
+      "alluxio.user.file.vectored.read.threads";
   public static final String USER_FILE_WRITE_LOCATION_POLICY =
       "alluxio.user.file.write.location.policy.class";
+  public static final String USER_FILE_WRITE_PARALLEL_ENABLED =
+      "alluxio.user.file.write.parallel.enabled";
+  public static final String USER_FILE_WRITE_PARALLEL_MAX_BYTES =
+      "alluxio.user.file.write.parallel.max.bytes";
+  public static final String USER_FILE_WRITE_PIPELINED_BUFFER_SIZE_BYTES =
+      "alluxio.user.file.write.pipelined.buffer.size.bytes";
+  public static final String USER_FILE_WRITE_PIPELINED_BUFFERS =
+      "alluxio.user.file.write.pipelined.buffers";
+  public static final String USER_FILE_WRITE_PIPELINED_ENABLED =
+      "alluxio.user.file.write.pipelined.enabled";
   public static final String USER_FILE_CACHE_PARTIALLY_READ_BLOCK =
       "alluxio.user.file.cache.partially.read.block";
   public static final String USER_FILE_SEEK_BUFFER_SIZE_BYTES =
@@ -374,8 +437,14 @@ public final class Constants {
       "alluxio.user.block.remote.reader.class";
   public static final String USER_BLOCK_REMOTE_WRITER =
       "alluxio.user.block.remote.writer.class";
+  public static final String USER_BLOCK_REMOTE_WRITE_SESSION_ENABLED =
+      "alluxio.user.block.remote.write.session.enabled";
+  public static final String USER_BLOCK_REMOTE_WRITE_SESSION_WINDOW =
+      "alluxio.user.block.remote.write.session.window";
   public static final String USER_BLOCK_WORKER_CLIENT_THREADS =
       "alluxio.user.block.worker.client.threads";
+  public static final String USER_BLOCK_WORKER_CLIENT_IDLE_TIMEOUT_MS =
+      "alluxio.user.block.worker.client.idle.timeout.ms";
   public static final String USER_BLOCK_MASTER_CLIENT_THREADS =
       "alluxio.user.block.master.client.threads";
   public static final String USER_FILE_WORKER_CLIENT_THREADS =
@@ -385,6 +454,7 @@ public final class Constants {
   public static final String USER_LINEAGE_MASTER_CLIENT_THREADS =
       "alluxio.user.lineage.master.client.threads";
   public static final String USER_LINEAGE_ENABLED = "alluxio.user.lineage.enabled";
+  public static final String USER_LIST_STATUS_PAGE_SIZE = "alluxio.user.list.status.page.size";
   public static final String USER_FILE_WAITCOMPLETED_POLL_MS =
       "alluxio.user.file.waitcompleted.poll.ms";
   public static final String USER_UFS_DELEGATION_ENABLED =
@@ -435,8 +505,8 @@ public final class Constants {
 
   public static final String MASTER_COLUMN_FILE_PREFIX = "COL_";
 
-  public static final long CLIENT_METRICS_VERSION = 1L;
-  public static final int CLIENT_METRICS_SIZE = 11;
+  public static final long CLIENT_METRICS_VERSION = 2L;
+  public static final int CLIENT_METRICS_SIZE = 14;
   public static final int CLIENT_METRICS_VERSION_INDEX = 0;
   public static final int BLOCKS_READ_LOCAL_INDEX = 1;
   public static final int BLOCKS_READ_REMOTE_INDEX = 2;
@@ -448,6 +518,9 @@ public final class Constants {
   public static final int BYTES_WRITTEN_LOCAL_INDEX = 8;
   public static final int BYTES_WRITTEN_REMOTE_INDEX = 9;
   public static final int BYTES_WRITTEN_UFS_INDEX = 10;
+  public static final int BYTES_READ_AHEAD_INDEX = 11;
+  public static final int BYTES_READ_AHEAD_HIT_INDEX = 12;
+  public static final int BYTES_READ_AHEAD_WASTED_INDEX = 13;
 
   /**
    * Maximum number of seconds to wait for thrift servers to stop on shutdown. Tests use a value of
@@ -110,6 +110,7 @@ public enum ExceptionMessage {
   PATH_COMPONENTS_INVALID("Parameter pathComponents is {0}"),
   PATH_COMPONENTS_INVALID_START("Path starts with {0}"),
   PATH_MUST_HAVE_VALID_PARENT("{0} does not have a valid parent"),
+  PATH_RESERVED_FOR_TRASH("{0} is reserved for the under file system objects of deleted paths"),
   RENAME_CANNOT_BE_ACROSS_MOUNTS("Renaming {0} to {1} is a cross mount operation"),
   RENAME_CANNOT_BE_ONTO_MOUNT_POINT("{0} is a mount point and cannot be renamed onto"),
   RENAME_CANNOT_BE_TO_ROOT("Cannot rename a path to the root directory"),
@@ -37,6 +37,7 @@ public enum PreconditionMessage {
   ERR_PUT_EMPTY_VALUE("Cannot put an empty buffer as a value"),
   ERR_PUT_NULL_KEY("Cannot put a null key"),
   ERR_PUT_NULL_VALUE("Cannot put a null value"),
+  ERR_RANGE_PAST_END_OF_FILE("Range past end of file: %s"),
   ERR_SEEK_NEGATIVE("Seek position is negative: %s"),
   ERR_SEEK_PAST_END_OF_BLOCK("Seek position past end of block: %s"),
   ERR_SEEK_PAST_END_OF_FILE("Seek position past end of file: %s"),
@@ -47,6 +48,7 @@ public enum PreconditionMessage {
       "Failed to remove agent %d from ufs manager's internal state."),
   ERR_UNEXPECTED_EOF("Reached EOF unexpectedly."),
   ERR_WRITE_BUFFER_NULL("Cannot write a null input buffer"),
+  ERR_ZERO_COPY_BUFFER_NOT_LENT("The buffer was not lent by this stream, or was already released"),
   FILE_TO_PERSIST_MUST_BE_COMPLETE("File being persisted must be complete"),
   FILE_WRITE_LOCATION_POLICY_UNSPECIFIED("The location policy is not specified"),
   GCS_BUCKET_MUST_BE_SET("The %s system property must be set to use the GCSUnderStorageCluster"),
@@ -20,17 +20,28 @@ import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * This represents an RPC request to read a block from a DataServer.
+ *
+ * The request id and the keep-alive flag are only encoded, after the other fields, when the
+ * request asks to keep the channel alive. Any other request has the same layout as before these
+ * fields were added, so data servers and clients of either version can read it, and a data server
+ * which does not know the fields ignores them and closes the channel as usual.
  */
 @ThreadSafe
 public final class RPCBlockReadRequest extends RPCRequest {
+  /** The length of the request id (long) and the keep-alive flag (byte). */
+  private static final int KEEP_ALIVE_FIELDS_LENGTH = Longs.BYTES + 1;
+
   private final long mBlockId;
   private final long mOffset;
   private final long mLength;
   private final long mLockId;
   private final long mSessionId;
+  private final long mRequestId;
+  private final boolean mKeepAlive;
 
   /**
-   * Constructs a new RPC request to read a block from a DataServer.
+   * Constructs a new RPC request to read a block from a DataServer. The data server closes the
+   * channel after responding to this request.
    *
    * @param blockId the id of the block
    * @param offset the block offset to begin reading at
@@ -39,11 +50,30 @@ public final class RPCBlockReadRequest extends RPCRequest {
    * @param sessionId the id of the client session
    */
   public RPCBlockReadRequest(long blockId, long offset, long length, long lockId, long sessionId) {
+    this(blockId, offset, length, lockId, sessionId, 0, false);
+  }
+
+  /**
+   * Constructs a new RPC request to read a block from a DataServer.
+   *
+   * @param blockId the id of the block
+   * @param offset the block offset to begin reading at
+   * @param length the number of bytes to read
+   * @param lockId the id of the block lock that is held by the client
+   * @param sessionId the id of the client session
+   * @param requestId the id of the request, echoed back in the response so that responses can be
+   *        matched to requests sharing the same channel; it is only sent with keep-alive requests
+   * @param keepAlive whether the data server should keep the channel open after responding
+   */
+  public RPCBlockReadRequest(long blockId, long offset, long length, long lockId, long sessionId,
+      long requestId, boolean keepAlive) {
     mBlockId = blockId;
     mOffset = offset;
     mLength = length;
     mLockId = lockId;
     mSessionId = sessionId;
+    mRequestId = requestId;
+    mKeepAlive = keepAlive;
   }
 
   @Override
@@ -63,13 +93,21 @@ public final class RPCBlockReadRequest extends RPCRequest {
     long length = in.readLong();
     long lockId = in.readLong();
     long sessionId = in.readLong();
-    return new RPCBlockReadRequest(blockId, offset, length, lockId, sessionId);
+    long requestId = 0;
+    boolean keepAlive = false;
+    if (in.readableBytes() >= KEEP_ALIVE_FIELDS_LENGTH) {
+      requestId = in.readLong();
+      keepAlive = in.readBoolean();
+    }
+    return new RPCBlockReadRequest(blockId, offset, length, lockId, sessionId, requestId,
+        keepAlive);
   }
 
   @Override
   public int getEncodedLength() {
-    // 5 longs (mBLockId, mOffset, mLength, mLockId, mSessionId)
-    return Longs.BYTES * 5;
+    // 5 longs (mBLockId, mOffset, mLength, mLockId, mSessionId), then for keep-alive requests
+    // 1 long (mRequestId) + 1 byte (mKeepAlive)
+    return Longs.BYTES * 5 + (mKeepAlive ? KEEP_ALIVE_FIELDS_LENGTH : 0);
   }
 
   @Override
@@ -79,6 +117,10 @@ public final class RPCBlockReadRequest extends RPCRequest {
     out.writeLong(mLength);
     out.writeLong(mLockId);
     out.writeLong(mSessionId);
+    if (mKeepAlive) {
+      out.writeLong(mRequestId);
+      out.writeBoolean(true);
+    }
   }
 
   @Override
@@ -91,7 +133,8 @@ public final class RPCBlockReadRequest extends RPCRequest {
   @Override
   public String toString() {
     return Objects.toStringHelper(this).add("blockId", mBlockId).add("offset", mOffset)
-        .add("length", mLength).add("lockId", mLockId).add("sessionId", mSessionId).toString();
+        .add("length", mLength).add("lockId", mLockId).add("sessionId", mSessionId)
+        .add("requestId", mRequestId).add("keepAlive", mKeepAlive).toString();
   }
 
   /**
@@ -128,4 +171,18 @@ public final class RPCBlockReadRequest extends RPCRequest {
   public long getSessionId() {
     return mSessionId;
   }
+
+  /**
+   * @return the id of the request
+   */
+  public long getRequestId() {
+    return mRequestId;
+  }
+
+  /**
+   * @return whether the channel should be kept open after the response is sent
+   */
+  public boolean isKeepAlive() {
+    return mKeepAlive;
+  }
 }
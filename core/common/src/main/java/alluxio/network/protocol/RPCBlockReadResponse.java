@@ -24,6 +24,10 @@ import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * This represents the response of a {@link RPCBlockReadRequest}.
+ *
+ * The request id is only encoded, after the status, when it is set, which is when the request asks
+ * to keep the channel alive. Responses to other requests have the same layout as before the field
+ * was added, so clients of either version can read them.
  */
 @ThreadSafe
 public final class RPCBlockReadResponse extends RPCResponse {
@@ -32,6 +36,7 @@ public final class RPCBlockReadResponse extends RPCResponse {
   private final long mLength;
   private final DataBuffer mData;
   private final Status mStatus;
+  private final long mRequestId;
 
   /**
    * Constructs a new RPC response of a {@link RPCBlockReadRequest}.
@@ -44,11 +49,27 @@ public final class RPCBlockReadResponse extends RPCResponse {
    */
   public RPCBlockReadResponse(long blockId, long offset, long length, DataBuffer data,
       Status status) {
+    this(blockId, offset, length, data, status, 0);
+  }
+
+  /**
+   * Constructs a new RPC response of a {@link RPCBlockReadRequest}.
+   *
+   * @param blockId the id of the block
+   * @param offset the block offset that the read began at
+   * @param length the number of bytes read
+   * @param data the data for the response
+   * @param status the status of the response
+   * @param requestId the id of the request this response is for, or 0 if the request has none
+   */
+  public RPCBlockReadResponse(long blockId, long offset, long length, DataBuffer data,
+      Status status, long requestId) {
     mBlockId = blockId;
     mOffset = offset;
     mLength = length;
     mData = data;
     mStatus = status;
+    mRequestId = requestId;
   }
 
   @Override
@@ -69,7 +90,8 @@ public final class RPCBlockReadResponse extends RPCResponse {
       final Status status) {
     Preconditions.checkArgument(status != Status.SUCCESS);
     // The response has no payload, so length must be 0.
-    return new RPCBlockReadResponse(request.getBlockId(), request.getOffset(), 0, null, status);
+    return new RPCBlockReadResponse(request.getBlockId(), request.getOffset(), 0, null, status,
+        request.getRequestId());
   }
 
   /**
@@ -83,19 +105,25 @@ public final class RPCBlockReadResponse extends RPCResponse {
     long offset = in.readLong();
     long length = in.readLong();
     short status = in.readShort();
+    long requestId = 0;
+    // The frame holds the request id, if any, and then the payload.
+    if (in.readableBytes() >= Longs.BYTES + Math.max(length, 0)) {
+      requestId = in.readLong();
+    }
 
     DataBuffer data = null;
     if (length > 0) {
       // use DataNettyBuffer instead of DataByteBuffer to avoid copying
       data = new DataNettyBuffer(in, (int) length);
     }
-    return new RPCBlockReadResponse(blockId, offset, length, data, Status.fromShort(status));
+    return new RPCBlockReadResponse(blockId, offset, length, data, Status.fromShort(status),
+        requestId);
   }
 
   @Override
   public int getEncodedLength() {
-    // 3 longs (mBLockId, mOffset, mLength) + 1 short (mStatus)
-    return Longs.BYTES * 3 + Shorts.BYTES;
+    // 3 longs (mBLockId, mOffset, mLength) + 1 short (mStatus), then 1 long (mRequestId) if set
+    return Longs.BYTES * 3 + Shorts.BYTES + (mRequestId != 0 ? Longs.BYTES : 0);
   }
 
   @Override
@@ -104,6 +132,9 @@ public final class RPCBlockReadResponse extends RPCResponse {
     out.writeLong(mOffset);
     out.writeLong(mLength);
     out.writeShort(mStatus.getId());
+    if (mRequestId != 0) {
+      out.writeLong(mRequestId);
+    }
     // The actual payload is not encoded here, since the RPCMessageEncoder will transfer it in a
     // more efficient way.
   }
@@ -116,7 +147,7 @@ public final class RPCBlockReadResponse extends RPCResponse {
   @Override
   public String toString() {
     return Objects.toStringHelper(this).add("blockId", mBlockId).add("offset", mOffset)
-        .add("length", mLength).add("status", mStatus).toString();
+        .add("length", mLength).add("status", mStatus).add("requestId", mRequestId).toString();
   }
 
   /**
@@ -146,4 +177,11 @@ public final class RPCBlockReadResponse extends RPCResponse {
   public Status getStatus() {
     return mStatus;
   }
+
+  /**
+   * @return the id of the request this response is for
+   */
+  public long getRequestId() {
+    return mRequestId;
+  }
 }
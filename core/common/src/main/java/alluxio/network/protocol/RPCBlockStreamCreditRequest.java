@@ -0,0 +1,97 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import io.netty.buffer.ByteBuf;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * This represents an RPC request which grants a DataServer credits to send more chunks of a stream
+ * started by a {@link RPCBlockStreamReadRequest}. A client sends one when it has consumed chunks,
+ * so that at most a bounded number of chunks is ever in flight.
+ */
+@ThreadSafe
+public final class RPCBlockStreamCreditRequest extends RPCRequest {
+  private final long mRequestId;
+  private final int mCredits;
+
+  /**
+   * Constructs a new RPC request granting more credits to a block stream.
+   *
+   * @param requestId the id of the {@link RPCBlockStreamReadRequest} which started the stream
+   * @param credits the number of additional chunks the DataServer may send
+   */
+  public RPCBlockStreamCreditRequest(long requestId, int credits) {
+    mRequestId = requestId;
+    mCredits = credits;
+  }
+
+  @Override
+  public Type getType() {
+    return Type.RPC_BLOCK_STREAM_CREDIT_REQUEST;
+  }
+
+  /**
+   * Decodes the input {@link ByteBuf} into a {@link RPCBlockStreamCreditRequest} object and
+   * returns it.
+   *
+   * @param in the input {@link ByteBuf}
+   * @return The decoded RPCBlockStreamCreditRequest object
+   */
+  public static RPCBlockStreamCreditRequest decode(ByteBuf in) {
+    long requestId = in.readLong();
+    int credits = in.readInt();
+    return new RPCBlockStreamCreditRequest(requestId, credits);
+  }
+
+  @Override
+  public int getEncodedLength() {
+    // 1 long (mRequestId) + 1 int (mCredits)
+    return Longs.BYTES + Ints.BYTES;
+  }
+
+  @Override
+  public void encode(ByteBuf out) {
+    out.writeLong(mRequestId);
+    out.writeInt(mCredits);
+  }
+
+  @Override
+  public void validate() {
+    Preconditions.checkState(mCredits > 0, "Credits must be positive: %s", mCredits);
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(this).add("requestId", mRequestId).add("credits", mCredits)
+        .toString();
+  }
+
+  /**
+   * @return the id of the stream request
+   */
+  public long getRequestId() {
+    return mRequestId;
+  }
+
+  /**
+   * @return the number of additional chunks granted
+   */
+  public int getCredits() {
+    return mCredits;
+  }
+}
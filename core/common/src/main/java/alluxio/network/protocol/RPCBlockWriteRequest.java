@@ -32,9 +32,11 @@ public final class RPCBlockWriteRequest extends RPCRequest {
   private final long mOffset;
   private final long mLength;
   private final DataBuffer mData;
+  private final boolean mKeepAlive;
 
   /**
-   * Constructs a new request to write a block to a DataServer.
+   * Constructs a new request to write a block to a DataServer. The data server closes the channel
+   * and the block writer after responding to this request.
    *
    * @param sessionId the id of the session
    * @param blockId the id of the block
@@ -44,11 +46,28 @@ public final class RPCBlockWriteRequest extends RPCRequest {
    */
   public RPCBlockWriteRequest(long sessionId, long blockId, long offset, long length,
       DataBuffer data) {
+    this(sessionId, blockId, offset, length, data, false);
+  }
+
+  /**
+   * Constructs a new request to write a block to a DataServer.
+   *
+   * @param sessionId the id of the session
+   * @param blockId the id of the block
+   * @param offset the block offset to begin writing at
+   * @param length the number of bytes to write
+   * @param data the data
+   * @param keepAlive whether the data server should keep the channel and the block writer open
+   *        after responding, so that further writes to the block can be sent on the same channel
+   */
+  public RPCBlockWriteRequest(long sessionId, long blockId, long offset, long length,
+      DataBuffer data, boolean keepAlive) {
     mSessionId = sessionId;
     mBlockId = blockId;
     mOffset = offset;
     mLength = length;
     mData = data;
+    mKeepAlive = keepAlive;
   }
 
   @Override
@@ -67,6 +86,7 @@ public final class RPCBlockWriteRequest extends RPCRequest {
     long blockId = in.readLong();
     long offset = in.readLong();
     long length = in.readLong();
+    boolean keepAlive = in.readBoolean();
     // TODO(gene): Look into accessing Netty ByteBuf directly, to avoid copying the data.
     // Length will always be greater than 0 if the request is not corrupted. If length is negative,
     // ByteBuffer.allocate will fail. If length is 0 this will become a no-op but still go through
@@ -75,13 +95,13 @@ public final class RPCBlockWriteRequest extends RPCRequest {
     ByteBuffer buffer = ByteBuffer.allocate((int) length);
     in.readBytes(buffer);
     DataByteBuffer data = new DataByteBuffer(buffer, (int) length);
-    return new RPCBlockWriteRequest(sessionId, blockId, offset, length, data);
+    return new RPCBlockWriteRequest(sessionId, blockId, offset, length, data, keepAlive);
   }
 
   @Override
   public int getEncodedLength() {
-    // 4 longs (mSessionId, mBlockId, mOffset, mLength)
-    return Longs.BYTES * 4;
+    // 4 longs (mSessionId, mBlockId, mOffset, mLength) + 1 byte (mKeepAlive)
+    return Longs.BYTES * 4 + 1;
   }
 
   @Override
@@ -90,6 +110,7 @@ public final class RPCBlockWriteRequest extends RPCRequest {
     out.writeLong(mBlockId);
     out.writeLong(mOffset);
     out.writeLong(mLength);
+    out.writeBoolean(mKeepAlive);
     // The actual payload is not encoded here, since the RPCMessageEncoder will transfer it in a
     // more efficient way.
   }
@@ -102,7 +123,8 @@ public final class RPCBlockWriteRequest extends RPCRequest {
   @Override
   public String toString() {
     return Objects.toStringHelper(this).add("blockId", mBlockId).add("offset", mOffset)
-        .add("length", mLength).add("sessionId", mSessionId).toString();
+        .add("length", mLength).add("sessionId", mSessionId)
+        .add("keepAlive", mKeepAlive).toString();
   }
 
   /**
@@ -132,4 +154,12 @@ public final class RPCBlockWriteRequest extends RPCRequest {
   public long getOffset() {
     return mOffset;
   }
+
+  /**
+   * @return whether the channel and the block writer should be kept open after the response is
+   *         sent
+   */
+  public boolean isKeepAlive() {
+    return mKeepAlive;
+  }
 }
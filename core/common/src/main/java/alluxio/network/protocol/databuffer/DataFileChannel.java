@@ -38,9 +38,16 @@ public final class DataFileChannel implements DataBuffer {
     mLength = length;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * The returned region does not close the underlying {@link FileChannel} when Netty releases it,
+   * so several regions of the same channel can be sent one after another. The owner of the
+   * channel is responsible for closing it.
+   */
   @Override
   public Object getNettyOutput() {
-    return new DefaultFileRegion(mFileChannel, mOffset, mLength);
+    return new UnownedFileRegion(mFileChannel, mOffset, mLength);
   }
 
   @Override
@@ -70,4 +77,18 @@ public final class DataFileChannel implements DataBuffer {
   public void release() {
     // Nothing we need to release explicitly, let GC take care of all objects.
   }
+
+  /**
+   * A {@link DefaultFileRegion} which leaves its {@link FileChannel} open when deallocated.
+   */
+  private static final class UnownedFileRegion extends DefaultFileRegion {
+    UnownedFileRegion(FileChannel fileChannel, long position, long count) {
+      super(fileChannel, position, count);
+    }
+
+    @Override
+    protected void deallocate() {
+      // The channel is owned by whoever created the DataFileChannel.
+    }
+  }
 }
@@ -1955,13 +1955,13 @@ public class FileSystemMasterWorkerService {
             case 0: // SUCCESS
               if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
                 {
-                  org.apache.thrift.protocol.TSet _set74 = iprot.readSetBegin();
-                  struct.success = new HashSet<Long>(2*_set74.size);
-                  long _elem75;
-                  for (int _i76 = 0; _i76 < _set74.size; ++_i76)
+                  org.apache.thrift.protocol.TSet _set122 = iprot.readSetBegin();
+                  struct.success = new HashSet<Long>(2*_set122.size);
+                  long _elem123;
+                  for (int _i124 = 0; _i124 < _set122.size; ++_i124)
                   {
-                    _elem75 = iprot.readI64();
-                    struct.success.add(_elem75);
+                    _elem123 = iprot.readI64();
+                    struct.success.add(_elem123);
                   }
                   iprot.readSetEnd();
                 }
@@ -1989,9 +1989,9 @@ public class FileSystemMasterWorkerService {
           oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
           {
             oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.I64, struct.success.size()));
-            for (long _iter77 : struct.success)
+            for (long _iter125 : struct.success)
             {
-              oprot.writeI64(_iter77);
+              oprot.writeI64(_iter125);
             }
             oprot.writeSetEnd();
           }
@@ -2022,9 +2022,9 @@ public class FileSystemMasterWorkerService {
         if (struct.isSetSuccess()) {
           {
             oprot.writeI32(struct.success.size());
-            for (long _iter78 : struct.success)
+            for (long _iter126 : struct.success)
             {
-              oprot.writeI64(_iter78);
+              oprot.writeI64(_iter126);
             }
           }
         }
@@ -2036,13 +2036,13 @@ public class FileSystemMasterWorkerService {
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
           {
-            org.apache.thrift.protocol.TSet _set79 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.I64, iprot.readI32());
-            struct.success = new HashSet<Long>(2*_set79.size);
-            long _elem80;
-            for (int _i81 = 0; _i81 < _set79.size; ++_i81)
+            org.apache.thrift.protocol.TSet _set127 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.I64, iprot.readI32());
+            struct.success = new HashSet<Long>(2*_set127.size);
+            long _elem128;
+            for (int _i129 = 0; _i129 < _set127.size; ++_i129)
             {
-              _elem80 = iprot.readI64();
-              struct.success.add(_elem80);
+              _elem128 = iprot.readI64();
+              struct.success.add(_elem128);
             }
           }
           struct.setSuccessIsSet(true);
@@ -2473,13 +2473,13 @@ public class FileSystemMasterWorkerService {
             case 2: // PERSISTED_FILES
               if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
                 {
-                  org.apache.thrift.protocol.TList _list82 = iprot.readListBegin();
-                  struct.persistedFiles = new ArrayList<Long>(_list82.size);
-                  long _elem83;
-                  for (int _i84 = 0; _i84 < _list82.size; ++_i84)
+                  org.apache.thrift.protocol.TList _list130 = iprot.readListBegin();
+                  struct.persistedFiles = new ArrayList<Long>(_list130.size);
+                  long _elem131;
+                  for (int _i132 = 0; _i132 < _list130.size; ++_i132)
                   {
-                    _elem83 = iprot.readI64();
-                    struct.persistedFiles.add(_elem83);
+                    _elem131 = iprot.readI64();
+                    struct.persistedFiles.add(_elem131);
                   }
                   iprot.readListEnd();
                 }
@@ -2510,9 +2510,9 @@ public class FileSystemMasterWorkerService {
           oprot.writeFieldBegin(PERSISTED_FILES_FIELD_DESC);
           {
             oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.I64, struct.persistedFiles.size()));
-            for (long _iter85 : struct.persistedFiles)
+            for (long _iter133 : struct.persistedFiles)
             {
-              oprot.writeI64(_iter85);
+              oprot.writeI64(_iter133);
             }
             oprot.writeListEnd();
           }
@@ -2549,9 +2549,9 @@ public class FileSystemMasterWorkerService {
         if (struct.isSetPersistedFiles()) {
           {
             oprot.writeI32(struct.persistedFiles.size());
-            for (long _iter86 : struct.persistedFiles)
+            for (long _iter134 : struct.persistedFiles)
             {
-              oprot.writeI64(_iter86);
+              oprot.writeI64(_iter134);
             }
           }
         }
@@ -2567,13 +2567,13 @@ public class FileSystemMasterWorkerService {
         }
         if (incoming.get(1)) {
           {
-            org.apache.thrift.protocol.TList _list87 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.I64, iprot.readI32());
-            struct.persistedFiles = new ArrayList<Long>(_list87.size);
-            long _elem88;
-            for (int _i89 = 0; _i89 < _list87.size; ++_i89)
+            org.apache.thrift.protocol.TList _list135 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.I64, iprot.readI32());
+            struct.persistedFiles = new ArrayList<Long>(_list135.size);
+            long _elem136;
+            for (int _i137 = 0; _i137 < _list135.size; ++_i137)
             {
-              _elem88 = iprot.readI64();
-              struct.persistedFiles.add(_elem88);
+              _elem136 = iprot.readI64();
+              struct.persistedFiles.add(_elem136);
             }
           }
           struct.setPersistedFilesIsSet(true);
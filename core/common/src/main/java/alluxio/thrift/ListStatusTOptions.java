@@ -39,6 +39,8 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("ListStatusTOptions");
 
   private static final org.apache.thrift.protocol.TField LOAD_DIRECT_CHILDREN_FIELD_DESC = new org.apache.thrift.protocol.TField("loadDirectChildren", org.apache.thrift.protocol.TType.BOOL, (short)1);
+  private static final org.apache.thrift.protocol.TField START_AFTER_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("startAfterId", org.apache.thrift.protocol.TType.I64, (short)2);
+  private static final org.apache.thrift.protocol.TField MAX_RESULTS_FIELD_DESC = new org.apache.thrift.protocol.TField("maxResults", org.apache.thrift.protocol.TType.I32, (short)3);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -47,10 +49,14 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
   }
 
   private boolean loadDirectChildren; // optional
+  private long startAfterId; // optional
+  private int maxResults; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-    LOAD_DIRECT_CHILDREN((short)1, "loadDirectChildren");
+    LOAD_DIRECT_CHILDREN((short)1, "loadDirectChildren"),
+    START_AFTER_ID((short)2, "startAfterId"),
+    MAX_RESULTS((short)3, "maxResults");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -67,6 +73,10 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
       switch(fieldId) {
         case 1: // LOAD_DIRECT_CHILDREN
           return LOAD_DIRECT_CHILDREN;
+        case 2: // START_AFTER_ID
+          return START_AFTER_ID;
+        case 3: // MAX_RESULTS
+          return MAX_RESULTS;
         default:
           return null;
       }
@@ -108,13 +118,19 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
 
   // isset id assignments
   private static final int __LOADDIRECTCHILDREN_ISSET_ID = 0;
+  private static final int __STARTAFTERID_ISSET_ID = 1;
+  private static final int __MAXRESULTS_ISSET_ID = 2;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.LOAD_DIRECT_CHILDREN};
+  private static final _Fields optionals[] = {_Fields.LOAD_DIRECT_CHILDREN,_Fields.START_AFTER_ID,_Fields.MAX_RESULTS};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
     tmpMap.put(_Fields.LOAD_DIRECT_CHILDREN, new org.apache.thrift.meta_data.FieldMetaData("loadDirectChildren", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
+    tmpMap.put(_Fields.START_AFTER_ID, new org.apache.thrift.meta_data.FieldMetaData("startAfterId", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.MAX_RESULTS, new org.apache.thrift.meta_data.FieldMetaData("maxResults", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(ListStatusTOptions.class, metaDataMap);
   }
@@ -128,6 +144,8 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
   public ListStatusTOptions(ListStatusTOptions other) {
     __isset_bitfield = other.__isset_bitfield;
     this.loadDirectChildren = other.loadDirectChildren;
+    this.startAfterId = other.startAfterId;
+    this.maxResults = other.maxResults;
   }
 
   public ListStatusTOptions deepCopy() {
@@ -138,6 +156,10 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
   public void clear() {
     setLoadDirectChildrenIsSet(false);
     this.loadDirectChildren = false;
+    setStartAfterIdIsSet(false);
+    this.startAfterId = 0;
+    setMaxResultsIsSet(false);
+    this.maxResults = 0;
   }
 
   public boolean isLoadDirectChildren() {
@@ -163,6 +185,52 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
     __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __LOADDIRECTCHILDREN_ISSET_ID, value);
   }
 
+  public long getStartAfterId() {
+    return this.startAfterId;
+  }
+
+  public ListStatusTOptions setStartAfterId(long startAfterId) {
+    this.startAfterId = startAfterId;
+    setStartAfterIdIsSet(true);
+    return this;
+  }
+
+  public void unsetStartAfterId() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __STARTAFTERID_ISSET_ID);
+  }
+
+  /** Returns true if field startAfterId is set (has been assigned a value) and false otherwise */
+  public boolean isSetStartAfterId() {
+    return EncodingUtils.testBit(__isset_bitfield, __STARTAFTERID_ISSET_ID);
+  }
+
+  public void setStartAfterIdIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __STARTAFTERID_ISSET_ID, value);
+  }
+
+  public int getMaxResults() {
+    return this.maxResults;
+  }
+
+  public ListStatusTOptions setMaxResults(int maxResults) {
+    this.maxResults = maxResults;
+    setMaxResultsIsSet(true);
+    return this;
+  }
+
+  public void unsetMaxResults() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __MAXRESULTS_ISSET_ID);
+  }
+
+  /** Returns true if field maxResults is set (has been assigned a value) and false otherwise */
+  public boolean isSetMaxResults() {
+    return EncodingUtils.testBit(__isset_bitfield, __MAXRESULTS_ISSET_ID);
+  }
+
+  public void setMaxResultsIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __MAXRESULTS_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case LOAD_DIRECT_CHILDREN:
@@ -173,6 +241,22 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
       }
       break;
 
+    case START_AFTER_ID:
+      if (value == null) {
+        unsetStartAfterId();
+      } else {
+        setStartAfterId((Long)value);
+      }
+      break;
+
+    case MAX_RESULTS:
+      if (value == null) {
+        unsetMaxResults();
+      } else {
+        setMaxResults((Integer)value);
+      }
+      break;
+
     }
   }
 
@@ -181,6 +265,12 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
     case LOAD_DIRECT_CHILDREN:
       return isLoadDirectChildren();
 
+    case START_AFTER_ID:
+      return getStartAfterId();
+
+    case MAX_RESULTS:
+      return getMaxResults();
+
     }
     throw new IllegalStateException();
   }
@@ -194,6 +284,10 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
     switch (field) {
     case LOAD_DIRECT_CHILDREN:
       return isSetLoadDirectChildren();
+    case START_AFTER_ID:
+      return isSetStartAfterId();
+    case MAX_RESULTS:
+      return isSetMaxResults();
     }
     throw new IllegalStateException();
   }
@@ -220,6 +314,24 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
         return false;
     }
 
+    boolean this_present_startAfterId = true && this.isSetStartAfterId();
+    boolean that_present_startAfterId = true && that.isSetStartAfterId();
+    if (this_present_startAfterId || that_present_startAfterId) {
+      if (!(this_present_startAfterId && that_present_startAfterId))
+        return false;
+      if (this.startAfterId != that.startAfterId)
+        return false;
+    }
+
+    boolean this_present_maxResults = true && this.isSetMaxResults();
+    boolean that_present_maxResults = true && that.isSetMaxResults();
+    if (this_present_maxResults || that_present_maxResults) {
+      if (!(this_present_maxResults && that_present_maxResults))
+        return false;
+      if (this.maxResults != that.maxResults)
+        return false;
+    }
+
     return true;
   }
 
@@ -232,6 +344,16 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
     if (present_loadDirectChildren)
       list.add(loadDirectChildren);
 
+    boolean present_startAfterId = true && (isSetStartAfterId());
+    list.add(present_startAfterId);
+    if (present_startAfterId)
+      list.add(startAfterId);
+
+    boolean present_maxResults = true && (isSetMaxResults());
+    list.add(present_maxResults);
+    if (present_maxResults)
+      list.add(maxResults);
+
     return list.hashCode();
   }
 
@@ -253,6 +375,26 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetStartAfterId()).compareTo(other.isSetStartAfterId());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetStartAfterId()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.startAfterId, other.startAfterId);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetMaxResults()).compareTo(other.isSetMaxResults());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetMaxResults()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.maxResults, other.maxResults);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -278,6 +420,18 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
       sb.append(this.loadDirectChildren);
       first = false;
     }
+    if (isSetStartAfterId()) {
+      if (!first) sb.append(", ");
+      sb.append("startAfterId:");
+      sb.append(this.startAfterId);
+      first = false;
+    }
+    if (isSetMaxResults()) {
+      if (!first) sb.append(", ");
+      sb.append("maxResults:");
+      sb.append(this.maxResults);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -331,6 +485,22 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 2: // START_AFTER_ID
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.startAfterId = iprot.readI64();
+              struct.setStartAfterIdIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 3: // MAX_RESULTS
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.maxResults = iprot.readI32();
+              struct.setMaxResultsIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -351,6 +521,16 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
         oprot.writeBool(struct.loadDirectChildren);
         oprot.writeFieldEnd();
       }
+      if (struct.isSetStartAfterId()) {
+        oprot.writeFieldBegin(START_AFTER_ID_FIELD_DESC);
+        oprot.writeI64(struct.startAfterId);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetMaxResults()) {
+        oprot.writeFieldBegin(MAX_RESULTS_FIELD_DESC);
+        oprot.writeI32(struct.maxResults);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -372,20 +552,40 @@ public class ListStatusTOptions implements org.apache.thrift.TBase<ListStatusTOp
       if (struct.isSetLoadDirectChildren()) {
         optionals.set(0);
       }
-      oprot.writeBitSet(optionals, 1);
+      if (struct.isSetStartAfterId()) {
+        optionals.set(1);
+      }
+      if (struct.isSetMaxResults()) {
+        optionals.set(2);
+      }
+      oprot.writeBitSet(optionals, 3);
       if (struct.isSetLoadDirectChildren()) {
         oprot.writeBool(struct.loadDirectChildren);
       }
+      if (struct.isSetStartAfterId()) {
+        oprot.writeI64(struct.startAfterId);
+      }
+      if (struct.isSetMaxResults()) {
+        oprot.writeI32(struct.maxResults);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, ListStatusTOptions struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(1);
+      BitSet incoming = iprot.readBitSet(3);
       if (incoming.get(0)) {
         struct.loadDirectChildren = iprot.readBool();
         struct.setLoadDirectChildrenIsSet(true);
       }
+      if (incoming.get(1)) {
+        struct.startAfterId = iprot.readI64();
+        struct.setStartAfterIdIsSet(true);
+      }
+      if (incoming.get(2)) {
+        struct.maxResults = iprot.readI32();
+        struct.setMaxResultsIsSet(true);
+      }
     }
   }
 
@@ -0,0 +1,136 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.wire;
+
+import alluxio.exception.AlluxioException;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * The outcome of one path of a batch operation. A failed path carries the exception it failed
+ * with; a successful path may carry the file information of the path.
+ */
+@NotThreadSafe
+public final class BatchPathResult {
+  private FileInfo mFileInfo;
+  private AlluxioException mException;
+
+  /**
+   * Creates a new instance of {@link BatchPathResult}.
+   */
+  public BatchPathResult() {}
+
+  /**
+   * Creates a new instance of {@link BatchPathResult} from a thrift representation.
+   *
+   * @param batchPathResult the thrift representation of a batch path result
+   */
+  protected BatchPathResult(alluxio.thrift.BatchPathResult batchPathResult) {
+    if (batchPathResult.isSetFileInfo()) {
+      mFileInfo = new FileInfo(batchPathResult.getFileInfo());
+    }
+    if (batchPathResult.isSetError()) {
+      mException = AlluxioException.fromThrift(batchPathResult.getError());
+    }
+  }
+
+  /**
+   * @return the file information, or null if the operation failed or returns no information
+   */
+  public FileInfo getFileInfo() {
+    return mFileInfo;
+  }
+
+  /**
+   * @return the exception the operation failed with, or null if the operation succeeded
+   */
+  public AlluxioException getException() {
+    return mException;
+  }
+
+  /**
+   * @return whether the operation succeeded for the path
+   */
+  public boolean isSuccess() {
+    return mException == null;
+  }
+
+  /**
+   * @param fileInfo the file information to use
+   * @return the batch path result
+   */
+  public BatchPathResult setFileInfo(FileInfo fileInfo) {
+    Preconditions.checkNotNull(fileInfo);
+    mFileInfo = fileInfo;
+    return this;
+  }
+
+  /**
+   * @param exception the exception to use
+   * @return the batch path result
+   */
+  public BatchPathResult setException(AlluxioException exception) {
+    Preconditions.checkNotNull(exception);
+    mException = exception;
+    return this;
+  }
+
+  /**
+   * @return thrift representation of the batch path result
+   */
+  protected alluxio.thrift.BatchPathResult toThrift() {
+    alluxio.thrift.BatchPathResult result = new alluxio.thrift.BatchPathResult();
+    if (mFileInfo != null) {
+      result.setFileInfo(mFileInfo.toThrift());
+    }
+    if (mException != null) {
+      result.setError(mException.toThrift());
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof BatchPathResult)) {
+      return false;
+    }
+    BatchPathResult that = (BatchPathResult) o;
+    return Objects.equal(mFileInfo, that.mFileInfo)
+        && Objects.equal(getExceptionClass(), that.getExceptionClass())
+        && Objects.equal(getExceptionMessage(), that.getExceptionMessage());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(mFileInfo, getExceptionClass(), getExceptionMessage());
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(this).add("fileInfo", mFileInfo).add("exception", mException)
+        .toString();
+  }
+
+  private Class<?> getExceptionClass() {
+    return mException == null ? null : mException.getClass();
+  }
+
+  private String getExceptionMessage() {
+    return mException == null ? null : mException.getMessage();
+  }
+}
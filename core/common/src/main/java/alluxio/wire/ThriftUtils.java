@@ -21,6 +21,16 @@ public final class ThriftUtils {
 
   private ThriftUtils() {} // prevent instantiation
 
+  /**
+   * Converts a thrift type to a wire type.
+   *
+   * @param batchPathResult the thrift representation of a batch path result
+   * @return wire representation of the batch path result
+   */
+  public static BatchPathResult fromThrift(alluxio.thrift.BatchPathResult batchPathResult) {
+    return new BatchPathResult(batchPathResult);
+  }
+
   /**
    * Converts a thrift type to a wire type.
    *
@@ -121,6 +131,16 @@ public final class ThriftUtils {
     return new WorkerNetAddress(workerNetAddress);
   }
 
+  /**
+   * Converts a wire type to a thrift type.
+   *
+   * @param batchPathResult the wire representation of a batch path result
+   * @return thrift representation of the batch path result
+   */
+  public static alluxio.thrift.BatchPathResult toThrift(BatchPathResult batchPathResult) {
+    return batchPathResult.toThrift();
+  }
+
   /**
    * Converts a wire type to a thrift type.
    *
@@ -149,4 +149,34 @@ public final class ClientMetrics {
     mMetrics.set(Constants.BYTES_WRITTEN_UFS_INDEX,
         mMetrics.get(Constants.BYTES_WRITTEN_UFS_INDEX) + n);
   }
+
+  /**
+   * Increments BYTES_READ_AHEAD counter by the amount specified.
+   *
+   * @param n amount to increment
+   */
+  public synchronized void incBytesReadAhead(long n) {
+    mMetrics.set(Constants.BYTES_READ_AHEAD_INDEX,
+        mMetrics.get(Constants.BYTES_READ_AHEAD_INDEX) + n);
+  }
+
+  /**
+   * Increments BYTES_READ_AHEAD_HIT counter by the amount specified.
+   *
+   * @param n amount to increment
+   */
+  public synchronized void incBytesReadAheadHit(long n) {
+    mMetrics.set(Constants.BYTES_READ_AHEAD_HIT_INDEX,
+        mMetrics.get(Constants.BYTES_READ_AHEAD_HIT_INDEX) + n);
+  }
+
+  /**
+   * Increments BYTES_READ_AHEAD_WASTED counter by the amount specified.
+   *
+   * @param n amount to increment
+   */
+  public synchronized void incBytesReadAheadWasted(long n) {
+    mMetrics.set(Constants.BYTES_READ_AHEAD_WASTED_INDEX,
+        mMetrics.get(Constants.BYTES_READ_AHEAD_WASTED_INDEX) + n);
+  }
 }
@@ -18,7 +18,6 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
-import java.nio.channels.ReadableByteChannel;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -47,7 +46,7 @@ public final class LocalFileBlockReader implements BlockReader {
   }
 
   @Override
-  public ReadableByteChannel getChannel() {
+  public FileChannel getChannel() {
     return mLocalFileChannel;
   }
 
@@ -0,0 +1,38 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.wire;
+
+import alluxio.exception.FileDoesNotExistException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BatchPathResultTest {
+
+  @Test
+  public void thriftTest() {
+    BatchPathResult success = new BatchPathResult().setFileInfo(FileInfoTest.createRandom());
+    checkEquality(success, ThriftUtils.fromThrift(ThriftUtils.toThrift(success)));
+
+    BatchPathResult failure =
+        new BatchPathResult().setException(new FileDoesNotExistException("/missing"));
+    BatchPathResult other = ThriftUtils.fromThrift(ThriftUtils.toThrift(failure));
+    checkEquality(failure, other);
+    Assert.assertTrue(other.getException() instanceof FileDoesNotExistException);
+  }
+
+  public void checkEquality(BatchPathResult a, BatchPathResult b) {
+    Assert.assertEquals(a.getFileInfo(), b.getFileInfo());
+    Assert.assertEquals(a.isSuccess(), b.isSuccess());
+    Assert.assertEquals(a, b);
+  }
+}
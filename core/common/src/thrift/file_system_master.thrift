@@ -27,6 +27,8 @@ struct MountTOptions {
 
 struct ListStatusTOptions {
   1: optional bool loadDirectChildren
+  2: optional i64 startAfterId
+  3: optional i32 maxResults
 }
 
 /**
@@ -65,6 +67,14 @@ struct FileInfo {
   23: list<FileBlockInfo> fileBlockInfos
 }
 
+/**
+ * The outcome of one path of a batch operation. On failure, error is set instead of fileInfo.
+ */
+struct BatchPathResult {
+  1: optional FileInfo fileInfo
+  2: optional exception.AlluxioTException error
+}
+
 struct FileSystemCommand {
   1: common.CommandType commandType
   2: FileSystemCommandOptions commandOptions
@@ -223,6 +233,31 @@ service FileSystemMasterClientService extends common.AlluxioService {
    */
   void unmount( /** the path of the alluxio mount point */ 1: string alluxioPath)
     throws (1: exception.AlluxioTException e, 2: exception.ThriftIOException ioe)
+
+  /**
+   * Returns the status of each of the given paths, in order. A path which fails to resolve does
+   * not fail the batch; its error is returned in place of its status.
+   */
+  list<BatchPathResult> getStatusBatch(
+      /** the paths of the files or directories */ 1: list<string> paths)
+    throws (1: exception.AlluxioTException e)
+
+  /**
+   * Creates a file for each of the given paths and returns the status of each new file, in order.
+   * A path which fails to be created does not fail the batch; its error is returned instead.
+   */
+  list<BatchPathResult> createFileBatch( /** the paths of the files */ 1: list<string> paths,
+      /** the options for creating the files */ 2: CreateFileTOptions options)
+    throws (1: exception.AlluxioTException e)
+
+  /**
+   * Deletes each of the given paths. A path which fails to be deleted does not fail the batch; its
+   * error is returned in its result.
+   */
+  list<BatchPathResult> removeBatch(
+      /** the paths of the files or directories */ 1: list<string> paths,
+      /** whether to remove recursively */ 2: bool recursive)
+    throws (1: exception.AlluxioTException e)
 }
 
 /**
@@ -80,6 +80,7 @@ public abstract class AbstractMaster implements Master {
     try {
       while ((entry = inputStream.getNextEntry()) != null) {
         processJournalEntry(entry);
+        MasterContext.getMasterSource().incJournalEntriesReplayed(1);
       }
     } finally {
       inputStream.close();
@@ -112,7 +113,8 @@ public abstract class AbstractMaster implements Master {
        *
        * Phase 3. Write out the checkpoint file. Since this master is completely up-to-date, it
        * writes out the checkpoint file. When the checkpoint file is closed, it will then delete the
-       * complete log files.
+       * complete log files. If few entries were journaled since the last checkpoint, the checkpoint
+       * and the complete log files are kept instead, since the logs already hold the changes.
        *
        * Since this method is called before the master RPC server starts serving, there is no
        * concurrent access to the master during these phases.
@@ -148,10 +150,20 @@ public abstract class AbstractMaster implements Master {
 
       // Phase 3: initialize the journal and write out the checkpoint file (the state of all
       // completed logs).
-      JournalOutputStream checkpointStream =
-          mJournalWriter.getCheckpointOutputStream(latestSequenceNumber);
-      streamToJournalCheckpoint(checkpointStream);
-      checkpointStream.close();
+      long entriesSinceCheckpoint =
+          latestSequenceNumber - catchupTailer.getCheckpointSequenceNumber();
+      if (catchupTailer.checkpointExists()
+          && entriesSinceCheckpoint < MasterContext.getConf()
+              .getLong(Constants.MASTER_JOURNAL_CHECKPOINT_PERIOD_ENTRIES)) {
+        LOG.info("{}: keeping the journal checkpoint, {} entries were journaled since.", getName(),
+            entriesSinceCheckpoint);
+        mJournalWriter.keepCheckpoint(latestSequenceNumber);
+      } else {
+        JournalOutputStream checkpointStream =
+            mJournalWriter.getCheckpointOutputStream(latestSequenceNumber);
+        streamToJournalCheckpoint(checkpointStream);
+        checkpointStream.close();
+      }
 
       mAsyncJournalWriter = new AsyncJournalWriter(mJournalWriter);
     } else {
@@ -168,6 +180,9 @@ public abstract class AbstractMaster implements Master {
     LOG.info("{}: Stopping {} master.", getName(), mIsLeader ? "leader" : "standby");
     if (mIsLeader) {
       // Stop this leader master.
+      if (mAsyncJournalWriter != null) {
+        mAsyncJournalWriter.close();
+      }
       if (mJournalWriter != null) {
         mJournalWriter.close();
         mJournalWriter = null;
@@ -22,6 +22,7 @@ import alluxio.master.lineage.LineageMaster;
 import alluxio.metrics.MetricsSystem;
 import alluxio.security.authentication.TransportProvider;
 import alluxio.underfs.UnderFileSystem;
+import alluxio.util.CommonUtils;
 import alluxio.util.ConfigurationUtils;
 import alluxio.util.LineageUtils;
 import alluxio.util.network.NetworkAddressUtils;
@@ -411,6 +412,7 @@ public class AlluxioMaster {
 
   protected void startMasters(boolean isLeader) {
     try {
+      long startTimeMs = CommonUtils.getCurrentMs();
       connectToUFS();
 
       mBlockMaster.start(isLeader);
@@ -422,6 +424,11 @@ public class AlluxioMaster {
       for (Master master : mAdditionalMasters) {
         master.start(isLeader);
       }
+      if (isLeader) {
+        long timeToLeaderMs = CommonUtils.getCurrentMs() - startTimeMs;
+        MasterContext.getMasterSource().setTimeToLeaderMs(timeToLeaderMs);
+        LOG.info("Alluxio master started as the leader in {} ms", timeToLeaderMs);
+      }
 
     } catch (IOException e) {
       LOG.error(e.getMessage(), e);
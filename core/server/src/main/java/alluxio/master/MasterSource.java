@@ -19,7 +19,9 @@ import alluxio.wire.FileInfo;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +48,9 @@ public class MasterSource implements Source {
   public static final String FILES_PERSISTED = "FilesPersisted";
   public static final String NEW_BLOCKS_GOT = "NewBlocksGot";
   public static final String PATHS_DELETED = "PathsDeleted";
+  public static final String PATHS_PENDING_RECLAIM = "PathsPendingReclaim";
+  public static final String PATHS_RECLAIMED = "PathsReclaimed";
+  public static final String BLOCKS_RECLAIMED = "BlocksReclaimed";
   public static final String PATHS_MOUNTED = "PathsMounted";
   public static final String PATHS_RENAMED = "PathsRenamed";
   public static final String PATHS_UNMOUNTED = "PathsUnmounted";
@@ -70,6 +75,11 @@ public class MasterSource implements Source {
   public static final String WORKERS = "Workers";
   public static final String PATHS_TOTAL = "PathsTotal";
   public static final String FILES_PINNED = "FilesPinned";
+  public static final String JOURNAL_ENTRIES_REPLAYED = "JournalEntriesReplayed";
+  public static final String TIME_TO_LEADER_MS = "TimeToLeaderMs";
+  public static final String PATH_CACHE_HITS = "PathCacheHits";
+  public static final String PATH_CACHE_MISSES = "PathCacheMisses";
+  public static final String PATH_CACHE_HIT_RATIO = "PathCacheHitRatio";
 
   private boolean mGaugesRegistered = false;
   private final MetricRegistry mMetricRegistry = new MetricRegistry();
@@ -92,6 +102,12 @@ public class MasterSource implements Source {
       mMetricRegistry.counter(MetricRegistry.name(NEW_BLOCKS_GOT));
   private final Counter mPathsDeleted =
       mMetricRegistry.counter(MetricRegistry.name(PATHS_DELETED));
+  private final Counter mPathsPendingReclaim =
+      mMetricRegistry.counter(MetricRegistry.name(PATHS_PENDING_RECLAIM));
+  private final Counter mPathsReclaimed =
+      mMetricRegistry.counter(MetricRegistry.name(PATHS_RECLAIMED));
+  private final Counter mBlocksReclaimed =
+      mMetricRegistry.counter(MetricRegistry.name(BLOCKS_RECLAIMED));
   private final Counter mPathsMounted =
       mMetricRegistry.counter(MetricRegistry.name(PATHS_MOUNTED));
   private final Counter mPathsRenamed =
@@ -124,10 +140,33 @@ public class MasterSource implements Source {
   private final Counter mUnmountOps =
       mMetricRegistry.counter(MetricRegistry.name(UNMOUNT_OPS));
 
+  private final Meter mJournalEntriesReplayed =
+      mMetricRegistry.meter(MetricRegistry.name(JOURNAL_ENTRIES_REPLAYED));
+  private final Counter mPathCacheHits =
+      mMetricRegistry.counter(MetricRegistry.name(PATH_CACHE_HITS));
+  private final Counter mPathCacheMisses =
+      mMetricRegistry.counter(MetricRegistry.name(PATH_CACHE_MISSES));
+  /** The time the masters took to start the last time this master became the leader. */
+  private volatile long mTimeToLeaderMs;
+
   /**
    * Constructs a new {@link MasterSource}.
    */
-  public MasterSource() {}
+  public MasterSource() {
+    mMetricRegistry.register(MetricRegistry.name(TIME_TO_LEADER_MS), new Gauge<Long>() {
+      @Override
+      public Long getValue() {
+        return mTimeToLeaderMs;
+      }
+    });
+    mMetricRegistry.register(MetricRegistry.name(PATH_CACHE_HIT_RATIO), new RatioGauge() {
+      @Override
+      protected Ratio getRatio() {
+        long hits = mPathCacheHits.getCount();
+        return Ratio.of(hits, hits + mPathCacheMisses.getCount());
+      }
+    });
+  }
 
   /**
    * Registers metric gauges.
@@ -320,6 +359,44 @@ public class MasterSource implements Source {
     mPathsDeleted.inc(n);
   }
 
+  /**
+   * Increments the counter of deleted paths whose inodes, blocks and under storage objects are yet
+   * to be reclaimed in the background.
+   *
+   * @param n the increment
+   */
+  public void incPathsPendingReclaim(long n) {
+    mPathsPendingReclaim.inc(n);
+  }
+
+  /**
+   * Decrements the counter of deleted paths whose inodes, blocks and under storage objects are yet
+   * to be reclaimed in the background.
+   *
+   * @param n the decrement
+   */
+  public void decPathsPendingReclaim(long n) {
+    mPathsPendingReclaim.dec(n);
+  }
+
+  /**
+   * Increments the counter of deleted paths reclaimed in the background.
+   *
+   * @param n the increment
+   */
+  public void incPathsReclaimed(long n) {
+    mPathsReclaimed.inc(n);
+  }
+
+  /**
+   * Increments the counter of blocks of deleted files reclaimed in the background.
+   *
+   * @param n the increment
+   */
+  public void incBlocksReclaimed(long n) {
+    mBlocksReclaimed.inc(n);
+  }
+
   /**
    * Increments the counter of mounted paths.
    *
@@ -454,4 +531,41 @@ public class MasterSource implements Source {
   public void incUnmountOps(long n) {
     mUnmountOps.inc(n);
   }
+
+  /**
+   * Marks journal entries replayed by the masters, from checkpoints and completed logs.
+   *
+   * @param n the number of entries replayed
+   */
+  public void incJournalEntriesReplayed(long n) {
+    mJournalEntriesReplayed.mark(n);
+  }
+
+  /**
+   * Sets the time the masters took to replay the journal and start, the last time this master
+   * became the leader.
+   *
+   * @param timeMs the time in milliseconds
+   */
+  public void setTimeToLeaderMs(long timeMs) {
+    mTimeToLeaderMs = timeMs;
+  }
+
+  /**
+   * Increments the counter of path traversals which found all their inodes in the path cache.
+   *
+   * @param n the increment
+   */
+  public void incPathCacheHits(long n) {
+    mPathCacheHits.inc(n);
+  }
+
+  /**
+   * Increments the counter of path traversals which did not find their inodes in the path cache.
+   *
+   * @param n the increment
+   */
+  public void incPathCacheMisses(long n) {
+    mPathCacheMisses.inc(n);
+  }
 }
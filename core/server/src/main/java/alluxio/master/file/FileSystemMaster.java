@@ -26,6 +26,7 @@ import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidFileSizeException;
 import alluxio.exception.InvalidPathException;
 import alluxio.exception.PreconditionMessage;
+import alluxio.exception.UnexpectedAlluxioException;
 import alluxio.heartbeat.HeartbeatContext;
 import alluxio.heartbeat.HeartbeatExecutor;
 import alluxio.heartbeat.HeartbeatThread;
@@ -86,7 +87,9 @@ import alluxio.thrift.PersistCommandOptions;
 import alluxio.thrift.PersistFile;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.util.IdUtils;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.io.PathUtils;
+import alluxio.wire.BatchPathResult;
 import alluxio.wire.BlockInfo;
 import alluxio.wire.BlockLocation;
 import alluxio.wire.FileBlockInfo;
@@ -95,6 +98,7 @@ import alluxio.wire.WorkerInfo;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.RateLimiter;
 import com.google.protobuf.Message;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang.exception.ExceptionUtils;
@@ -104,13 +108,20 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -121,6 +132,12 @@ import javax.annotation.concurrent.NotThreadSafe;
 public final class FileSystemMaster extends AbstractMaster {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
 
+  /**
+   * The name of the directory, under the under file system root of each mount point, which holds
+   * the under file system objects of asynchronous deletes until they are reclaimed.
+   */
+  private static final String UFS_TRASH_DIRECTORY = ".alluxio_trash";
+
   /**
    * Locking in the FileSystemMaster
    *
@@ -190,6 +207,9 @@ public final class FileSystemMaster extends AbstractMaster {
   /** This manages the file system mount points. */
   private final MountTable mMountTable;
 
+  /** This fetches the metadata of UFS paths for metadata loads, in parallel. */
+  private final UfsStatusFetcher mUfsStatusFetcher;
+
   /** This maintains inodes with ttl set, for the for the ttl checker service to use. */
   private final TtlBucketList mTtlBuckets = new TtlBucketList();
 
@@ -205,6 +225,9 @@ public final class FileSystemMaster extends AbstractMaster {
   /** The handler for async persistence. */
   private final AsyncPersistHandler mAsyncPersistHandler;
 
+  /** The subtrees removed from the namespace by asynchronous deletes, waiting to be reclaimed. */
+  private final BlockingQueue<PendingDelete> mPendingDeletes = new LinkedBlockingQueue<>();
+
   /**
    * The service that checks for inode files with ttl set. We store it here so that it can be
    * accessed from tests.
@@ -218,6 +241,13 @@ public final class FileSystemMaster extends AbstractMaster {
   @SuppressFBWarnings("URF_UNREAD_FIELD")
   private Future<?> mLostFilesDetectionService;
 
+  /**
+   * The service that reclaims asynchronously deleted subtrees. We store it here so that it can be
+   * accessed from tests.
+   */
+  @SuppressFBWarnings("URF_UNREAD_FIELD")
+  private Future<?> mAsyncDeleteReclaimerService;
+
   /**
    * @param baseDirectory the base journal directory
    * @return the journal directory for this master
@@ -233,12 +263,13 @@ public final class FileSystemMaster extends AbstractMaster {
    * @param journal the journal to use for tracking master operations
    */
   public FileSystemMaster(BlockMaster blockMaster, Journal journal) {
-    super(journal, 2);
+    super(journal, 3);
     mBlockMaster = blockMaster;
 
     mDirectoryIdGenerator = new InodeDirectoryIdGenerator(mBlockMaster);
     mMountTable = new MountTable();
     mInodeTree = new InodeTree(mBlockMaster, mDirectoryIdGenerator, mMountTable);
+    mUfsStatusFetcher = new UfsStatusFetcher(mMountTable);
 
     // TODO(gene): Handle default config value for whitelist.
     Configuration conf = MasterContext.getConf();
@@ -377,6 +408,11 @@ public final class FileSystemMaster extends AbstractMaster {
       mLostFilesDetectionService = getExecutorService().submit(new HeartbeatThread(
           HeartbeatContext.MASTER_LOST_FILES_DETECTION, new LostFilesDetectionHeartbeatExecutor(),
           MasterContext.getConf().getInt(Constants.MASTER_HEARTBEAT_INTERVAL_MS)));
+      // Subtrees pending from an earlier term as leader were dropped when the state was rebuilt
+      // from the journal. Their under file system objects are left in the trash directories, which
+      // the reclaimer empties first.
+      mPendingDeletes.clear();
+      mAsyncDeleteReclaimerService = getExecutorService().submit(new AsyncDeleteReclaimer());
     }
   }
 
@@ -454,6 +490,38 @@ public final class FileSystemMaster extends AbstractMaster {
     }
   }
 
+  /**
+   * Returns the {@link FileInfo} for each of the given paths, in order. A path which cannot be
+   * resolved does not fail the batch; its exception is returned in place of its {@link FileInfo}.
+   * Metadata loaded for any of the paths is flushed to the journal once for the whole batch.
+   * <p>
+   * This operation requires users to have {@link FileSystemAction#READ} permission on each path.
+   *
+   * @param paths the paths to get the {@link FileInfo} for
+   * @return a {@link BatchPathResult} for each of the given paths
+   */
+  public List<BatchPathResult> getFileInfoBatch(List<AlluxioURI> paths) {
+    MasterContext.getMasterSource().incGetFileInfoOps(paths.size());
+    // The paths are WRITE locked, since loading metadata is possible.
+    return applyBatch(paths, InodeTree.LockMode.WRITE, new BatchPathOperation() {
+      @Override
+      public LockedInodePath lock(AlluxioURI path) throws AlluxioException {
+        return mInodeTree.lockInodePath(path, InodeTree.LockMode.WRITE);
+      }
+
+      @Override
+      public long apply(LockedInodePath inodePath, BatchPathResult result)
+          throws AlluxioException {
+        mPermissionChecker.checkPermission(FileSystemAction.READ, inodePath);
+        long flushCounter = loadMetadataIfNotExistAndJournal(inodePath,
+            LoadMetadataOptions.defaults().setCreateAncestors(true));
+        mInodeTree.ensureFullInodePath(inodePath, InodeTree.LockMode.READ);
+        result.setFileInfo(getFileInfoInternal(inodePath));
+        return flushCounter;
+      }
+    });
+  }
+
   /**
    * @param inodePath the {@link LockedInodePath} to get the {@link FileInfo} for
    * @return the {@link FileInfo} for the given inode
@@ -517,10 +585,46 @@ public final class FileSystemMaster extends AbstractMaster {
    * @throws FileDoesNotExistException if the file does not exist
    * @throws InvalidPathException if the path is invalid
    */
-  // TODO(peis): Create GetFileInfoListOptions and add an option not to load metadata.
   public List<FileInfo> getFileInfoList(AlluxioURI path, boolean loadDirectChildren)
       throws AccessControlException, FileDoesNotExistException, InvalidPathException {
+    return getFileInfoList(path, loadDirectChildren, IdUtils.INVALID_FILE_ID, 0);
+  }
+
+  /**
+   * Returns a page of the list of {@link FileInfo} for a given path, sorted by file id. The page
+   * holds the entries with a file id greater than startAfterId, so the next page starts after the
+   * last id of this one, and a page shorter than maxResults is the last one. Only the entries of
+   * the page are built while the directory is locked.
+   * <p>
+   * This operation requires users to have
+   * {@link FileSystemAction#READ} permission on the path, and also
+   * {@link FileSystemAction#EXECUTE} permission on the path if it is a directory.
+   *
+   * @param path the path to get the {@link FileInfo} list for
+   * @param loadDirectChildren whether to load the direct children if path is a directory if its
+   *        direct children have not beed loaded before
+   * @param startAfterId the file id the page starts after, {@link IdUtils#INVALID_FILE_ID} for the
+   *        first page
+   * @param maxResults the maximum number of entries in the page, or a non-positive value for no
+   *        limit
+   * @return the list of {@link FileInfo}s
+   * @throws AccessControlException if permission checking fails
+   * @throws FileDoesNotExistException if the file does not exist
+   * @throws InvalidPathException if the path is invalid
+   */
+  // TODO(peis): Create GetFileInfoListOptions and add an option not to load metadata.
+  public List<FileInfo> getFileInfoList(AlluxioURI path, boolean loadDirectChildren,
+      long startAfterId, int maxResults)
+      throws AccessControlException, FileDoesNotExistException, InvalidPathException {
     MasterContext.getMasterSource().incGetFileInfoOps(1);
+    // Most listings, such as every page after the first, do not load metadata, so they only READ
+    // lock the path and do not block other listings of the directory.
+    try (LockedInodePath inodePath = mInodeTree.lockInodePath(path, InodeTree.LockMode.READ)) {
+      if (!isMetadataLoadNeeded(inodePath, loadDirectChildren)) {
+        mPermissionChecker.checkPermission(FileSystemAction.READ, inodePath);
+        return getFileInfoPage(inodePath, startAfterId, maxResults);
+      }
+    }
     long flushCounter = AsyncJournalWriter.INVALID_FLUSH_COUNTER;
     try (LockedInodePath inodePath = mInodeTree.lockInodePath(path, InodeTree.LockMode.WRITE)) {
       // This is WRITE locked, since loading metadata is possible.
@@ -539,33 +643,65 @@ public final class FileSystemMaster extends AbstractMaster {
 
       flushCounter = loadMetadataIfNotExistAndJournal(inodePath, loadMetadataOptions);
       mInodeTree.ensureFullInodePath(inodePath, InodeTree.LockMode.READ);
-      inode = inodePath.getInode();
-
-      List<FileInfo> ret = new ArrayList<>();
-      if (inode.isDirectory()) {
-        TempInodePathForDescendant tempInodePath = new TempInodePathForDescendant(inodePath);
-        mPermissionChecker.checkPermission(FileSystemAction.EXECUTE, inodePath);
-        for (Inode<?> child : ((InodeDirectory) inode).getChildren()) {
-          child.lockRead();
-          try {
-            // the path to child for getPath should already be locked.
-            tempInodePath.setDescendant(child, mInodeTree.getPath(child));
-            ret.add(getFileInfoInternal(tempInodePath));
-          } finally {
-            child.unlockRead();
-          }
-        }
-      } else {
-        ret.add(getFileInfoInternal(inodePath));
-      }
-      MasterContext.getMasterSource().incFileInfosGot(ret.size());
-      return ret;
+      return getFileInfoPage(inodePath, startAfterId, maxResults);
     } finally {
       // finally runs after resources are closed (unlocked).
       waitForJournalFlush(flushCounter);
     }
   }
 
+  /**
+   * @param inodePath the locked path to list
+   * @param loadDirectChildren whether the direct children of a directory should be loaded
+   * @return whether listing the path would load metadata from the UFS
+   * @throws FileDoesNotExistException if the inode of the path cannot be retrieved
+   */
+  private boolean isMetadataLoadNeeded(LockedInodePath inodePath, boolean loadDirectChildren)
+      throws FileDoesNotExistException {
+    if (!inodePath.fullPathExists()) {
+      return true;
+    }
+    Inode<?> inode = inodePath.getInode();
+    return loadDirectChildren && inode.isDirectory() && inode.isPersisted()
+        && !((InodeDirectory) inode).isDirectChildrenLoaded();
+  }
+
+  /**
+   * Builds a page of the list of {@link FileInfo} for a path which exists, see
+   * {@link #getFileInfoList(AlluxioURI, boolean, long, int)}.
+   *
+   * @param inodePath the locked path to list
+   * @param startAfterId the file id the page starts after
+   * @param maxResults the maximum number of entries in the page, or a non-positive value for no
+   *        limit
+   * @return the list of {@link FileInfo}s
+   * @throws AccessControlException if permission checking fails
+   * @throws FileDoesNotExistException if the file does not exist
+   */
+  private List<FileInfo> getFileInfoPage(LockedInodePath inodePath, long startAfterId,
+      int maxResults) throws AccessControlException, FileDoesNotExistException {
+    Inode<?> inode = inodePath.getInode();
+    List<FileInfo> ret = new ArrayList<>();
+    if (inode.isDirectory()) {
+      TempInodePathForDescendant tempInodePath = new TempInodePathForDescendant(inodePath);
+      mPermissionChecker.checkPermission(FileSystemAction.EXECUTE, inodePath);
+      for (Inode<?> child : ((InodeDirectory) inode).getChildrenPage(startAfterId, maxResults)) {
+        child.lockRead();
+        try {
+          // the path to child for getPath should already be locked.
+          tempInodePath.setDescendant(child, mInodeTree.getPath(child));
+          ret.add(getFileInfoInternal(tempInodePath));
+        } finally {
+          child.unlockRead();
+        }
+      }
+    } else if (inode.getId() > startAfterId) {
+      ret.add(getFileInfoInternal(inodePath));
+    }
+    MasterContext.getMasterSource().incFileInfosGot(ret.size());
+    return ret;
+  }
+
   /**
    * @return a read-only view of the file system master
    */
@@ -741,6 +877,40 @@ public final class FileSystemMaster extends AbstractMaster {
     }
   }
 
+  /**
+   * Creates a file (not a directory) for each of the given paths, in order, and returns the
+   * {@link FileInfo} of each new file. A path which fails to be created does not fail the batch;
+   * its exception is returned instead, with I/O errors reported as
+   * {@link UnexpectedAlluxioException}. The new files are flushed to the journal once for the
+   * whole batch.
+   * <p>
+   * This operation requires {@link FileSystemAction#WRITE} permission on the parent of each path.
+   *
+   * @param paths the files to create
+   * @param options method options, applied to every file
+   * @return a {@link BatchPathResult} for each of the given paths
+   */
+  public List<BatchPathResult> createFileBatch(List<AlluxioURI> paths,
+      final CreateFileOptions options) {
+    MasterContext.getMasterSource().incCreateFileOps(paths.size());
+    return applyBatch(paths, InodeTree.LockMode.WRITE, new BatchPathOperation() {
+      @Override
+      public LockedInodePath lock(AlluxioURI path) throws AlluxioException {
+        return mInodeTree.lockInodePath(path, InodeTree.LockMode.WRITE);
+      }
+
+      @Override
+      public long apply(LockedInodePath inodePath, BatchPathResult result)
+          throws AlluxioException, IOException {
+        mPermissionChecker.checkParentPermission(FileSystemAction.WRITE, inodePath);
+        mMountTable.checkUnderWritableMountPoint(inodePath.getUri());
+        long flushCounter = createFileAndJournal(inodePath, options);
+        result.setFileInfo(getFileInfoInternal(inodePath));
+        return flushCounter;
+      }
+    });
+  }
+
   /**
    * Creates a file (not a directory) for a given path.
    * <p>
@@ -759,6 +929,7 @@ public final class FileSystemMaster extends AbstractMaster {
   private long createFileAndJournal(LockedInodePath inodePath, CreateFileOptions options)
       throws FileAlreadyExistsException, BlockInfoException, FileDoesNotExistException,
       InvalidPathException, IOException {
+    checkNotUfsTrash(inodePath.getUri());
     InodeTree.CreatePathResult createResult = createFileInternal(inodePath, options);
 
     return journalCreatePathResult(createResult);
@@ -891,7 +1062,9 @@ public final class FileSystemMaster extends AbstractMaster {
           InvalidPathException, AccessControlException {
     MasterContext.getMasterSource().incDeletePathOps(1);
     long flushCounter = AsyncJournalWriter.INVALID_FLUSH_COUNTER;
-    try (LockedInodePath inodePath = mInodeTree.lockFullInodePath(path, InodeTree.LockMode.WRITE)) {
+    // The parent is write locked because the deleted inode is removed from its children.
+    try (LockedInodePath inodePath =
+        mInodeTree.lockFullInodePath(path, InodeTree.LockMode.WRITE_PARENT)) {
       mPermissionChecker.checkParentPermission(FileSystemAction.WRITE, inodePath);
       mMountTable.checkUnderWritableMountPoint(path);
       flushCounter = deleteAndJournal(inodePath, recursive);
@@ -901,6 +1074,130 @@ public final class FileSystemMaster extends AbstractMaster {
     }
   }
 
+  /**
+   * Deletes each of the given paths, in order. A path which fails to be deleted does not fail the
+   * batch; its exception is returned in its result, with I/O errors reported as
+   * {@link UnexpectedAlluxioException}. The deletions are flushed to the journal once for the
+   * whole batch.
+   * <p>
+   * This operation requires user to have {@link FileSystemAction#WRITE}
+   * permission on the parent of each path.
+   *
+   * @param paths the paths to delete
+   * @param recursive if true, will delete all the children of each path
+   * @return a {@link BatchPathResult} for each of the given paths
+   */
+  public List<BatchPathResult> deleteBatch(List<AlluxioURI> paths, final boolean recursive) {
+    MasterContext.getMasterSource().incDeletePathOps(paths.size());
+    return applyBatch(paths, InodeTree.LockMode.WRITE, new BatchPathOperation() {
+      @Override
+      public LockedInodePath lock(AlluxioURI path) throws AlluxioException {
+        return mInodeTree.lockFullInodePath(path, InodeTree.LockMode.WRITE_PARENT);
+      }
+
+      @Override
+      public long apply(LockedInodePath inodePath, BatchPathResult result)
+          throws AlluxioException, IOException {
+        // Fails for a path which does not exist, as locking it on its own does.
+        inodePath.getInode();
+        mPermissionChecker.checkParentPermission(FileSystemAction.WRITE, inodePath);
+        mMountTable.checkUnderWritableMountPoint(inodePath.getUri());
+        return deleteAndJournal(inodePath, recursive);
+      }
+    });
+  }
+
+  /**
+   * Applies an operation to each of the given paths, in order. The paths are grouped by parent,
+   * and the parent of a group of several paths is write locked once for the whole group, so a
+   * batch of paths in few directories traverses and locks each directory once rather than once
+   * per path. A path without a parent, or whose parent cannot be locked, is locked on its own. A
+   * path which fails does not fail the batch; its exception is returned in its result, with I/O
+   * errors reported as {@link UnexpectedAlluxioException}. The journal is flushed once for the
+   * whole batch.
+   *
+   * @param paths the paths to apply the operation to
+   * @param childLockMode the {@link InodeTree.LockMode} of a path in a group, whose parent is
+   *        already write locked
+   * @param operation the operation to apply
+   * @return a {@link BatchPathResult} for each of the given paths
+   */
+  private List<BatchPathResult> applyBatch(List<AlluxioURI> paths,
+      InodeTree.LockMode childLockMode, BatchPathOperation operation) {
+    // Parents are visited in the order in which they first appear in the batch.
+    Map<AlluxioURI, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < paths.size(); i++) {
+      AlluxioURI parent = paths.get(i).getParent();
+      List<Integer> group = groups.get(parent);
+      if (group == null) {
+        group = new ArrayList<>();
+        groups.put(parent, group);
+      }
+      group.add(i);
+    }
+    BatchPathResult[] results = new BatchPathResult[paths.size()];
+    long flushCounter = AsyncJournalWriter.INVALID_FLUSH_COUNTER;
+    try {
+      for (Map.Entry<AlluxioURI, List<Integer>> group : groups.entrySet()) {
+        LockedInodePath parentPath = null;
+        if (group.getKey() != null && group.getValue().size() > 1) {
+          try {
+            parentPath = mInodeTree.lockFullInodePath(group.getKey(), InodeTree.LockMode.WRITE);
+          } catch (InvalidPathException | FileDoesNotExistException e) {
+            // Each path of the group reports the failure, or creates the parent, on its own.
+          }
+        }
+        try {
+          for (int i : group.getValue()) {
+            AlluxioURI path = paths.get(i);
+            BatchPathResult result = new BatchPathResult();
+            try (LockedInodePath inodePath = parentPath == null ? operation.lock(path)
+                : mInodeTree.lockChildPath(parentPath, path.getName(), childLockMode)) {
+              flushCounter = Math.max(flushCounter, operation.apply(inodePath, result));
+            } catch (AlluxioException e) {
+              result.setException(e);
+            } catch (IOException e) {
+              result.setException(new UnexpectedAlluxioException(e.getMessage()));
+            }
+            results[i] = result;
+          }
+        } finally {
+          if (parentPath != null) {
+            parentPath.close();
+          }
+        }
+      }
+    } finally {
+      // A single flush covers the entries of every path, since flush counters are monotonic.
+      waitForJournalFlush(flushCounter);
+    }
+    return Arrays.asList(results);
+  }
+
+  /**
+   * An operation of a batch, applied to each path of the batch.
+   */
+  private interface BatchPathOperation {
+    /**
+     * Locks a path which is not part of a group whose parent is locked.
+     *
+     * @param path the path to lock
+     * @return the locked path
+     * @throws AlluxioException if the path cannot be locked
+     */
+    LockedInodePath lock(AlluxioURI path) throws AlluxioException;
+
+    /**
+     * @param inodePath the locked path to apply the operation to
+     * @param result the result of the path, to set the {@link FileInfo} of
+     * @return the flush counter for journaling
+     * @throws AlluxioException if the operation fails
+     * @throws IOException if an I/O error occurs
+     */
+    long apply(LockedInodePath inodePath, BatchPathResult result)
+        throws AlluxioException, IOException;
+  }
+
   /**
    * Deletes a given path.
    * <p>
@@ -935,7 +1232,7 @@ public final class FileSystemMaster extends AbstractMaster {
   private void deleteFromEntry(DeleteFileEntry entry) {
     MasterContext.getMasterSource().incDeletePathOps(1);
     try (LockedInodePath inodePath = mInodeTree
-        .lockFullInodePath(entry.getId(), InodeTree.LockMode.WRITE)) {
+        .lockFullInodePath(entry.getId(), InodeTree.LockMode.WRITE_PARENT)) {
       deleteInternal(inodePath, entry.getRecursive(), true, entry.getOpTimeMs());
     } catch (Exception e) {
       throw new RuntimeException(e);
@@ -965,8 +1262,15 @@ public final class FileSystemMaster extends AbstractMaster {
 
   /**
    * Implements file deletion.
+   * <p>
+   * When {@link Constants#MASTER_FILE_ASYNC_DELETE_ENABLED} is set, a directory deleted recursively
+   * on the leader is only removed from its parent, and its under file system objects are moved to
+   * the trash directory of its mount point, before this method returns. Its inodes, blocks and
+   * under file system objects are reclaimed later by the {@link AsyncDeleteReclaimer}. The journal
+   * entry of the delete is the same either way, so replaying it deletes the whole subtree, and the
+   * next leader empties the trash directories of what was not reclaimed yet.
    *
-   * @param inodePath the file {@link LockedInodePath}
+   * @param inodePath the file {@link LockedInodePath}, with the parent of the file write locked
    * @param recursive if the file id identifies a directory, this flag specifies whether the
    *        directory content should be deleted recursively
    * @param replayed whether the operation is a result of replaying the journal
@@ -1005,6 +1309,18 @@ public final class FileSystemMaster extends AbstractMaster {
     try (InodeLockList lockList = mInodeTree.lockDescendants(inodePath, InodeTree.LockMode.WRITE)) {
       delInodes.addAll(lockList.getInodes());
 
+      PendingDelete pendingDelete = !replayed && delInodes.size() > 1
+          && canDeleteAsync(delInodes) ? moveToUfsTrash(inodePath.getUri(), delInodes) : null;
+      if (pendingDelete != null) {
+        // No operation holds a lock in the subtree, and none can reach it by path once it is
+        // unlinked. The reclaimer locks each inode and its parent as it removes them.
+        mInodeTree.deleteInode(inodePath, opTimeMs);
+        mPendingDeletes.add(pendingDelete);
+        MasterContext.getMasterSource().incPathsPendingReclaim(delInodes.size());
+        MasterContext.getMasterSource().incPathsDeleted(delInodes.size());
+        return;
+      }
+
       TempInodePathForDescendant tempInodePath = new TempInodePathForDescendant(inodePath);
       // We go through each inode, removing it from its parent set and from mDelInodes. If it's a
       // file, we deal with the checkpoints and blocks as well.
@@ -1023,16 +1339,7 @@ public final class FileSystemMaster extends AbstractMaster {
             if (mMountTable.isMountPoint(alluxioUriToDel)) {
               unmountInternal(alluxioUriToDel);
             } else {
-              // Delete the file in the under file system.
-              MountTable.Resolution resolution = mMountTable.resolve(alluxioUriToDel);
-              String ufsUri = resolution.getUri().toString();
-              UnderFileSystem ufs = resolution.getUfs();
-              if (!ufs.exists(ufsUri)) {
-                LOG.warn("Deleted file does not exist in the underfs: {}", ufsUri);
-              } else if (!ufs.delete(ufsUri, true)) {
-                LOG.error("Failed to delete {} from the under file system", ufsUri);
-                throw new IOException(ExceptionMessage.DELETE_FAILED_UFS.getMessage(ufsUri));
-              }
+              deleteUfsInternal(alluxioUriToDel);
             }
           } catch (InvalidPathException e) {
             LOG.warn(e.getMessage());
@@ -1051,6 +1358,120 @@ public final class FileSystemMaster extends AbstractMaster {
     MasterContext.getMasterSource().incPathsDeleted(delInodes.size());
   }
 
+  /**
+   * @param delInodes the inodes of a subtree to delete, starting with its root
+   * @return whether the subtree can be deleted asynchronously, which requires async deletes to be
+   *         enabled, the subtree to contain no mount point, and either its root or none of its
+   *         inodes to be persisted, so that moving the root moves every under file system object
+   */
+  private boolean canDeleteAsync(List<Inode<?>> delInodes) {
+    if (!MasterContext.getConf().getBoolean(Constants.MASTER_FILE_ASYNC_DELETE_ENABLED)) {
+      return false;
+    }
+    boolean rootPersisted = delInodes.get(0).isPersisted();
+    for (Inode<?> inode : delInodes) {
+      if (inode.isDirectory() && ((InodeDirectory) inode).isMountPoint()
+          || !rootPersisted && inode.isPersisted()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Moves the under file system object of the root of a subtree to the trash directory of its
+   * mount point, under the id of the root. The path of the subtree is free once the object is
+   * moved, and what is left in the trash survives a failover, since the next leader empties the
+   * trash directories.
+   *
+   * @param uri the path of the subtree
+   * @param delInodes the inodes of the subtree, starting with its root
+   * @return the subtree to reclaim, or null if its under file system object could not be moved
+   */
+  private PendingDelete moveToUfsTrash(AlluxioURI uri, List<Inode<?>> delInodes) {
+    if (!delInodes.get(0).isPersisted()) {
+      return new PendingDelete(delInodes, null, null);
+    }
+    String ufsPath = null;
+    try {
+      MountTable.Resolution resolution = mMountTable.resolve(uri);
+      UnderFileSystem ufs = resolution.getUfs();
+      ufsPath = resolution.getUri().toString();
+      if (!ufs.exists(ufsPath)) {
+        LOG.warn("Deleted file does not exist in the underfs: {}", ufsPath);
+        return new PendingDelete(delInodes, null, null);
+      }
+      String trashDirectory = getUfsTrashDirectory(mMountTable.getMountPoint(uri));
+      if (!ufs.exists(trashDirectory)) {
+        // Another delete may create the directory concurrently.
+        ufs.mkdirs(trashDirectory, true);
+      }
+      String trashPath = PathUtils.concatPath(trashDirectory, delInodes.get(0).getId());
+      if (ufs.rename(ufsPath, trashPath)) {
+        return new PendingDelete(delInodes, ufs, trashPath);
+      }
+      LOG.warn("Failed to move {} to {}, deleting it synchronously", ufsPath, trashPath);
+    } catch (InvalidPathException | IOException e) {
+      LOG.warn("Failed to move {} to the trash, deleting it synchronously: {}", ufsPath,
+          e.getMessage());
+    }
+    return null;
+  }
+
+  /**
+   * @param mountPoint the Alluxio path of a mount point
+   * @return the under file system path of the trash directory of the mount point
+   * @throws InvalidPathException if the mount point cannot be resolved
+   */
+  private String getUfsTrashDirectory(String mountPoint) throws InvalidPathException {
+    return mMountTable.resolve(new AlluxioURI(mountPoint)).getUri().join(UFS_TRASH_DIRECTORY)
+        .toString();
+  }
+
+  /**
+   * Deletes the under file system object of a path which is not a mount point, recursively.
+   *
+   * @param alluxioUri the Alluxio path of the object to delete
+   * @throws InvalidPathException if the path cannot be resolved
+   * @throws IOException if the object exists and cannot be deleted
+   */
+  private void deleteUfsInternal(AlluxioURI alluxioUri) throws InvalidPathException, IOException {
+    MountTable.Resolution resolution = mMountTable.resolve(alluxioUri);
+    String ufsUri = resolution.getUri().toString();
+    UnderFileSystem ufs = resolution.getUfs();
+    if (!ufs.exists(ufsUri)) {
+      LOG.warn("Deleted file does not exist in the underfs: {}", ufsUri);
+    } else if (!ufs.delete(ufsUri, true)) {
+      LOG.error("Failed to delete {} from the under file system", ufsUri);
+      throw new IOException(ExceptionMessage.DELETE_FAILED_UFS.getMessage(ufsUri));
+    }
+  }
+
+  /**
+   * @param path the path to check
+   * @return whether the path is at or under the trash directory of its mount point, which holds
+   *         the under file system objects of asynchronous deletes
+   * @throws InvalidPathException if the path is invalid
+   */
+  private boolean isUfsTrash(AlluxioURI path) throws InvalidPathException {
+    String mountPoint = mMountTable.getMountPoint(path);
+    return mountPoint != null && PathUtils.hasPrefix(path.getPath(),
+        PathUtils.concatPath(mountPoint, UFS_TRASH_DIRECTORY));
+  }
+
+  /**
+   * Checks that nothing is created at a path whose under file system objects would be taken for
+   * those of asynchronous deletes.
+   *
+   * @param path the path to check
+   * @throws InvalidPathException if the path is invalid or is in a trash directory
+   */
+  private void checkNotUfsTrash(AlluxioURI path) throws InvalidPathException {
+    if (isUfsTrash(path)) {
+      throw new InvalidPathException(ExceptionMessage.PATH_RESERVED_FOR_TRASH.getMessage(path));
+    }
+  }
+
   /**
    * Gets the {@link FileBlockInfo} for all blocks of a file. If path is a directory, an exception
    * is thrown.
@@ -1263,6 +1684,7 @@ public final class FileSystemMaster extends AbstractMaster {
   private long createDirectoryAndJournal(LockedInodePath inodePath, CreateDirectoryOptions options)
       throws FileAlreadyExistsException, FileDoesNotExistException, InvalidPathException,
       AccessControlException, IOException {
+    checkNotUfsTrash(inodePath.getUri());
     InodeTree.CreatePathResult createResult = createDirectoryInternal(inodePath, options);
     long counter = journalCreatePathResult(createResult);
     MasterContext.getMasterSource().incDirectoriesCreated(1);
@@ -1401,6 +1823,7 @@ public final class FileSystemMaster extends AbstractMaster {
     if (srcInodePath.getUri().isRoot()) {
       throw new InvalidPathException(ExceptionMessage.ROOT_CANNOT_BE_RENAMED.getMessage());
     }
+    checkNotUfsTrash(dstInodePath.getUri());
     if (dstInodePath.getUri().isRoot()) {
       throw new InvalidPathException(ExceptionMessage.RENAME_CANNOT_BE_TO_ROOT.getMessage());
     }
@@ -1501,6 +1924,7 @@ public final class FileSystemMaster extends AbstractMaster {
     srcInode.setName(dstPath.getName());
     dstParentInode.addChild(srcInode);
     dstParentInode.setLastModificationTimeMs(opTimeMs);
+    mInodeTree.invalidateCachedPath(srcPath);
     MasterContext.getMasterSource().incPathsRenamed(1);
   }
 
@@ -1737,6 +2161,9 @@ public final class FileSystemMaster extends AbstractMaster {
    * This operation requires users to have {@link FileSystemAction#WRITE} permission on the path
    * and its parent path if path is a file, or {@link FileSystemAction#WRITE} permission on the
    * parent path if path is a directory.
+   * <p>
+   * If the recursive option is set, the metadata of all the descendants of a directory is loaded
+   * as described in {@link #loadDescendantsMetadata(AlluxioURI)}.
    *
    * @param path the path for which metadata should be loaded
    * @param options the load metadata options
@@ -1753,14 +2180,183 @@ public final class FileSystemMaster extends AbstractMaster {
       throws BlockInfoException, FileDoesNotExistException, InvalidPathException,
       InvalidFileSizeException, FileAlreadyCompletedException, IOException, AccessControlException {
     long flushCounter = AsyncJournalWriter.INVALID_FLUSH_COUNTER;
+    long fileId;
+    boolean loadDescendants;
     try (LockedInodePath inodePath = mInodeTree.lockInodePath(path, InodeTree.LockMode.WRITE)) {
       mPermissionChecker.checkParentPermission(FileSystemAction.WRITE, inodePath);
       flushCounter = loadMetadataAndJournal(inodePath, options);
-      return inodePath.getInode().getId();
+      Inode<?> inode = inodePath.getInode();
+      fileId = inode.getId();
+      loadDescendants = options.isRecursive() && inode.isDirectory();
     } finally {
       // finally runs after resources are closed (unlocked).
       waitForJournalFlush(flushCounter);
     }
+    if (loadDescendants) {
+      loadDescendantsMetadata(path);
+    }
+    return fileId;
+  }
+
+  /**
+   * Loads the metadata of all the descendants of a directory from UFS, level by level. The UFS
+   * directories of a level are listed in parallel, and then the status of the new children of each
+   * directory is fetched in parallel, see {@link UfsStatusFetcher}. The children are created in
+   * batches of {@link Constants#MASTER_FILE_METADATA_LOAD_BATCH_SIZE}: only the directory being
+   * filled in is locked while a batch is created, and the journal is flushed once per batch.
+   * <p>
+   * Directories which are removed while their descendants are loaded are skipped.
+   *
+   * @param path the path of the directory
+   * @throws BlockInfoException if an invalid block size is encountered
+   * @throws InvalidPathException if invalid path is encountered
+   * @throws InvalidFileSizeException if invalid file size is encountered
+   * @throws FileAlreadyCompletedException if the file is already completed
+   * @throws IOException if an I/O error occurs
+   * @throws AccessControlException if permission checking fails
+   */
+  private void loadDescendantsMetadata(AlluxioURI path)
+      throws BlockInfoException, InvalidPathException, InvalidFileSizeException,
+      FileAlreadyCompletedException, IOException, AccessControlException {
+    int batchSize =
+        Math.max(1, MasterContext.getConf().getInt(Constants.MASTER_FILE_METADATA_LOAD_BATCH_SIZE));
+    List<AlluxioURI> level = Collections.singletonList(path);
+    while (!level.isEmpty()) {
+      List<AlluxioURI> nextLevel = new ArrayList<>();
+      for (int start = 0; start < level.size(); start += mUfsStatusFetcher.getParallelism()) {
+        List<AlluxioURI> directories = level.subList(start,
+            Math.min(start + mUfsStatusFetcher.getParallelism(), level.size()));
+        List<String[]> listings = mUfsStatusFetcher.list(directories);
+        for (int i = 0; i < directories.size(); i++) {
+          if (listings.get(i) != null) {
+            loadDirectoryChildrenMetadata(directories.get(i), listings.get(i), batchSize,
+                nextLevel);
+          }
+        }
+      }
+      level = nextLevel;
+    }
+  }
+
+  /**
+   * Loads the metadata of the children of a directory from UFS, for
+   * {@link #loadDescendantsMetadata(AlluxioURI)}.
+   *
+   * @param path the path of the directory
+   * @param listing the names of the children of the UFS directory
+   * @param batchSize the number of children to create while the directory is locked
+   * @param subdirectories the list to add the paths of the subdirectories of the directory to
+   * @throws BlockInfoException if an invalid block size is encountered
+   * @throws InvalidPathException if invalid path is encountered
+   * @throws InvalidFileSizeException if invalid file size is encountered
+   * @throws FileAlreadyCompletedException if the file is already completed
+   * @throws IOException if an I/O error occurs
+   * @throws AccessControlException if permission checking fails
+   */
+  private void loadDirectoryChildrenMetadata(AlluxioURI path, String[] listing, int batchSize,
+      List<AlluxioURI> subdirectories)
+      throws BlockInfoException, InvalidPathException, InvalidFileSizeException,
+      FileAlreadyCompletedException, IOException, AccessControlException {
+    List<String> names;
+    try (LockedInodePath inodePath = mInodeTree.lockFullInodePath(path, InodeTree.LockMode.READ)) {
+      if (!inodePath.getInode().isDirectory()) {
+        return;
+      }
+      names = getChildrenToLoad(inodePath, listing);
+    } catch (FileDoesNotExistException e) {
+      return;
+    }
+    // The UFS is not accessed while the directory is locked.
+    List<UfsStatusFetcher.UfsStatus> children = mUfsStatusFetcher.getStatus(path, names);
+    int start = 0;
+    do {
+      List<UfsStatusFetcher.UfsStatus> batch =
+          children.subList(start, Math.min(start + batchSize, children.size()));
+      start += batchSize;
+      long flushCounter = AsyncJournalWriter.INVALID_FLUSH_COUNTER;
+      try (LockedInodePath inodePath =
+          mInodeTree.lockFullInodePath(path, InodeTree.LockMode.WRITE)) {
+        flushCounter = loadChildrenMetadataAndJournal(inodePath, batch);
+        if (start >= children.size()) {
+          InodeDirectory inode = (InodeDirectory) inodePath.getInode();
+          inode.setDirectChildrenLoaded(true);
+          for (Inode<?> child : inode.getChildren()) {
+            if (child.isDirectory()) {
+              subdirectories.add(path.join(child.getName()));
+            }
+          }
+        }
+      } catch (FileDoesNotExistException e) {
+        return;
+      } finally {
+        // finally runs after resources are closed (unlocked).
+        waitForJournalFlush(flushCounter);
+      }
+    } while (start < children.size());
+  }
+
+  /**
+   * @param inodePath the locked path of a directory
+   * @param listing the names of the children of the UFS directory
+   * @return the names of the children whose metadata should be loaded, which are not temporary
+   *         files and not already in the directory
+   * @throws FileDoesNotExistException if the directory does not exist
+   * @throws InvalidPathException if a child path is invalid
+   */
+  private List<String> getChildrenToLoad(LockedInodePath inodePath, String[] listing)
+      throws FileDoesNotExistException, InvalidPathException {
+    InodeDirectory inode = (InodeDirectory) inodePath.getInode();
+    List<String> names = new ArrayList<>();
+    for (String name : listing) {
+      if (PathUtils.isTemporaryFileName(name) || inode.getChild(name) != null
+          || isUfsTrash(inodePath.getUri().join(name))) {
+        continue;
+      }
+      names.add(name);
+    }
+    return names;
+  }
+
+  /**
+   * Creates the children of a directory from their UFS status.
+   * <p>
+   * Writes to the journal.
+   *
+   * @param inodePath the locked path of the directory
+   * @param children the UFS status of the children, where null stands for a removed child
+   * @return the flush counter for journaling
+   * @throws BlockInfoException if an invalid block size is encountered
+   * @throws FileDoesNotExistException if the directory does not exist
+   * @throws InvalidPathException if invalid path is encountered
+   * @throws InvalidFileSizeException if invalid file size is encountered
+   * @throws FileAlreadyCompletedException if the file is already completed
+   * @throws IOException if an I/O error occurs
+   * @throws AccessControlException if permission checking fails
+   */
+  private long loadChildrenMetadataAndJournal(LockedInodePath inodePath,
+      List<UfsStatusFetcher.UfsStatus> children)
+      throws BlockInfoException, FileDoesNotExistException, InvalidPathException,
+      InvalidFileSizeException, FileAlreadyCompletedException, IOException,
+      AccessControlException {
+    InodeDirectory inode = (InodeDirectory) inodePath.getInode();
+    LoadMetadataOptions options =
+        LoadMetadataOptions.defaults().setLoadDirectChildren(false).setCreateAncestors(false);
+    long counter = AsyncJournalWriter.INVALID_FLUSH_COUNTER;
+    for (UfsStatusFetcher.UfsStatus child : children) {
+      if (child == null || inode.getChild(child.getName()) != null) {
+        // Removed from UFS before, or created in Alluxio since, the status was fetched.
+        continue;
+      }
+      TempInodePathForChild tempInodePath = new TempInodePathForChild(inodePath, child.getName());
+      if (child.isFile()) {
+        counter = AsyncJournalWriter.getFlushCounter(counter, loadFileMetadataAndJournal(
+            tempInodePath, child.getBlockSizeBytes(), child.getLength(), options));
+      } else {
+        counter = AsyncJournalWriter.getFlushCounter(counter,
+            loadDirectoryMetadataAndJournal(tempInodePath, options));
+      }
+    }
+    return counter;
   }
 
   /**
@@ -1784,6 +2380,11 @@ public final class FileSystemMaster extends AbstractMaster {
       FileAlreadyCompletedException, InvalidFileSizeException,
       AccessControlException, IOException {
     AlluxioURI path = inodePath.getUri();
+    if (isUfsTrash(path)) {
+      // The under file system object is left from a delete which is not yet reclaimed.
+      throw new FileDoesNotExistException(
+          ExceptionMessage.PATH_DOES_NOT_EXIST.getMessage(path.getPath()));
+    }
     MountTable.Resolution resolution = mMountTable.resolve(path);
     AlluxioURI ufsUri = resolution.getUri();
     UnderFileSystem ufs = resolution.getUfs();
@@ -1807,16 +2408,9 @@ public final class FileSystemMaster extends AbstractMaster {
 
         if (!inode.isDirectChildrenLoaded() && options.isLoadDirectChildren()) {
           String[] files = ufs.list(ufsUri.getPath());
-          LoadMetadataOptions loadMetadataOptions = LoadMetadataOptions.defaults();
-          loadMetadataOptions.setLoadDirectChildren(false).setCreateAncestors(false);
-
-          for (String file : files) {
-            if (PathUtils.isTemporaryFileName(file) || inode.getChild(file) != null) {
-              continue;
-            }
-            TempInodePathForChild tempInodePath = new TempInodePathForChild(inodePath, file);
-            counter = loadMetadataAndJournal(tempInodePath, loadMetadataOptions);
-          }
+          List<String> names = getChildrenToLoad(inodePath, files);
+          counter = AsyncJournalWriter.getFlushCounter(counter, loadChildrenMetadataAndJournal(
+              inodePath, mUfsStatusFetcher.getStatus(path, names)));
           inode.setDirectChildrenLoaded(true);
         }
         return counter;
@@ -1854,6 +2448,33 @@ public final class FileSystemMaster extends AbstractMaster {
 
     long ufsBlockSizeByte = ufs.getBlockSizeByte(ufsUri.toString());
     long ufsLength = ufs.getFileSize(ufsUri.toString());
+    return loadFileMetadataAndJournal(inodePath, ufsBlockSizeByte, ufsLength, options);
+  }
+
+  /**
+   * Loads metadata for the file identified by the given path into Alluxio, given its UFS block
+   * size and length.
+   *
+   * @param inodePath the path for which metadata should be loaded
+   * @param ufsBlockSizeByte the block size of the UFS file
+   * @param ufsLength the length of the UFS file
+   * @param options the load metadata options
+   * @return the flush counter for journaling
+   * @throws BlockInfoException if an invalid block size is encountered
+   * @throws FileDoesNotExistException if there is no UFS path
+   * @throws InvalidPathException if invalid path is encountered
+   * @throws InvalidFileSizeException if invalid file size is encountered
+   * @throws FileAlreadyCompletedException if the file is already completed
+   * @throws IOException if an I/O error occurs
+   * @throws AccessControlException if permission checking fails
+   */
+  private long loadFileMetadataAndJournal(LockedInodePath inodePath, long ufsBlockSizeByte,
+      long ufsLength, LoadMetadataOptions options)
+      throws IOException, BlockInfoException, FileDoesNotExistException, InvalidPathException,
+      AccessControlException, FileAlreadyCompletedException, InvalidFileSizeException {
+    if (inodePath.fullPathExists()) {
+      return AsyncJournalWriter.INVALID_FLUSH_COUNTER;
+    }
     // Metadata loaded from UFS has no TTL set.
     CreateFileOptions createFileOptions =
         CreateFileOptions.defaults().setBlockSizeBytes(ufsBlockSizeByte)
@@ -1984,6 +2605,7 @@ public final class FileSystemMaster extends AbstractMaster {
    */
   private long mountAndJournal(LockedInodePath inodePath, AlluxioURI ufsPath, MountOptions options)
       throws InvalidPathException, FileAlreadyExistsException, IOException, AccessControlException {
+    checkNotUfsTrash(inodePath.getUri());
     // Check that the Alluxio Path does not exist
     if (inodePath.fullPathExists()) {
       // TODO(calvin): Add a test to validate this (ALLUXIO-1831)
@@ -2107,7 +2729,7 @@ public final class FileSystemMaster extends AbstractMaster {
     long flushCounter = AsyncJournalWriter.INVALID_FLUSH_COUNTER;
     try (
         LockedInodePath inodePath = mInodeTree
-            .lockFullInodePath(alluxioPath, InodeTree.LockMode.WRITE)) {
+            .lockFullInodePath(alluxioPath, InodeTree.LockMode.WRITE_PARENT)) {
       mPermissionChecker.checkParentPermission(FileSystemAction.WRITE, inodePath);
       flushCounter = unmountAndJournal(inodePath);
       if (flushCounter != AsyncJournalWriter.INVALID_FLUSH_COUNTER) {
@@ -2547,4 +3169,221 @@ public final class FileSystemMaster extends AbstractMaster {
       // Nothing to clean up
     }
   }
+
+  /**
+   * A subtree removed from the namespace by an asynchronous delete, which is waiting for its
+   * inodes, blocks and under file system objects to be reclaimed. The subtree is known by its
+   * inodes rather than by its path, which is free as soon as the delete returns.
+   */
+  private static final class PendingDelete {
+    private final List<Inode<?>> mInodes;
+    private final UnderFileSystem mUfs;
+    private final String mTrashPath;
+
+    /**
+     * @param inodes the inodes of the subtree, starting with its root, where any directory
+     *        precedes its descendants
+     * @param ufs the under file system of the subtree, or null if it has no under file system
+     *        object
+     * @param trashPath the path the under file system object of the root was moved to, or null if
+     *        it has no under file system object
+     */
+    PendingDelete(List<Inode<?>> inodes, UnderFileSystem ufs, String trashPath) {
+      mInodes = inodes;
+      mUfs = ufs;
+      mTrashPath = trashPath;
+    }
+
+    /**
+     * @return the inodes of the subtree, starting with its root
+     */
+    List<Inode<?>> getInodes() {
+      return mInodes;
+    }
+
+    /**
+     * @return the under file system of the subtree, or null if it has no under file system object
+     */
+    UnderFileSystem getUfs() {
+      return mUfs;
+    }
+
+    /**
+     * @return the path the under file system object of the root was moved to, or null if it has
+     *         no under file system object
+     */
+    String getTrashPath() {
+      return mTrashPath;
+    }
+  }
+
+  /**
+   * Reclaims the subtrees of asynchronous deletes, one at a time. The files of a subtree are
+   * reclaimed first, in batches: their under file system objects in the trash are deleted in
+   * parallel, then their blocks are removed at once, then their inodes. The directories follow
+   * once they are empty, and the trash entry of the subtree goes last. The rate at which paths are
+   * reclaimed is limited by {@link Constants#MASTER_FILE_ASYNC_DELETE_RATE_LIMIT}.
+   * <p>
+   * Nothing is journaled here: the journal entry of the delete covers the whole subtree. Before
+   * anything else, the reclaimer empties the trash directories of the mount points, which hold
+   * the under file system objects of the subtrees an earlier leader did not reclaim.
+   */
+  private final class AsyncDeleteReclaimer implements Runnable {
+    private final int mBatchSize;
+    private final int mUfsThreads;
+    /** The rate limiter for reclaimed paths, or null if the rate is not limited. */
+    private final RateLimiter mRateLimiter;
+
+    /**
+     * Constructs a new {@link AsyncDeleteReclaimer}.
+     */
+    public AsyncDeleteReclaimer() {
+      Configuration conf = MasterContext.getConf();
+      mBatchSize = Math.max(1, conf.getInt(Constants.MASTER_FILE_ASYNC_DELETE_BATCH_SIZE));
+      mUfsThreads = Math.max(1, conf.getInt(Constants.MASTER_FILE_ASYNC_DELETE_THREADS));
+      int rateLimit = conf.getInt(Constants.MASTER_FILE_ASYNC_DELETE_RATE_LIMIT);
+      mRateLimiter = rateLimit > 0 ? RateLimiter.create(rateLimit) : null;
+    }
+
+    @Override
+    public void run() {
+      ExecutorService ufsExecutor = Executors.newFixedThreadPool(mUfsThreads,
+          ThreadFactoryUtils.build("async-delete-ufs-%d", true));
+      try {
+        reclaimTrash(ufsExecutor);
+        while (!Thread.interrupted()) {
+          reclaim(mPendingDeletes.take(), ufsExecutor);
+        }
+      } catch (InterruptedException e) {
+        // The master is stopping.
+        Thread.currentThread().interrupt();
+      } finally {
+        ufsExecutor.shutdownNow();
+      }
+    }
+
+    /**
+     * Deletes what earlier leaders left in the trash directories of the mount points. Only the
+     * entries present when this runs are deleted, since they are listed before this leader
+     * deletes anything.
+     */
+    private void reclaimTrash(ExecutorService ufsExecutor) throws InterruptedException {
+      List<Callable<Void>> ufsDeletes = new ArrayList<>();
+      for (AlluxioURI mountPoint : mMountTable.getMountPoints()) {
+        try {
+          String trashDirectory = getUfsTrashDirectory(mountPoint.getPath());
+          UnderFileSystem ufs = mMountTable.resolve(mountPoint).getUfs();
+          String[] entries = ufs.list(trashDirectory);
+          if (entries == null) {
+            continue;
+          }
+          for (String entry : entries) {
+            LOG.info("Reclaiming {} left by an earlier leader", entry);
+            ufsDeletes.add(ufsDelete(ufs, PathUtils.concatPath(trashDirectory, entry)));
+          }
+        } catch (InvalidPathException | IOException e) {
+          LOG.error("Failed to list the trash directory of {}: {}", mountPoint, e.getMessage());
+        }
+      }
+      ufsExecutor.invokeAll(ufsDeletes);
+    }
+
+    private void reclaim(PendingDelete pendingDelete, ExecutorService ufsExecutor)
+        throws InterruptedException {
+      List<Inode<?>> inodes = pendingDelete.getInodes();
+      Inode<?> root = inodes.get(0);
+      UnderFileSystem ufs = pendingDelete.getUfs();
+      // Directories precede their descendants, so the trash path of a parent is known before its
+      // children are reached. There are no trash paths if nothing was moved to the trash.
+      Map<Long, String> trashPaths = new HashMap<>();
+      if (pendingDelete.getTrashPath() != null) {
+        trashPaths.put(root.getId(), pendingDelete.getTrashPath());
+      }
+      // The directories of the subtree by id, to find the parent each inode is removed from.
+      Map<Long, InodeDirectory> directoriesById = new HashMap<>();
+      List<InodeFile> files = new ArrayList<>();
+      List<InodeDirectory> directories = new ArrayList<>();
+      for (Inode<?> inode : inodes) {
+        if (inode.isFile()) {
+          files.add((InodeFile) inode);
+          continue;
+        }
+        directories.add((InodeDirectory) inode);
+        directoriesById.put(inode.getId(), (InodeDirectory) inode);
+        String parentTrashPath = trashPaths.get(inode.getParentId());
+        if (inode != root && parentTrashPath != null) {
+          trashPaths.put(inode.getId(), PathUtils.concatPath(parentTrashPath, inode.getName()));
+        }
+      }
+
+      for (int start = 0; start < files.size(); start += mBatchSize) {
+        List<InodeFile> batch = files.subList(start, Math.min(start + mBatchSize, files.size()));
+        acquire(batch.size());
+        List<Callable<Void>> ufsDeletes = new ArrayList<>();
+        List<Long> blockIds = new ArrayList<>();
+        for (InodeFile file : batch) {
+          String parentTrashPath = trashPaths.get(file.getParentId());
+          if (file.isPersisted() && parentTrashPath != null) {
+            ufsDeletes.add(
+                ufsDelete(ufs, PathUtils.concatPath(parentTrashPath, file.getName())));
+          }
+          blockIds.addAll(file.getBlockIds());
+        }
+        ufsExecutor.invokeAll(ufsDeletes);
+        mBlockMaster.removeBlocks(blockIds, true /* delete */);
+        for (InodeFile file : batch) {
+          mInodeTree.deleteUnlinkedInode(directoriesById.get(file.getParentId()), file);
+        }
+        MasterContext.getMasterSource().incBlocksReclaimed(blockIds.size());
+        reclaimed(batch.size());
+      }
+
+      for (int start = 0; start < directories.size(); start += mBatchSize) {
+        List<InodeDirectory> batch =
+            directories.subList(start, Math.min(start + mBatchSize, directories.size()));
+        acquire(batch.size());
+        for (InodeDirectory directory : batch) {
+          // The root of the subtree was removed from its parent by the delete.
+          if (directory != root) {
+            mInodeTree.deleteUnlinkedInode(directoriesById.get(directory.getParentId()),
+                directory);
+          }
+        }
+        reclaimed(batch.size());
+      }
+      // The directories, and any object which was only in the under file system, go at once.
+      if (pendingDelete.getTrashPath() != null) {
+        ufsExecutor.invokeAll(Collections.singletonList(
+            ufsDelete(ufs, pendingDelete.getTrashPath())));
+      }
+    }
+
+    private void acquire(int paths) {
+      if (mRateLimiter != null) {
+        mRateLimiter.acquire(paths);
+      }
+    }
+
+    private void reclaimed(int paths) {
+      MasterContext.getMasterSource().incPathsReclaimed(paths);
+      MasterContext.getMasterSource().decPathsPendingReclaim(paths);
+    }
+
+    private Callable<Void> ufsDelete(final UnderFileSystem ufs, final String ufsPath) {
+      return new Callable<Void>() {
+        @Override
+        public Void call() {
+          try {
+            if (ufs.exists(ufsPath) && !ufs.delete(ufsPath, true)) {
+              LOG.error("Failed to reclaim {} from the under file system", ufsPath);
+            }
+          } catch (IOException e) {
+            LOG.error("Failed to reclaim {} from the under file system: {}", ufsPath,
+                e.getMessage());
+          }
+          return null;
+        }
+      };
+    }
+  }
 }
@@ -24,6 +24,7 @@ import alluxio.master.file.options.LoadMetadataOptions;
 import alluxio.master.file.options.MountOptions;
 import alluxio.master.file.options.SetAttributeOptions;
 import alluxio.thrift.AlluxioTException;
+import alluxio.thrift.BatchPathResult;
 import alluxio.thrift.CompleteFileTOptions;
 import alluxio.thrift.CreateDirectoryTOptions;
 import alluxio.thrift.CreateFileTOptions;
@@ -34,6 +35,7 @@ import alluxio.thrift.ListStatusTOptions;
 import alluxio.thrift.MountTOptions;
 import alluxio.thrift.SetAttributeTOptions;
 import alluxio.thrift.ThriftIOException;
+import alluxio.util.IdUtils;
 import alluxio.wire.ThriftUtils;
 
 import com.google.common.base.Preconditions;
@@ -104,6 +106,18 @@ public final class FileSystemMasterClientServiceHandler implements
     });
   }
 
+  @Override
+  public List<BatchPathResult> createFileBatch(final List<String> paths,
+      final CreateFileTOptions options) throws AlluxioTException {
+    return RpcUtils.call(new RpcCallable<List<BatchPathResult>>() {
+      @Override
+      public List<BatchPathResult> call() throws AlluxioException {
+        return toThrift(
+            mFileSystemMaster.createFileBatch(toUris(paths), new CreateFileOptions(options)));
+      }
+    });
+  }
+
   @Override
   public void free(final String path, final boolean recursive) throws AlluxioTException {
     RpcUtils.call(new RpcCallable<Void>() {
@@ -157,6 +171,16 @@ public final class FileSystemMasterClientServiceHandler implements
     });
   }
 
+  @Override
+  public List<BatchPathResult> getStatusBatch(final List<String> paths) throws AlluxioTException {
+    return RpcUtils.call(new RpcCallable<List<BatchPathResult>>() {
+      @Override
+      public List<BatchPathResult> call() throws AlluxioException {
+        return toThrift(mFileSystemMaster.getFileInfoBatch(toUris(paths)));
+      }
+    });
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -191,8 +215,11 @@ public final class FileSystemMasterClientServiceHandler implements
       @Override
       public List<FileInfo> call() throws AlluxioException {
         List<FileInfo> result = new ArrayList<>();
-        for (alluxio.wire.FileInfo fileInfo : mFileSystemMaster
-            .getFileInfoList(new AlluxioURI(path), options.isLoadDirectChildren())) {
+        long startAfterId =
+            options.isSetStartAfterId() ? options.getStartAfterId() : IdUtils.INVALID_FILE_ID;
+        for (alluxio.wire.FileInfo fileInfo : mFileSystemMaster.getFileInfoList(
+            new AlluxioURI(path), options.isLoadDirectChildren(), startAfterId,
+            options.getMaxResults())) {
           result.add(ThriftUtils.toThrift(fileInfo));
         }
         return result;
@@ -213,7 +240,8 @@ public final class FileSystemMasterClientServiceHandler implements
       @Override
       public Long call() throws AlluxioException, IOException {
         return mFileSystemMaster.loadMetadata(new AlluxioURI(alluxioPath),
-            LoadMetadataOptions.defaults().setCreateAncestors(true).setLoadDirectChildren(true));
+            LoadMetadataOptions.defaults().setCreateAncestors(true).setLoadDirectChildren(true)
+                .setRecursive(recursive));
       }
     });
   }
@@ -243,6 +271,17 @@ public final class FileSystemMasterClientServiceHandler implements
     });
   }
 
+  @Override
+  public List<BatchPathResult> removeBatch(final List<String> paths, final boolean recursive)
+      throws AlluxioTException {
+    return RpcUtils.call(new RpcCallable<List<BatchPathResult>>() {
+      @Override
+      public List<BatchPathResult> call() throws AlluxioException {
+        return toThrift(mFileSystemMaster.deleteBatch(toUris(paths), recursive));
+      }
+    });
+  }
+
   @Override
   public void rename(final String srcPath, final String dstPath)
       throws AlluxioTException, ThriftIOException {
@@ -289,4 +328,28 @@ public final class FileSystemMasterClientServiceHandler implements
       }
     });
   }
+
+  /**
+   * @param paths the paths to convert
+   * @return the {@link AlluxioURI}s of the paths
+   */
+  private static List<AlluxioURI> toUris(List<String> paths) {
+    List<AlluxioURI> uris = new ArrayList<>(paths.size());
+    for (String path : paths) {
+      uris.add(new AlluxioURI(path));
+    }
+    return uris;
+  }
+
+  /**
+   * @param results the wire representation of batch path results
+   * @return the thrift representation of the results
+   */
+  private static List<BatchPathResult> toThrift(List<alluxio.wire.BatchPathResult> results) {
+    List<BatchPathResult> thriftResults = new ArrayList<>(results.size());
+    for (alluxio.wire.BatchPathResult result : results) {
+      thriftResults.add(ThriftUtils.toThrift(result));
+    }
+    return thriftResults;
+  }
 }
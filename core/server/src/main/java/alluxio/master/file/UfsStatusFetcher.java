@@ -0,0 +1,291 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file;
+
+import alluxio.AlluxioURI;
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.exception.InvalidPathException;
+import alluxio.master.MasterContext;
+import alluxio.master.file.meta.MountTable;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Fetches the metadata of under file system paths for metadata loads, issuing the under file
+ * system calls in parallel. At most {@link Constants#MASTER_FILE_METADATA_LOAD_THREADS} calls
+ * are in flight at once, and at most
+ * {@link Constants#MASTER_FILE_METADATA_LOAD_THREADS_PER_MOUNT} of them go to the same mount
+ * point.
+ * <p>
+ * The calls are submitted and waited for by the calling thread, so calls never wait on each other.
+ * Calls beyond the limit of their mount point wait in a queue of the mount point rather than in
+ * the executor, so a slow mount point never holds the threads which other mount points need.
+ */
+@ThreadSafe
+public final class UfsStatusFetcher {
+  /** The time after which an idle thread of the executor exits. */
+  private static final long THREAD_KEEP_ALIVE_MS = Constants.MINUTE_MS;
+
+  private final MountTable mMountTable;
+  private final ThreadPoolExecutor mExecutor;
+  private final int mThreadsPerMount;
+  /** The under file system calls, by mount point. */
+  private final ConcurrentMap<String, MountQueue> mMountQueues = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a new {@link UfsStatusFetcher}.
+   *
+   * @param mountTable the mount table to resolve paths with
+   */
+  public UfsStatusFetcher(MountTable mountTable) {
+    mMountTable = Preconditions.checkNotNull(mountTable);
+    Configuration conf = MasterContext.getConf();
+    int threads = Math.max(1, conf.getInt(Constants.MASTER_FILE_METADATA_LOAD_THREADS));
+    mThreadsPerMount =
+        Math.max(1, conf.getInt(Constants.MASTER_FILE_METADATA_LOAD_THREADS_PER_MOUNT));
+    // Idle threads exit, so the executor needs no shutdown when the master stops.
+    mExecutor = new ThreadPoolExecutor(threads, threads, THREAD_KEEP_ALIVE_MS,
+        TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+        ThreadFactoryUtils.build("ufs-status-fetcher-%d", true));
+    mExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * @return the number of under file system calls which may be in flight at once
+   */
+  public int getParallelism() {
+    return mExecutor.getMaximumPoolSize();
+  }
+
+  /**
+   * Lists the under file system directories of the given Alluxio directories, in parallel.
+   *
+   * @param directories the Alluxio paths of the directories
+   * @return for each directory, the names of its children, or null if its under file system path
+   *         is not a directory
+   * @throws InvalidPathException if a path cannot be resolved
+   * @throws IOException if an under file system call fails
+   */
+  public List<String[]> list(List<AlluxioURI> directories)
+      throws InvalidPathException, IOException {
+    List<Future<String[]>> futures = new ArrayList<>(directories.size());
+    for (AlluxioURI directory : directories) {
+      final MountTable.Resolution resolution = mMountTable.resolve(directory);
+      futures.add(submit(directory, new Callable<String[]>() {
+        @Override
+        public String[] call() throws IOException {
+          return resolution.getUfs().list(resolution.getUri().getPath());
+        }
+      }));
+    }
+    return getAll(futures);
+  }
+
+  /**
+   * Fetches the status of the given children of an Alluxio directory from the under file system,
+   * in parallel.
+   *
+   * @param directory the Alluxio path of the directory
+   * @param names the names of the children
+   * @return the status of each child, in the order of the names, or null for a child which no
+   *         longer exists
+   * @throws InvalidPathException if the directory cannot be resolved
+   * @throws IOException if an under file system call fails
+   */
+  public List<UfsStatus> getStatus(AlluxioURI directory, List<String> names)
+      throws InvalidPathException, IOException {
+    MountTable.Resolution resolution = mMountTable.resolve(directory);
+    final UnderFileSystem ufs = resolution.getUfs();
+    List<Future<UfsStatus>> futures = new ArrayList<>(names.size());
+    for (final String name : names) {
+      final String ufsPath = resolution.getUri().join(name).toString();
+      futures.add(submit(directory, new Callable<UfsStatus>() {
+        @Override
+        public UfsStatus call() throws IOException {
+          if (ufs.isFile(ufsPath)) {
+            return new UfsStatus(name, true, ufs.getFileSize(ufsPath),
+                ufs.getBlockSizeByte(ufsPath));
+          }
+          return ufs.exists(ufsPath) ? new UfsStatus(name, false, 0, 0) : null;
+        }
+      }));
+    }
+    return getAll(futures);
+  }
+
+  /**
+   * Submits a call to the under file system of the given path, to run once fewer than
+   * {@link #mThreadsPerMount} calls of its mount point are running.
+   */
+  private <T> Future<T> submit(AlluxioURI path, Callable<T> call) throws InvalidPathException {
+    String mountPoint = mMountTable.getMountPoint(path);
+    MountQueue queue = mMountQueues.get(mountPoint);
+    if (queue == null) {
+      mMountQueues.putIfAbsent(mountPoint, new MountQueue());
+      queue = mMountQueues.get(mountPoint);
+    }
+    FutureTask<T> task = new FutureTask<>(call);
+    queue.submit(task);
+    return task;
+  }
+
+  private static <T> List<T> getAll(List<Future<T>> futures) throws IOException {
+    List<T> results = new ArrayList<>(futures.size());
+    try {
+      for (Future<T> future : futures) {
+        results.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), IOException.class);
+      throw new IOException(e.getCause());
+    } finally {
+      // Calls which have not started are not needed after a failure.
+      for (Future<T> future : futures) {
+        future.cancel(false);
+      }
+    }
+    return results;
+  }
+
+  /**
+   * The calls of a mount point. Only the calls which may run are handed to the executor, and each
+   * call which finishes hands over the next waiting one.
+   */
+  @ThreadSafe
+  private final class MountQueue {
+    @GuardedBy("this")
+    private final Queue<Runnable> mWaiting = new ArrayDeque<>();
+    @GuardedBy("this")
+    private int mRunning;
+
+    /**
+     * @param call the call to run once the mount point is below its limit of running calls
+     */
+    void submit(Runnable call) {
+      synchronized (this) {
+        if (mRunning >= mThreadsPerMount) {
+          mWaiting.add(call);
+          return;
+        }
+        mRunning++;
+      }
+      execute(call);
+    }
+
+    private void execute(final Runnable call) {
+      mExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            call.run();
+          } finally {
+            // A cancelled call which was waiting does nothing when it runs.
+            Runnable next;
+            synchronized (MountQueue.this) {
+              next = mWaiting.poll();
+              if (next == null) {
+                mRunning--;
+              }
+            }
+            if (next != null) {
+              execute(next);
+            }
+          }
+        }
+      });
+    }
+  }
+
+  /**
+   * The status of a child of an under file system directory.
+   */
+  @ThreadSafe
+  public static final class UfsStatus {
+    private final String mName;
+    private final boolean mFile;
+    private final long mLength;
+    private final long mBlockSizeBytes;
+
+    /**
+     * @param name the name of the child
+     * @param file whether the child is a file
+     * @param length the length of the file, or 0 for a directory
+     * @param blockSizeBytes the block size of the file, or 0 for a directory
+     */
+    public UfsStatus(String name, boolean file, long length, long blockSizeBytes) {
+      mName = name;
+      mFile = file;
+      mLength = length;
+      mBlockSizeBytes = blockSizeBytes;
+    }
+
+    /**
+     * @return the name of the child
+     */
+    public String getName() {
+      return mName;
+    }
+
+    /**
+     * @return whether the child is a file
+     */
+    public boolean isFile() {
+      return mFile;
+    }
+
+    /**
+     * @return the length of the file, or 0 for a directory
+     */
+    public long getLength() {
+      return mLength;
+    }
+
+    /**
+     * @return the block size of the file, or 0 for a directory
+     */
+    public long getBlockSizeBytes() {
+      return mBlockSizeBytes;
+    }
+
+    @Override
+    public String toString() {
+      return Objects.toStringHelper(this).add("name", mName).add("file", mFile)
+          .add("length", mLength).add("blockSizeBytes", mBlockSizeBytes).toString();
+    }
+  }
+}
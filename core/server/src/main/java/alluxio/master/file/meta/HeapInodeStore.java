@@ -0,0 +1,92 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.master.journal.JournalOutputStream;
+
+import com.google.common.base.Objects;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An {@link InodeStore} keeping the inodes on the heap, in a map from id to inode. This is the
+ * default store. Each inode takes a single map entry, rather than the entry and the per-value set
+ * of an {@link alluxio.collections.IndexedSet}. The store never evicts inodes.
+ */
+@ThreadSafe
+public final class HeapInodeStore implements InodeStore {
+  private final ConcurrentMap<Long, Inode<?>> mInodes = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a new empty {@link HeapInodeStore}.
+   */
+  public HeapInodeStore() {}
+
+  @Override
+  public Inode<?> get(long id) {
+    return mInodes.get(id);
+  }
+
+  @Override
+  public Inode<?> getChild(long parentId, String name) {
+    return null;
+  }
+
+  @Override
+  public List<Inode<?>> getChildren(long parentId) {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public void streamChildrenToJournalCheckpoint(long parentId, JournalOutputStream outputStream) {}
+
+  @Override
+  public boolean add(Inode<?> inode) {
+    return mInodes.putIfAbsent(inode.getId(), inode) == null;
+  }
+
+  @Override
+  public boolean remove(Inode<?> inode) {
+    return mInodes.remove(inode.getId()) != null;
+  }
+
+  @Override
+  public int size() {
+    return mInodes.size();
+  }
+
+  @Override
+  public void clear() {
+    mInodes.clear();
+  }
+
+  @Override
+  public int hashCode() {
+    return mInodes.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof HeapInodeStore)) {
+      return false;
+    }
+    return Objects.equal(mInodes, ((HeapInodeStore) o).mInodes);
+  }
+}
@@ -16,19 +16,26 @@ import alluxio.security.authorization.PermissionStatus;
 import alluxio.wire.FileInfo;
 
 import com.google.common.base.Objects;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * {@link Inode} is an abstract class, with information shared by all types of Inodes. The inode
  * must be locked ({@link #lockRead()} or {@link #lockWrite()}) before methods are called.
  *
+ * To keep the namespace compact, user and group names are interned, and an inode only holds a
+ * lock from the {@link InodeLockPool} while threads hold or wait for it.
+ *
  * @param <T> the concrete subclass of this object
  */
 @NotThreadSafe
 public abstract class Inode<T> implements JournalEntryRepresentable {
+  /** Interns user and group names, which are shared by many inodes. */
+  private static final Interner<String> OWNER_INTERNER = Interners.newWeakInterner();
+
   protected long mCreationTimeMs;
   private boolean mDeleted;
   protected boolean mDirectory;
@@ -40,9 +47,13 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
   private short mPermission;
   private PersistenceState mPersistenceState;
   private boolean mPinned;
+  /** Whether the inode was looked up in its parent since a {@link TieredInodeStore} checked. */
+  private boolean mReferenced;
   private String mUserName;
 
-  private final ReentrantReadWriteLock mLock;
+  /** The lock of the inode while threads hold or wait for it, null otherwise. */
+  @GuardedBy("this")
+  private InodeLockPool.PooledLock mLock;
 
   protected Inode(long id) {
     mCreationTimeMs = System.currentTimeMillis();
@@ -56,8 +67,8 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
     mPermission = 0;
     mPersistenceState = PersistenceState.NOT_PERSISTED;
     mPinned = false;
+    mReferenced = false;
     mUserName = "";
-    mLock = new ReentrantReadWriteLock();
   }
 
   /**
@@ -158,6 +169,13 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
     return mPersistenceState == PersistenceState.PERSISTED;
   }
 
+  /**
+   * @return true if the inode was looked up since the flag was last cleared, false otherwise
+   */
+  boolean isReferenced() {
+    return mReferenced;
+  }
+
   /**
    * @param deleted the deleted flag to use
    * @return the updated object
@@ -172,7 +190,7 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    * @return the updated object
    */
   public T setGroupName(String groupName) {
-    mGroupName = groupName;
+    mGroupName = intern(groupName);
     return getThis();
   }
 
@@ -218,9 +236,9 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    */
   public T setPermissionStatus(PermissionStatus permissionStatus) {
     if (permissionStatus != null) {
-      mGroupName = permissionStatus.getGroupName();
+      mGroupName = intern(permissionStatus.getGroupName());
       mPermission = permissionStatus.getPermission().toShort();
-      mUserName = permissionStatus.getUserName();
+      mUserName = intern(permissionStatus.getUserName());
     }
     return getThis();
   }
@@ -243,12 +261,22 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
     return getThis();
   }
 
+  /**
+   * Sets whether the inode was looked up. The flag is only a hint for eviction, so it is neither
+   * locked nor journaled.
+   *
+   * @param referenced the referenced flag value to use
+   */
+  void setReferenced(boolean referenced) {
+    mReferenced = referenced;
+  }
+
   /**
    * @param userName the user name of the inode
    * @return the updated object
    */
   public T setUserName(String userName) {
-    mUserName = userName;
+    mUserName = intern(userName);
     return getThis();
   }
 
@@ -269,42 +297,77 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    * Acquires the read lock for this inode.
    */
   public void lockRead() {
-    mLock.readLock().lock();
+    acquireLock().readLock().lock();
   }
 
   /**
    * Releases the read lock for this inode.
    */
-  public void unlockRead() {
+  public synchronized void unlockRead() {
     mLock.readLock().unlock();
+    releaseLock();
   }
 
   /**
    * Acquires the write lock for this inode.
    */
   public void lockWrite() {
-    mLock.writeLock().lock();
+    acquireLock().writeLock().lock();
   }
 
   /**
    * Releases the write lock for this inode.
    */
-  public void unlockWrite() {
+  public synchronized void unlockWrite() {
     mLock.writeLock().unlock();
+    releaseLock();
   }
 
   /**
    * @return returns true if the current thread holds a write lock on this inode, false otherwise
    */
-  public boolean isWriteLocked() {
-    return mLock.isWriteLockedByCurrentThread();
+  public synchronized boolean isWriteLocked() {
+    return mLock != null && mLock.isWriteLockedByCurrentThread();
   }
 
   /**
    * @return returns true if the current thread holds a read lock on this inode, false otherwise
    */
-  public boolean isReadLocked() {
-    return mLock.getReadHoldCount() > 0;
+  public synchronized boolean isReadLocked() {
+    return mLock != null && mLock.getReadHoldCount() > 0;
+  }
+
+  /**
+   * Takes a lock for this inode from the pool if it does not hold one, and registers the caller
+   * as a user of the lock. The caller locks it without holding the monitor of the inode.
+   *
+   * @return the lock of this inode
+   */
+  private synchronized InodeLockPool.PooledLock acquireLock() {
+    if (mLock == null) {
+      mLock = InodeLockPool.take();
+    }
+    mLock.mUsers++;
+    return mLock;
+  }
+
+  /**
+   * Unregisters a user of the lock of this inode, returning the lock to the pool after the last.
+   */
+  @GuardedBy("this")
+  private void releaseLock() {
+    if (--mLock.mUsers == 0) {
+      InodeLockPool.give(mLock);
+      mLock = null;
+    }
+  }
+
+  /**
+   * @param name a user or group name, or null
+   * @return the canonical instance of the name, or null
+   */
+  private static String intern(String name) {
+    return name == null ? null : OWNER_INTERNER.intern(name);
   }
 
   @Override
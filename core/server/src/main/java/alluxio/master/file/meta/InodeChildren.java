@@ -0,0 +1,489 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.master.journal.JournalOutputStream;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The children of an {@link InodeDirectory}, indexed by name and by id. Each index is an open
+ * addressing hash table holding the children themselves, so a child takes a slot in each of two
+ * arrays rather than the map entries and per-value sets of an
+ * {@link alluxio.collections.IndexedSet}. An empty directory does not allocate any table.
+ *
+ * Like {@link alluxio.collections.IndexedSet}, two children are the same if they have the same id,
+ * and several children may have the same name. The name of a child must not change while it is in
+ * the directory.
+ *
+ * Pages of children are served from a third index, the children sorted by id. It is only built
+ * when the directory is first paged, so directories which are never listed a page at a time do
+ * not pay for it. Children added with a larger id than any other are appended to it, which is the
+ * common case since ids are allocated in increasing order. Removed children leave a hole which is
+ * compacted away once holes make up half of the index. Adding a child with a smaller id drops the
+ * index, and the next page builds it again.
+ *
+ * With a {@link TieredInodeStore}, children may be evicted from the tables to the store, which
+ * keeps them under the id of the directory and their name. The directory only counts them. A
+ * lookup by name which misses the tables asks the store, and a lookup by id, a page or an
+ * iteration moves the evicted children back into the tables first.
+ *
+ * Children are only added or removed while the directory inode is write locked, and are looked up
+ * while it is locked. Every method still synchronizes on this object, because some readers, such
+ * as checkpoint writers, walk the tree without taking inode locks, and a removal moves children
+ * between slots. Iterators work on a copy of the children.
+ */
+@ThreadSafe
+final class InodeChildren implements Iterable<Inode<?>> {
+  private static final Inode<?>[] EMPTY = new Inode<?>[0];
+  /** The capacity of the tables when the first child is added. Must be a power of 2. */
+  private static final int MIN_CAPACITY = 4;
+  private static final Comparator<Inode<?>> ID_ORDER = new Comparator<Inode<?>>() {
+    @Override
+    public int compare(Inode<?> a, Inode<?> b) {
+      return Long.compare(a.getId(), b.getId());
+    }
+  };
+
+  /** The children, placed by the hash of their name. */
+  private Inode<?>[] mByName = EMPTY;
+  /** The children, placed by the hash of their id. */
+  private Inode<?>[] mById = EMPTY;
+  private int mSize;
+  /** The ids of the children in {@link #mSorted}, or null if the id order is not built. */
+  private long[] mSortedIds;
+  /** The children in id order, with null in place of the children removed since. */
+  private Inode<?>[] mSorted;
+  /** The number of used slots of {@link #mSorted}, including the removed children. */
+  private int mSortedCount;
+  /** The number of removed children in {@link #mSorted}. */
+  private int mSortedRemoved;
+  /** The store of the evicted children, set when the first child is evicted. */
+  private InodeStore mStore;
+  /** The id of the directory, set when the first child is evicted. */
+  private long mDirectoryId;
+  /** The number of children evicted to {@link #mStore}, which are not in the tables. */
+  private int mEvicted;
+
+  /**
+   * Constructs a new empty {@link InodeChildren}.
+   */
+  InodeChildren() {}
+
+  /**
+   * @param child the child to add
+   * @return true if the child was added, false if a child with the same id is already present
+   */
+  synchronized boolean add(Inode<?> child) {
+    Preconditions.checkNotNull(child);
+    if (findById(child.getId()) >= 0) {
+      return false;
+    }
+    addToTables(child);
+    return true;
+  }
+
+  /**
+   * @param name the name of the child
+   * @return a child with the given name, or null if there is none
+   */
+  synchronized Inode<?> getByName(String name) {
+    Inode<?> child = findByName(name);
+    if (child == null && mEvicted > 0) {
+      child = mStore.getChild(mDirectoryId, name);
+      if (child != null) {
+        mEvicted--;
+        addToTables(child);
+      }
+    }
+    if (child != null && !child.isReferenced()) {
+      child.setReferenced(true);
+    }
+    return child;
+  }
+
+  /**
+   * @param id the id of the child
+   * @return the child with the given id, or null if there is none
+   */
+  synchronized Inode<?> getById(long id) {
+    int slot = findById(id);
+    if (slot < 0 && mEvicted > 0) {
+      restoreEvicted();
+      slot = findById(id);
+    }
+    return slot < 0 ? null : mById[slot];
+  }
+
+  /**
+   * @param child the child to remove
+   * @return true if a child with the same id was removed, false if there was none
+   */
+  synchronized boolean remove(Inode<?> child) {
+    int slot = findById(child.getId());
+    if (slot < 0 && mEvicted > 0 && getByName(child.getName()) != null) {
+      slot = findById(child.getId());
+    }
+    if (slot < 0) {
+      return false;
+    }
+    removeAt(slot);
+    return true;
+  }
+
+  /**
+   * Evicts a child from the tables to a store, which keeps it until it is looked up again.
+   *
+   * @param child the child to evict
+   * @param store the store to evict the child to
+   * @return true if the child was evicted, false if it is not in the tables
+   */
+  synchronized boolean evict(InodeFile child, TieredInodeStore store) {
+    int slot = findById(child.getId());
+    if (slot < 0 || mById[slot] != child) {
+      return false;
+    }
+    // The store is written under the monitor, so that a checkpoint sees the child in one place.
+    store.putEvicted(child);
+    removeAt(slot);
+    mStore = store;
+    mDirectoryId = child.getParentId();
+    mEvicted++;
+    return true;
+  }
+
+  /**
+   * @return the number of children
+   */
+  synchronized int size() {
+    return mSize + mEvicted;
+  }
+
+  /**
+   * Writes the journal entries of the evicted children to a checkpoint, without moving them back
+   * into the tables.
+   *
+   * @param outputStream the stream of the checkpoint
+   * @return the children in the tables, which the caller writes
+   * @throws IOException if writing to the stream fails
+   */
+  synchronized List<Inode<?>> streamToJournalCheckpoint(JournalOutputStream outputStream)
+      throws IOException {
+    if (mEvicted > 0) {
+      mStore.streamChildrenToJournalCheckpoint(mDirectoryId, outputStream);
+    }
+    return getTableChildren();
+  }
+
+  /**
+   * Returns a page of the children in id order. Pages are keyed by id rather than by position, so
+   * children added or removed between pages do not shift the pages which follow. Once the id order
+   * is built, a page costs a binary search and a walk over the children of the page.
+   *
+   * @param startAfterId the id the page starts after
+   * @param limit the maximum number of children to return, or a non-positive value for no limit
+   * @return the children with an id greater than startAfterId, sorted by id, at most limit of them
+   */
+  synchronized List<Inode<?>> getPageAfterId(long startAfterId, int limit) {
+    restoreEvicted();
+    List<Inode<?>> page = new ArrayList<>(limit > 0 ? Math.min(limit, mSize) : mSize);
+    if (mSize == 0) {
+      return page;
+    }
+    if (mSorted == null) {
+      buildSorted();
+    }
+    int pos = Arrays.binarySearch(mSortedIds, 0, mSortedCount, startAfterId);
+    for (int i = pos >= 0 ? pos + 1 : -pos - 1;
+        i < mSortedCount && (limit <= 0 || page.size() < limit); i++) {
+      if (mSorted[i] != null) {
+        page.add(mSorted[i]);
+      }
+    }
+    return page;
+  }
+
+  @Override
+  public synchronized Iterator<Inode<?>> iterator() {
+    restoreEvicted();
+    return Collections.unmodifiableList(getTableChildren()).iterator();
+  }
+
+  @Override
+  public String toString() {
+    return Iterables.toString(this);
+  }
+
+  /**
+   * @return a copy of the children in the tables
+   */
+  private List<Inode<?>> getTableChildren() {
+    List<Inode<?>> children = new ArrayList<>(mSize);
+    for (Inode<?> child : mById) {
+      if (child != null) {
+        children.add(child);
+      }
+    }
+    return children;
+  }
+
+  /**
+   * Moves the evicted children back into the tables.
+   */
+  private void restoreEvicted() {
+    if (mEvicted > 0) {
+      for (Inode<?> child : mStore.getChildren(mDirectoryId)) {
+        mEvicted--;
+        addToTables(child);
+      }
+    }
+  }
+
+  /**
+   * @param name the name of a child
+   * @return a child with the given name in the tables, or null if there is none
+   */
+  private Inode<?> findByName(String name) {
+    if (mSize == 0) {
+      return null;
+    }
+    int mask = mByName.length - 1;
+    // The tables are never full, so probing always ends at a free slot.
+    for (int i = hash(name) & mask; mByName[i] != null; i = (i + 1) & mask) {
+      if (name.equals(mByName[i].getName())) {
+        return mByName[i];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param id the id of a child
+   * @return the slot of the child with the given id in {@link #mById}, or -1 if there is none
+   */
+  private int findById(long id) {
+    if (mSize == 0) {
+      return -1;
+    }
+    int mask = mById.length - 1;
+    for (int i = hash(id) & mask; mById[i] != null; i = (i + 1) & mask) {
+      if (mById[i].getId() == id) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Adds a child which is not in the tables yet.
+   *
+   * @param child the child to add
+   */
+  private void addToTables(Inode<?> child) {
+    if ((mSize + 1) * 4 > mById.length * 3) {
+      resize(Math.max(MIN_CAPACITY, mById.length * 2));
+    }
+    insert(child);
+    mSize++;
+    if (mSorted != null) {
+      addSorted(child);
+    }
+  }
+
+  /**
+   * Removes the child in a slot of {@link #mById} from the tables.
+   *
+   * @param slot the slot of the child
+   */
+  private void removeAt(int slot) {
+    Inode<?> removed = mById[slot];
+    delete(mById, slot, false);
+    int mask = mByName.length - 1;
+    for (int i = hash(removed.getName()) & mask; ; i = (i + 1) & mask) {
+      if (mByName[i] == removed) {
+        delete(mByName, i, true);
+        break;
+      }
+    }
+    mSize--;
+    if (mSorted != null) {
+      removeSorted(removed.getId());
+    }
+    if (mSize == 0) {
+      mByName = EMPTY;
+      mById = EMPTY;
+      mSorted = null;
+      mSortedIds = null;
+    } else if (mById.length > MIN_CAPACITY && mSize * 8 < mById.length) {
+      resize(mById.length / 2);
+    }
+  }
+
+  /**
+   * Builds the id order from the children.
+   */
+  private void buildSorted() {
+    mSorted = new Inode<?>[Math.max(MIN_CAPACITY, mSize)];
+    mSortedCount = 0;
+    for (Inode<?> child : mById) {
+      if (child != null) {
+        mSorted[mSortedCount++] = child;
+      }
+    }
+    Arrays.sort(mSorted, 0, mSortedCount, ID_ORDER);
+    mSortedIds = new long[mSorted.length];
+    for (int i = 0; i < mSortedCount; i++) {
+      mSortedIds[i] = mSorted[i].getId();
+    }
+    mSortedRemoved = 0;
+  }
+
+  /**
+   * Adds a child to the id order, or drops the id order if the child does not go at its end.
+   *
+   * @param child the child to add
+   */
+  private void addSorted(Inode<?> child) {
+    int pos = Arrays.binarySearch(mSortedIds, 0, mSortedCount, child.getId());
+    if (pos >= 0) {
+      // A removed child is added back, into its hole.
+      mSorted[pos] = child;
+      mSortedRemoved--;
+      return;
+    }
+    if (-pos - 1 < mSortedCount) {
+      mSorted = null;
+      mSortedIds = null;
+      return;
+    }
+    if (mSortedCount == mSorted.length) {
+      mSorted = Arrays.copyOf(mSorted, mSorted.length * 2);
+      mSortedIds = Arrays.copyOf(mSortedIds, mSorted.length);
+    }
+    mSortedIds[mSortedCount] = child.getId();
+    mSorted[mSortedCount++] = child;
+  }
+
+  /**
+   * Leaves a hole in the id order for a removed child, and compacts the id order once holes make
+   * up half of it.
+   *
+   * @param id the id of the removed child
+   */
+  private void removeSorted(long id) {
+    mSorted[Arrays.binarySearch(mSortedIds, 0, mSortedCount, id)] = null;
+    mSortedRemoved++;
+    if (mSortedRemoved * 2 < mSortedCount) {
+      return;
+    }
+    int count = 0;
+    for (int i = 0; i < mSortedCount; i++) {
+      if (mSorted[i] != null) {
+        mSortedIds[count] = mSortedIds[i];
+        mSorted[count++] = mSorted[i];
+      }
+    }
+    Arrays.fill(mSorted, count, mSortedCount, null);
+    mSortedCount = count;
+    mSortedRemoved = 0;
+    if (mSorted.length > MIN_CAPACITY && count * 4 < mSorted.length) {
+      mSorted = Arrays.copyOf(mSorted, Math.max(MIN_CAPACITY, count * 2));
+      mSortedIds = Arrays.copyOf(mSortedIds, mSorted.length);
+    }
+  }
+
+  /**
+   * Places a child in both tables, which must have a free slot.
+   *
+   * @param child the child to place
+   */
+  private void insert(Inode<?> child) {
+    int mask = mById.length - 1;
+    int i = hash(child.getName()) & mask;
+    while (mByName[i] != null) {
+      i = (i + 1) & mask;
+    }
+    mByName[i] = child;
+    i = hash(child.getId()) & mask;
+    while (mById[i] != null) {
+      i = (i + 1) & mask;
+    }
+    mById[i] = child;
+  }
+
+  /**
+   * @param capacity the new capacity of the tables, a power of 2 larger than the number of children
+   */
+  private void resize(int capacity) {
+    Inode<?>[] children = mById;
+    mByName = new Inode<?>[capacity];
+    mById = new Inode<?>[capacity];
+    for (Inode<?> child : children) {
+      if (child != null) {
+        insert(child);
+      }
+    }
+  }
+
+  /**
+   * Empties a slot of a table, moving the children placed after it back so that every child can
+   * still be reached by probing from its hash.
+   *
+   * @param table the table to delete from
+   * @param slot the slot to empty
+   * @param byName whether the table is placed by name, or else by id
+   */
+  private static void delete(Inode<?>[] table, int slot, boolean byName) {
+    int mask = table.length - 1;
+    int hole = slot;
+    for (int i = (slot + 1) & mask; table[i] != null; i = (i + 1) & mask) {
+      Inode<?> child = table[i];
+      int home = (byName ? hash(child.getName()) : hash(child.getId())) & mask;
+      // The child may fill the hole only if the hole lies between its home slot and its slot.
+      if (((i - home) & mask) >= ((i - hole) & mask)) {
+        table[hole] = child;
+        hole = i;
+      }
+    }
+    table[hole] = null;
+  }
+
+  private static int hash(String name) {
+    return smear(name.hashCode());
+  }
+
+  private static int hash(long id) {
+    return smear((int) (id ^ (id >>> 32)));
+  }
+
+  /**
+   * Spreads the bits of a hash code, so that similar names and consecutive ids do not cluster in
+   * the low bits used to pick a slot.
+   *
+   * @param hashCode the hash code
+   * @return the spread hash code
+   */
+  private static int smear(int hashCode) {
+    return 0x1b873593 * Integer.rotateLeft(hashCode * 0xcc9e2d51, 15);
+  }
+}
@@ -12,9 +12,9 @@
 package alluxio.master.file.meta;
 
 import alluxio.Constants;
-import alluxio.collections.IndexedSet;
 import alluxio.master.MasterContext;
 import alluxio.master.file.options.CreateDirectoryOptions;
+import alluxio.master.journal.JournalOutputStream;
 import alluxio.proto.journal.File.InodeDirectoryEntry;
 import alluxio.proto.journal.Journal.JournalEntry;
 import alluxio.security.authorization.PermissionStatus;
@@ -22,7 +22,9 @@ import alluxio.wire.FileInfo;
 
 import com.google.common.collect.ImmutableSet;
 
+import java.io.IOException;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -33,22 +35,8 @@ import javax.annotation.concurrent.NotThreadSafe;
  */
 @NotThreadSafe
 public final class InodeDirectory extends Inode<InodeDirectory> {
-  private IndexedSet.FieldIndex<Inode<?>> mIdIndex = new IndexedSet.FieldIndex<Inode<?>>() {
-    @Override
-    public Object getFieldValue(Inode<?> o) {
-      return o.getId();
-    }
-  };
-
-  private IndexedSet.FieldIndex<Inode<?>> mNameIndex = new IndexedSet.FieldIndex<Inode<?>>() {
-    @Override
-    public Object getFieldValue(Inode<?> o) {
-      return o.getName();
-    }
-  };
-
-  @SuppressWarnings("unchecked")
-  private IndexedSet<Inode<?>> mChildren = new IndexedSet<>(mIdIndex, mNameIndex);
+  /** The children, indexed by id and by name. */
+  private final InodeChildren mChildren = new InodeChildren();
 
   private boolean mMountPoint;
 
@@ -91,7 +79,7 @@ public final class InodeDirectory extends Inode<InodeDirectory> {
    * @return the inode with the given id, or null if there is no child with that id
    */
   public Inode<?> getChild(long id) {
-    return mChildren.getFirstByField(mIdIndex, id);
+    return mChildren.getById(id);
   }
 
   /**
@@ -99,7 +87,7 @@ public final class InodeDirectory extends Inode<InodeDirectory> {
    * @return the inode with the given name, or null if there is no child with that name
    */
   public Inode<?> getChild(String name) {
-    return mChildren.getFirstByField(mNameIndex, name);
+    return mChildren.getByName(name);
   }
 
   /**
@@ -109,6 +97,17 @@ public final class InodeDirectory extends Inode<InodeDirectory> {
     return ImmutableSet.copyOf(mChildren.iterator());
   }
 
+  /**
+   * Returns a page of the children in id order, for listing a directory a page at a time.
+   *
+   * @param startAfterId the id the page starts after
+   * @param limit the maximum number of children to return, or a non-positive value for no limit
+   * @return the children with an id greater than startAfterId, sorted by id, at most limit of them
+   */
+  public List<Inode<?>> getChildrenPage(long startAfterId, int limit) {
+    return mChildren.getPageAfterId(startAfterId, limit);
+  }
+
   /**
    * @return the ids of the children
    */
@@ -120,6 +119,30 @@ public final class InodeDirectory extends Inode<InodeDirectory> {
     return ret;
   }
 
+  /**
+   * Writes the journal entries of the children evicted by a {@link TieredInodeStore} to a
+   * checkpoint, without moving them back onto the heap.
+   *
+   * @param outputStream the stream of the checkpoint
+   * @return the children which are not evicted, which the caller writes
+   * @throws IOException if writing to the stream fails
+   */
+  public List<Inode<?>> streamChildrenToJournalCheckpoint(JournalOutputStream outputStream)
+      throws IOException {
+    return mChildren.streamToJournalCheckpoint(outputStream);
+  }
+
+  /**
+   * Evicts a child file to a {@link TieredInodeStore}. The directory must be write locked.
+   *
+   * @param child the child to evict
+   * @param store the store to evict the child to
+   * @return true if the child was evicted, false if it is not a child of the directory
+   */
+  boolean evictChild(InodeFile child, TieredInodeStore store) {
+    return mChildren.evict(child, store);
+  }
+
   /**
    * @return the number of children in the directory
    */
@@ -158,7 +181,8 @@ public final class InodeDirectory extends Inode<InodeDirectory> {
    * @return true if the inode was removed, false otherwise
    */
   public boolean removeChild(String name) {
-    return mChildren.removeByField(mNameIndex, name) == 0;
+    Inode<?> child = mChildren.getByName(name);
+    return child != null && mChildren.remove(child);
   }
 
   /**
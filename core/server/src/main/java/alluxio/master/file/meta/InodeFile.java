@@ -24,8 +24,10 @@ import alluxio.security.authorization.PermissionStatus;
 import alluxio.wire.FileInfo;
 
 import com.google.common.base.Preconditions;
+import com.google.common.primitives.Longs;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -36,7 +38,10 @@ import javax.annotation.concurrent.NotThreadSafe;
  */
 @NotThreadSafe
 public final class InodeFile extends Inode<InodeFile> {
-  private List<Long> mBlocks;
+  private static final long[] NO_BLOCKS = new long[0];
+
+  /** The ids of the blocks of the file, in an array of exactly their number. */
+  private long[] mBlocks;
   private long mBlockContainerId;
   private long mBlockSizeBytes;
   private boolean mCacheable;
@@ -51,7 +56,7 @@ public final class InodeFile extends Inode<InodeFile> {
    */
   private InodeFile(long id) {
     super(0);
-    mBlocks = new ArrayList<>(1);
+    mBlocks = NO_BLOCKS;
     mBlockContainerId = id;
     mBlockSizeBytes = 0;
     mCacheable = false;
@@ -103,7 +108,7 @@ public final class InodeFile extends Inode<InodeFile> {
    * Resets the file inode.
    */
   public void reset() {
-    mBlocks = new ArrayList<>();
+    mBlocks = NO_BLOCKS;
     mLength = 0;
     mCompleted = false;
     mCacheable = false;
@@ -113,7 +118,7 @@ public final class InodeFile extends Inode<InodeFile> {
    * @return a duplication of all the block ids of the file
    */
   public List<Long> getBlockIds() {
-    return new ArrayList<>(mBlocks);
+    return new ArrayList<>(Longs.asList(mBlocks));
   }
 
   /**
@@ -134,12 +139,13 @@ public final class InodeFile extends Inode<InodeFile> {
    * @return the id of a new block of the file
    */
   public long getNewBlockId() {
-    long blockId = BlockId.createBlockId(mBlockContainerId, mBlocks.size());
+    long blockId = BlockId.createBlockId(mBlockContainerId, mBlocks.length);
     // TODO(gene): Check for max block sequence number, and sanity check the sequence number.
     // TODO(gene): Check isComplete?
     // TODO(gene): This will not work with existing lineage implementation, since a new writer will
     // not be able to get the same block ids (to write the same block ids).
-    mBlocks.add(blockId);
+    mBlocks = Arrays.copyOf(mBlocks, mBlocks.length + 1);
+    mBlocks[mBlocks.length - 1] = blockId;
     return blockId;
   }
 
@@ -151,11 +157,11 @@ public final class InodeFile extends Inode<InodeFile> {
    * @throws BlockInfoException if the index of the block is out of range
    */
   public long getBlockIdByIndex(int blockIndex) throws BlockInfoException {
-    if (blockIndex < 0 || blockIndex >= mBlocks.size()) {
+    if (blockIndex < 0 || blockIndex >= mBlocks.length) {
       throw new BlockInfoException(
-          "blockIndex " + blockIndex + " is out of range. File blocks: " + mBlocks.size());
+          "blockIndex " + blockIndex + " is out of range. File blocks: " + mBlocks.length);
     }
-    return mBlocks.get(blockIndex);
+    return mBlocks[blockIndex];
   }
 
   /**
@@ -187,7 +193,7 @@ public final class InodeFile extends Inode<InodeFile> {
    * @return the updated object
    */
   public InodeFile setBlockIds(List<Long> blockIds) {
-    mBlocks = new ArrayList<>(Preconditions.checkNotNull(blockIds));
+    mBlocks = Preconditions.checkNotNull(blockIds).isEmpty() ? NO_BLOCKS : Longs.toArray(blockIds);
     return getThis();
   }
 
@@ -248,23 +254,28 @@ public final class InodeFile extends Inode<InodeFile> {
     }
     mCompleted = true;
     mLength = length;
-    mBlocks.clear();
     if (length == Constants.UNKNOWN_SIZE) {
       // TODO(gpang): allow unknown files to be multiple blocks.
       // If the length of the file is unknown, only allow 1 block to the file.
       length = mBlockSizeBytes;
     }
+    int numBlocks = 0;
     while (length > 0) {
       long blockSize = Math.min(length, mBlockSizeBytes);
-      getNewBlockId();
+      numBlocks++;
       length -= blockSize;
     }
+    mBlocks = numBlocks == 0 ? NO_BLOCKS : new long[numBlocks];
+    for (int i = 0; i < numBlocks; i++) {
+      mBlocks[i] = BlockId.createBlockId(mBlockContainerId, i);
+    }
   }
 
   @Override
   public String toString() {
-    return toStringHelper().add("blocks", mBlocks).add("blockContainerId", mBlockContainerId)
-        .add("blockSizeBytes", mBlockSizeBytes).add("cacheable", mCacheable)
+    return toStringHelper().add("blocks", Arrays.toString(mBlocks))
+        .add("blockContainerId", mBlockContainerId).add("blockSizeBytes", mBlockSizeBytes)
+        .add("cacheable", mCacheable)
         .add("completed", mCompleted).add("length", mLength).add("ttl", mTtl).toString();
   }
 
@@ -329,7 +340,7 @@ public final class InodeFile extends Inode<InodeFile> {
         .setLength(getLength())
         .setCompleted(isCompleted())
         .setCacheable(isCacheable())
-        .addAllBlocks(mBlocks)
+        .addAllBlocks(Longs.asList(mBlocks))
         .setTtl(mTtl)
         .setUserName(getUserName())
         .setGroupName(getGroupName())
@@ -0,0 +1,70 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A pool of the read-write locks lent to inodes. An inode only holds a lock while threads hold or
+ * wait for it, so the namespace keeps as many locks as there are inodes being accessed rather than
+ * one per inode. Idle locks are kept per thread, so taking and returning a lock never contends.
+ */
+@ThreadSafe
+final class InodeLockPool {
+  /** The maximum number of idle locks kept by each thread. */
+  private static final int MAX_IDLE_LOCKS_PER_THREAD = 64;
+
+  private static final ThreadLocal<ArrayDeque<PooledLock>> IDLE_LOCKS =
+      new ThreadLocal<ArrayDeque<PooledLock>>() {
+        @Override
+        protected ArrayDeque<PooledLock> initialValue() {
+          return new ArrayDeque<>();
+        }
+      };
+
+  private InodeLockPool() {} // prevent instantiation
+
+  /**
+   * @return an unlocked lock with no users
+   */
+  static PooledLock take() {
+    PooledLock lock = IDLE_LOCKS.get().pollFirst();
+    return lock != null ? lock : new PooledLock();
+  }
+
+  /**
+   * Returns a lock to the pool. The lock must not be held or waited for by any thread.
+   *
+   * @param lock the lock to return
+   */
+  static void give(PooledLock lock) {
+    ArrayDeque<PooledLock> idleLocks = IDLE_LOCKS.get();
+    if (idleLocks.size() < MAX_IDLE_LOCKS_PER_THREAD) {
+      idleLocks.addFirst(lock);
+    }
+  }
+
+  /**
+   * A lock lent to an inode, which counts the threads holding or waiting for it.
+   */
+  static final class PooledLock extends ReentrantReadWriteLock {
+    private static final long serialVersionUID = -3187640257612474394L;
+
+    /** The number of lock calls not yet matched by an unlock, guarded by the inode. */
+    int mUsers;
+
+    private PooledLock() {}
+  }
+}
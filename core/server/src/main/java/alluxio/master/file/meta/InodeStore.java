@@ -0,0 +1,118 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.master.journal.JournalOutputStream;
+import alluxio.util.CommonUtils;
+
+import com.google.common.base.Throwables;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The index of all the inodes of an {@link InodeTree} by id. The tree itself is kept by the
+ * directories, which hold their children; the store finds an inode from its id without walking the
+ * tree, and counts the inodes of the namespace.
+ *
+ * A store may also evict file inodes from their directories, to keep them off the heap. It keeps an
+ * evicted inode under the id of its parent and its name, and the directory looks its evicted
+ * children up in the store. The store moves an evicted inode back into its directory when it is
+ * looked up, so that there is a single inode object for each inode on the heap.
+ *
+ * Implementations must be thread-safe. An inode is added to the store after it is added to its
+ * parent, and removed from the store after it is removed from its parent.
+ */
+public interface InodeStore {
+
+  /**
+   * Factory for {@link InodeStore}.
+   */
+  class Factory {
+
+    private Factory() {} // prevent instantiation
+
+    /**
+     * Factory method for {@link InodeStore}.
+     *
+     * @param conf Alluxio configuration to get the type of {@link InodeStore}
+     * @return the created store
+     */
+    public static InodeStore create(Configuration conf) {
+      try {
+        return CommonUtils.createNewClassInstance(
+            conf.<InodeStore>getClass(Constants.MASTER_INODE_STORE_CLASS), null, null);
+      } catch (Exception e) {
+        throw Throwables.propagate(e);
+      }
+    }
+  }
+
+  /**
+   * @param id the id of the inode
+   * @return the inode with the given id, or null if there is none
+   */
+  Inode<?> get(long id);
+
+  /**
+   * Looks up an evicted child of a directory, and moves it back onto the heap. The directory adds
+   * the returned child to its children.
+   *
+   * @param parentId the id of the directory
+   * @param name the name of the child
+   * @return the evicted child with the given name, or null if there is none
+   */
+  Inode<?> getChild(long parentId, String name);
+
+  /**
+   * Moves all the evicted children of a directory back onto the heap. The directory adds the
+   * returned children to its children.
+   *
+   * @param parentId the id of the directory
+   * @return the evicted children of the directory
+   */
+  List<Inode<?>> getChildren(long parentId);
+
+  /**
+   * Writes the journal entries of the evicted children of a directory, leaving them evicted.
+   *
+   * @param parentId the id of the directory
+   * @param outputStream the stream to write the entries to
+   * @throws IOException if writing to the stream fails
+   */
+  void streamChildrenToJournalCheckpoint(long parentId, JournalOutputStream outputStream)
+      throws IOException;
+
+  /**
+   * @param inode the inode to add
+   * @return true if the inode was added, false if an inode with the same id is already present
+   */
+  boolean add(Inode<?> inode);
+
+  /**
+   * @param inode the inode to remove
+   * @return true if an inode with the same id was removed, false if there was none
+   */
+  boolean remove(Inode<?> inode);
+
+  /**
+   * @return the number of inodes in the store, evicted or not
+   */
+  int size();
+
+  /**
+   * Removes all the inodes from the store.
+   */
+  void clear();
+}
@@ -14,7 +14,6 @@ package alluxio.master.file.meta;
 import alluxio.AlluxioURI;
 import alluxio.Constants;
 import alluxio.collections.ConcurrentHashSet;
-import alluxio.collections.IndexedSet;
 import alluxio.exception.AccessControlException;
 import alluxio.exception.BlockInfoException;
 import alluxio.exception.ExceptionMessage;
@@ -40,6 +39,8 @@ import alluxio.util.io.PathUtils;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.protobuf.Message;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -93,14 +94,16 @@ public final class InodeTree implements JournalCheckpointStreamable {
   /** Mount table manages the file system mount points. */
   private final MountTable mMountTable;
 
-  private final IndexedSet.FieldIndex<Inode<?>> mIdIndex = new IndexedSet.FieldIndex<Inode<?>>() {
-    @Override
-    public Object getFieldValue(Inode<?> o) {
-      return o.getId();
-    }
-  };
-  @SuppressWarnings("unchecked")
-  private final IndexedSet<Inode<?>> mInodes = new IndexedSet<>(mIdIndex);
+  /** The inodes of the tree, by id. */
+  private final InodeStore mInodes;
+  /**
+   * The inodes of recently traversed paths, from the root to the last inode found, keyed by the
+   * path of the last inode found. Null if the cache is disabled. The cached inodes are only hints:
+   * a traversal checks that each of them is still the child of the previous inode with the next
+   * name both before and after locking it, and looks the child up when either check fails, so
+   * stale entries are never used.
+   */
+  private final Cache<String, Inode<?>[]> mPathCache;
   /** A set of inode ids representing pinned inode files. */
   private final Set<Long> mPinnedInodeFileIds = new ConcurrentHashSet<>(64, 0.90f, 64);
 
@@ -132,6 +135,11 @@ public final class InodeTree implements JournalCheckpointStreamable {
     mContainerIdGenerator = containerIdGenerator;
     mDirectoryIdGenerator = directoryIdGenerator;
     mMountTable = mountTable;
+    mInodes = InodeStore.Factory.create(MasterContext.getConf());
+    long pathCacheSize =
+        MasterContext.getConf().getLong(Constants.MASTER_INODE_PATH_CACHE_SIZE_MAX);
+    mPathCache = pathCacheSize <= 0 ? null
+        : CacheBuilder.newBuilder().maximumSize(pathCacheSize).<String, Inode<?>[]>build();
   }
 
   /**
@@ -179,7 +187,7 @@ public final class InodeTree implements JournalCheckpointStreamable {
    * @return whether the inode exists
    */
   public boolean inodeIdExists(long id) {
-    return mInodes.getFirstByField(mIdIndex, id) != null;
+    return mInodes.get(id) != null;
   }
 
   /**
@@ -345,7 +353,7 @@ public final class InodeTree implements JournalCheckpointStreamable {
       throws FileDoesNotExistException {
     int count = 0;
     while (true) {
-      Inode<?> inode = mInodes.getFirstByField(mIdIndex, id);
+      Inode<?> inode = mInodes.get(id);
       if (inode == null) {
         throw new FileDoesNotExistException(ExceptionMessage.INODE_DOES_NOT_EXIST.getMessage(id));
       }
@@ -380,6 +388,35 @@ public final class InodeTree implements JournalCheckpointStreamable {
     }
   }
 
+  /**
+   * Extends a locked path to a child of its target, locking the child in the specified
+   * {@link LockMode} if it exists. The target of the given path must be write locked. The child
+   * path shares the locks of the given path, and the lock of the child is held until the given
+   * path is closed. This lets a batch of operations on the children of a directory lock the path
+   * to the directory once.
+   *
+   * @param inodePath the {@link LockedInodePath} of the directory, with the directory write locked
+   * @param childComponent the name of the child
+   * @param lockMode the {@link LockMode} to lock the child with, {@link LockMode#READ} or
+   *        {@link LockMode#WRITE}
+   * @return the {@link LockedInodePath} of the child, which unlocks nothing on close
+   * @throws InvalidPathException if the path is invalid, or its target is not a directory
+   * @throws FileDoesNotExistException if the target of the path does not exist
+   */
+  public LockedInodePath lockChildPath(LockedInodePath inodePath, String childComponent,
+      LockMode lockMode) throws InvalidPathException, FileDoesNotExistException {
+    if (!inodePath.getInode().isDirectory()) {
+      throw new InvalidPathException(
+          ExceptionMessage.PATH_MUST_HAVE_VALID_PARENT.getMessage(
+              inodePath.getUri().join(childComponent)));
+    }
+    LockedInodePath childPath = new TempInodePathForChild(inodePath, childComponent);
+    // The directory is already write locked, so a missing child does not make the traversal
+    // relock it, which would release the last lock of the shared lock list instead.
+    traverseToInode(childPath, lockMode == LockMode.READ ? LockMode.READ : LockMode.WRITE_PARENT);
+    return childPath;
+  }
+
   /**
    * Attempts to extend an existing {@link LockedInodePath} to reach the target inode (the last
    * inode for the full path). If the target inode does not exist, an exception will be thrown.
@@ -422,7 +459,7 @@ public final class InodeTree implements JournalCheckpointStreamable {
       builder.append(AlluxioURI.SEPARATOR);
       builder.append(name);
     } else {
-      Inode<?> parentInode = mInodes.getFirstByField(mIdIndex, parentId);
+      Inode<?> parentInode = mInodes.get(parentId);
       if (parentInode == null) {
         throw new FileDoesNotExistException(
             ExceptionMessage.INODE_DOES_NOT_EXIST.getMessage(parentId));
@@ -693,7 +730,8 @@ public final class InodeTree implements JournalCheckpointStreamable {
   }
 
   /**
-   * Deletes a single inode from the inode tree by removing it from the parent inode.
+   * Deletes a single inode from the inode tree by removing it from the parent inode. The inode and
+   * its parent must be write locked, as with {@link LockMode#WRITE_PARENT}.
    *
    * @param inodePath The {@link LockedInodePath} to delete
    * @param opTimeMs The operation time
@@ -702,7 +740,7 @@ public final class InodeTree implements JournalCheckpointStreamable {
   public void deleteInode(LockedInodePath inodePath, long opTimeMs)
       throws FileDoesNotExistException {
     Inode<?> inode = inodePath.getInode();
-    InodeDirectory parent = (InodeDirectory) mInodes.getFirstByField(mIdIndex, inode.getParentId());
+    InodeDirectory parent = (InodeDirectory) mInodes.get(inode.getParentId());
     if (parent == null) {
       throw new FileDoesNotExistException(
           ExceptionMessage.INODE_DOES_NOT_EXIST.getMessage(inode.getParentId()));
@@ -713,6 +751,7 @@ public final class InodeTree implements JournalCheckpointStreamable {
     mInodes.remove(inode);
     mPinnedInodeFileIds.remove(inode.getId());
     inode.setDeleted(true);
+    invalidateCachedPath(inodePath.getUri());
   }
 
   /**
@@ -725,6 +764,39 @@ public final class InodeTree implements JournalCheckpointStreamable {
     deleteInode(inodePath, System.currentTimeMillis());
   }
 
+  /**
+   * Removes a descendant of an inode which was already deleted by
+   * {@link #deleteInode(LockedInodePath, long)}. The descendant is no longer reachable by path once
+   * its ancestor is deleted, but it is still reachable by id until it is removed, so the
+   * descendant and its parent are write locked while it is removed, as with
+   * {@link LockMode#WRITE_PARENT}.
+   *
+   * @param parent the parent of the descendant, which was deleted along with it
+   * @param inode the descendant inode to remove
+   */
+  public void deleteUnlinkedInode(InodeDirectory parent, Inode<?> inode) {
+    try (InodeLockList lockList = new InodeLockList()) {
+      lockList.lockWrite(parent);
+      lockList.lockWrite(inode);
+      parent.removeChild(inode);
+      mInodes.remove(inode);
+      mPinnedInodeFileIds.remove(inode.getId());
+      inode.setDeleted(true);
+    }
+  }
+
+  /**
+   * Drops the cached inodes of a path, after the inode at the path is moved or removed. Cached
+   * paths are checked before they are used, so this only frees the cache sooner.
+   *
+   * @param path the path to drop from the path cache
+   */
+  public void invalidateCachedPath(AlluxioURI path) {
+    if (mPathCache != null) {
+      mPathCache.invalidate(path.getPath());
+    }
+  }
+
   /**
    * Sets the pinned state of an inode. If the inode is a directory, the pinned state will be set
    * recursively.
@@ -801,7 +873,8 @@ public final class InodeTree implements JournalCheckpointStreamable {
       Inode<?> inode = inodes.poll();
       outputStream.writeEntry(inode.toJournalEntry());
       if (inode.isDirectory()) {
-        inodes.addAll(((InodeDirectory) inode).getChildren());
+        // Children evicted from the heap are written as they are, rather than loaded back.
+        inodes.addAll(((InodeDirectory) inode).streamChildrenToJournalCheckpoint(outputStream));
       }
     }
   }
@@ -831,6 +904,9 @@ public final class InodeTree implements JournalCheckpointStreamable {
         }
         mInodes.clear();
         mPinnedInodeFileIds.clear();
+        if (mPathCache != null) {
+          mPathCache.invalidateAll();
+        }
         mRoot = directory;
         mCachedInode = mRoot;
         mInodes.add(mRoot);
@@ -851,8 +927,7 @@ public final class InodeTree implements JournalCheckpointStreamable {
   private void addInodeFromJournalInternal(Inode<?> inode) {
     InodeDirectory parentDirectory = mCachedInode;
     if (inode.getParentId() != mCachedInode.getId()) {
-      parentDirectory =
-          (InodeDirectory) mInodes.getFirstByField(mIdIndex, inode.getParentId());
+      parentDirectory = (InodeDirectory) mInodes.get(inode.getParentId());
       mCachedInode = parentDirectory;
     }
     parentDirectory.addChild(inode);
@@ -865,7 +940,7 @@ public final class InodeTree implements JournalCheckpointStreamable {
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mRoot, mIdIndex, mInodes, mPinnedInodeFileIds, mContainerIdGenerator,
+    return Objects.hashCode(mRoot, mInodes, mPinnedInodeFileIds, mContainerIdGenerator,
         mDirectoryIdGenerator, mCachedInode);
   }
 
@@ -879,7 +954,6 @@ public final class InodeTree implements JournalCheckpointStreamable {
     }
     InodeTree that = (InodeTree) o;
     return Objects.equal(mRoot, that.mRoot)
-        && Objects.equal(mIdIndex, that.mIdIndex)
         && Objects.equal(mInodes, that.mInodes)
         && Objects.equal(mPinnedInodeFileIds, that.mPinnedInodeFileIds)
         && Objects.equal(mContainerIdGenerator, that.mContainerIdGenerator)
@@ -937,10 +1011,12 @@ public final class InodeTree implements JournalCheckpointStreamable {
         lockList.lockWrite(mRoot);
       }
       inodes.add(mRoot);
+      Inode<?>[] cachedInodes = getCachedInodes(pathComponents);
       TraversalResult result =
           traverseToInodeInternal(pathComponents, inodes, nonPersistedInodes, lockList, lockMode,
-              lockHints);
+              lockHints, cachedInodes);
       valid = true;
+      cacheInodes(pathComponents, inodes, cachedInodes);
       return result;
     } finally {
       if (!valid) {
@@ -975,16 +1051,109 @@ public final class InodeTree implements JournalCheckpointStreamable {
       }
     }
     return traverseToInodeInternal(extensibleInodePath.getPathComponents(), inodes,
-        nonPersistedInodes, lockList, lockMode, null);
+        nonPersistedInodes, lockList, lockMode, null, null);
+  }
+
+  /**
+   * Returns the cached inodes of the longest cached path among a path and its parent.
+   *
+   * @param pathComponents the components of the path
+   * @return the cached inodes from the root, or null if neither path is cached
+   */
+  private Inode<?>[] getCachedInodes(String[] pathComponents) {
+    if (mPathCache == null) {
+      return null;
+    }
+    Inode<?>[] cachedInodes =
+        mPathCache.getIfPresent(getPathKey(pathComponents, pathComponents.length));
+    if (cachedInodes == null && pathComponents.length > 2) {
+      cachedInodes =
+          mPathCache.getIfPresent(getPathKey(pathComponents, pathComponents.length - 1));
+    }
+    return cachedInodes;
+  }
+
+  /**
+   * Caches the inodes found by a traversal, unless they were all found in the cache, and counts
+   * whether the cached inodes were used.
+   *
+   * @param pathComponents the components of the traversed path
+   * @param inodes the inodes found by the traversal, from the root
+   * @param cachedInodes the cached inodes given to the traversal, or null
+   */
+  private void cacheInodes(String[] pathComponents, List<Inode<?>> inodes,
+      Inode<?>[] cachedInodes) {
+    if (mPathCache == null || inodes.size() < 2) {
+      return;
+    }
+    boolean hit = cachedInodes != null && cachedInodes.length <= inodes.size();
+    for (int i = 0; hit && i < cachedInodes.length; i++) {
+      hit = cachedInodes[i] == inodes.get(i);
+    }
+    if (hit) {
+      MasterContext.getMasterSource().incPathCacheHits(1);
+    } else {
+      MasterContext.getMasterSource().incPathCacheMisses(1);
+    }
+    if (!hit || cachedInodes.length < inodes.size()) {
+      mPathCache.put(getPathKey(pathComponents, inodes.size()),
+          inodes.toArray(new Inode<?>[inodes.size()]));
+    }
+  }
+
+  /**
+   * @param pathComponents the components of a path
+   * @param length the number of components to use, at least 1
+   * @return the path made of the first components, as the key of the path cache
+   */
+  private static String getPathKey(String[] pathComponents, int length) {
+    if (length == 1) {
+      return AlluxioURI.SEPARATOR;
+    }
+    StringBuilder builder = new StringBuilder();
+    for (int i = 1; i < length; i++) {
+      builder.append(AlluxioURI.SEPARATOR).append(pathComponents[i]);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * @param inode an inode
+   * @param parent a directory inode
+   * @param name a path component
+   * @return whether the inode is a child of the directory, which has not been deleted, with the
+   *         given name
+   */
+  private static boolean isChildByName(Inode<?> inode, Inode<?> parent, String name) {
+    return !inode.isDeleted() && inode.getParentId() == parent.getId()
+        && inode.getName().equals(name);
   }
 
   private TraversalResult traverseToInodeInternal(String[] pathComponents, List<Inode<?>> inodes,
       List<Inode<?>> nonPersistedInodes, InodeLockList lockList, LockMode lockMode,
-      List<LockMode> lockHints)
+      List<LockMode> lockHints, Inode<?>[] cachedInodes)
       throws InvalidPathException {
     Inode<?> current = inodes.get(inodes.size() - 1);
     for (int i = inodes.size(); i < pathComponents.length; i++) {
-      Inode<?> next = ((InodeDirectory) current).getChild(pathComponents[i]);
+      Inode<?> next = null;
+      boolean fromCache = false;
+      if (cachedInodes != null && i < cachedInodes.length) {
+        // A child is added to a directory only while the directory is write locked, and removed,
+        // renamed or marked deleted only while both the child and the directory are write locked
+        // (create locks the parent for write, delete, rename and the async delete reclaimer lock
+        // with WRITE_PARENT). A cached inode which is a child of current by this name is used
+        // instead of a lookup, and checked again below once it is locked.
+        Inode<?> cached = cachedInodes[i];
+        if (isChildByName(cached, current, pathComponents[i])) {
+          next = cached;
+          fromCache = true;
+        } else {
+          cachedInodes = null;
+        }
+      }
+      if (next == null) {
+        next = ((InodeDirectory) current).getChild(pathComponents[i]);
+      }
       if (next == null) {
         if (lockMode != LockMode.READ
             && getLockModeForComponent(i - 1, pathComponents.length, lockMode, lockHints)
@@ -1017,6 +1186,14 @@ public final class InodeTree implements JournalCheckpointStreamable {
       } else {
         lockList.lockWrite(next);
       }
+      if (fromCache && !isChildByName(next, current, pathComponents[i])) {
+        // The cached inode was unlinked or moved before it was locked, so look the component up
+        // again without the cache.
+        lockList.unlockLast();
+        cachedInodes = null;
+        i--;
+        continue;
+      }
       if (next.isFile()) {
         // The inode can't have any children. If this is the last path component, we're good.
         // Otherwise, we can't traverse further, so we clean up and throw an exception.
@@ -197,6 +197,19 @@ public final class MountTable implements JournalCheckpointStreamable {
     }
   }
 
+  /**
+   * @return the Alluxio paths of the mount points
+   */
+  public List<AlluxioURI> getMountPoints() {
+    try (LockResource r = new LockResource(mReadLock)) {
+      List<AlluxioURI> mountPoints = new ArrayList<>(mMountTable.size());
+      for (String alluxioPath : mMountTable.keySet()) {
+        mountPoints.add(new AlluxioURI(alluxioPath));
+      }
+      return mountPoints;
+    }
+  }
+
   /**
    * @param uri an Alluxio path URI
    * @return whether the given uri is a mount point
@@ -0,0 +1,443 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.Constants;
+import alluxio.master.MasterContext;
+import alluxio.master.journal.JournalOutputStream;
+import alluxio.proto.journal.File.InodeFileEntry;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.util.io.FileUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An {@link InodeStore} keeping directories and recently used files on the heap, and evicting
+ * the other files to an embedded RocksDB store on local disk. This lets the namespace outgrow the
+ * heap, for instance when it mirrors an under file system with many files which are rarely used.
+ *
+ * Once more than {@link Constants#MASTER_INODE_STORE_TIERED_CACHE_SIZE} files are on the heap, a
+ * background evictor visits them in the order they came onto the heap, and gives a second chance
+ * to the files looked up in their parent since its last visit. It only evicts a file while its
+ * parent is write locked, so that no operation holds the file, and only a complete file which is
+ * neither pinned nor has a TTL, since the pinned set and the TTL buckets refer to such files. An
+ * evicted file is kept under the id of its parent and its name, along with an index from its id,
+ * and its parent only counts it. A lookup by name in the parent, or by id in the store, creates a
+ * new inode object from the evicted one. The evicted object is marked deleted, so cached paths
+ * holding it are not used.
+ *
+ * The namespace is rebuilt from the journal when the master starts, so the RocksDB directory is
+ * emptied when the store is created, and its writes skip the RocksDB write-ahead log.
+ */
+@ThreadSafe
+public final class TieredInodeStore implements InodeStore, Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+  /** How long the evictor waits before checking again when it cannot evict anything. */
+  private static final long EVICTION_INTERVAL_MS = Constants.SECOND_MS;
+  /** The first byte of the key of an evicted inode, followed by its parent id and its name. */
+  private static final byte CHILD_KEY = 'c';
+  /** The first byte of the key of an evicted inode id, whose value is the key of the inode. */
+  private static final byte ID_KEY = 'i';
+  private static final int CHILD_PREFIX_LENGTH = 1 + Longs.BYTES;
+
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  /** The inodes on the heap. */
+  private final ConcurrentMap<Long, Inode<?>> mInodes = new ConcurrentHashMap<>();
+  /** The files on the heap, in the order the evictor visits them. */
+  @GuardedBy("mFiles")
+  private final LinkedHashMap<Long, InodeFile> mFiles = new LinkedHashMap<>();
+  private final AtomicLong mEvictedCount = new AtomicLong();
+  /** Held while evicting, so that clearing the store does not race with an eviction. */
+  private final Object mEvictionLock = new Object();
+  private final int mCacheSize;
+  private final Options mOptions;
+  private final WriteOptions mWriteOptions;
+  private final RocksDB mDb;
+  private final Thread mEvictor;
+  private volatile boolean mClosed;
+
+  /**
+   * Constructs a new {@link TieredInodeStore} from the configuration of the master.
+   */
+  public TieredInodeStore() {
+    this(MasterContext.getConf().getInt(Constants.MASTER_INODE_STORE_TIERED_CACHE_SIZE),
+        MasterContext.getConf().get(Constants.MASTER_INODE_STORE_TIERED_DIR));
+  }
+
+  /**
+   * Constructs a new empty {@link TieredInodeStore}, and starts its evictor.
+   *
+   * @param cacheSize the maximum number of files to keep on the heap
+   * @param path the directory of the RocksDB store, whose content is deleted
+   */
+  public TieredInodeStore(int cacheSize, String path) {
+    Preconditions.checkArgument(cacheSize >= 0, "cacheSize must not be negative");
+    mCacheSize = cacheSize;
+    try {
+      if (Files.exists(Paths.get(path))) {
+        FileUtils.deletePathRecursively(path);
+      }
+      Files.createDirectories(Paths.get(path));
+      mOptions = new Options().setCreateIfMissing(true);
+      mWriteOptions = new WriteOptions().setDisableWAL(true);
+      mDb = RocksDB.open(mOptions, path);
+    } catch (IOException | RocksDBException e) {
+      throw Throwables.propagate(e);
+    }
+    mEvictor = new Thread(new Evictor(), "InodeEvictor");
+    mEvictor.setDaemon(true);
+    mEvictor.start();
+  }
+
+  @Override
+  public Inode<?> get(long id) {
+    Inode<?> inode = mInodes.get(id);
+    if (inode != null) {
+      if (!inode.isReferenced()) {
+        inode.setReferenced(true);
+      }
+      return inode;
+    }
+    if (mEvictedCount.get() == 0) {
+      return null;
+    }
+    byte[] childKey = dbGet(idKey(id));
+    if (childKey == null) {
+      // The inode may have been moved back onto the heap since it was looked up.
+      return mInodes.get(id);
+    }
+    Inode<?> parent = mInodes.get(ByteBuffer.wrap(childKey).getLong(1));
+    if (!(parent instanceof InodeDirectory)) {
+      return null;
+    }
+    // The parent moves its child back, so that it holds the only object of the child.
+    Inode<?> child = ((InodeDirectory) parent).getChild(new String(childKey, CHILD_PREFIX_LENGTH,
+        childKey.length - CHILD_PREFIX_LENGTH, StandardCharsets.UTF_8));
+    return child != null && child.getId() == id ? child : null;
+  }
+
+  @Override
+  public Inode<?> getChild(long parentId, String name) {
+    byte[] childKey = childKey(parentId, name);
+    byte[] value = dbGet(childKey);
+    return value == null ? null : restore(childKey, value);
+  }
+
+  @Override
+  public List<Inode<?>> getChildren(long parentId) {
+    byte[] prefix = childKey(parentId, "");
+    List<Inode<?>> children = new ArrayList<>();
+    try (RocksIterator iterator = mDb.newIterator()) {
+      // The iterator reads a snapshot, so restoring the children does not disturb it.
+      for (iterator.seek(prefix); iterator.isValid() && hasPrefix(iterator.key(), prefix);
+          iterator.next()) {
+        children.add(restore(iterator.key(), iterator.value()));
+      }
+    }
+    return children;
+  }
+
+  @Override
+  public void streamChildrenToJournalCheckpoint(long parentId, JournalOutputStream outputStream)
+      throws IOException {
+    byte[] prefix = childKey(parentId, "");
+    try (RocksIterator iterator = mDb.newIterator()) {
+      for (iterator.seek(prefix); iterator.isValid() && hasPrefix(iterator.key(), prefix);
+          iterator.next()) {
+        outputStream.writeEntry(JournalEntry.newBuilder()
+            .setInodeFile(InodeFileEntry.parseFrom(iterator.value())).build());
+      }
+    }
+  }
+
+  @Override
+  public boolean add(Inode<?> inode) {
+    if (!inode.isFile()) {
+      return mInodes.putIfAbsent(inode.getId(), inode) == null;
+    }
+    synchronized (mFiles) {
+      if (mInodes.putIfAbsent(inode.getId(), inode) != null) {
+        return false;
+      }
+      addFile((InodeFile) inode);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean remove(Inode<?> inode) {
+    // The parent moved the inode back onto the heap when it was removed from the parent.
+    synchronized (mFiles) {
+      mFiles.remove(inode.getId());
+      return mInodes.remove(inode.getId()) != null;
+    }
+  }
+
+  @Override
+  public int size() {
+    return (int) Math.min(Integer.MAX_VALUE, mInodes.size() + mEvictedCount.get());
+  }
+
+  /**
+   * @return the number of inodes evicted from the heap
+   */
+  public long getEvictedCount() {
+    return mEvictedCount.get();
+  }
+
+  @Override
+  public void clear() {
+    synchronized (mEvictionLock) {
+      synchronized (mFiles) {
+        mFiles.clear();
+        mInodes.clear();
+      }
+      try (RocksIterator iterator = mDb.newIterator()) {
+        for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+          mDb.delete(mWriteOptions, iterator.key());
+        }
+      } catch (RocksDBException e) {
+        throw Throwables.propagate(e);
+      }
+      mEvictedCount.set(0);
+    }
+  }
+
+  /**
+   * Stops the evictor, and closes the RocksDB store.
+   */
+  @Override
+  public void close() {
+    mClosed = true;
+    mEvictor.interrupt();
+    Uninterruptibles.joinUninterruptibly(mEvictor);
+    synchronized (mEvictionLock) {
+      mDb.close();
+      mWriteOptions.close();
+      mOptions.close();
+    }
+  }
+
+  /**
+   * Writes an evicted file to RocksDB. The parent of the file calls this while it evicts the file.
+   *
+   * @param file the file to write
+   */
+  void putEvicted(InodeFile file) {
+    byte[] childKey = childKey(file.getParentId(), file.getName());
+    try {
+      mDb.put(mWriteOptions, childKey, file.toJournalEntry().getInodeFile().toByteArray());
+      mDb.put(mWriteOptions, idKey(file.getId()), childKey);
+    } catch (RocksDBException e) {
+      throw Throwables.propagate(e);
+    }
+    mEvictedCount.incrementAndGet();
+  }
+
+  /**
+   * Moves an evicted file back onto the heap.
+   *
+   * @param childKey the key of the file
+   * @param value the serialized journal entry of the file
+   * @return the file
+   */
+  private InodeFile restore(byte[] childKey, byte[] value) {
+    InodeFile file;
+    try {
+      file = InodeFile.fromJournalEntry(InodeFileEntry.parseFrom(value));
+    } catch (InvalidProtocolBufferException e) {
+      throw Throwables.propagate(e);
+    }
+    // The file is found by id on the heap before it is gone from RocksDB.
+    synchronized (mFiles) {
+      mInodes.put(file.getId(), file);
+      addFile(file);
+    }
+    try {
+      mDb.delete(mWriteOptions, childKey);
+      mDb.delete(mWriteOptions, idKey(file.getId()));
+    } catch (RocksDBException e) {
+      throw Throwables.propagate(e);
+    }
+    mEvictedCount.decrementAndGet();
+    return file;
+  }
+
+  /**
+   * Queues a file on the heap for the evictor, and wakes the evictor up if there are too many.
+   *
+   * @param file the file to queue
+   */
+  @GuardedBy("mFiles")
+  private void addFile(InodeFile file) {
+    mFiles.put(file.getId(), file);
+    if (mFiles.size() > mCacheSize) {
+      mFiles.notify();
+    }
+  }
+
+  /**
+   * Evicts files until few enough are on the heap, or until each file was visited once.
+   *
+   * @return the number of files evicted
+   */
+  private int evictFiles() {
+    int evicted = 0;
+    synchronized (mEvictionLock) {
+      int visits;
+      synchronized (mFiles) {
+        visits = mFiles.size();
+      }
+      for (; visits > 0 && !mClosed; visits--) {
+        InodeFile file;
+        synchronized (mFiles) {
+          if (mFiles.size() <= mCacheSize) {
+            break;
+          }
+          Iterator<InodeFile> iterator = mFiles.values().iterator();
+          file = iterator.next();
+          iterator.remove();
+          if (file.isReferenced()) {
+            file.setReferenced(false);
+            mFiles.put(file.getId(), file);
+            continue;
+          }
+        }
+        if (evict(file)) {
+          evicted++;
+          continue;
+        }
+        synchronized (mFiles) {
+          // The file goes to the back, unless it was removed while it was off the queue.
+          if (mInodes.get(file.getId()) == file) {
+            mFiles.put(file.getId(), file);
+          }
+        }
+      }
+    }
+    return evicted;
+  }
+
+  /**
+   * Evicts a file to RocksDB, if it can be evicted.
+   *
+   * @param file the file to evict
+   * @return true if the file was evicted, false otherwise
+   */
+  private boolean evict(InodeFile file) {
+    Inode<?> parent = mInodes.get(file.getParentId());
+    if (!(parent instanceof InodeDirectory)) {
+      return false;
+    }
+    parent.lockWrite();
+    try {
+      if (mInodes.get(file.getId()) != file || !file.isCompleted() || file.isPinned()
+          || file.getTtl() != Constants.NO_TTL
+          || !((InodeDirectory) parent).evictChild(file, this)) {
+        return false;
+      }
+      file.setDeleted(true);
+      mInodes.remove(file.getId(), file);
+      return true;
+    } finally {
+      parent.unlockWrite();
+    }
+  }
+
+  private byte[] dbGet(byte[] key) {
+    try {
+      return mDb.get(key);
+    } catch (RocksDBException e) {
+      throw Throwables.propagate(e);
+    }
+  }
+
+  private static byte[] childKey(long parentId, String name) {
+    byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+    return ByteBuffer.allocate(CHILD_PREFIX_LENGTH + nameBytes.length).put(CHILD_KEY)
+        .putLong(parentId).put(nameBytes).array();
+  }
+
+  private static byte[] idKey(long id) {
+    return ByteBuffer.allocate(1 + Longs.BYTES).put(ID_KEY).putLong(id).array();
+  }
+
+  private static boolean hasPrefix(byte[] key, byte[] prefix) {
+    if (key.length < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if (key[i] != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Evicts files whenever there are too many on the heap.
+   */
+  private final class Evictor implements Runnable {
+    @Override
+    public void run() {
+      while (!mClosed) {
+        try {
+          synchronized (mFiles) {
+            if (mFiles.size() <= mCacheSize) {
+              mFiles.wait(EVICTION_INTERVAL_MS);
+              continue;
+            }
+          }
+          if (evictFiles() == 0) {
+            // Every file on the heap is in use, or cannot be evicted.
+            Thread.sleep(EVICTION_INTERVAL_MS);
+          }
+        } catch (InterruptedException e) {
+          return;
+        } catch (RuntimeException e) {
+          LOG.error("Failed to evict inodes", e);
+        }
+      }
+    }
+  }
+}
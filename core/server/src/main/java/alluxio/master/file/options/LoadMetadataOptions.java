@@ -22,6 +22,7 @@ import javax.annotation.concurrent.NotThreadSafe;
 public final class LoadMetadataOptions {
   private boolean mCreateAncestors;
   private boolean mLoadDirectChildren;
+  private boolean mRecursive;
 
   /**
    * @return the default {@link LoadMetadataOptions}
@@ -33,6 +34,7 @@ public final class LoadMetadataOptions {
   private LoadMetadataOptions() {
     mCreateAncestors = false;
     mLoadDirectChildren = false;
+    mRecursive = false;
   }
 
   /**
@@ -51,6 +53,14 @@ public final class LoadMetadataOptions {
     return mLoadDirectChildren;
   }
 
+  /**
+   * @return the recursive flag. It specifies whether all the descendants of a directory should be
+   * loaded.
+   */
+  public boolean isRecursive() {
+    return mRecursive;
+  }
+
   /**
    * Sets the recursive flag.
    *
@@ -75,6 +85,18 @@ public final class LoadMetadataOptions {
     return this;
   }
 
+  /**
+   * Sets the recursive flag.
+   *
+   * @param recursive the recursive flag. It specifies whether all the descendants of a directory
+   *                  should be loaded.
+   * @return the updated object
+   */
+  public LoadMetadataOptions setRecursive(boolean recursive) {
+    mRecursive = recursive;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -85,17 +107,18 @@ public final class LoadMetadataOptions {
     }
     LoadMetadataOptions that = (LoadMetadataOptions) o;
     return Objects.equal(mCreateAncestors, that.mCreateAncestors)
-        && Objects.equal(mLoadDirectChildren, that.mLoadDirectChildren);
+        && Objects.equal(mLoadDirectChildren, that.mLoadDirectChildren)
+        && Objects.equal(mRecursive, that.mRecursive);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mCreateAncestors, mLoadDirectChildren);
+    return Objects.hashCode(mCreateAncestors, mLoadDirectChildren, mRecursive);
   }
 
   @Override
   public String toString() {
     return Objects.toStringHelper(this).add("createAncestors", mCreateAncestors)
-        .add("loadDirectChildren", mLoadDirectChildren).toString();
+        .add("loadDirectChildren", mLoadDirectChildren).add("recursive", mRecursive).toString();
   }
 }
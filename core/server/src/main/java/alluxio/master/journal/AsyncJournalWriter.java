@@ -16,18 +16,30 @@ import alluxio.master.MasterContext;
 import alluxio.proto.journal.Journal.JournalEntry;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.SettableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.ReentrantLock;
 
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
- * This enables async journal writing, as well as some batched journal flushing.
+ * This enables async journal writing, with group commit of the journal entries.
+ *
+ * Entries are appended to a bounded queue, which blocks the appending thread when it is full. A
+ * single flusher thread takes the entries from the queue, writes as many as are available to the
+ * journal, up to a maximum batch size and time, and then flushes them all at once. Threads waiting
+ * for their entries to be flushed wait on a future which the flusher completes after the flush,
+ * so a single flush of the journal serves all the entries of the batch.
  */
 @ThreadSafe
 public final class AsyncJournalWriter {
@@ -36,48 +48,61 @@ public final class AsyncJournalWriter {
   /** An invalid journal flush counter. */
   public static final long INVALID_FLUSH_COUNTER = -1;
 
+  /** The time to wait on the queue before checking whether the flusher has stopped. */
+  private static final long POLL_TIMEOUT_MS = 100;
+
   private final JournalWriter mJournalWriter;
-  private final ConcurrentLinkedQueue<JournalEntry> mQueue;
+  private final BlockingQueue<JournalEntry> mQueue;
   private final AtomicLong mCounter;
   private final AtomicLong mFlushCounter;
   /** Maximum number of nanoseconds for a batch flush. */
   private final long mFlushBatchTime;
+  /** Maximum number of bytes of entries for a batch flush. */
+  private final long mFlushBatchBytes;
+  /** Futures of the threads waiting for a flush, keyed by the counter they wait for. */
+  private final ConcurrentNavigableMap<Long, SettableFuture<Void>> mFlushFutures;
+  private final Thread mFlusher;
 
-  /**
-   * Use a {@link ReentrantLock} to guard the journal writing. Using the fairness policy seems to
-   * result in better throughput.
-   */
-  private final ReentrantLock mFlushLock = new ReentrantLock(true);
+  /** Set when the flusher stops, to the reason it stopped. */
+  private volatile IOException mFlushFailure;
+  private volatile boolean mClosed;
 
   /**
-   * Creates a {@link AsyncJournalWriter}.
+   * Creates a {@link AsyncJournalWriter}, and starts its flusher thread.
    *
    * @param journalWriter the {@link JournalWriter} to use for writing
    */
   public AsyncJournalWriter(JournalWriter journalWriter) {
     mJournalWriter = Preconditions.checkNotNull(journalWriter);
-    mQueue = new ConcurrentLinkedQueue<>();
+    mQueue = new LinkedBlockingQueue<>(
+        MasterContext.getConf().getInt(Constants.MASTER_JOURNAL_QUEUE_SIZE_MAX));
     mCounter = new AtomicLong(0);
     mFlushCounter = new AtomicLong(0);
     // convert milliseconds to nanoseconds.
     mFlushBatchTime =
         1000000L * MasterContext.getConf().getLong(Constants.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS);
+    mFlushBatchBytes =
+        MasterContext.getConf().getBytes(Constants.MASTER_JOURNAL_FLUSH_BATCH_SIZE_BYTES_MAX);
+    mFlushFutures = new ConcurrentSkipListMap<>();
+    mFlusher = new Thread(new Flusher(), "JournalFlusher");
+    mFlusher.setDaemon(true);
+    mFlusher.start();
   }
 
   /**
-   * Appends a {@link JournalEntry} for writing to the journal.
+   * Appends a {@link JournalEntry} for writing to the journal. This blocks while the queue of
+   * entries waiting to be written is full, which slows down writers to the pace of the journal.
    *
    * @param entry the {@link JournalEntry} to append
    * @return a counter for the entry, for flushing
    */
   public long appendEntry(JournalEntry entry) {
-    // TODO(gpang): handle bounding the queue if it becomes too large.
-
     /**
      * Protocol for appending entries
      *
      * This protocol is lock free, to reduce the overhead in critical sections. It uses
-     * {@link AtomicLong} and {@link ConcurrentLinkedQueue} which are both lock-free.
+     * {@link AtomicLong} and {@link LinkedBlockingQueue}, whose producers only contend with each
+     * other when the queue is full or empty.
      *
      * The invariant that must be satisfied is that the 'counter' that is returned must be
      * greater than or equal to the actual counter of the entry in the queue.
@@ -91,53 +116,70 @@ public final class AsyncJournalWriter {
      * equal to the counter for the entries in the queue.
      */
     mCounter.incrementAndGet();
-    mQueue.offer(entry);
+    boolean interrupted = false;
+    // Once the flusher has stopped, the queue is never drained. The entry is dropped then, and
+    // flushing it fails.
+    while (mFlushFailure == null) {
+      try {
+        if (mQueue.offer(entry, POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+          break;
+        }
+      } catch (InterruptedException e) {
+        // The entry must not be lost, since the counter already accounts for it.
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
     return mCounter.get();
   }
 
   /**
-   * Flushes and waits until the specified counter is flushed to the journal. If the specified
-   * counter is already flushed, this is essentially a no-op.
+   * Waits until the specified counter is flushed to the journal. If the specified counter is
+   * already flushed, this is essentially a no-op.
    *
    * @param counter the counter to flush
-   * @throws IOException if an error occurs in flushing the journal
+   * @throws IOException if an error occurs in flushing the journal, or the writer is closed
    */
   public void flush(final long counter) throws IOException {
     if (counter <= mFlushCounter.get()) {
       return;
     }
-    // Using reentrant lock, since it seems to result in higher throughput than using 'synchronized'
-    mFlushLock.lock();
+    SettableFuture<Void> future = SettableFuture.create();
+    SettableFuture<Void> existing = mFlushFutures.putIfAbsent(counter, future);
+    if (existing != null) {
+      future = existing;
+    }
+    // The flusher completes the futures after updating the flush counter, and fails them after
+    // setting the failure, so the future may have been registered too late for either.
+    if (counter <= mFlushCounter.get()) {
+      return;
+    }
+    if (mFlushFailure != null) {
+      throw mFlushFailure;
+    }
     try {
-      long startTime = System.nanoTime();
-      long flushCounter = mFlushCounter.get();
-      if (counter <= flushCounter) {
-        // The specified counter is already flushed, so just return.
-        return;
-      }
-      while (counter > flushCounter) {
-        for (;;) {
-          JournalEntry entry = mQueue.poll();
-          if (entry == null) {
-            // No more entries in the queue. Break out of the infinite for-loop.
-            break;
-          }
-          mJournalWriter.getEntryOutputStream().writeEntry(entry);
-          flushCounter++;
-
-          if (flushCounter >= counter) {
-            if ((System.nanoTime() - startTime) >= mFlushBatchTime) {
-              // This thread has been writing to the journal for enough time. Break out of the
-              // infinite for-loop.
-              break;
-            }
-          }
-        }
-      }
-      mJournalWriter.getEntryOutputStream().flush();
-      mFlushCounter.set(flushCounter);
-    } finally {
-      mFlushLock.unlock();
+      future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /**
+   * Stops the flusher thread after it has written the entries already appended. Threads waiting
+   * for entries which are not flushed by then fail with an {@link IOException}.
+   */
+  public void close() {
+    mClosed = true;
+    try {
+      mFlusher.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      mFlusher.interrupt();
     }
   }
 
@@ -152,4 +194,72 @@ public final class AsyncJournalWriter {
   public static long getFlushCounter(long counter1, long counter2) {
     return Math.max(counter1, counter2);
   }
+
+  /**
+   * The thread which writes and flushes the entries of the queue in batches.
+   */
+  private final class Flusher implements Runnable {
+    @Override
+    public void run() {
+      try {
+        while (!mClosed || !mQueue.isEmpty()) {
+          JournalEntry entry = mQueue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+          if (entry != null) {
+            writeBatch(entry);
+          }
+        }
+        stop(new IOException("The journal writer is closed"));
+      } catch (InterruptedException e) {
+        stop(new IOException("The journal flusher is interrupted", e));
+      } catch (IOException e) {
+        LOG.error("Failed to write the journal, no more journal entries will be written", e);
+        stop(e);
+      }
+    }
+
+    /**
+     * Writes the first entry of a batch and the entries which follow it in the queue, flushes
+     * them, and completes the futures waiting for them.
+     *
+     * @param first the first entry of the batch
+     * @throws IOException if an error occurs in writing or flushing the journal
+     */
+    private void writeBatch(JournalEntry first) throws IOException {
+      long startTime = System.nanoTime();
+      long flushCounter = mFlushCounter.get();
+      long batchBytes = 0;
+      JournalOutputStream outputStream = mJournalWriter.getEntryOutputStream();
+      JournalEntry entry = first;
+      while (entry != null) {
+        outputStream.writeEntry(entry);
+        flushCounter++;
+        batchBytes += entry.getSerializedSize();
+        if (batchBytes >= mFlushBatchBytes || System.nanoTime() - startTime >= mFlushBatchTime) {
+          // The batch is large or old enough, so flush it rather than let its waiters wait.
+          break;
+        }
+        entry = mQueue.poll();
+      }
+      outputStream.flush();
+      mFlushCounter.set(flushCounter);
+      Map<Long, SettableFuture<Void>> flushed = mFlushFutures.headMap(flushCounter, true);
+      for (SettableFuture<Void> future : flushed.values()) {
+        future.set(null);
+      }
+      flushed.clear();
+    }
+
+    /**
+     * Fails the futures of all waiting threads, and of all threads waiting from now on.
+     *
+     * @param cause the reason the flusher stops
+     */
+    private void stop(IOException cause) {
+      mFlushFailure = cause;
+      for (SettableFuture<Void> future : mFlushFutures.values()) {
+        future.setException(cause);
+      }
+      mFlushFutures.clear();
+    }
+  }
 }
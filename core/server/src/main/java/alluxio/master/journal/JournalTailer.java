@@ -13,6 +13,7 @@ package alluxio.master.journal;
 
 import alluxio.Constants;
 import alluxio.master.Master;
+import alluxio.master.MasterContext;
 import alluxio.proto.journal.Journal.JournalEntry;
 
 import com.google.common.base.Preconditions;
@@ -39,6 +40,8 @@ public final class JournalTailer {
   private final JournalReader mReader;
   /** This keeps track of the latest sequence number seen in the journal entries. */
   private long mLatestSequenceNumber = 0;
+  /** The sequence number of the last entry of the checkpoint. */
+  private long mCheckpointSequenceNumber = 0;
 
   /**
    * Creates a new instance of {@link JournalTailer}.
@@ -78,6 +81,13 @@ public final class JournalTailer {
     return mLatestSequenceNumber;
   }
 
+  /**
+   * @return the sequence number of the last entry in the checkpoint file, once it is loaded
+   */
+  public long getCheckpointSequenceNumber() {
+    return mCheckpointSequenceNumber;
+  }
+
   /**
    * Loads and (optionally) processes the journal checkpoint file.
    *
@@ -99,6 +109,7 @@ public final class JournalTailer {
     }
     // update the latest sequence number seen.
     mLatestSequenceNumber = is.getLatestSequenceNumber();
+    mCheckpointSequenceNumber = mLatestSequenceNumber;
     is.close();
   }
 
@@ -121,6 +132,7 @@ public final class JournalTailer {
         JournalEntry entry;
         while ((entry = inputStream.getNextEntry()) != null) {
           mMaster.processJournalEntry(entry);
+          MasterContext.getMasterSource().incJournalEntriesReplayed(1);
           // update the latest sequence number seen.
           mLatestSequenceNumber = inputStream.getLatestSequenceNumber();
         }
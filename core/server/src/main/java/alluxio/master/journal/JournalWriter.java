@@ -17,15 +17,28 @@ import alluxio.exception.ExceptionMessage;
 import alluxio.master.MasterContext;
 import alluxio.proto.journal.Journal.JournalEntry;
 import alluxio.underfs.UnderFileSystem;
+import alluxio.util.ThreadFactoryUtils;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -39,11 +52,17 @@ import javax.annotation.concurrent.ThreadSafe;
  * log files.
  *
  * The latest state can be reconstructed by reading the checkpoint file, and applying all the
- * completed logs and then the remaining log in progress.
+ * completed logs and then the remaining log in progress. A new checkpoint may also be skipped with
+ * {@link #keepCheckpoint(long)}, in which case the completed logs since the existing checkpoint
+ * are kept as the changes to apply to it.
  */
 @ThreadSafe
 public final class JournalWriter {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+  /** The size of the buffer the entries of a log are serialized into before each flush. */
+  private static final int LOG_BUFFER_SIZE = 64 * Constants.KB;
+  /** The number of checkpoint entries serialized together by a checkpoint thread. */
+  private static final int CHECKPOINT_SEGMENT_ENTRIES = 1024;
 
   private final Journal mJournal;
   /** Absolute path to the directory storing all of the journal data. */
@@ -55,6 +74,8 @@ public final class JournalWriter {
   /** The UFS where the journal is being written to. */
   private final UnderFileSystem mUfs;
   private final long mMaxLogSize;
+  /** The number of threads serializing the checkpoint. */
+  private final int mCheckpointThreads;
 
   /** The log number to assign to the next complete log. */
   private long mNextCompleteLogNumber = Journal.FIRST_COMPLETED_LOG_NUMBER;
@@ -63,6 +84,8 @@ public final class JournalWriter {
   private CheckpointOutputStream mCheckpointOutputStream = null;
   /** The output stream singleton for the entry log files. */
   private EntryOutputStream mEntryOutputStream = null;
+  /** Whether the checkpoint has been written or kept, so that entries may be written. */
+  private boolean mCheckpointComplete = false;
 
   /** The sequence number for the next entry in the log. */
   private long mNextEntrySequenceNumber = 1;
@@ -80,6 +103,9 @@ public final class JournalWriter {
     Configuration conf = MasterContext.getConf();
     mUfs = UnderFileSystem.get(mJournalDirectory, conf);
     mMaxLogSize = conf.getBytes(Constants.MASTER_JOURNAL_LOG_SIZE_BYTES_MAX);
+    mCheckpointThreads = conf.getInt(Constants.MASTER_JOURNAL_CHECKPOINT_THREADS);
+    Preconditions.checkArgument(mCheckpointThreads > 0,
+        "The number of checkpoint threads must be positive");
   }
 
   /**
@@ -121,12 +147,35 @@ public final class JournalWriter {
       mNextEntrySequenceNumber = latestSequenceNumber + 1;
       LOG.info("Latest journal sequence number: {} Next journal sequence number: {}",
           latestSequenceNumber, mNextEntrySequenceNumber);
-      mCheckpointOutputStream =
-          new CheckpointOutputStream(new DataOutputStream(mUfs.create(mTempCheckpointPath)));
+      mCheckpointOutputStream = new CheckpointOutputStream(new DataOutputStream(
+          new BufferedOutputStream(mUfs.create(mTempCheckpointPath), LOG_BUFFER_SIZE)));
     }
     return mCheckpointOutputStream;
   }
 
+  /**
+   * Keeps the existing checkpoint and the completed logs, instead of writing a new checkpoint. The
+   * completed logs then act as an incremental checkpoint on top of the existing one, and entries
+   * written afterwards go to the logs which follow them. This must be called after
+   * {@link #completeAllLogs()}, and instead of {@link #getCheckpointOutputStream(long)}.
+   *
+   * @param latestSequenceNumber the sequence number of the latest journal entry, as for
+   *        {@link #getCheckpointOutputStream(long)}
+   * @throws IOException if the checkpoint does not exist
+   */
+  public synchronized void keepCheckpoint(long latestSequenceNumber) throws IOException {
+    Preconditions.checkState(mCheckpointOutputStream == null,
+        "A new checkpoint is already being written");
+    if (!mUfs.exists(mJournal.getCheckpointFilePath())) {
+      throw new IOException("Cannot keep the checkpoint " + mJournal.getCheckpointFilePath()
+          + " which does not exist.");
+    }
+    mNextEntrySequenceNumber = latestSequenceNumber + 1;
+    LOG.info("Keeping the checkpoint and completed logs. Next journal sequence number: {}",
+        mNextEntrySequenceNumber);
+    mCheckpointComplete = true;
+  }
+
   /**
    * Returns an output stream for the journal entries. The returned output stream is a singleton for
    * this writer.
@@ -135,7 +184,7 @@ public final class JournalWriter {
    * @throws IOException if an I/O error occurs
    */
   public synchronized JournalOutputStream getEntryOutputStream() throws IOException {
-    if (mCheckpointOutputStream == null || !mCheckpointOutputStream.isClosed()) {
+    if (!mCheckpointComplete) {
       throw new IOException("The checkpoint must be written and closed before writing entries.");
     }
     if (mEntryOutputStream == null) {
@@ -224,13 +273,27 @@ public final class JournalWriter {
   /**
    * This is the output stream for the journal checkpoint file. When this stream is closed, it will
    * delete the completed logs, and then mark the current log as complete.
+   *
+   * Entries are grouped into segments, which are serialized in parallel by the checkpoint threads
+   * and then written to the file in order. The sequence numbers of the entries are assigned when
+   * they are written to this stream, so the file is the same as if it was written serially.
    */
   private class CheckpointOutputStream implements JournalOutputStream {
     private final DataOutputStream mOutputStream;
+    /** Serializes the segments, or null if segments are serialized by the writing thread. */
+    private final ExecutorService mSerializers;
+    /** The serialized segments not yet written to the file, in order. */
+    private final Deque<Future<ByteArrayOutputStream>> mPendingSegments = new ArrayDeque<>();
+    /** The entries of the segment being filled. */
+    private List<JournalEntry> mSegment = new ArrayList<>(CHECKPOINT_SEGMENT_ENTRIES);
+    /** The sequence number of the first entry of the segment being filled. */
+    private long mSegmentSequenceNumber;
     private boolean mIsClosed = false;
 
     CheckpointOutputStream(DataOutputStream outputStream) {
       mOutputStream = outputStream;
+      mSerializers = mCheckpointThreads == 1 ? null : Executors.newFixedThreadPool(
+          mCheckpointThreads, ThreadFactoryUtils.build("journal-checkpoint-%d", true));
     }
 
     boolean isClosed() {
@@ -251,8 +314,14 @@ public final class JournalWriter {
       if (mIsClosed) {
         throw new IOException(ExceptionMessage.JOURNAL_WRITE_AFTER_CLOSE.getMessage());
       }
-      mJournal.getJournalFormatter().serialize(
-          entry.toBuilder().setSequenceNumber(mNextEntrySequenceNumber++).build(), mOutputStream);
+      if (mSegment.isEmpty()) {
+        mSegmentSequenceNumber = mNextEntrySequenceNumber;
+      }
+      mSegment.add(entry);
+      mNextEntrySequenceNumber++;
+      if (mSegment.size() >= CHECKPOINT_SEGMENT_ENTRIES) {
+        submitSegment();
+      }
     }
 
     /**
@@ -271,7 +340,13 @@ public final class JournalWriter {
       if (mIsClosed) {
         return;
       }
-      mOutputStream.flush();
+      try {
+        flush();
+      } finally {
+        if (mSerializers != null) {
+          mSerializers.shutdownNow();
+        }
+      }
       mOutputStream.close();
 
       LOG.info("Successfully created tmp checkpoint file: {}", mTempCheckpointPath);
@@ -289,6 +364,7 @@ public final class JournalWriter {
       completeCurrentLog();
 
       mIsClosed = true;
+      mCheckpointComplete = true;
     }
 
     @Override
@@ -296,8 +372,69 @@ public final class JournalWriter {
       if (mIsClosed) {
         return;
       }
+      if (!mSegment.isEmpty()) {
+        submitSegment();
+      }
+      while (!mPendingSegments.isEmpty()) {
+        writeFirstSegment();
+      }
       mOutputStream.flush();
     }
+
+    /**
+     * Hands the segment being filled to the checkpoint threads, and writes out the segments which
+     * are done, so that at most two segments per thread are held in memory.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private void submitSegment() throws IOException {
+      final List<JournalEntry> segment = mSegment;
+      final long sequenceNumber = mSegmentSequenceNumber;
+      mSegment = new ArrayList<>(CHECKPOINT_SEGMENT_ENTRIES);
+      if (mSerializers == null) {
+        serializeSegment(segment, sequenceNumber).writeTo(mOutputStream);
+        return;
+      }
+      mPendingSegments.add(mSerializers.submit(new Callable<ByteArrayOutputStream>() {
+        @Override
+        public ByteArrayOutputStream call() throws IOException {
+          return serializeSegment(segment, sequenceNumber);
+        }
+      }));
+      while (mPendingSegments.size() > 2 * mCheckpointThreads
+          || (!mPendingSegments.isEmpty() && mPendingSegments.peek().isDone())) {
+        writeFirstSegment();
+      }
+    }
+
+    /**
+     * Waits for the first pending segment to be serialized, and writes it to the file.
+     *
+     * @throws IOException if the segment could not be serialized or written
+     */
+    private void writeFirstSegment() throws IOException {
+      try {
+        Uninterruptibles.getUninterruptibly(mPendingSegments.poll()).writeTo(mOutputStream);
+      } catch (ExecutionException e) {
+        throw new IOException("Failed to serialize the checkpoint", e.getCause());
+      }
+    }
+
+    /**
+     * @param segment the entries of the segment
+     * @param sequenceNumber the sequence number of the first entry
+     * @return the serialized entries with their sequence numbers
+     * @throws IOException if an entry could not be serialized
+     */
+    private ByteArrayOutputStream serializeSegment(List<JournalEntry> segment, long sequenceNumber)
+        throws IOException {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      JournalFormatter formatter = mJournal.getJournalFormatter();
+      for (JournalEntry entry : segment) {
+        formatter.serialize(entry.toBuilder().setSequenceNumber(sequenceNumber++).build(), bytes);
+      }
+      return bytes;
+    }
   }
 
   /**
@@ -314,7 +451,8 @@ public final class JournalWriter {
 
     EntryOutputStream(OutputStream outputStream) {
       mRawOutputStream = outputStream;
-      mDataOutputStream = new DataOutputStream(outputStream);
+      mDataOutputStream =
+          new DataOutputStream(new BufferedOutputStream(outputStream, LOG_BUFFER_SIZE));
     }
 
     /**
@@ -377,7 +515,8 @@ public final class JournalWriter {
         mDataOutputStream.close();
         completeCurrentLog();
         mRawOutputStream = openCurrentLog();
-        mDataOutputStream = new DataOutputStream(mRawOutputStream);
+        mDataOutputStream =
+            new DataOutputStream(new BufferedOutputStream(mRawOutputStream, LOG_BUFFER_SIZE));
       }
     }
   }
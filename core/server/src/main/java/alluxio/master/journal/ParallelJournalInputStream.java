@@ -0,0 +1,198 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.Futures;
+import com.google.protobuf.CodedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A {@link JournalInputStream} for length-delimited protocol buffer entries which parses the
+ * entries ahead of the reader on several threads. A reader thread splits the stream into batches
+ * of serialized entries, the batches are parsed in parallel, and {@link #getNextEntry()} returns
+ * the parsed entries in the order they appear in the stream. The entries are still applied to the
+ * master by the caller, one at a time.
+ *
+ * The stream reads ahead of the caller by a bounded number of batches, and read and parse errors
+ * are reported by {@link #getNextEntry()} once the entries before them have been returned.
+ */
+@NotThreadSafe
+final class ParallelJournalInputStream implements JournalInputStream {
+  /** The maximum number of entries in a batch. */
+  private static final int BATCH_ENTRIES = 256;
+  /** The maximum number of serialized bytes in a batch. */
+  private static final int BATCH_BYTES = 1024 * 1024;
+
+  private final InputStream mInputStream;
+  /** Runs the reader and the parsers. */
+  private final ExecutorService mExecutorService;
+  /** The batches which are read but not yet returned, in the order of the stream. */
+  private final BlockingQueue<Future<List<JournalEntry>>> mBatches;
+
+  /** The batch entries are currently returned from. */
+  private List<JournalEntry> mBatch;
+  /** The index of the next entry to return from {@link #mBatch}. */
+  private int mBatchIndex;
+  /** Whether the end of the stream is reached. */
+  private boolean mEndOfStream;
+  private long mLatestSequenceNumber;
+
+  /**
+   * Creates a new {@link ParallelJournalInputStream} and starts reading from the stream.
+   *
+   * @param inputStream the stream of length-delimited entries
+   * @param threads the number of threads parsing entries
+   */
+  ParallelJournalInputStream(InputStream inputStream, int threads) {
+    Preconditions.checkArgument(threads > 0, "threads must be positive");
+    mInputStream = Preconditions.checkNotNull(inputStream);
+    mExecutorService = Executors.newFixedThreadPool(threads + 1,
+        ThreadFactoryUtils.build("journal-replay-%d", true));
+    mBatches = new LinkedBlockingQueue<>(threads * 2);
+    mExecutorService.submit(new Reader());
+  }
+
+  @Override
+  public JournalEntry getNextEntry() throws IOException {
+    while (mBatch == null || mBatchIndex == mBatch.size()) {
+      if (mEndOfStream) {
+        return null;
+      }
+      try {
+        mBatch = mBatches.take().get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while reading the journal");
+      } catch (ExecutionException e) {
+        mEndOfStream = true;
+        mBatch = null;
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw new IOException(e.getCause());
+      }
+      mBatchIndex = 0;
+      if (mBatch == null) {
+        mEndOfStream = true;
+      }
+    }
+    JournalEntry entry = mBatch.get(mBatchIndex++);
+    mLatestSequenceNumber = entry.getSequenceNumber();
+    return entry;
+  }
+
+  @Override
+  public void close() throws IOException {
+    mExecutorService.shutdownNow();
+    mInputStream.close();
+  }
+
+  @Override
+  public long getLatestSequenceNumber() {
+    return mLatestSequenceNumber;
+  }
+
+  /**
+   * Splits the stream into batches of serialized entries and submits them to be parsed. The end
+   * of the stream is marked by a batch of null.
+   */
+  private final class Reader implements Runnable {
+    /** Whether the end of the stream is reached, after which the stream is not read again. */
+    private boolean mEndOfInput;
+    /** The error reading the stream, reported after the entries read before it. */
+    private IOException mReadFailure;
+
+    @Override
+    public void run() {
+      Future<List<JournalEntry>> last;
+      try {
+        while (!mEndOfInput && mReadFailure == null) {
+          final List<byte[]> batch = readFrames();
+          if (batch.isEmpty()) {
+            break;
+          }
+          mBatches.put(mExecutorService.submit(new Callable<List<JournalEntry>>() {
+            @Override
+            public List<JournalEntry> call() throws IOException {
+              List<JournalEntry> entries = new ArrayList<>(batch.size());
+              for (byte[] frame : batch) {
+                entries.add(JournalEntry.parseFrom(frame));
+              }
+              return entries;
+            }
+          }));
+        }
+        last = mReadFailure == null ? Futures.<List<JournalEntry>>immediateFuture(null)
+            : Futures.<List<JournalEntry>>immediateFailedFuture(mReadFailure);
+      } catch (InterruptedException e) {
+        // The stream is closed.
+        return;
+      } catch (RuntimeException e) {
+        last = Futures.<List<JournalEntry>>immediateFailedFuture(e);
+      }
+      // Lets the parsers exit once the batches are parsed, even if the stream is never closed.
+      mExecutorService.shutdown();
+      try {
+        mBatches.put(last);
+      } catch (InterruptedException e) {
+        // The stream is closed.
+      }
+    }
+
+    /**
+     * Reads the next batch of serialized entries. If the stream cannot be read or ends in the
+     * middle of an entry, the error is kept in {@link #mReadFailure} and the entries read before it
+     * are returned.
+     *
+     * @return the next batch of serialized entries, empty at the end of the stream
+     */
+    private List<byte[]> readFrames() {
+      List<byte[]> frames = new ArrayList<>();
+      int bytes = 0;
+      try {
+        while (frames.size() < BATCH_ENTRIES && bytes < BATCH_BYTES) {
+          int firstByte = mInputStream.read();
+          if (firstByte == -1) {
+            mEndOfInput = true;
+            break;
+          }
+          byte[] frame = new byte[CodedInputStream.readRawVarint32(firstByte, mInputStream)];
+          ByteStreams.readFully(mInputStream, frame);
+          frames.add(frame);
+          bytes += frame.length;
+        }
+      } catch (IOException e) {
+        mReadFailure = e;
+      }
+      return frames;
+    }
+  }
+}
@@ -11,6 +11,8 @@
 
 package alluxio.master.journal;
 
+import alluxio.Constants;
+import alluxio.master.MasterContext;
 import alluxio.proto.journal.Journal.JournalEntry;
 
 import java.io.IOException;
@@ -23,14 +25,21 @@ import javax.annotation.concurrent.ThreadSafe;
  * Reads and writes protocol buffer journal entries. The entries contain headers describing their
  * length. This framing is handled entirely by {@link JournalEntry#writeDelimitedTo(OutputStream)}
  * and {@link JournalEntry#parseDelimitedFrom(InputStream)}. This class is thread-safe.
+ *
+ * When {@link Constants#MASTER_JOURNAL_REPLAY_THREADS} is more than 1, the entries are parsed
+ * ahead of the reader on that many threads by a {@link ParallelJournalInputStream}.
  */
 @ThreadSafe
 public final class ProtoBufJournalFormatter implements JournalFormatter {
+  /** The number of threads parsing the entries of a stream being deserialized. */
+  private final int mReplayThreads;
 
   /**
    * Constructs a new {@link ProtoBufJournalFormatter}.
    */
-  public ProtoBufJournalFormatter() {}
+  public ProtoBufJournalFormatter() {
+    mReplayThreads = MasterContext.getConf().getInt(Constants.MASTER_JOURNAL_REPLAY_THREADS);
+  }
 
   @Override
   public void serialize(JournalEntry entry, OutputStream outputStream) throws IOException {
@@ -39,6 +48,9 @@ public final class ProtoBufJournalFormatter implements JournalFormatter {
 
   @Override
   public JournalInputStream deserialize(final InputStream inputStream) throws IOException {
+    if (mReplayThreads > 1) {
+      return new ParallelJournalInputStream(inputStream, mReplayThreads);
+    }
     return new JournalInputStream() {
       private long mLatestSequenceNumber;
 
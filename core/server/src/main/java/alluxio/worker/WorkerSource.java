@@ -42,6 +42,11 @@ public class WorkerSource implements Source {
   public static final String BYTES_WRITTEN_LOCAL = "BytesWrittenLocal";
   public static final String BYTES_WRITTEN_REMOTE = "BytesWrittenRemote";
   public static final String BYTES_WRITTEN_UFS = "BytesWrittenUfs";
+  public static final String BYTES_READ_AHEAD = "BytesReadAhead";
+  public static final String BYTES_READ_AHEAD_HIT = "BytesReadAheadHit";
+  public static final String BYTES_READ_AHEAD_WASTED = "BytesReadAheadWasted";
+  public static final String READ_AHEAD_HIT_RATIO = "ReadAheadHitRatio";
+  public static final String READ_AHEAD_WASTE_RATIO = "ReadAheadWasteRatio";
   public static final String CAPACITY_TOTAL = "CapacityTotal";
   public static final String CAPACITY_USED = "CapacityUsed";
   public static final String CAPACITY_FREE = "CapacityFree";
@@ -81,6 +86,12 @@ public class WorkerSource implements Source {
       .name(BYTES_WRITTEN_REMOTE));
   private final Counter mBytesWrittenUfs = mMetricRegistry.counter(MetricRegistry
       .name(BYTES_WRITTEN_UFS));
+  private final Counter mBytesReadAhead = mMetricRegistry.counter(MetricRegistry
+      .name(BYTES_READ_AHEAD));
+  private final Counter mBytesReadAheadHit = mMetricRegistry.counter(MetricRegistry
+      .name(BYTES_READ_AHEAD_HIT));
+  private final Counter mBytesReadAheadWasted = mMetricRegistry.counter(MetricRegistry
+      .name(BYTES_READ_AHEAD_WASTED));
 
   /**
    * Constructs a new {@link WorkerSource}.
@@ -232,6 +243,33 @@ public class WorkerSource implements Source {
     mBytesWrittenUfs.inc(n);
   }
 
+  /**
+   * Increments the counter of bytes fetched by client read-ahead.
+   *
+   * @param n the increment
+   */
+  public void incBytesReadAhead(long n) {
+    mBytesReadAhead.inc(n);
+  }
+
+  /**
+   * Increments the counter of bytes fetched by client read-ahead and then read.
+   *
+   * @param n the increment
+   */
+  public void incBytesReadAheadHit(long n) {
+    mBytesReadAheadHit.inc(n);
+  }
+
+  /**
+   * Increments the counter of bytes fetched by client read-ahead but never read.
+   *
+   * @param n the increment
+   */
+  public void incBytesReadAheadWasted(long n) {
+    mBytesReadAheadWasted.inc(n);
+  }
+
   /**
    * Registers metric gauges.
    *
@@ -269,6 +307,24 @@ public class WorkerSource implements Source {
         return blockWorker.getStoreMetaFull().getNumberOfBlocks();
       }
     });
+
+    mMetricRegistry.register(MetricRegistry.name(READ_AHEAD_HIT_RATIO), new Gauge<Double>() {
+      @Override
+      public Double getValue() {
+        return ratio(mBytesReadAheadHit.getCount(), mBytesReadAhead.getCount());
+      }
+    });
+
+    mMetricRegistry.register(MetricRegistry.name(READ_AHEAD_WASTE_RATIO), new Gauge<Double>() {
+      @Override
+      public Double getValue() {
+        return ratio(mBytesReadAheadWasted.getCount(), mBytesReadAhead.getCount());
+      }
+    });
     mGaugesRegistered = true;
   }
+
+  private static double ratio(long numerator, long denominator) {
+    return denominator == 0 ? 0 : (double) numerator / denominator;
+  }
 }
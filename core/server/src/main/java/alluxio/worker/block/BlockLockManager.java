@@ -15,22 +15,20 @@ import alluxio.Constants;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
-import alluxio.resource.ResourcePool;
 import alluxio.worker.WorkerContext;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Throwables;
-import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -41,6 +39,12 @@ import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Handle all block locks.
+ *
+ * The maps of this class are concurrent maps keyed by block id, session id and lock id, so calls
+ * for different blocks and sessions do not contend on a shared monitor. A block lock is allocated
+ * when a block is first locked and dropped when its last reference is released. A lock whose
+ * reference count has dropped to zero can never be referenced again, so a thread which finds such
+ * a lock in the map removes it and allocates a new one.
  */
 @ThreadSafe
 public final class BlockLockManager {
@@ -49,34 +53,25 @@ public final class BlockLockManager {
   /** The unique id of each lock. */
   private static final AtomicLong LOCK_ID_GEN = new AtomicLong(0);
 
-  /** A pool of read write locks. */
-  private final ResourcePool<ClientRWLock> mLockPool = new ResourcePool<ClientRWLock>(
-      WorkerContext.getConf().getInt(Constants.WORKER_TIERED_STORE_BLOCK_LOCKS)) {
-    @Override
-    public void close() {}
+  /**
+   * How long to wait for a block lock to be freed when all of them are in use, before checking
+   * whether another thread has allocated a lock for the block in the meantime.
+   */
+  private static final long LOCK_WAIT_MS = 10;
 
-    @Override
-    protected ClientRWLock createNewResource() {
-      return new ClientRWLock();
-    }
-  };
+  /** One permit for every block lock which may still be allocated. */
+  private final Semaphore mLockBudget =
+      new Semaphore(WorkerContext.getConf().getInt(Constants.WORKER_TIERED_STORE_BLOCK_LOCKS));
 
   /** A map from block id to the read write lock used to guard that block. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, ClientRWLock> mLocks = new HashMap<>();
+  private final ConcurrentHashMap<Long, ClientRWLock> mLocks = new ConcurrentHashMap<>();
 
   /** A map from a session id to all the locks hold by this session. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, Set<Long>> mSessionIdToLockIdsMap = new HashMap<>();
+  private final ConcurrentHashMap<Long, SessionLockIds> mSessionIdToLockIdsMap =
+      new ConcurrentHashMap<>();
 
   /** A map from a lock id to the lock record of it. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, LockRecord> mLockIdToRecordMap = new HashMap<>();
-
-  /**
-   * To guard access to the maps maintained by this class.
-   */
-  private final Object mSharedMapsLock = new Object();
+  private final ConcurrentHashMap<Long, LockRecord> mLockIdToRecordMap = new ConcurrentHashMap<>();
 
   /**
    * Constructs a new {@link BlockLockManager}.
@@ -87,8 +82,7 @@ public final class BlockLockManager {
    * Locks a block. Note that even if this block does not exist, a lock id is still returned.
    *
    * If all {@link Constants#WORKER_TIERED_STORE_BLOCK_LOCKS} are already in use and no lock has
-   * been allocated for the specified block, this method will need to wait until a lock can be
-   * acquired from the lock pool.
+   * been allocated for the specified block, this method will need to wait until a lock is freed.
    *
    * @param sessionId the session id
    * @param blockId the block id
@@ -106,62 +100,68 @@ public final class BlockLockManager {
     lock.lock();
     try {
       long lockId = LOCK_ID_GEN.getAndIncrement();
-      synchronized (mSharedMapsLock) {
-        mLockIdToRecordMap.put(lockId, new LockRecord(sessionId, blockId, lock));
-        Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-        if (sessionLockIds == null) {
-          mSessionIdToLockIdsMap.put(sessionId, Sets.newHashSet(lockId));
-        } else {
-          sessionLockIds.add(lockId);
-        }
-      }
+      mLockIdToRecordMap.put(lockId, new LockRecord(sessionId, blockId, blockLock, lock));
+      addSessionLockId(sessionId, lockId);
       return lockId;
     } catch (RuntimeException e) {
       // If an unexpected exception occurs, we should release the lock to be conservative.
-      unlock(lock, blockId);
+      unlock(lock, blockId, blockLock);
       throw Throwables.propagate(e);
     }
   }
 
   /**
-   * Returns the block lock for the given block id, acquiring such a lock if it doesn't exist yet.
+   * Returns the block lock for the given block id with a reference added for the caller,
+   * allocating such a lock if it doesn't exist yet.
    *
-   * If all locks have been allocated, this method will block until one can be acquired.
+   * If all locks have been allocated, this method will block until one is freed.
    *
    * @param blockId the block id to get the lock for
    * @return the block lock
    */
   private ClientRWLock getBlockLock(long blockId) {
-    // Loop until we either find the block lock in the mLocks map, or successfully acquire a new
-    // block lock from the lock pool.
+    // Loop until we either reference the block lock in the mLocks map, or successfully publish a
+    // newly allocated block lock.
     while (true) {
-      ClientRWLock blockLock;
-      // Check whether a lock has already been allocated for the block id.
-      synchronized (mSharedMapsLock) {
-        blockLock = mLocks.get(blockId);
-        if (blockLock != null) {
-          blockLock.addReference();
-          return blockLock;
-        }
-      }
-      // Since a block lock hasn't already been allocated, try to acquire a new one from the pool.
-      // Acquire the lock outside the synchronized section because #acquire might need to block.
-      // We shouldn't wait indefinitely in acquire because the another lock for this block could be
-      // allocated to another thread, in which case we could just use that lock.
-      blockLock = mLockPool.acquire(1, TimeUnit.SECONDS);
+      ClientRWLock blockLock = mLocks.get(blockId);
       if (blockLock != null) {
-        synchronized (mSharedMapsLock) {
-          // Check if someone else acquired a block lock for blockId while we were acquiring one.
-          if (mLocks.containsKey(blockId)) {
-            mLockPool.release(blockLock);
-            blockLock = mLocks.get(blockId);
-          } else {
-            mLocks.put(blockId, blockLock);
-          }
-          blockLock.addReference();
+        if (blockLock.tryAddReference()) {
           return blockLock;
         }
+        // The last reference to the lock was dropped, and the thread which dropped it is about to
+        // remove it. Remove it here too so that a new lock can be published.
+        mLocks.remove(blockId, blockLock);
+        continue;
+      }
+      // We shouldn't wait indefinitely for a lock to be freed because another lock for this block
+      // could be allocated by another thread, in which case we could just use that lock.
+      if (!acquireLockBudget()) {
+        continue;
+      }
+      ClientRWLock newLock = new ClientRWLock();
+      newLock.addReference();
+      blockLock = mLocks.putIfAbsent(blockId, newLock);
+      if (blockLock == null) {
+        return newLock;
       }
+      // Someone else published a lock for the block first, so try to reference theirs.
+      mLockBudget.release();
+    }
+  }
+
+  /**
+   * Takes a permit to allocate a block lock, waiting a short while if none is available.
+   *
+   * @return true if a permit was taken, false if the wait timed out
+   */
+  private boolean acquireLockBudget() {
+    if (mLockBudget.tryAcquire()) {
+      return true;
+    }
+    try {
+      return mLockBudget.tryAcquire(LOCK_WAIT_MS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
     }
   }
 
@@ -172,24 +172,13 @@ public final class BlockLockManager {
    * @throws BlockDoesNotExistException if lock id cannot be found
    */
   public void unlockBlock(long lockId) throws BlockDoesNotExistException {
-    Lock lock;
-    LockRecord record;
-    synchronized (mSharedMapsLock) {
-      record = mLockIdToRecordMap.get(lockId);
-      if (record == null) {
-        throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
-            lockId);
-      }
-      long sessionId = record.getSessionId();
-      lock = record.getLock();
-      mLockIdToRecordMap.remove(lockId);
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      sessionLockIds.remove(lockId);
-      if (sessionLockIds.isEmpty()) {
-        mSessionIdToLockIdsMap.remove(sessionId);
-      }
+    LockRecord record = mLockIdToRecordMap.remove(lockId);
+    if (record == null) {
+      throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
+          lockId);
     }
-    unlock(lock, record.getBlockId());
+    removeSessionLockId(record.getSessionId(), lockId);
+    unlock(record.getLock(), record.getBlockId(), record.getBlockLock());
   }
 
   /**
@@ -201,33 +190,26 @@ public final class BlockLockManager {
    */
   // TODO(bin): Temporary, remove me later.
   public void unlockBlock(long sessionId, long blockId) throws BlockDoesNotExistException {
-    synchronized (mSharedMapsLock) {
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLockIds == null) {
-        LOG.warn("Attempted to unlock block {} with session {}, but the session has not taken"
-            + " any block locks", blockId, sessionId);
-        return;
+    SessionLockIds sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
+    if (sessionLockIds == null) {
+      LOG.warn("Attempted to unlock block {} with session {}, but the session has not taken"
+          + " any block locks", blockId, sessionId);
+      return;
+    }
+    for (long lockId : sessionLockIds.toArray()) {
+      LockRecord record = mLockIdToRecordMap.get(lockId);
+      if (record == null) {
+        throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
+            lockId);
       }
-      for (long lockId : sessionLockIds) {
-        LockRecord record = mLockIdToRecordMap.get(lockId);
-        if (record == null) {
-          throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
-              lockId);
-        }
-        if (blockId == record.getBlockId()) {
-          mLockIdToRecordMap.remove(lockId);
-          sessionLockIds.remove(lockId);
-          if (sessionLockIds.isEmpty()) {
-            mSessionIdToLockIdsMap.remove(sessionId);
-          }
-          Lock lock = record.getLock();
-          unlock(lock, blockId);
-          return;
-        }
+      if (blockId == record.getBlockId() && mLockIdToRecordMap.remove(lockId, record)) {
+        removeSessionLockId(sessionId, lockId);
+        unlock(record.getLock(), blockId, record.getBlockLock());
+        return;
       }
-      throw new BlockDoesNotExistException(
-          ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_BLOCK_AND_SESSION, blockId, sessionId);
     }
+    throw new BlockDoesNotExistException(
+        ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_BLOCK_AND_SESSION, blockId, sessionId);
   }
 
   /**
@@ -242,20 +224,18 @@ public final class BlockLockManager {
    */
   public void validateLock(long sessionId, long blockId, long lockId)
       throws BlockDoesNotExistException, InvalidWorkerStateException {
-    synchronized (mSharedMapsLock) {
-      LockRecord record = mLockIdToRecordMap.get(lockId);
-      if (record == null) {
-        throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
-            lockId);
-      }
-      if (sessionId != record.getSessionId()) {
-        throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_SESSION,
-            lockId, record.getSessionId(), sessionId);
-      }
-      if (blockId != record.getBlockId()) {
-        throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_BLOCK, lockId,
-            record.getBlockId(), blockId);
-      }
+    LockRecord record = mLockIdToRecordMap.get(lockId);
+    if (record == null) {
+      throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
+          lockId);
+    }
+    if (sessionId != record.getSessionId()) {
+      throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_SESSION,
+          lockId, record.getSessionId(), sessionId);
+    }
+    if (blockId != record.getBlockId()) {
+      throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_BLOCK, lockId,
+          record.getBlockId(), blockId);
     }
   }
 
@@ -265,22 +245,17 @@ public final class BlockLockManager {
    * @param sessionId the id of the session to cleanup
    */
   public void cleanupSession(long sessionId) {
-    synchronized (mSharedMapsLock) {
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLockIds == null) {
-        return;
-      }
-      for (long lockId : sessionLockIds) {
-        LockRecord record = mLockIdToRecordMap.get(lockId);
-        if (record == null) {
-          LOG.error(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID.getMessage(lockId));
-          continue;
-        }
-        Lock lock = record.getLock();
-        unlock(lock, record.getBlockId());
-        mLockIdToRecordMap.remove(lockId);
+    SessionLockIds sessionLockIds = mSessionIdToLockIdsMap.remove(sessionId);
+    if (sessionLockIds == null) {
+      return;
+    }
+    for (long lockId : sessionLockIds.retire()) {
+      LockRecord record = mLockIdToRecordMap.remove(lockId);
+      if (record == null) {
+        LOG.error(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID.getMessage(lockId));
+        continue;
       }
-      mSessionIdToLockIdsMap.remove(sessionId);
+      unlock(record.getLock(), record.getBlockId(), record.getBlockLock());
     }
   }
 
@@ -290,12 +265,47 @@ public final class BlockLockManager {
    * @return a set of locked blocks
    */
   public Set<Long> getLockedBlocks() {
-    synchronized (mSharedMapsLock) {
-      Set<Long> set = new HashSet<>();
-      for (LockRecord lockRecord : mLockIdToRecordMap.values()) {
-        set.add(lockRecord.getBlockId());
+    Set<Long> set = new HashSet<>();
+    for (LockRecord lockRecord : mLockIdToRecordMap.values()) {
+      set.add(lockRecord.getBlockId());
+    }
+    return set;
+  }
+
+  /**
+   * Records that a session holds a lock.
+   *
+   * @param sessionId the session id
+   * @param lockId the lock id
+   */
+  private void addSessionLockId(long sessionId, long lockId) {
+    while (true) {
+      SessionLockIds sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
+      if (sessionLockIds == null) {
+        SessionLockIds newSessionLockIds = new SessionLockIds();
+        sessionLockIds = mSessionIdToLockIdsMap.putIfAbsent(sessionId, newSessionLockIds);
+        if (sessionLockIds == null) {
+          sessionLockIds = newSessionLockIds;
+        }
       }
-      return set;
+      // Adding fails if the set was emptied and is being removed from the map, so retry with a
+      // new set.
+      if (sessionLockIds.add(lockId)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Records that a session no longer holds a lock, removing the session once it holds no locks.
+   *
+   * @param sessionId the session id
+   * @param lockId the lock id
+   */
+  private void removeSessionLockId(long sessionId, long lockId) {
+    SessionLockIds sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
+    if (sessionLockIds != null && sessionLockIds.remove(lockId)) {
+      mSessionIdToLockIdsMap.remove(sessionId, sessionLockIds);
     }
   }
 
@@ -305,72 +315,129 @@ public final class BlockLockManager {
    *
    * @param lock the lock to unlock
    * @param blockId the block id for which to potentially release the block lock
+   * @param blockLock the block lock which the lock belongs to
    */
-  private void unlock(Lock lock, long blockId) {
+  private void unlock(Lock lock, long blockId, ClientRWLock blockLock) {
     lock.unlock();
-    releaseBlockLockIfUnused(blockId);
+    releaseBlockLockIfUnused(blockId, blockLock);
   }
 
   /**
-   * Checks whether anyone is using the block lock for the given block id, returning the lock to
-   * the lock pool if it is unused.
+   * Drops a reference to the block lock for the given block id, freeing the lock if it is unused.
    *
    * @param blockId the block id for which to potentially release the block lock
+   * @param blockLock the block lock of the block
    */
-  private void releaseBlockLockIfUnused(long blockId) {
-    synchronized (mSharedMapsLock) {
-      ClientRWLock lock = mLocks.get(blockId);
-      if (lock == null) {
-        // Someone else probably released the block lock already.
-        return;
-      }
-      // If we were the last worker with a reference to the lock, clean it up.
-      if (lock.dropReference() == 0) {
-        mLocks.remove(blockId);
-        mLockPool.release(lock);
-      }
+  private void releaseBlockLockIfUnused(long blockId, ClientRWLock blockLock) {
+    // If we were the last worker with a reference to the lock, clean it up.
+    if (blockLock.dropReference() == 0) {
+      mLocks.remove(blockId, blockLock);
+      mLockBudget.release();
     }
   }
 
   /**
    * Checks the internal state of the manager to make sure invariants hold.
    *
-   * This method is intended for testing purposes. A runtime exception will be thrown if invalid
-   * state is encountered.
+   * This method is intended for testing purposes, and must not be called concurrently with other
+   * methods of the manager. A runtime exception will be thrown if invalid state is encountered.
    */
   public void validate() {
-    synchronized (mSharedMapsLock) {
-      // Compute block lock reference counts based off of lock records
-      ConcurrentMap<Long, AtomicInteger> blockLockReferenceCounts = new ConcurrentHashMap<>();
-      for (LockRecord record : mLockIdToRecordMap.values()) {
-        blockLockReferenceCounts.putIfAbsent(record.getBlockId(), new AtomicInteger(0));
-        blockLockReferenceCounts.get(record.getBlockId()).incrementAndGet();
+    // Compute block lock reference counts based off of lock records
+    ConcurrentMap<Long, AtomicInteger> blockLockReferenceCounts = new ConcurrentHashMap<>();
+    for (LockRecord record : mLockIdToRecordMap.values()) {
+      blockLockReferenceCounts.putIfAbsent(record.getBlockId(), new AtomicInteger(0));
+      blockLockReferenceCounts.get(record.getBlockId()).incrementAndGet();
+    }
+
+    // Check that the reference count for each block lock matches the lock record counts.
+    for (Entry<Long, ClientRWLock> entry : mLocks.entrySet()) {
+      long blockId = entry.getKey();
+      ClientRWLock lock = entry.getValue();
+      AtomicInteger count = blockLockReferenceCounts.get(blockId);
+      Integer recordCount = count == null ? 0 : count.get();
+      Integer referenceCount = lock.getReferenceCount();
+      if (!Objects.equal(recordCount, referenceCount)) {
+        throw new IllegalStateException("There are " + recordCount + " lock records for block"
+            + " id " + blockId + ", but the reference count is " + referenceCount);
       }
+    }
 
-      // Check that the reference count for each block lock matches the lock record counts.
-      for (Entry<Long, ClientRWLock> entry : mLocks.entrySet()) {
-        long blockId = entry.getKey();
-        ClientRWLock lock = entry.getValue();
-        Integer recordCount = blockLockReferenceCounts.get(blockId).get();
-        Integer referenceCount = lock.getReferenceCount();
-        if (!Objects.equal(recordCount, referenceCount)) {
-          throw new IllegalStateException("There are " + recordCount + " lock records for block"
-              + " id " + blockId + ", but the reference count is " + referenceCount);
+    // Check that if a lock id is mapped to by a session id, the lock record for that lock id
+    // contains that session id.
+    for (Entry<Long, SessionLockIds> entry : mSessionIdToLockIdsMap.entrySet()) {
+      for (long lockId : entry.getValue().toArray()) {
+        LockRecord record = mLockIdToRecordMap.get(lockId);
+        if (record.getSessionId() != entry.getKey()) {
+          throw new IllegalStateException("The session id map contains lock id " + lockId
+              + "under session id " + entry.getKey() + ", but the record for that lock id ("
+              + record + ")" + " doesn't contain that session id");
         }
       }
+    }
+  }
+
+  /**
+   * The ids of the locks held by a session. Sessions rarely hold more than a few locks, so the ids
+   * are kept in a primitive array. Once its last id has been removed, the set is retired: it is
+   * about to be removed from the session map, and no more ids can be added to it.
+   */
+  @ThreadSafe
+  private static final class SessionLockIds {
+    @GuardedBy("this")
+    private long[] mLockIds = new long[4];
+    @GuardedBy("this")
+    private int mSize;
+    @GuardedBy("this")
+    private boolean mRetired;
+
+    /**
+     * @param lockId the lock id to add
+     * @return true if the id was added, false if the set has been retired
+     */
+    synchronized boolean add(long lockId) {
+      if (mRetired) {
+        return false;
+      }
+      if (mSize == mLockIds.length) {
+        mLockIds = Arrays.copyOf(mLockIds, mSize * 2);
+      }
+      mLockIds[mSize++] = lockId;
+      return true;
+    }
 
-      // Check that if a lock id is mapped to by a session id, the lock record for that lock id
-      // contains that session id.
-      for (Entry<Long, Set<Long>> entry : mSessionIdToLockIdsMap.entrySet()) {
-        for (Long lockId : entry.getValue()) {
-          LockRecord record = mLockIdToRecordMap.get(lockId);
-          if (record.getSessionId() != entry.getKey()) {
-            throw new IllegalStateException("The session id map contains lock id " + lockId
-                + "under session id " + entry.getKey() + ", but the record for that lock id ("
-                + record + ")" + " doesn't contain that session id");
-          }
+    /**
+     * @param lockId the lock id to remove
+     * @return true if the set is now empty and has been retired
+     */
+    synchronized boolean remove(long lockId) {
+      for (int i = 0; i < mSize; i++) {
+        if (mLockIds[i] == lockId) {
+          mLockIds[i] = mLockIds[--mSize];
+          break;
         }
       }
+      if (mSize == 0) {
+        mRetired = true;
+      }
+      return mRetired;
+    }
+
+    /**
+     * Retires the set, whether or not it is empty.
+     *
+     * @return the ids in the set
+     */
+    synchronized long[] retire() {
+      mRetired = true;
+      return toArray();
+    }
+
+    /**
+     * @return a copy of the ids in the set
+     */
+    synchronized long[] toArray() {
+      return Arrays.copyOf(mLockIds, mSize);
     }
   }
 
@@ -381,17 +448,20 @@ public final class BlockLockManager {
   private static final class LockRecord {
     private final long mSessionId;
     private final long mBlockId;
+    private final ClientRWLock mBlockLock;
     private final Lock mLock;
 
     /** Creates a new instance of {@link LockRecord}.
      *
      * @param sessionId the session id
      * @param blockId the block id
+     * @param blockLock the block lock which the lock belongs to
      * @param lock the lock
      */
-    LockRecord(long sessionId, long blockId, Lock lock) {
+    LockRecord(long sessionId, long blockId, ClientRWLock blockLock, Lock lock) {
       mSessionId = sessionId;
       mBlockId = blockId;
+      mBlockLock = blockLock;
       mLock = lock;
     }
 
@@ -409,6 +479,13 @@ public final class BlockLockManager {
       return mBlockId;
     }
 
+    /**
+     * @return the block lock which the lock belongs to
+     */
+    ClientRWLock getBlockLock() {
+      return mBlockLock;
+    }
+
     /**
      * @return the lock
      */
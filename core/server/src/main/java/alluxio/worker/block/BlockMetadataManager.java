@@ -19,6 +19,7 @@ import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
 import alluxio.exception.WorkerOutOfSpaceException;
+import alluxio.resource.LockResource;
 import alluxio.worker.WorkerContext;
 import alluxio.worker.block.allocator.Allocator;
 import alluxio.worker.block.evictor.Evictor;
@@ -38,7 +39,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Manages the metadata of all blocks in managed space. This information is used by the
@@ -46,8 +47,14 @@ import javax.annotation.concurrent.NotThreadSafe;
  * <p>
  * All operations on block metadata such as {@link StorageTier}, {@link StorageDir} should go
  * through this class.
+ * <p>
+ * There is no lock over the metadata as a whole. Each {@link StorageDir} guards its own metadata,
+ * so updates only serialize with other updates of the same directory, and operations spanning two
+ * directories lock them in the order of {@link StorageDir#LOCK_ORDER}. Callers are expected to hold
+ * the block lock of a block while changing which directory holds it, so that a block id is never
+ * present in two directories at once.
  */
-@NotThreadSafe
+@ThreadSafe
 // TODO(bin): consider how to better expose information to Evictor and Allocator.
 public final class BlockMetadataManager {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
@@ -128,8 +135,10 @@ public final class BlockMetadataManager {
     }
     BlockMeta block = new BlockMeta(Preconditions.checkNotNull(tempBlockMeta));
     StorageDir dir = tempBlockMeta.getParentDir();
-    dir.removeTempBlockMeta(tempBlockMeta);
-    dir.addBlockMeta(block);
+    try (LockResource r = new LockResource(dir.getLock())) {
+      dir.removeTempBlockMeta(tempBlockMeta);
+      dir.addBlockMeta(block);
+    }
   }
 
   /**
@@ -367,11 +376,17 @@ public final class BlockMetadataManager {
       throws BlockDoesNotExistException, WorkerOutOfSpaceException, BlockAlreadyExistsException {
     StorageDir srcDir = blockMeta.getParentDir();
     StorageDir dstDir = tempBlockMeta.getParentDir();
-    srcDir.removeBlockMeta(blockMeta);
     BlockMeta newBlockMeta =
         new BlockMeta(blockMeta.getBlockId(), blockMeta.getBlockSize(), dstDir);
-    dstDir.removeTempBlockMeta(tempBlockMeta);
-    dstDir.addBlockMeta(newBlockMeta);
+    StorageDir[] dirs = inLockOrder(srcDir, dstDir);
+    try (LockResource r1 = new LockResource(dirs[0].getLock());
+        LockResource r2 = new LockResource(dirs[1].getLock())) {
+      // Add the block to the destination before removing it from the source, so that lookups
+      // which do not hold the directory locks always find the block in one of them.
+      dstDir.removeTempBlockMeta(tempBlockMeta);
+      dstDir.addBlockMeta(newBlockMeta);
+      srcDir.removeBlockMeta(blockMeta);
+    }
     return newBlockMeta;
   }
 
@@ -422,12 +437,30 @@ public final class BlockMetadataManager {
           + " does not have enough space for " + blockSize + " bytes");
     }
     StorageDir oldDir = blockMeta.getParentDir();
-    oldDir.removeBlockMeta(blockMeta);
     BlockMeta newBlockMeta = new BlockMeta(blockMeta.getBlockId(), blockSize, newDir);
-    newDir.addBlockMeta(newBlockMeta);
+    StorageDir[] dirs = inLockOrder(oldDir, newDir);
+    try (LockResource r1 = new LockResource(dirs[0].getLock());
+        LockResource r2 = new LockResource(dirs[1].getLock())) {
+      newDir.addBlockMeta(newBlockMeta);
+      oldDir.removeBlockMeta(blockMeta);
+    }
     return newBlockMeta;
   }
 
+  /**
+   * Returns two directories in the order in which they must be locked.
+   *
+   * @param dir1 a directory
+   * @param dir2 another directory, which may be the same as the first
+   * @return the directories, in lock order
+   */
+  private static StorageDir[] inLockOrder(StorageDir dir1, StorageDir dir2) {
+    if (StorageDir.LOCK_ORDER.compare(dir1, dir2) <= 0) {
+      return new StorageDir[] {dir1, dir2};
+    }
+    return new StorageDir[] {dir2, dir1};
+  }
+
   /**
    * Removes the metadata of a specific block.
    *
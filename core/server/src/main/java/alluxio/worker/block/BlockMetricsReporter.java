@@ -97,6 +97,9 @@ public final class BlockMetricsReporter extends AbstractBlockStoreEventListener
       mWorkerSource.incBytesWrittenLocal(metrics.get(Constants.BYTES_WRITTEN_LOCAL_INDEX));
       mWorkerSource.incBytesWrittenRemote(metrics.get(Constants.BYTES_WRITTEN_REMOTE_INDEX));
       mWorkerSource.incBytesWrittenUfs(metrics.get(Constants.BYTES_WRITTEN_UFS_INDEX));
+      mWorkerSource.incBytesReadAhead(metrics.get(Constants.BYTES_READ_AHEAD_INDEX));
+      mWorkerSource.incBytesReadAheadHit(metrics.get(Constants.BYTES_READ_AHEAD_HIT_INDEX));
+      mWorkerSource.incBytesReadAheadWasted(metrics.get(Constants.BYTES_READ_AHEAD_WASTED_INDEX));
     }
   }
 }
@@ -64,6 +64,24 @@ public final class ClientRWLock implements ReadWriteLock {
     mReferences.incrementAndGet();
   }
 
+  /**
+   * Increments the reference count, unless it has already dropped to zero. A lock whose reference
+   * count has dropped to zero is about to be discarded, and must not be referenced again.
+   *
+   * @return true if the reference count was incremented, false if it was zero
+   */
+  public boolean tryAddReference() {
+    while (true) {
+      int references = mReferences.get();
+      if (references <= 0) {
+        return false;
+      }
+      if (mReferences.compareAndSet(references, references + 1)) {
+        return true;
+      }
+    }
+  }
+
   /**
    * Decrements the reference count.
    *
@@ -33,6 +33,7 @@ import alluxio.worker.block.io.BlockWriter;
 import alluxio.worker.block.io.LocalFileBlockReader;
 import alluxio.worker.block.io.LocalFileBlockWriter;
 import alluxio.worker.block.meta.BlockMeta;
+import alluxio.worker.block.meta.StorageDir;
 import alluxio.worker.block.meta.StorageDirView;
 import alluxio.worker.block.meta.TempBlockMeta;
 
@@ -51,8 +52,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -69,12 +68,16 @@ import javax.annotation.concurrent.NotThreadSafe;
  * block lock for this block via {@link TieredBlockStore#mLockManager}. This block lock is a
  * read/write lock, guarding both the metadata operations and the following I/O on this block. It
  * coordinates different threads (clients) when accessing the same block concurrently.</li>
- * <li>Any metadata operation (read or write) must go through {@link TieredBlockStore#mMetaManager}
- * and guarded by {@link TieredBlockStore#mMetadataLock}. This is also a read/write lock and
- * coordinates different threads (clients) when accessing the shared data structure for metadata.
- * </li>
- * <li>Method {@link #createBlockMeta} does not acquire the block lock, because it only creates a
- * temp block which is only visible to its writer before committed (thus no concurrent access).</li>
+ * <li>Any metadata operation (read or write) must go through {@link TieredBlockStore#mMetaManager}.
+ * There is no store-wide metadata lock: each {@link StorageDir} guards its own metadata, so only
+ * updates of the same directory serialize, and lookups take no lock at all. A move locks its
+ * source and destination directories in a fixed order.</li>
+ * <li>Method {@link #createBlockMeta} only holds the block lock while checking that the block id
+ * is unused and adding the temp block, because the temp block is only visible to its writer
+ * before committed (thus no concurrent access).</li>
+ * <li>Allocators and evictors are not thread-safe, so their decisions are serialized on
+ * {@link TieredBlockStore#mAllocator}. These decisions are made in memory, and the I/O they lead
+ * to happens outside of this monitor.</li>
  * <li>Eviction is done in {@link #freeSpaceInternal} and it is on the basis of best effort. For
  * operations that may trigger this eviction (e.g., move, create, requestSpace), retry is used</li>
  * </ul>
@@ -96,15 +99,6 @@ public final class TieredBlockStore implements BlockStore {
   /** A set of pinned inodes fetched from the master. */
   private final Set<Long> mPinnedInodes = new HashSet<>();
 
-  /** Lock to guard metadata operations. */
-  private final ReentrantReadWriteLock mMetadataLock = new ReentrantReadWriteLock();
-
-  /** ReadLock provided by {@link #mMetadataReadLock} to guard metadata read operations. */
-  private final Lock mMetadataReadLock = mMetadataLock.readLock();
-
-  /** WriteLock provided by {@link #mMetadataReadLock} to guard metadata write operations. */
-  private final Lock mMetadataWriteLock = mMetadataLock.writeLock();
-
   /** Association between storage tier aliases and ordinals. */
   private final StorageTierAssoc mStorageTierAssoc;
 
@@ -136,11 +130,7 @@ public final class TieredBlockStore implements BlockStore {
   @Override
   public long lockBlock(long sessionId, long blockId) throws BlockDoesNotExistException {
     long lockId = mLockManager.lockBlock(sessionId, blockId, BlockLockType.READ);
-    boolean hasBlock;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      hasBlock = mMetaManager.hasBlockMeta(blockId);
-    }
-    if (hasBlock) {
+    if (mMetaManager.hasBlockMeta(blockId)) {
       return lockId;
     }
     mLockManager.unlockBlock(lockId);
@@ -164,20 +154,16 @@ public final class TieredBlockStore implements BlockStore {
     // NOTE: a temp block is supposed to only be visible by its own writer, unnecessary to acquire
     // block lock here since no sharing
     // TODO(bin): Handle the case where multiple writers compete for the same block.
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
-      return new LocalFileBlockWriter(tempBlockMeta.getPath());
-    }
+    TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
+    return new LocalFileBlockWriter(tempBlockMeta.getPath());
   }
 
   @Override
   public BlockReader getBlockReader(long sessionId, long blockId, long lockId)
       throws BlockDoesNotExistException, InvalidWorkerStateException, IOException {
     mLockManager.validateLock(sessionId, blockId, lockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      BlockMeta blockMeta = mMetaManager.getBlockMeta(blockId);
-      return new LocalFileBlockReader(blockMeta.getPath());
-    }
+    BlockMeta blockMeta = mMetaManager.getBlockMeta(blockId);
+    return new LocalFileBlockReader(blockMeta.getPath());
   }
 
   @Override
@@ -206,18 +192,14 @@ public final class TieredBlockStore implements BlockStore {
   // TODO(bin): Make this method to return a snapshot.
   @Override
   public BlockMeta getVolatileBlockMeta(long blockId) throws BlockDoesNotExistException {
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      return mMetaManager.getBlockMeta(blockId);
-    }
+    return mMetaManager.getBlockMeta(blockId);
   }
 
   @Override
   public BlockMeta getBlockMeta(long sessionId, long blockId, long lockId)
       throws BlockDoesNotExistException, InvalidWorkerStateException {
     mLockManager.validateLock(sessionId, blockId, lockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      return mMetaManager.getBlockMeta(blockId);
-    }
+    return mMetaManager.getBlockMeta(blockId);
   }
 
   @Override
@@ -309,11 +291,7 @@ public final class TieredBlockStore implements BlockStore {
 
   @Override
   public void accessBlock(long sessionId, long blockId) throws BlockDoesNotExistException {
-    boolean hasBlock;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      hasBlock = mMetaManager.hasBlockMeta(blockId);
-    }
-    if (!hasBlock) {
+    if (!mMetaManager.hasBlockMeta(blockId)) {
       throw new BlockDoesNotExistException(ExceptionMessage.NO_BLOCK_ID_FOUND, blockId);
     }
     synchronized (mBlockStoreEventListeners) {
@@ -336,10 +314,7 @@ public final class TieredBlockStore implements BlockStore {
     mLockManager.cleanupSession(sessionId);
 
     // Collect a list of temp blocks the given session owns and abort all of them with best effort
-    List<TempBlockMeta> tempBlocksToRemove;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      tempBlocksToRemove = mMetaManager.getSessionTempBlocks(sessionId);
-    }
+    List<TempBlockMeta> tempBlocksToRemove = mMetaManager.getSessionTempBlocks(sessionId);
     for (TempBlockMeta tempBlockMeta : tempBlocksToRemove) {
       try {
         abortBlockInternal(sessionId, tempBlockMeta.getBlockId());
@@ -352,27 +327,17 @@ public final class TieredBlockStore implements BlockStore {
 
   @Override
   public boolean hasBlockMeta(long blockId) {
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      return mMetaManager.hasBlockMeta(blockId);
-    }
+    return mMetaManager.hasBlockMeta(blockId);
   }
 
   @Override
   public BlockStoreMeta getBlockStoreMeta() {
-    BlockStoreMeta storeMeta;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      storeMeta = mMetaManager.getBlockStoreMeta();
-    }
-    return storeMeta;
+    return mMetaManager.getBlockStoreMeta();
   }
 
   @Override
   public BlockStoreMeta getBlockStoreMetaFull() {
-    BlockStoreMeta storeMeta;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      storeMeta = mMetaManager.getBlockStoreMetaFull();
-    }
-    return storeMeta;
+    return mMetaManager.getBlockStoreMetaFull();
   }
 
   @Override
@@ -383,8 +348,7 @@ public final class TieredBlockStore implements BlockStore {
   }
 
   /**
-   * Checks if a block id is available for a new temp block. This method must be enclosed by
-   * {@link #mMetadataLock}.
+   * Checks if a block id is available for a new temp block.
    *
    * @param blockId the id of block
    * @throws BlockAlreadyExistsException if block id already exists
@@ -399,8 +363,8 @@ public final class TieredBlockStore implements BlockStore {
   }
 
   /**
-   * Checks if block id is a temporary block and owned by session id. This method must be enclosed
-   * by {@link #mMetadataLock}.
+   * Checks if block id is a temporary block and owned by session id. This method must be called
+   * while holding the block lock of the block.
    *
    * @param sessionId the id of session
    * @param blockId the id of block
@@ -437,16 +401,14 @@ public final class TieredBlockStore implements BlockStore {
     try {
       String path;
       TempBlockMeta tempBlockMeta;
-      try (LockResource r = new LockResource(mMetadataReadLock)) {
-        checkTempBlockOwnedBySession(sessionId, blockId);
-        tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
-        path = tempBlockMeta.getPath();
-      }
+      checkTempBlockOwnedBySession(sessionId, blockId);
+      tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
+      path = tempBlockMeta.getPath();
 
       // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
       Files.delete(Paths.get(path));
 
-      try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      try {
         mMetaManager.abortTempBlockMeta(tempBlockMeta);
       } catch (BlockDoesNotExistException e) {
         throw Throwables.propagate(e); // We shall never reach here
@@ -479,18 +441,16 @@ public final class TieredBlockStore implements BlockStore {
       String srcPath;
       String dstPath;
       TempBlockMeta tempBlockMeta;
-      try (LockResource r = new LockResource(mMetadataReadLock)) {
-        checkTempBlockOwnedBySession(sessionId, blockId);
-        tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
-        srcPath = tempBlockMeta.getPath();
-        dstPath = tempBlockMeta.getCommitPath();
-        loc = tempBlockMeta.getBlockLocation();
-      }
+      checkTempBlockOwnedBySession(sessionId, blockId);
+      tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
+      srcPath = tempBlockMeta.getPath();
+      dstPath = tempBlockMeta.getCommitPath();
+      loc = tempBlockMeta.getBlockLocation();
 
       // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
       FileUtils.move(srcPath, dstPath);
 
-      try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      try {
         mMetaManager.commitTempBlockMeta(tempBlockMeta);
       } catch (BlockAlreadyExistsException | BlockDoesNotExistException
           | WorkerOutOfSpaceException e) {
@@ -518,12 +478,38 @@ public final class TieredBlockStore implements BlockStore {
   private TempBlockMeta createBlockMetaInternal(long sessionId, long blockId,
       BlockStoreLocation location, long initialBlockSize, boolean newBlock)
           throws BlockAlreadyExistsException {
-    // NOTE: a temp block is supposed to be visible for its own writer, unnecessary to acquire
-    // block lock here since no sharing
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
-      if (newBlock) {
-        checkTempBlockIdAvailable(blockId);
+    if (!newBlock) {
+      return allocateTempBlock(sessionId, blockId, location, initialBlockSize);
+    }
+    checkTempBlockIdAvailable(blockId);
+    // Two sessions may still race to create the same block in different directories, so the check
+    // is repeated under the block lock, which makes it atomic with adding the temp block.
+    long lockId = mLockManager.lockBlock(sessionId, blockId, BlockLockType.WRITE);
+    try {
+      checkTempBlockIdAvailable(blockId);
+      return allocateTempBlock(sessionId, blockId, location, initialBlockSize);
+    } finally {
+      try {
+        mLockManager.unlockBlock(lockId);
+      } catch (BlockDoesNotExistException e) {
+        throw Throwables.propagate(e); // we shall never reach here
       }
+    }
+  }
+
+  /**
+   * Allocates space for a temp block and adds it to the metadata. This method will not trigger any
+   * eviction.
+   *
+   * @param sessionId session Id
+   * @param blockId block Id
+   * @param location location to create the block
+   * @param initialBlockSize initial block size in bytes
+   * @return a temp block created if successful, or null if allocation failed
+   */
+  private TempBlockMeta allocateTempBlock(long sessionId, long blockId,
+      BlockStoreLocation location, long initialBlockSize) {
+    synchronized (mAllocator) {
       StorageDirView dirView =
           mAllocator.allocateBlockWithView(sessionId, initialBlockSize, location, getUpdatedView());
       if (dirView == null) {
@@ -534,14 +520,13 @@ public final class TieredBlockStore implements BlockStore {
       // StorageDirView.createTempBlockMeta.
       TempBlockMeta tempBlock = dirView.createTempBlockMeta(sessionId, blockId, initialBlockSize);
       try {
-        // Add allocated temp block to metadata manager. This should never fail if allocator
-        // correctly assigns a StorageDir.
+        // Add allocated temp block to metadata manager. The space seen by the allocator may have
+        // been taken by a concurrent request for space in the same StorageDir since.
         mMetaManager.addTempBlockMeta(tempBlock);
       } catch (WorkerOutOfSpaceException e) {
-        // If we reach here, allocator is not working properly
-        LOG.error("Unexpected failure: {} bytes allocated at {} by allocator, "
-            + "but addTempBlockMeta failed", initialBlockSize, location);
-        throw Throwables.propagate(e);
+        LOG.debug("{} bytes allocated at {} by allocator were taken before addTempBlockMeta",
+            initialBlockSize, dirView.toBlockStoreLocation());
+        return null;
       } catch (BlockAlreadyExistsException e) {
         // If we reach here, allocator is not working properly
         LOG.error("Unexpected failure: {} bytes allocated at {} by allocator, "
@@ -566,9 +551,12 @@ public final class TieredBlockStore implements BlockStore {
       throws BlockDoesNotExistException {
     // NOTE: a temp block is supposed to be visible for its own writer, unnecessary to acquire
     // block lock here since no sharing
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
-      TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
-      if (tempBlockMeta.getParentDir().getAvailableBytes() < additionalBytes) {
+    TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
+    StorageDir dir = tempBlockMeta.getParentDir();
+    // Hold the lock of the dir so that no other update takes the space between checking and
+    // reserving it.
+    try (LockResource r = new LockResource(dir.getLock())) {
+      if (dir.getAvailableBytes() < additionalBytes) {
         return new Pair<>(false, tempBlockMeta.getBlockLocation());
       }
       // Increase the size of this temp block
@@ -595,12 +583,13 @@ public final class TieredBlockStore implements BlockStore {
   private void freeSpaceInternal(long sessionId, long availableBytes, BlockStoreLocation location)
       throws WorkerOutOfSpaceException, IOException {
     EvictionPlan plan;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    // Evictors consult the allocator to plan moves, so planning is serialized with allocation.
+    synchronized (mAllocator) {
       plan = mEvictor.freeSpaceWithView(availableBytes, location, getUpdatedView());
-      // Absent plan means failed to evict enough space.
-      if (plan == null) {
-        throw new WorkerOutOfSpaceException(ExceptionMessage.NO_EVICTION_PLAN_TO_FREE_SPACE);
-      }
+    }
+    // Absent plan means failed to evict enough space.
+    if (plan == null) {
+      throw new WorkerOutOfSpaceException(ExceptionMessage.NO_EVICTION_PLAN_TO_FREE_SPACE);
     }
 
     // 1. remove blocks to make room.
@@ -708,15 +697,13 @@ public final class TieredBlockStore implements BlockStore {
       BlockStoreLocation srcLocation;
       BlockStoreLocation dstLocation;
 
-      try (LockResource r = new LockResource(mMetadataReadLock)) {
-        if (mMetaManager.hasTempBlockMeta(blockId)) {
-          throw new InvalidWorkerStateException(ExceptionMessage.MOVE_UNCOMMITTED_BLOCK, blockId);
-        }
-        srcBlockMeta = mMetaManager.getBlockMeta(blockId);
-        srcLocation = srcBlockMeta.getBlockLocation();
-        srcFilePath = srcBlockMeta.getPath();
-        blockSize = srcBlockMeta.getBlockSize();
+      if (mMetaManager.hasTempBlockMeta(blockId)) {
+        throw new InvalidWorkerStateException(ExceptionMessage.MOVE_UNCOMMITTED_BLOCK, blockId);
       }
+      srcBlockMeta = mMetaManager.getBlockMeta(blockId);
+      srcLocation = srcBlockMeta.getBlockLocation();
+      srcFilePath = srcBlockMeta.getPath();
+      blockSize = srcBlockMeta.getBlockSize();
 
       if (!srcLocation.belongsTo(oldLocation)) {
         throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_NOT_FOUND_AT_LOCATION, blockId,
@@ -744,7 +731,7 @@ public final class TieredBlockStore implements BlockStore {
       // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
       FileUtils.move(srcFilePath, dstFilePath);
 
-      try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      try {
         // If this metadata update fails, we panic for now.
         // TODO(bin): Implement rollback scheme to recover from IO failures.
         mMetaManager.moveBlockMeta(srcBlockMeta, dstTempBlock);
@@ -780,13 +767,11 @@ public final class TieredBlockStore implements BlockStore {
     try {
       String filePath;
       BlockMeta blockMeta;
-      try (LockResource r = new LockResource(mMetadataReadLock)) {
-        if (mMetaManager.hasTempBlockMeta(blockId)) {
-          throw new InvalidWorkerStateException(ExceptionMessage.REMOVE_UNCOMMITTED_BLOCK, blockId);
-        }
-        blockMeta = mMetaManager.getBlockMeta(blockId);
-        filePath = blockMeta.getPath();
+      if (mMetaManager.hasTempBlockMeta(blockId)) {
+        throw new InvalidWorkerStateException(ExceptionMessage.REMOVE_UNCOMMITTED_BLOCK, blockId);
       }
+      blockMeta = mMetaManager.getBlockMeta(blockId);
+      filePath = blockMeta.getPath();
 
       if (!blockMeta.getBlockLocation().belongsTo(location)) {
         throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_NOT_FOUND_AT_LOCATION, blockId,
@@ -795,7 +780,7 @@ public final class TieredBlockStore implements BlockStore {
       // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
       Files.delete(Paths.get(filePath));
 
-      try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      try {
         mMetaManager.removeBlockMeta(blockMeta);
       } catch (BlockDoesNotExistException e) {
         throw Throwables.propagate(e); // we shall never reach here
@@ -0,0 +1,368 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.evictor;
+
+import alluxio.worker.block.BlockMetadataManagerView;
+import alluxio.worker.block.BlockStoreLocation;
+import alluxio.worker.block.allocator.Allocator;
+import alluxio.worker.block.meta.BlockMeta;
+import alluxio.worker.block.meta.StorageDirView;
+import alluxio.worker.block.meta.StorageTierView;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Implementation of an evictor which follows the least recently used algorithm like
+ * {@link LRUEvictor}, but records block accesses without blocking.
+ * <p>
+ * Blocks are kept in a doubly linked list in LRU order, guarded by an eviction lock. Accesses are
+ * not applied to the list as they happen. Instead they are appended to one of several ring
+ * buffers, chosen by thread, and replayed on the list in batches by the thread which finds its
+ * buffer full and manages to take the eviction lock. When the buffer is full and the lock is busy,
+ * the access is dropped, which only makes the LRU order slightly less precise. Commits and removals
+ * must not be lost, so they are queued separately and applied before the accesses.
+ * <p>
+ * An eviction plan walks the list from its least recently used end and stops as soon as enough
+ * bytes have been found, so its cost is proportional to the bytes to free rather than to the
+ * number of cached blocks.
+ */
+@ThreadSafe
+public class ConcurrentLRUEvictor extends AbstractEvictor {
+  /** The number of accesses a buffer holds before it is drained, a power of two. */
+  private static final int ACCESS_BUFFER_SIZE = 32;
+  /** The maximum number of access buffers, a power of two. */
+  private static final int MAX_ACCESS_BUFFERS = 64;
+
+  /** A map from block id to the node of the block in the LRU list. */
+  private final ConcurrentHashMap<Long, Node> mNodes = new ConcurrentHashMap<>();
+  /** Accesses not yet applied to the LRU list. */
+  private final AccessBuffer[] mAccessBuffers;
+  /** Nodes of committed or removed blocks which are not yet linked into or out of the list. */
+  private final ConcurrentLinkedQueue<Node> mWriteQueue = new ConcurrentLinkedQueue<>();
+  /** Lock to guard the LRU list. */
+  private final ReentrantLock mEvictionLock = new ReentrantLock();
+  /**
+   * Sentinel of the circular LRU list. The node after it is the least recently used block, and the
+   * node before it is the most recently used block.
+   */
+  @GuardedBy("mEvictionLock")
+  private final Node mHead = new Node(-1);
+
+  /**
+   * Creates a new instance of {@link ConcurrentLRUEvictor}.
+   *
+   * @param view a view of block metadata information
+   * @param allocator an allocation policy
+   */
+  public ConcurrentLRUEvictor(BlockMetadataManagerView view, Allocator allocator) {
+    super(view, allocator);
+    int numBuffers = 1;
+    while (numBuffers < Runtime.getRuntime().availableProcessors()
+        && numBuffers < MAX_ACCESS_BUFFERS) {
+      numBuffers <<= 1;
+    }
+    mAccessBuffers = new AccessBuffer[numBuffers];
+    for (int i = 0; i < numBuffers; i++) {
+      mAccessBuffers[i] = new AccessBuffer();
+    }
+    mHead.mPrev = mHead;
+    mHead.mNext = mHead;
+
+    // preload existing blocks loaded by StorageDir to Evictor
+    mEvictionLock.lock();
+    try {
+      for (StorageTierView tierView : mManagerView.getTierViews()) {
+        for (StorageDirView dirView : tierView.getDirViews()) {
+          for (BlockMeta blockMeta : dirView.getEvictableBlocks()) {
+            Node node = new Node(blockMeta.getBlockId());
+            if (mNodes.putIfAbsent(node.mBlockId, node) == null) {
+              linkLast(node);
+            }
+          }
+        }
+      }
+    } finally {
+      mEvictionLock.unlock();
+    }
+  }
+
+  @Override
+  public EvictionPlan freeSpaceWithView(long bytesToBeAvailable, BlockStoreLocation location,
+      BlockMetadataManagerView view) {
+    // The list must not change while it is iterated to build the plan.
+    mEvictionLock.lock();
+    try {
+      drainBuffers();
+      return super.freeSpaceWithView(bytesToBeAvailable, location, view);
+    } finally {
+      mEvictionLock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * The iterator visits the blocks from the least recently used one, and must only be used while
+   * holding the eviction lock.
+   */
+  @Override
+  protected Iterator<Long> getBlockIterator() {
+    Preconditions.checkState(mEvictionLock.isHeldByCurrentThread());
+    return new LRUIterator();
+  }
+
+  @Override
+  public void onAccessBlock(long sessionId, long blockId) {
+    Node node = mNodes.get(blockId);
+    if (node != null) {
+      recordAccess(node);
+    }
+  }
+
+  @Override
+  public void onCommitBlock(long sessionId, long blockId, BlockStoreLocation location) {
+    // Since the temp block has been committed, update Evictor about the new added blocks
+    Node node = new Node(blockId);
+    Node existing = mNodes.putIfAbsent(blockId, node);
+    if (existing != null) {
+      recordAccess(existing);
+      return;
+    }
+    mWriteQueue.add(node);
+    tryDrainBuffers();
+  }
+
+  @Override
+  public void onRemoveBlockByClient(long sessionId, long blockId) {
+    removeBlock(blockId);
+  }
+
+  @Override
+  public void onRemoveBlockByWorker(long sessionId, long blockId) {
+    removeBlock(blockId);
+  }
+
+  /**
+   * Removes a block from the evictor. Its node is unlinked from the list on the next drain.
+   *
+   * @param blockId the id of the block to remove
+   */
+  private void removeBlock(long blockId) {
+    Node node = mNodes.remove(blockId);
+    if (node != null) {
+      node.mAlive = false;
+      mWriteQueue.add(node);
+      tryDrainBuffers();
+    }
+  }
+
+  /**
+   * Records an access to a block in the buffer of the current thread, draining the buffers if it is
+   * full. This never blocks.
+   *
+   * @param node the node of the accessed block
+   */
+  private void recordAccess(Node node) {
+    int index = (int) Thread.currentThread().getId() & (mAccessBuffers.length - 1);
+    if (!mAccessBuffers[index].offer(node)) {
+      tryDrainBuffers();
+    }
+  }
+
+  /**
+   * Drains the buffers if the eviction lock is free, or leaves them to the thread holding it.
+   */
+  private void tryDrainBuffers() {
+    if (mEvictionLock.tryLock()) {
+      try {
+        drainBuffers();
+      } finally {
+        mEvictionLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Applies the pending commits and removals, and then the buffered accesses, to the LRU list.
+   */
+  @GuardedBy("mEvictionLock")
+  private void drainBuffers() {
+    Node node;
+    while ((node = mWriteQueue.poll()) != null) {
+      // The state of the node rather than the order of the events decides, since a node may be
+      // removed before its commit is applied.
+      if (node.mAlive && !node.isLinked()) {
+        linkLast(node);
+      } else if (!node.mAlive && node.isLinked()) {
+        unlink(node);
+      }
+    }
+    for (AccessBuffer buffer : mAccessBuffers) {
+      while ((node = buffer.poll()) != null) {
+        if (node.mAlive && node.isLinked()) {
+          unlink(node);
+          linkLast(node);
+        }
+      }
+    }
+  }
+
+  @GuardedBy("mEvictionLock")
+  private void linkLast(Node node) {
+    node.mPrev = mHead.mPrev;
+    node.mNext = mHead;
+    mHead.mPrev.mNext = node;
+    mHead.mPrev = node;
+  }
+
+  /**
+   * Unlinks a node from the list. The node keeps its next pointer, so that iterators positioned
+   * on it can still move on.
+   *
+   * @param node the node to unlink
+   */
+  @GuardedBy("mEvictionLock")
+  private void unlink(Node node) {
+    node.mPrev.mNext = node.mNext;
+    node.mNext.mPrev = node.mPrev;
+    node.mPrev = null;
+  }
+
+  /**
+   * The node of a block in the LRU list.
+   */
+  private static final class Node {
+    private final long mBlockId;
+    /** False once the block has been removed from the evictor. */
+    private volatile boolean mAlive = true;
+    @GuardedBy("mEvictionLock")
+    private Node mPrev;
+    @GuardedBy("mEvictionLock")
+    private Node mNext;
+
+    /**
+     * @param blockId the id of the block
+     */
+    Node(long blockId) {
+      mBlockId = blockId;
+    }
+
+    /**
+     * @return whether the node is linked into the list
+     */
+    boolean isLinked() {
+      return mPrev != null;
+    }
+  }
+
+  /**
+   * A bounded ring buffer of accesses, which many threads may add to but only the thread holding
+   * the eviction lock consumes. Adding fails instead of waiting when the buffer is full, and an
+   * access is dropped when threads race to add to the same slot.
+   */
+  private static final class AccessBuffer {
+    private final AtomicReferenceArray<Node> mSlots =
+        new AtomicReferenceArray<>(ACCESS_BUFFER_SIZE);
+    /** The number of slots ever claimed by producers. */
+    private final AtomicLong mWriteCount = new AtomicLong();
+    /** The number of slots ever consumed, only advanced by the consumer. */
+    private volatile long mReadCount;
+
+    /**
+     * @param node the node of the accessed block
+     * @return false if the buffer is full, true otherwise
+     */
+    boolean offer(Node node) {
+      long writeCount = mWriteCount.get();
+      if (writeCount - mReadCount >= ACCESS_BUFFER_SIZE) {
+        return false;
+      }
+      if (mWriteCount.compareAndSet(writeCount, writeCount + 1)) {
+        mSlots.lazySet(index(writeCount), node);
+      }
+      return true;
+    }
+
+    /**
+     * @return the next buffered access, or null if there is none
+     */
+    Node poll() {
+      long readCount = mReadCount;
+      if (readCount == mWriteCount.get()) {
+        return null;
+      }
+      int index = index(readCount);
+      Node node = mSlots.get(index);
+      if (node == null) {
+        // The slot has been claimed, but the producer has not written to it yet.
+        return null;
+      }
+      mSlots.lazySet(index, null);
+      mReadCount = readCount + 1;
+      return node;
+    }
+
+    private static int index(long count) {
+      return (int) (count & (ACCESS_BUFFER_SIZE - 1));
+    }
+  }
+
+  /**
+   * An iterator over the block ids in LRU order, which skips blocks removed since the last drain.
+   */
+  private final class LRUIterator implements Iterator<Long> {
+    private Node mNext = mHead.mNext;
+    private Node mLast;
+
+    @Override
+    public boolean hasNext() {
+      // Blocks may be removed by other threads, or by a nested iterator of a cascading eviction.
+      // A block removed after this returns is still returned by next(), since it must not fail.
+      while (mNext != mHead && !mNext.mAlive) {
+        mNext = mNext.mNext;
+      }
+      return mNext != mHead;
+    }
+
+    @Override
+    public Long next() {
+      if (mNext == mHead) {
+        throw new NoSuchElementException();
+      }
+      mLast = mNext;
+      mNext = mNext.mNext;
+      return mLast.mBlockId;
+    }
+
+    @Override
+    public void remove() {
+      Preconditions.checkState(mLast != null);
+      mNodes.remove(mLast.mBlockId, mLast);
+      mLast.mAlive = false;
+      if (mLast.isLinked()) {
+        unlink(mLast);
+      }
+      mLast = null;
+    }
+  }
+}
@@ -13,7 +13,6 @@ package alluxio.worker.block.evictor;
 
 import alluxio.Configuration;
 import alluxio.Constants;
-import alluxio.collections.Pair;
 import alluxio.worker.WorkerContext;
 import alluxio.worker.block.BlockMetadataManagerView;
 import alluxio.worker.block.BlockStoreLocation;
@@ -22,20 +21,18 @@ import alluxio.worker.block.meta.BlockMeta;
 import alluxio.worker.block.meta.StorageDirView;
 import alluxio.worker.block.meta.StorageTierView;
 
-import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Iterators;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -48,21 +45,45 @@ import javax.annotation.concurrent.NotThreadSafe;
  * combines LRU and LFU, it evicts blocks with small frequency or large recency. When
  * {@link #mStepFactor} is close to 0, LRFU is close to LFU. Conversely, LRFU is close to LRU
  * when {@link #mStepFactor} is close to 1.
+ * <p>
+ * Time decays the CRF of all blocks by the same factor, so it never changes their order. Each
+ * block is therefore ranked by its CRF scaled to a fixed reference time instead of the current
+ * time, which only changes when the block itself is accessed. The scaled CRF grows exponentially
+ * with time, so its logarithm is kept instead, see {@link #updateOnAccessAndCommit(long)}. Blocks
+ * are kept in a binary min-heap of these ranks, so an access costs O(log n), and an eviction
+ * plan visits the blocks in order without sorting all of them.
  */
 @NotThreadSafe
 public final class LRFUEvictor extends AbstractEvictor {
-  // Map from block id to the last updated logic time count
-  private final Map<Long, Long> mBlockIdToLastUpdateTime = new ConcurrentHashMap<>();
-  // Map from block id to the CRF value of the block
-  private final Map<Long, Double> mBlockIdToCRFValue = new ConcurrentHashMap<>();
+  /** Orders blocks by ascending CRF, and by block id between blocks with the same CRF. */
+  private static final Comparator<BlockCRF> CRF_ORDER = new Comparator<BlockCRF>() {
+    @Override
+    public int compare(BlockCRF o1, BlockCRF o2) {
+      int res = Double.compare(o1.mLogCRF, o2.mLogCRF);
+      return res != 0 ? res : Long.compare(o1.mBlockId, o2.mBlockId);
+    }
+  };
+
+  // Map from block id to the CRF of the block
+  @GuardedBy("mHeap")
+  private final Map<Long, BlockCRF> mBlockIdToCRF = new HashMap<>();
+  // Min-heap of the CRF of all blocks, each entry knows its own index
+  @GuardedBy("mHeap")
+  private final List<BlockCRF> mHeap = new ArrayList<>();
+  // Blocks removed by the iterators of the plan being made
+  @GuardedBy("mHeap")
+  private final List<BlockCRF> mRemovedByIterators = new ArrayList<>();
   // In the range of [0, 1]. Closer to 0, LRFU closer to LFU. Closer to 1, LRFU closer to LRU
   private final double mStepFactor;
   // In the range of [2, INF]
   private final double mAttenuationFactor;
+  // Logarithm of the factor by which a CRF grows when scaled one logic time unit back
+  private final double mLogDecayPerTime;
   private final Configuration mConfiguration;
 
   //logic time count
-  private AtomicLong mLogicTimeCount = new AtomicLong(0L);
+  @GuardedBy("mHeap")
+  private long mLogicTimeCount = 0L;
 
   /**
    * Creates a new instance of {@link LRFUEvictor}.
@@ -81,75 +102,51 @@ public final class LRFUEvictor extends AbstractEvictor {
         "Step factor should be in the range of [0.0, 1.0]");
     Preconditions.checkArgument(mAttenuationFactor >= 2.0,
         "Attenuation factor should be no less than 2.0");
+    mLogDecayPerTime = mStepFactor * Math.log(mAttenuationFactor);
 
     // Preloading blocks
-    for (StorageTierView tier : mManagerView.getTierViews()) {
-      for (StorageDirView dir : tier.getDirViews()) {
-        for (BlockMeta block : dir.getEvictableBlocks()) {
-          mBlockIdToLastUpdateTime.put(block.getBlockId(), 0L);
-          mBlockIdToCRFValue.put(block.getBlockId(), 0.0);
+    synchronized (mHeap) {
+      for (StorageTierView tier : mManagerView.getTierViews()) {
+        for (StorageDirView dir : tier.getDirViews()) {
+          for (BlockMeta block : dir.getEvictableBlocks()) {
+            if (!mBlockIdToCRF.containsKey(block.getBlockId())) {
+              // A CRF of 0.0
+              add(new BlockCRF(block.getBlockId(), Double.NEGATIVE_INFINITY));
+            }
+          }
         }
       }
     }
   }
 
-  /**
-   * Calculates weight of an access, which is the function value of
-   * F(t) = pow (1.0 / {@link #mAttenuationFactor}, t * {@link #mStepFactor}).
-   *
-   * @param logicTimeInterval time interval since that access to current
-   * @return Function value of F(t)
-   */
-  private double calculateAccessWeight(long logicTimeInterval) {
-    return Math.pow(1.0 / mAttenuationFactor, logicTimeInterval * mStepFactor);
-  }
-
   @Override
   public EvictionPlan freeSpaceWithView(long bytesToBeAvailable, BlockStoreLocation location,
       BlockMetadataManagerView view) {
-    synchronized (mBlockIdToLastUpdateTime) {
-      updateCRFValue();
-      mManagerView = view;
-
-      List<BlockTransferInfo> toMove = new ArrayList<>();
-      List<Pair<Long, BlockStoreLocation>> toEvict = new ArrayList<>();
-      EvictionPlan plan = new EvictionPlan(toMove, toEvict);
-      StorageDirView candidateDir = cascadingEvict(bytesToBeAvailable, location, plan);
-
-      mManagerView.clearBlockMarks();
-      if (candidateDir == null) {
-        return null;
+    synchronized (mHeap) {
+      try {
+        return super.freeSpaceWithView(bytesToBeAvailable, location, view);
+      } finally {
+        for (BlockCRF crf : mRemovedByIterators) {
+          // a block may be removed by several iterators of a cascading eviction
+          if (crf.mIndex >= 0) {
+            remove(crf);
+          }
+        }
+        mRemovedByIterators.clear();
       }
-
-      return plan;
     }
   }
 
-  @Override
-  protected Iterator<Long> getBlockIterator() {
-    return Iterators.transform(getSortedCRF().iterator(),
-        new Function<Map.Entry<Long, Double>, Long>() {
-          @Override
-          public Long apply(Entry<Long, Double> input) {
-            return input.getKey();
-          }
-        });
-  }
-
   /**
-   * Sorts all blocks in ascending order of CRF.
+   * {@inheritDoc}
    *
-   * @return the sorted CRF of all blocks
+   * The iterator visits the blocks in ascending order of CRF, and must only be used while holding
+   * the lock on {@link #mHeap}.
    */
-  private List<Map.Entry<Long, Double>> getSortedCRF() {
-    List<Map.Entry<Long, Double>> sortedCRF = new ArrayList<>(mBlockIdToCRFValue.entrySet());
-    Collections.sort(sortedCRF, new Comparator<Map.Entry<Long, Double>>() {
-      @Override
-      public int compare(Entry<Long, Double> o1, Entry<Long, Double> o2) {
-        return Double.compare(o1.getValue(), o2.getValue());
-      }
-    });
-    return sortedCRF;
+  @Override
+  protected Iterator<Long> getBlockIterator() {
+    Preconditions.checkState(Thread.holdsLock(mHeap));
+    return new CRFIterator();
   }
 
   @Override
@@ -172,69 +169,191 @@ public final class LRFUEvictor extends AbstractEvictor {
     updateOnRemoveBlock(blockId);
   }
 
-  @Override
-  protected void onRemoveBlockFromIterator(long blockId) {
-    mBlockIdToLastUpdateTime.remove(blockId);
-    mBlockIdToCRFValue.remove(blockId);
-  }
-
-  /**
-   * This function is used to update CRF of all the blocks according to current logic time. When
-   * some block is accessed in some time, only CRF of that block itself will be updated to current
-   * time, other blocks who are not accessed recently will only be updated until
-   * {@link #freeSpaceWithView(long, BlockStoreLocation, BlockMetadataManagerView)} is called
-   * because blocks need to be sorted in the increasing order of CRF. When this function is called,
-   * {@link #mBlockIdToLastUpdateTime} and {@link #mBlockIdToCRFValue} need to be locked in case
-   * of the changing of values.
-   */
-  private void updateCRFValue() {
-    long currentLogicTime = mLogicTimeCount.get();
-    for (Entry<Long, Double> entry : mBlockIdToCRFValue.entrySet()) {
-      long blockId = entry.getKey();
-      double crfValue = entry.getValue();
-      mBlockIdToCRFValue.put(blockId, crfValue
-          * calculateAccessWeight(currentLogicTime - mBlockIdToLastUpdateTime.get(blockId)));
-      mBlockIdToLastUpdateTime.put(blockId, currentLogicTime);
-    }
-  }
-
   /**
-   * Updates {@link #mBlockIdToLastUpdateTime} and {@link #mBlockIdToCRFValue} when block is
-   * accessed or committed. Only CRF of the accessed or committed block will be updated, CRF
-   * of other blocks will be lazily updated (only when {@link #updateCRFValue()} is called).
-   * If the block is updated at the first time, CRF of the block will be set to 1.0, otherwise
-   * the CRF of the block will be set to {1.0 + old CRF * F(current time - last update time)}.
+   * Updates the CRF of a block when it is accessed or committed. If the block is updated at the
+   * first time, CRF of the block will be set to 1.0, otherwise the CRF of the block will be set to
+   * {1.0 + old CRF * F(current time - last update time)}.
+   * <p>
+   * Instead of the CRF at the time of its last update, the heap keeps the logarithm of the CRF
+   * scaled to logic time 0, which is log(CRF) + last update time * {@link #mLogDecayPerTime}. The
+   * ranks of blocks which are not accessed then stay valid forever, and the update of the accessed
+   * block becomes log(exp(old rank) + exp(current time * {@link #mLogDecayPerTime})).
    *
    * @param blockId id of the block to be accessed or committed
    */
   private void updateOnAccessAndCommit(long blockId) {
-    synchronized (mBlockIdToLastUpdateTime) {
-      long currentLogicTime = mLogicTimeCount.incrementAndGet();
+    synchronized (mHeap) {
+      long currentLogicTime = ++mLogicTimeCount;
       // update CRF value
       // CRF(currentLogicTime)=CRF(lastUpdateTime)*F(currentLogicTime-lastUpdateTime)+F(0)
-      if (mBlockIdToCRFValue.containsKey(blockId)) {
-        mBlockIdToCRFValue.put(blockId, mBlockIdToCRFValue.get(blockId)
-            * calculateAccessWeight(currentLogicTime - mBlockIdToLastUpdateTime.get(blockId))
-            + 1.0);
+      double logAccessWeight = currentLogicTime * mLogDecayPerTime;
+      BlockCRF crf = mBlockIdToCRF.get(blockId);
+      if (crf == null) {
+        add(new BlockCRF(blockId, logAccessWeight));
       } else {
-        mBlockIdToCRFValue.put(blockId, 1.0);
+        crf.mLogCRF = logSumExp(crf.mLogCRF, logAccessWeight);
+        // the CRF only increases
+        siftDown(crf.mIndex);
       }
-      // update currentLogicTime to lastUpdateTime
-      mBlockIdToLastUpdateTime.put(blockId, currentLogicTime);
     }
   }
 
   /**
-   * Updates {@link #mBlockIdToLastUpdateTime} and {@link #mBlockIdToCRFValue} when block is
-   * removed.
+   * Removes the CRF of a block when the block is removed.
    *
    * @param blockId id of the block to be removed
    */
   private void updateOnRemoveBlock(long blockId) {
-    synchronized (mBlockIdToLastUpdateTime) {
-      mLogicTimeCount.incrementAndGet();
-      mBlockIdToCRFValue.remove(blockId);
-      mBlockIdToLastUpdateTime.remove(blockId);
+    synchronized (mHeap) {
+      mLogicTimeCount++;
+      BlockCRF crf = mBlockIdToCRF.get(blockId);
+      if (crf != null) {
+        remove(crf);
+      }
+    }
+  }
+
+  /**
+   * @param a the logarithm of a value
+   * @param b the logarithm of another value
+   * @return the logarithm of the sum of both values
+   */
+  private static double logSumExp(double a, double b) {
+    double max = Math.max(a, b);
+    if (max == Double.NEGATIVE_INFINITY) {
+      return max;
+    }
+    return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+  }
+
+  @GuardedBy("mHeap")
+  private void add(BlockCRF crf) {
+    mBlockIdToCRF.put(crf.mBlockId, crf);
+    crf.mIndex = mHeap.size();
+    mHeap.add(crf);
+    siftUp(crf.mIndex);
+  }
+
+  @GuardedBy("mHeap")
+  private void remove(BlockCRF crf) {
+    mBlockIdToCRF.remove(crf.mBlockId);
+    int index = crf.mIndex;
+    BlockCRF last = mHeap.remove(mHeap.size() - 1);
+    crf.mIndex = -1;
+    if (last != crf) {
+      set(index, last);
+      siftDown(index);
+      siftUp(last.mIndex);
+    }
+  }
+
+  @GuardedBy("mHeap")
+  private void siftUp(int index) {
+    BlockCRF crf = mHeap.get(index);
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (CRF_ORDER.compare(crf, mHeap.get(parent)) >= 0) {
+        break;
+      }
+      set(index, mHeap.get(parent));
+      index = parent;
+    }
+    set(index, crf);
+  }
+
+  @GuardedBy("mHeap")
+  private void siftDown(int index) {
+    BlockCRF crf = mHeap.get(index);
+    int size = mHeap.size();
+    while (true) {
+      int child = 2 * index + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && CRF_ORDER.compare(mHeap.get(child + 1), mHeap.get(child)) < 0) {
+        child++;
+      }
+      if (CRF_ORDER.compare(crf, mHeap.get(child)) <= 0) {
+        break;
+      }
+      set(index, mHeap.get(child));
+      index = child;
+    }
+    set(index, crf);
+  }
+
+  @GuardedBy("mHeap")
+  private void set(int index, BlockCRF crf) {
+    mHeap.set(index, crf);
+    crf.mIndex = index;
+  }
+
+  /**
+   * The CRF of a block and its position in the heap.
+   */
+  private static final class BlockCRF {
+    private final long mBlockId;
+    /** The logarithm of the CRF of the block scaled to logic time 0. */
+    private double mLogCRF;
+    /** The index of the block in the heap, or -1 if it has been removed. */
+    private int mIndex;
+
+    /**
+     * @param blockId the id of the block
+     * @param logCRF the logarithm of the CRF of the block scaled to logic time 0
+     */
+    BlockCRF(long blockId, double logCRF) {
+      mBlockId = blockId;
+      mLogCRF = logCRF;
+    }
+  }
+
+  /**
+   * An iterator over the block ids in ascending order of CRF. It walks the heap best-first, keeping
+   * the children of the visited blocks as a frontier, so visiting k blocks costs O(k log k)
+   * regardless of the number of blocks. Several iterators may be used at once by a cascading
+   * eviction, so the heap must not change while they are in use.
+   */
+  private final class CRFIterator implements Iterator<Long> {
+    /** Blocks whose parents in the heap have been visited, but which have not been visited. */
+    private final PriorityQueue<BlockCRF> mFrontier = new PriorityQueue<>(16, CRF_ORDER);
+    private BlockCRF mLast;
+
+    CRFIterator() {
+      if (!mHeap.isEmpty()) {
+        mFrontier.add(mHeap.get(0));
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !mFrontier.isEmpty();
+    }
+
+    @Override
+    public Long next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      mLast = mFrontier.poll();
+      int child = 2 * mLast.mIndex + 1;
+      for (int i = child; i < child + 2 && i < mHeap.size(); i++) {
+        mFrontier.add(mHeap.get(i));
+      }
+      return mLast.mBlockId;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Removing the block from the heap would move other blocks under the frontiers of all
+     * iterators of the plan, so it is only removed once the plan is done.
+     */
+    @Override
+    public void remove() {
+      Preconditions.checkState(mLast != null);
+      mRemovedByIterators.add(mLast);
+      mLast = null;
     }
   }
 }
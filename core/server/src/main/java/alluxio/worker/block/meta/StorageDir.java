@@ -17,6 +17,7 @@ import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
 import alluxio.exception.WorkerOutOfSpaceException;
+import alluxio.resource.LockResource;
 import alluxio.util.io.FileUtils;
 import alluxio.worker.block.BlockStoreLocation;
 
@@ -29,33 +30,61 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Represents a directory in a storage tier. It has a fixed capacity allocated to it on
  * instantiation. It contains the set of blocks currently in the storage directory.
+ * <p>
+ * Every update of the metadata of a directory holds the lock of that directory, so updates of
+ * different directories do not contend with each other. Lookups of blocks do not need the lock.
+ * Callers may hold the lock themselves to make a sequence of operations on the directory atomic;
+ * when locking more than one directory, they should be locked in the order given by
+ * {@link #LOCK_ORDER}.
  */
-@NotThreadSafe
+@ThreadSafe
 public final class StorageDir {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+
+  /** The order in which to lock directories, by tier ordinal and then by directory index. */
+  public static final Comparator<StorageDir> LOCK_ORDER = new Comparator<StorageDir>() {
+    @Override
+    public int compare(StorageDir dir1, StorageDir dir2) {
+      int tierOrder = Integer.compare(dir1.getParentTier().getTierOrdinal(),
+          dir2.getParentTier().getTierOrdinal());
+      if (tierOrder != 0) {
+        return tierOrder;
+      }
+      return Integer.compare(dir1.getDirIndex(), dir2.getDirIndex());
+    }
+  };
+
   private final long mCapacityBytes;
+  /** Lock to guard updates of the metadata of this directory. */
+  private final Lock mLock = new ReentrantLock();
   /** A map from block id to block meta data. */
-  private Map<Long, BlockMeta> mBlockIdToBlockMap;
+  private final Map<Long, BlockMeta> mBlockIdToBlockMap;
   /** A map from block id to temp block meta data. */
-  private Map<Long, TempBlockMeta> mBlockIdToTempBlockMap;
+  private final Map<Long, TempBlockMeta> mBlockIdToTempBlockMap;
   /** A map from session id to the set of temp blocks created by this session. */
-  private Map<Long, Set<Long>> mSessionIdToTempBlockIdsMap;
-  private AtomicLong mAvailableBytes;
-  private AtomicLong mCommittedBytes;
-  private String mDirPath;
-  private int mDirIndex;
-  private StorageTier mTier;
+  @GuardedBy("mLock")
+  private final Map<Long, Set<Long>> mSessionIdToTempBlockIdsMap;
+  private final AtomicLong mAvailableBytes;
+  private final AtomicLong mCommittedBytes;
+  private final String mDirPath;
+  private final int mDirIndex;
+  private final StorageTier mTier;
 
   private StorageDir(StorageTier tier, int dirIndex, long capacityBytes, String dirPath) {
     mTier = Preconditions.checkNotNull(tier);
@@ -64,8 +93,8 @@ public final class StorageDir {
     mAvailableBytes = new AtomicLong(capacityBytes);
     mCommittedBytes = new AtomicLong(0);
     mDirPath = dirPath;
-    mBlockIdToBlockMap = new HashMap<>(200);
-    mBlockIdToTempBlockMap = new HashMap<>(200);
+    mBlockIdToBlockMap = new ConcurrentHashMap<>(200);
+    mBlockIdToTempBlockMap = new ConcurrentHashMap<>(200);
     mSessionIdToTempBlockIdsMap = new HashMap<>(200);
   }
 
@@ -186,6 +215,15 @@ public final class StorageDir {
     return mTier;
   }
 
+  /**
+   * Returns the lock guarding updates of the metadata of this directory. The lock is reentrant.
+   *
+   * @return the lock of this directory
+   */
+  public Lock getLock() {
+    return mLock;
+  }
+
   /**
    * Returns the zero-based index of this dir in its parent {@link StorageTier}.
    *
@@ -276,16 +314,18 @@ public final class StorageDir {
     long blockId = blockMeta.getBlockId();
     long blockSize = blockMeta.getBlockSize();
 
-    if (getAvailableBytes() < blockSize) {
-      throw new WorkerOutOfSpaceException(ExceptionMessage.NO_SPACE_FOR_BLOCK_META, blockId,
-          blockSize, getAvailableBytes(), blockMeta.getBlockLocation().tierAlias());
-    }
-    if (hasBlockMeta(blockId)) {
-      throw new BlockAlreadyExistsException(ExceptionMessage.ADD_EXISTING_BLOCK, blockId, blockMeta
-          .getBlockLocation().tierAlias());
+    try (LockResource r = new LockResource(mLock)) {
+      if (getAvailableBytes() < blockSize) {
+        throw new WorkerOutOfSpaceException(ExceptionMessage.NO_SPACE_FOR_BLOCK_META, blockId,
+            blockSize, getAvailableBytes(), blockMeta.getBlockLocation().tierAlias());
+      }
+      if (hasBlockMeta(blockId)) {
+        throw new BlockAlreadyExistsException(ExceptionMessage.ADD_EXISTING_BLOCK, blockId,
+            blockMeta.getBlockLocation().tierAlias());
+      }
+      mBlockIdToBlockMap.put(blockId, blockMeta);
+      reserveSpace(blockSize, true);
     }
-    mBlockIdToBlockMap.put(blockId, blockMeta);
-    reserveSpace(blockSize, true);
   }
 
   /**
@@ -302,23 +342,25 @@ public final class StorageDir {
     long blockId = tempBlockMeta.getBlockId();
     long blockSize = tempBlockMeta.getBlockSize();
 
-    if (getAvailableBytes() < blockSize) {
-      throw new WorkerOutOfSpaceException(ExceptionMessage.NO_SPACE_FOR_BLOCK_META, blockId,
-          blockSize, getAvailableBytes(), tempBlockMeta.getBlockLocation().tierAlias());
-    }
-    if (hasTempBlockMeta(blockId)) {
-      throw new BlockAlreadyExistsException(ExceptionMessage.ADD_EXISTING_BLOCK, blockId,
-          tempBlockMeta.getBlockLocation().tierAlias());
-    }
+    try (LockResource r = new LockResource(mLock)) {
+      if (getAvailableBytes() < blockSize) {
+        throw new WorkerOutOfSpaceException(ExceptionMessage.NO_SPACE_FOR_BLOCK_META, blockId,
+            blockSize, getAvailableBytes(), tempBlockMeta.getBlockLocation().tierAlias());
+      }
+      if (hasTempBlockMeta(blockId)) {
+        throw new BlockAlreadyExistsException(ExceptionMessage.ADD_EXISTING_BLOCK, blockId,
+            tempBlockMeta.getBlockLocation().tierAlias());
+      }
 
-    mBlockIdToTempBlockMap.put(blockId, tempBlockMeta);
-    Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
-    if (sessionTempBlocks == null) {
-      mSessionIdToTempBlockIdsMap.put(sessionId, Sets.newHashSet(blockId));
-    } else {
-      sessionTempBlocks.add(blockId);
+      mBlockIdToTempBlockMap.put(blockId, tempBlockMeta);
+      Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
+      if (sessionTempBlocks == null) {
+        mSessionIdToTempBlockIdsMap.put(sessionId, Sets.newHashSet(blockId));
+      } else {
+        sessionTempBlocks.add(blockId);
+      }
+      reserveSpace(blockSize, false);
     }
-    reserveSpace(blockSize, false);
   }
 
   /**
@@ -330,11 +372,13 @@ public final class StorageDir {
   public void removeBlockMeta(BlockMeta blockMeta) throws BlockDoesNotExistException {
     Preconditions.checkNotNull(blockMeta);
     long blockId = blockMeta.getBlockId();
-    BlockMeta deletedBlockMeta = mBlockIdToBlockMap.remove(blockId);
-    if (deletedBlockMeta == null) {
-      throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_META_NOT_FOUND, blockId);
+    try (LockResource r = new LockResource(mLock)) {
+      BlockMeta deletedBlockMeta = mBlockIdToBlockMap.remove(blockId);
+      if (deletedBlockMeta == null) {
+        throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_META_NOT_FOUND, blockId);
+      }
+      reclaimSpace(blockMeta.getBlockSize(), true);
     }
-    reclaimSpace(blockMeta.getBlockSize(), true);
   }
 
   /**
@@ -347,20 +391,22 @@ public final class StorageDir {
     Preconditions.checkNotNull(tempBlockMeta);
     final long blockId = tempBlockMeta.getBlockId();
     final long sessionId = tempBlockMeta.getSessionId();
-    TempBlockMeta deletedTempBlockMeta = mBlockIdToTempBlockMap.remove(blockId);
-    if (deletedTempBlockMeta == null) {
-      throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_META_NOT_FOUND, blockId);
-    }
-    Set<Long> sessionBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
-    if (sessionBlocks == null || !sessionBlocks.contains(blockId)) {
-      throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_NOT_FOUND_FOR_SESSION, blockId,
-          mTier.getTierAlias(), sessionId);
-    }
-    Preconditions.checkState(sessionBlocks.remove(blockId));
-    if (sessionBlocks.isEmpty()) {
-      mSessionIdToTempBlockIdsMap.remove(sessionId);
+    try (LockResource r = new LockResource(mLock)) {
+      TempBlockMeta deletedTempBlockMeta = mBlockIdToTempBlockMap.remove(blockId);
+      if (deletedTempBlockMeta == null) {
+        throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_META_NOT_FOUND, blockId);
+      }
+      Set<Long> sessionBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
+      if (sessionBlocks == null || !sessionBlocks.contains(blockId)) {
+        throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_NOT_FOUND_FOR_SESSION,
+            blockId, mTier.getTierAlias(), sessionId);
+      }
+      Preconditions.checkState(sessionBlocks.remove(blockId));
+      if (sessionBlocks.isEmpty()) {
+        mSessionIdToTempBlockIdsMap.remove(sessionId);
+      }
+      reclaimSpace(tempBlockMeta.getBlockSize(), false);
     }
-    reclaimSpace(tempBlockMeta.getBlockSize(), false);
   }
 
   /**
@@ -372,12 +418,14 @@ public final class StorageDir {
    */
   public void resizeTempBlockMeta(TempBlockMeta tempBlockMeta, long newSize)
       throws InvalidWorkerStateException {
-    long oldSize = tempBlockMeta.getBlockSize();
-    if (newSize > oldSize) {
-      reserveSpace(newSize - oldSize, false);
-      tempBlockMeta.setBlockSize(newSize);
-    } else if (newSize < oldSize) {
-      throw new InvalidWorkerStateException("Shrinking block, not supported!");
+    try (LockResource r = new LockResource(mLock)) {
+      long oldSize = tempBlockMeta.getBlockSize();
+      if (newSize > oldSize) {
+        reserveSpace(newSize - oldSize, false);
+        tempBlockMeta.setBlockSize(newSize);
+      } else if (newSize < oldSize) {
+        throw new InvalidWorkerStateException("Shrinking block, not supported!");
+      }
     }
   }
 
@@ -389,6 +437,13 @@ public final class StorageDir {
    *        nonexistent blocks will be ignored
    */
   public void cleanupSessionTempBlocks(long sessionId, List<Long> tempBlockIds) {
+    try (LockResource r = new LockResource(mLock)) {
+      cleanupSessionTempBlocksLocked(sessionId, tempBlockIds);
+    }
+  }
+
+  @GuardedBy("mLock")
+  private void cleanupSessionTempBlocksLocked(long sessionId, List<Long> tempBlockIds) {
     Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
     // The session's temporary blocks have already been removed.
     if (sessionTempBlocks == null) {
@@ -425,16 +480,18 @@ public final class StorageDir {
    * @return A list of temporary blocks the session is associated with in this {@link StorageDir}
    */
   public List<TempBlockMeta> getSessionTempBlocks(long sessionId) {
-    Set<Long> sessionTempBlockIds = mSessionIdToTempBlockIdsMap.get(sessionId);
+    try (LockResource r = new LockResource(mLock)) {
+      Set<Long> sessionTempBlockIds = mSessionIdToTempBlockIdsMap.get(sessionId);
 
-    if (sessionTempBlockIds == null || sessionTempBlockIds.isEmpty()) {
-      return Collections.emptyList();
-    }
-    List<TempBlockMeta> sessionTempBlocks = new ArrayList<>();
-    for (long blockId : sessionTempBlockIds) {
-      sessionTempBlocks.add(mBlockIdToTempBlockMap.get(blockId));
+      if (sessionTempBlockIds == null || sessionTempBlockIds.isEmpty()) {
+        return Collections.emptyList();
+      }
+      List<TempBlockMeta> sessionTempBlocks = new ArrayList<>();
+      for (long blockId : sessionTempBlockIds) {
+        sessionTempBlocks.add(mBlockIdToTempBlockMap.get(blockId));
+      }
+      return sessionTempBlocks;
     }
-    return sessionTempBlocks;
   }
 
   /**
@@ -444,6 +501,7 @@ public final class StorageDir {
     return new BlockStoreLocation(mTier.getTierAlias(), mDirIndex);
   }
 
+  @GuardedBy("mLock")
   private void reclaimSpace(long size, boolean committed) {
     Preconditions.checkState(mCapacityBytes >= mAvailableBytes.get() + size,
         "Available bytes should always be less than total capacity bytes");
@@ -453,6 +511,7 @@ public final class StorageDir {
     }
   }
 
+  @GuardedBy("mLock")
   private void reserveSpace(long size, boolean committed) {
     Preconditions.checkState(size <= mAvailableBytes.get(),
         "Available bytes should always be non-negative");
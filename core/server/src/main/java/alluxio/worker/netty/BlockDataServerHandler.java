@@ -19,6 +19,8 @@ import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.InvalidWorkerStateException;
 import alluxio.network.protocol.RPCBlockReadRequest;
 import alluxio.network.protocol.RPCBlockReadResponse;
+import alluxio.network.protocol.RPCBlockStreamCreditRequest;
+import alluxio.network.protocol.RPCBlockStreamReadRequest;
 import alluxio.network.protocol.RPCBlockWriteRequest;
 import alluxio.network.protocol.RPCBlockWriteResponse;
 import alluxio.network.protocol.RPCResponse;
@@ -33,12 +35,16 @@ import com.google.common.base.Preconditions;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -48,6 +54,18 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 public final class BlockDataServerHandler {
   private static final Logger LOG = LoggerFactory.getLogger(Constants.LOGGER_TYPE);
+  /**
+   * The block streams open on a channel, keyed by request id. A channel is always served by the
+   * same event loop thread, so the map does not need to be thread safe.
+   */
+  private static final AttributeKey<Map<Long, BlockReadStream>> BLOCK_READ_STREAMS =
+      AttributeKey.valueOf("BLOCK_READ_STREAMS");
+  /**
+   * The block write sessions open on a channel, keyed by block id. Like the read streams, the map
+   * is only accessed by the event loop thread serving the channel.
+   */
+  private static final AttributeKey<Map<Long, BlockWriteSession>> BLOCK_WRITE_SESSIONS =
+      AttributeKey.valueOf("BLOCK_WRITE_SESSIONS");
 
   /** The Block Worker which handles blocks stored in the Alluxio storage of the worker. */
   private final BlockWorker mWorker;
@@ -55,18 +73,23 @@ public final class BlockDataServerHandler {
   private final FileTransferType mTransferType;
   /** An object storing the mapping of tier aliases to ordinals. */
   private final StorageTierAssoc mStorageTierAssoc;
+  /** The minimum number of bytes reserved at a time for a block written in a write session. */
+  private final long mWriteReservationBytes;
 
   BlockDataServerHandler(BlockWorker worker, Configuration configuration) {
     mWorker = worker;
     mStorageTierAssoc = new WorkerStorageTierAssoc(configuration);
     mTransferType = configuration.getEnum(Constants.WORKER_NETWORK_NETTY_FILE_TRANSFER_TYPE,
         FileTransferType.class);
+    mWriteReservationBytes =
+        configuration.getBytes(Constants.WORKER_NETWORK_NETTY_WRITE_RESERVATION_BYTES);
   }
 
   /**
    * Handles a {@link RPCBlockReadRequest} by reading the data through a {@link BlockReader}
    * provided by the block worker. This method assumes the data is available in the local storage
-   * of the worker and returns an error status if the data is not available.
+   * of the worker and returns an error status if the data is not available. The channel is closed
+   * after the response is sent unless the request asks for it to be kept alive.
    *
    * @param ctx The context of this request which handles the result of this operation
    * @param req The initiating {@link RPCBlockReadRequest}
@@ -80,21 +103,22 @@ public final class BlockDataServerHandler {
     final long lockId = req.getLockId();
     final long sessionId = req.getSessionId();
 
-    BlockReader reader;
+    BlockReader reader = null;
     try {
+      // A failure to open the block is answered like any other failure of this request, so a
+      // channel kept alive for other requests stays open.
       reader = mWorker.readBlockRemote(sessionId, blockId, lockId);
-    } catch (BlockDoesNotExistException | InvalidWorkerStateException e) {
-      throw new IOException(e);
-    }
-    try {
       req.validate();
       final long fileLength = reader.getLength();
       validateBounds(req, fileLength);
       final long readLength = returnLength(offset, len, fileLength);
       RPCBlockReadResponse resp = new RPCBlockReadResponse(blockId, offset, readLength,
-          getDataBuffer(req, reader, readLength), RPCResponse.Status.SUCCESS);
+          getDataBuffer(reader, offset, readLength), RPCResponse.Status.SUCCESS,
+          req.getRequestId());
       ChannelFuture future = ctx.writeAndFlush(resp);
-      future.addListener(ChannelFutureListener.CLOSE);
+      if (!req.isKeepAlive()) {
+        future.addListener(ChannelFutureListener.CLOSE);
+      }
       future.addListener(new ClosableResourceChannelListener(reader));
       mWorker.accessBlock(sessionId, blockId);
       LOG.info("Preparation for responding to remote block request for: {} done.", blockId);
@@ -103,27 +127,155 @@ public final class BlockDataServerHandler {
       RPCBlockReadResponse resp =
           RPCBlockReadResponse.createErrorResponse(req, RPCResponse.Status.FILE_DNE);
       ChannelFuture future = ctx.writeAndFlush(resp);
-      future.addListener(ChannelFutureListener.CLOSE);
+      if (!req.isKeepAlive()) {
+        future.addListener(ChannelFutureListener.CLOSE);
+      }
       if (reader != null) {
         reader.close();
       }
     }
   }
 
+  /**
+   * Handles a {@link RPCBlockStreamReadRequest} by opening a {@link BlockReader} for the block and
+   * pushing the requested range to the client as a sequence of chunks, as far as the credits
+   * granted by the client allow. The channel is kept open so the client can grant more credits.
+   *
+   * @param ctx The context of this request which handles the result of this operation
+   * @param req The initiating {@link RPCBlockStreamReadRequest}
+   * @throws IOException if an I/O error occurs when reading the data requested
+   */
+  void handleBlockStreamReadRequest(final ChannelHandlerContext ctx,
+      final RPCBlockStreamReadRequest req) throws IOException {
+    final long blockId = req.getBlockId();
+    final long sessionId = req.getSessionId();
+
+    BlockReader reader;
+    try {
+      reader = mWorker.readBlockRemote(sessionId, blockId, req.getLockId());
+    } catch (BlockDoesNotExistException | InvalidWorkerStateException e) {
+      throw new IOException(e);
+    }
+    try {
+      req.validate();
+      final long fileLength = reader.getLength();
+      Preconditions.checkArgument(req.getOffset() <= fileLength,
+          "Offset(%s) is larger than file length(%s)", req.getOffset(), fileLength);
+      Preconditions.checkArgument(
+          req.getLength() == -1 || req.getOffset() + req.getLength() <= fileLength,
+          "Offset(%s) plus length(%s) is larger than file length(%s)", req.getOffset(),
+          req.getLength(), fileLength);
+      final long readLength = returnLength(req.getOffset(), req.getLength(), fileLength);
+      BlockReadStream stream = new BlockReadStream(req, reader, req.getOffset() + readLength);
+      getBlockReadStreams(ctx).put(req.getRequestId(), stream);
+      mWorker.accessBlock(sessionId, blockId);
+      sendChunks(ctx, stream);
+    } catch (Exception e) {
+      LOG.error("Failed to stream block {} : {}", blockId, e.getMessage(), e);
+      getBlockReadStreams(ctx).remove(req.getRequestId());
+      reader.close();
+      ctx.writeAndFlush(new RPCBlockReadResponse(blockId, req.getOffset(), 0, null,
+          RPCResponse.Status.FILE_DNE, req.getRequestId()));
+    }
+  }
+
+  /**
+   * Handles a {@link RPCBlockStreamCreditRequest} by sending as many further chunks of the stream
+   * as the new credits allow. Credits for streams which have already finished are ignored.
+   *
+   * @param ctx The context of this request which handles the result of this operation
+   * @param req The initiating {@link RPCBlockStreamCreditRequest}
+   * @throws IOException if an I/O error occurs when reading the data requested
+   */
+  void handleBlockStreamCreditRequest(final ChannelHandlerContext ctx,
+      final RPCBlockStreamCreditRequest req) throws IOException {
+    req.validate();
+    BlockReadStream stream = getBlockReadStreams(ctx).get(req.getRequestId());
+    if (stream == null) {
+      return;
+    }
+    stream.mCredits += req.getCredits();
+    try {
+      sendChunks(ctx, stream);
+    } catch (Exception e) {
+      LOG.error("Failed to stream block {} : {}", stream.mBlockId, e.getMessage(), e);
+      getBlockReadStreams(ctx).remove(req.getRequestId());
+      stream.mReader.close();
+      ctx.writeAndFlush(new RPCBlockReadResponse(stream.mBlockId, stream.mPosition, 0, null,
+          RPCResponse.Status.FILE_DNE, req.getRequestId()));
+    }
+  }
+
+  /**
+   * Closes the readers of all the block streams which are still open on the channel. This should
+   * be called when the channel becomes inactive.
+   *
+   * @param ctx The context of the channel
+   * @throws IOException if closing a reader fails
+   */
+  void closeBlockReadStreams(final ChannelHandlerContext ctx) throws IOException {
+    Map<Long, BlockReadStream> streams = ctx.channel().attr(BLOCK_READ_STREAMS).getAndRemove();
+    if (streams == null) {
+      return;
+    }
+    for (BlockReadStream stream : streams.values()) {
+      stream.mReader.close();
+    }
+  }
+
+  /**
+   * Writes as many chunks of the stream as its credits allow, and the end of stream marker once
+   * the whole range has been written. The reader is closed after the marker is sent.
+   *
+   * @param ctx The context of the channel
+   * @param stream the stream to make progress on
+   * @throws IOException if an I/O error occurs when reading the data
+   */
+  private void sendChunks(final ChannelHandlerContext ctx, final BlockReadStream stream)
+      throws IOException {
+    while (stream.mCredits > 0 && stream.mPosition < stream.mEnd) {
+      long chunkLength = Math.min(stream.mChunkSize, stream.mEnd - stream.mPosition);
+      ctx.write(new RPCBlockReadResponse(stream.mBlockId, stream.mPosition, chunkLength,
+          getDataBuffer(stream.mReader, stream.mPosition, chunkLength),
+          RPCResponse.Status.SUCCESS, stream.mRequestId));
+      stream.mPosition += chunkLength;
+      stream.mCredits--;
+    }
+    if (stream.mPosition == stream.mEnd) {
+      getBlockReadStreams(ctx).remove(stream.mRequestId);
+      ChannelFuture future = ctx.write(new RPCBlockReadResponse(stream.mBlockId, stream.mEnd, 0,
+          null, RPCResponse.Status.SUCCESS, stream.mRequestId));
+      future.addListener(new ClosableResourceChannelListener(stream.mReader));
+    }
+    ctx.flush();
+  }
+
+  private Map<Long, BlockReadStream> getBlockReadStreams(final ChannelHandlerContext ctx) {
+    Attribute<Map<Long, BlockReadStream>> attribute = ctx.channel().attr(BLOCK_READ_STREAMS);
+    Map<Long, BlockReadStream> streams = attribute.get();
+    if (streams == null) {
+      streams = new HashMap<>();
+      attribute.set(streams);
+    }
+    return streams;
+  }
+
   /**
    * Handles a {@link RPCBlockWriteRequest} by writing the data through a {@link BlockWriter}
    * provided by the block worker. This method takes care of requesting space and creating the
-   * block if necessary.
+   * block if necessary. Unless the request asks for the channel to be kept alive, the block writer
+   * and the channel are closed after the response is sent.
    *
    * @param ctx The context of this request which handles the result of this operation
    * @param req The initiating {@link RPCBlockWriteRequest}
    * @throws IOException if an I/O exception occurs when writing the data
    */
-  // TODO(hy): This write request handler is very simple in order to be stateless. Therefore, the
-  // block file is opened and closed for every request. If this is too slow, then this handler
-  // should be optimized to keep state.
   void handleBlockWriteRequest(final ChannelHandlerContext ctx, final RPCBlockWriteRequest req)
       throws IOException {
+    if (req.isKeepAlive()) {
+      handleBlockWriteSessionRequest(ctx, req);
+      return;
+    }
     final long sessionId = req.getSessionId();
     final long blockId = req.getBlockId();
     final long offset = req.getOffset();
@@ -164,6 +316,100 @@ public final class BlockDataServerHandler {
     }
   }
 
+  /**
+   * Closes the writers of all the block write sessions which are still open on the channel. This
+   * should be called when the channel becomes inactive.
+   *
+   * @param ctx The context of the channel
+   * @throws IOException if closing a writer fails
+   */
+  void closeBlockWriteSessions(final ChannelHandlerContext ctx) throws IOException {
+    Map<Long, BlockWriteSession> sessions =
+        ctx.channel().attr(BLOCK_WRITE_SESSIONS).getAndRemove();
+    if (sessions == null) {
+      return;
+    }
+    for (BlockWriteSession session : sessions.values()) {
+      if (session.mWriter != null) {
+        session.mWriter.close();
+      }
+    }
+  }
+
+  /**
+   * Handles a {@link RPCBlockWriteRequest} which is part of a write session. The block writer is
+   * opened by the first request of the session and kept open until the channel is closed, and
+   * space is reserved in increments of at least the configured write reservation, so most writes
+   * need neither a new writer nor a space request. Any space reserved beyond the final size of the
+   * block is given back when the block is committed. After a failure the session is marked as
+   * failed and the channel is closed, so writes the client has already pipelined behind the failed
+   * one are rejected rather than appended out of order.
+   *
+   * @param ctx The context of this request which handles the result of this operation
+   * @param req The initiating {@link RPCBlockWriteRequest}
+   * @throws IOException if an I/O exception occurs when closing the writer after a failure
+   */
+  private void handleBlockWriteSessionRequest(final ChannelHandlerContext ctx,
+      final RPCBlockWriteRequest req) throws IOException {
+    final long sessionId = req.getSessionId();
+    final long blockId = req.getBlockId();
+    final long offset = req.getOffset();
+    final long length = req.getLength();
+
+    Map<Long, BlockWriteSession> sessions = getBlockWriteSessions(ctx);
+    BlockWriteSession session = sessions.get(blockId);
+    try {
+      req.validate();
+      if (session != null && session.mWriter == null) {
+        throw new IOException("An earlier write to block " + blockId + " on this channel failed");
+      }
+      if (session == null) {
+        long reservation = Math.max(length, mWriteReservationBytes);
+        if (offset == 0) {
+          mWorker.createBlockRemote(sessionId, blockId, mStorageTierAssoc.getAlias(0),
+              reservation);
+        } else {
+          mWorker.requestSpace(sessionId, blockId, reservation);
+        }
+        session = new BlockWriteSession(mWorker.getTempBlockWriterRemote(sessionId, blockId),
+            reservation);
+        sessions.put(blockId, session);
+      } else if (session.mReservedBytes < length) {
+        long reservation = Math.max(length - session.mReservedBytes, mWriteReservationBytes);
+        mWorker.requestSpace(sessionId, blockId, reservation);
+        session.mReservedBytes += reservation;
+      }
+      session.mWriter.append(req.getPayloadDataBuffer().getReadOnlyByteBuffer());
+      session.mReservedBytes -= length;
+
+      RPCBlockWriteResponse resp =
+          new RPCBlockWriteResponse(sessionId, blockId, offset, length, RPCResponse.Status.SUCCESS);
+      ctx.writeAndFlush(resp);
+    } catch (Exception e) {
+      LOG.error("Error writing remote block : {}", e.getMessage(), e);
+      RPCBlockWriteResponse resp =
+          RPCBlockWriteResponse.createErrorResponse(req, RPCResponse.Status.WRITE_ERROR);
+      ctx.writeAndFlush(resp).addListener(ChannelFutureListener.CLOSE);
+      if (session == null) {
+        sessions.put(blockId, new BlockWriteSession(null, 0));
+      } else if (session.mWriter != null) {
+        BlockWriter writer = session.mWriter;
+        session.mWriter = null;
+        writer.close();
+      }
+    }
+  }
+
+  private Map<Long, BlockWriteSession> getBlockWriteSessions(final ChannelHandlerContext ctx) {
+    Attribute<Map<Long, BlockWriteSession>> attribute = ctx.channel().attr(BLOCK_WRITE_SESSIONS);
+    Map<Long, BlockWriteSession> sessions = attribute.get();
+    if (sessions == null) {
+      sessions = new HashMap<>();
+      attribute.set(sessions);
+    }
+    return sessions;
+  }
+
   /**
    * @return how much of a file to read. When {@code len} is {@code -1}, then
    * {@code fileLength - offset} is used.
@@ -192,26 +438,67 @@ public final class BlockDataServerHandler {
    * Returns the appropriate {@link DataBuffer} representing the data to send, depending on the
    * configurable transfer type.
    *
-   * @param req The initiating {@link RPCBlockReadRequest}
    * @param reader The {@link BlockReader} for the block to read
+   * @param offset The offset, in bytes, of the data to read from the block
    * @param readLength The length, in bytes, of the data to read from the block
    * @return a {@link DataBuffer} representing the data
    * @throws IOException if an I/O error occurs when reading the data
    */
-  private DataBuffer getDataBuffer(RPCBlockReadRequest req, BlockReader reader, long readLength)
+  private DataBuffer getDataBuffer(BlockReader reader, long offset, long readLength)
       throws IOException, IllegalArgumentException {
     switch (mTransferType) {
       case MAPPED:
-        ByteBuffer data = reader.read(req.getOffset(), (int) readLength);
+        ByteBuffer data = reader.read(offset, (int) readLength);
         return new DataByteBuffer(data, readLength);
       case TRANSFER: // intend to fall through as TRANSFER is the default type.
       default:
         if (reader.getChannel() instanceof FileChannel) {
-          return new DataFileChannel((FileChannel) reader.getChannel(), req.getOffset(),
-              readLength);
+          return new DataFileChannel((FileChannel) reader.getChannel(), offset, readLength);
         }
         reader.close();
         throw new IllegalArgumentException("Only FileChannel is supported!");
     }
   }
+
+  /**
+   * The state of a block being streamed to a client in response to a
+   * {@link RPCBlockStreamReadRequest}.
+   */
+  private static final class BlockReadStream {
+    private final long mBlockId;
+    private final long mRequestId;
+    private final long mChunkSize;
+    private final long mEnd;
+    private final BlockReader mReader;
+    /** The block offset of the next chunk to send. */
+    private long mPosition;
+    /** The number of chunks which may be sent before the client grants more credits. */
+    private long mCredits;
+
+    BlockReadStream(RPCBlockStreamReadRequest req, BlockReader reader, long end) {
+      mBlockId = req.getBlockId();
+      mRequestId = req.getRequestId();
+      mChunkSize = req.getChunkSize();
+      mEnd = end;
+      mReader = reader;
+      mPosition = req.getOffset();
+      mCredits = req.getCredits();
+    }
+  }
+
+  /**
+   * The state of a block being written by a client through a sequence of
+   * {@link RPCBlockWriteRequest}s on the same channel.
+   */
+  private static final class BlockWriteSession {
+    /** The writer of the block, or null if a write in the session has failed. */
+    private BlockWriter mWriter;
+    /** The number of bytes reserved for the block which have not been written yet. */
+    private long mReservedBytes;
+
+    BlockWriteSession(BlockWriter writer, long reservedBytes) {
+      mWriter = writer;
+      mReservedBytes = reservedBytes;
+    }
+  }
 }
@@ -14,6 +14,8 @@ package alluxio.worker.netty;
 import alluxio.Configuration;
 import alluxio.Constants;
 import alluxio.network.protocol.RPCBlockReadRequest;
+import alluxio.network.protocol.RPCBlockStreamCreditRequest;
+import alluxio.network.protocol.RPCBlockStreamReadRequest;
 import alluxio.network.protocol.RPCBlockWriteRequest;
 import alluxio.network.protocol.RPCErrorResponse;
 import alluxio.network.protocol.RPCFileReadRequest;
@@ -70,6 +72,14 @@ public final class DataServerHandler extends SimpleChannelInboundHandler<RPCMess
         assert msg instanceof RPCBlockReadRequest;
         mBlockHandler.handleBlockReadRequest(ctx, (RPCBlockReadRequest) msg);
         break;
+      case RPC_BLOCK_STREAM_READ_REQUEST:
+        assert msg instanceof RPCBlockStreamReadRequest;
+        mBlockHandler.handleBlockStreamReadRequest(ctx, (RPCBlockStreamReadRequest) msg);
+        break;
+      case RPC_BLOCK_STREAM_CREDIT_REQUEST:
+        assert msg instanceof RPCBlockStreamCreditRequest;
+        mBlockHandler.handleBlockStreamCreditRequest(ctx, (RPCBlockStreamCreditRequest) msg);
+        break;
       case RPC_BLOCK_WRITE_REQUEST:
         assert msg instanceof RPCBlockWriteRequest;
         mBlockHandler.handleBlockWriteRequest(ctx, (RPCBlockWriteRequest) msg);
@@ -94,6 +104,16 @@ public final class DataServerHandler extends SimpleChannelInboundHandler<RPCMess
     }
   }
 
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+    try {
+      mBlockHandler.closeBlockReadStreams(ctx);
+    } finally {
+      mBlockHandler.closeBlockWriteSessions(ctx);
+    }
+    super.channelInactive(ctx);
+  }
+
   @Override
   public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
     LOG.warn("Exception thrown while processing request", cause);
@@ -12,6 +12,7 @@
 package alluxio.master.file;
 
 import alluxio.AlluxioURI;
+import alluxio.CommonTestUtils;
 import alluxio.Configuration;
 import alluxio.Constants;
 import alluxio.exception.BlockInfoException;
@@ -24,6 +25,7 @@ import alluxio.heartbeat.HeartbeatContext;
 import alluxio.heartbeat.HeartbeatScheduler;
 import alluxio.heartbeat.ManuallyScheduleHeartbeat;
 import alluxio.master.MasterContext;
+import alluxio.master.MasterSource;
 import alluxio.master.block.BlockMaster;
 import alluxio.master.file.meta.PersistenceState;
 import alluxio.master.file.meta.TtlBucket;
@@ -42,10 +44,12 @@ import alluxio.thrift.FileSystemCommand;
 import alluxio.util.IdUtils;
 import alluxio.util.io.FileUtils;
 import alluxio.util.io.PathUtils;
+import alluxio.wire.BatchPathResult;
 import alluxio.wire.FileBlockInfo;
 import alluxio.wire.FileInfo;
 import alluxio.wire.WorkerNetAddress;
 
+import com.google.common.base.Function;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
@@ -65,12 +69,17 @@ import org.mockito.internal.util.reflection.Whitebox;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -247,6 +256,163 @@ public final class FileSystemMasterTest {
     Assert.assertEquals(-1, mFileSystemMaster.getFileId(NESTED_URI));
   }
 
+  /**
+   * Tests the {@link FileSystemMaster#delete(AlluxioURI, boolean)} method for a directory when
+   * {@link Constants#MASTER_FILE_ASYNC_DELETE_ENABLED} is set.
+   *
+   * @throws Exception if deleting the directory fails
+   */
+  @Test
+  public void asyncDeleteDirTest() throws Exception {
+    MasterContext.getConf().set(Constants.MASTER_FILE_ASYNC_DELETE_ENABLED, "true");
+    mFileSystemMaster.createDirectory(NESTED_URI,
+        CreateDirectoryOptions.defaults().setPersisted(true).setRecursive(true));
+    long blockId = createFileWithSingleBlock(NESTED_FILE_URI);
+    // a file which exists only in the under file system
+    FileUtils.createFile(Paths.get(mUnderFS).resolve("nested/test/ufsFile").toString());
+
+    mFileSystemMaster.delete(new AlluxioURI("/nested"), true);
+    Assert.assertEquals(IdUtils.INVALID_FILE_ID, mFileSystemMaster.getFileId(NESTED_URI));
+    Assert.assertEquals(IdUtils.INVALID_FILE_ID,
+        mFileSystemMaster.getFileId(NESTED_URI.join("ufsFile")));
+    // The path is free as soon as the delete returns.
+    mFileSystemMaster.createDirectory(new AlluxioURI("/nested"),
+        CreateDirectoryOptions.defaults().setPersisted(true));
+
+    CommonTestUtils.waitFor(new Function<Void, Boolean>() {
+      @Override
+      public Boolean apply(Void input) {
+        return MasterContext.getMasterSource().getMetricRegistry().getCounters()
+            .get(MasterSource.PATHS_PENDING_RECLAIM).getCount() == 0;
+      }
+    }, 10 * Constants.SECOND_MS);
+    Assert.assertTrue(Files.exists(Paths.get(mUnderFS).resolve("nested")));
+    Assert.assertFalse(Files.exists(Paths.get(mUnderFS).resolve("nested/test")));
+    Assert.assertEquals(0, Paths.get(mUnderFS).resolve(".alluxio_trash").toFile().list().length);
+    for (FileInfo info : mFileSystemMaster.getFileInfoList(ROOT_URI, true)) {
+      Assert.assertNotEquals(".alluxio_trash", info.getName());
+    }
+    Assert.assertEquals(3, MasterContext.getMasterSource().getMetricRegistry().getCounters()
+        .get(MasterSource.PATHS_RECLAIMED).getCount());
+    mThrown.expect(BlockInfoException.class);
+    mBlockMaster.getBlockInfo(blockId);
+  }
+
+  /**
+   * Tests that a master which becomes the leader reclaims the under file system objects which an
+   * earlier leader moved to the trash and did not reclaim, and that the trash is not loaded into
+   * the namespace.
+   *
+   * @throws Exception if a {@link FileSystemMaster} operation fails
+   */
+  @Test
+  public void asyncDeleteResumeTest() throws Exception {
+    MasterContext.getConf().set(Constants.MASTER_FILE_ASYNC_DELETE_ENABLED, "true");
+    final Path trash = Paths.get(mUnderFS).resolve(".alluxio_trash");
+    FileUtils.createFile(trash.resolve("42/dir/file").toString());
+    Assert.assertEquals(IdUtils.INVALID_FILE_ID,
+        mFileSystemMaster.getFileId(new AlluxioURI("/.alluxio_trash/42/dir/file")));
+    try {
+      mFileSystemMaster.createDirectory(new AlluxioURI("/.alluxio_trash"),
+          CreateDirectoryOptions.defaults());
+      Assert.fail("The trash directory should be reserved");
+    } catch (InvalidPathException e) {
+      Assert.assertEquals(ExceptionMessage.PATH_RESERVED_FOR_TRASH
+          .getMessage(new AlluxioURI("/.alluxio_trash")), e.getMessage());
+    }
+
+    mFileSystemMaster.stop();
+    mFileSystemMaster = new FileSystemMaster(mBlockMaster,
+        new ReadWriteJournal(mTestFolder.newFolder().getAbsolutePath()));
+    mFileSystemMaster.start(true);
+    CommonTestUtils.waitFor(new Function<Void, Boolean>() {
+      @Override
+      public Boolean apply(Void input) {
+        return !Files.exists(trash.resolve("42"));
+      }
+    }, 10 * Constants.SECOND_MS);
+  }
+
+  /**
+   * Tests the batch variants {@link FileSystemMaster#createFileBatch(List, CreateFileOptions)},
+   * {@link FileSystemMaster#getFileInfoBatch(List)} and
+   * {@link FileSystemMaster#deleteBatch(List, boolean)}, which report errors per path.
+   *
+   * @throws Exception if a {@link FileSystemMaster} operation fails
+   */
+  @Test
+  public void batchTest() throws Exception {
+    AlluxioURI otherFileUri = new AlluxioURI("/nested/test/other");
+    mFileSystemMaster.createFile(NESTED_FILE_URI, sNestedFileOptions);
+
+    List<BatchPathResult> created = mFileSystemMaster.createFileBatch(
+        ImmutableList.of(NESTED_FILE_URI, otherFileUri), sNestedFileOptions);
+    Assert.assertEquals(2, created.size());
+    Assert.assertTrue(created.get(0).getException() instanceof FileAlreadyExistsException);
+    Assert.assertTrue(created.get(1).isSuccess());
+    Assert.assertEquals(otherFileUri.getPath(), created.get(1).getFileInfo().getPath());
+
+    List<BatchPathResult> statuses = mFileSystemMaster.getFileInfoBatch(
+        ImmutableList.of(otherFileUri, TEST_URI, NESTED_FILE_URI));
+    Assert.assertEquals(3, statuses.size());
+    Assert.assertEquals(mFileSystemMaster.getFileInfo(otherFileUri),
+        statuses.get(0).getFileInfo());
+    Assert.assertTrue(statuses.get(1).getException() instanceof FileDoesNotExistException);
+    Assert.assertEquals(mFileSystemMaster.getFileInfo(NESTED_FILE_URI),
+        statuses.get(2).getFileInfo());
+
+    List<BatchPathResult> deleted = mFileSystemMaster.deleteBatch(
+        ImmutableList.of(NESTED_FILE_URI, TEST_URI, otherFileUri), false);
+    Assert.assertTrue(deleted.get(0).isSuccess());
+    Assert.assertTrue(deleted.get(1).getException() instanceof FileDoesNotExistException);
+    Assert.assertTrue(deleted.get(2).isSuccess());
+    Assert.assertEquals(IdUtils.INVALID_FILE_ID, mFileSystemMaster.getFileId(NESTED_FILE_URI));
+    Assert.assertEquals(IdUtils.INVALID_FILE_ID, mFileSystemMaster.getFileId(otherFileUri));
+  }
+
+  /**
+   * Tests that batch operations on several paths of the same directory, which lock the directory
+   * once, report the same results as operations on single paths, also when the directory does not
+   * exist yet or is a file.
+   *
+   * @throws Exception if a {@link FileSystemMaster} operation fails
+   */
+  @Test
+  public void batchGroupedByParentTest() throws Exception {
+    AlluxioURI dir = new AlluxioURI("/batch");
+    List<AlluxioURI> files = ImmutableList.of(dir.join("a"), dir.join("b"), dir.join("c"));
+    for (BatchPathResult result : mFileSystemMaster.createFileBatch(files, sNestedFileOptions)) {
+      Assert.assertTrue(result.isSuccess());
+    }
+
+    List<BatchPathResult> created = mFileSystemMaster.createFileBatch(
+        ImmutableList.of(dir.join("d"), files.get(0), dir.join("d")), sNestedFileOptions);
+    Assert.assertTrue(created.get(0).isSuccess());
+    Assert.assertTrue(created.get(1).getException() instanceof FileAlreadyExistsException);
+    Assert.assertTrue(created.get(2).getException() instanceof FileAlreadyExistsException);
+
+    List<BatchPathResult> underFile = mFileSystemMaster.createFileBatch(
+        ImmutableList.of(files.get(0).join("x"), files.get(0).join("y")), sNestedFileOptions);
+    Assert.assertTrue(underFile.get(0).getException() instanceof InvalidPathException);
+    Assert.assertTrue(underFile.get(1).getException() instanceof InvalidPathException);
+
+    List<BatchPathResult> statuses = mFileSystemMaster.getFileInfoBatch(
+        ImmutableList.of(files.get(2), dir.join("missing"), files.get(1)));
+    Assert.assertEquals(mFileSystemMaster.getFileInfo(files.get(2)),
+        statuses.get(0).getFileInfo());
+    Assert.assertTrue(statuses.get(1).getException() instanceof FileDoesNotExistException);
+    Assert.assertEquals(mFileSystemMaster.getFileInfo(files.get(1)),
+        statuses.get(2).getFileInfo());
+
+    List<BatchPathResult> deleted = mFileSystemMaster.deleteBatch(
+        ImmutableList.of(files.get(0), dir.join("missing"), files.get(1), files.get(0)), false);
+    Assert.assertTrue(deleted.get(0).isSuccess());
+    Assert.assertTrue(deleted.get(1).getException() instanceof FileDoesNotExistException);
+    Assert.assertTrue(deleted.get(2).isSuccess());
+    Assert.assertTrue(deleted.get(3).getException() instanceof FileDoesNotExistException);
+    Assert.assertEquals(2, mFileSystemMaster.getFileInfoList(dir, false).size());
+  }
+
   /**
    * Tests the {@link FileSystemMaster#getNewBlockIdForFile(AlluxioURI)} method.
    *
@@ -470,6 +636,122 @@ public final class FileSystemMasterTest {
       // Expected case.
     }
   }
+  /**
+   * Tests listing a directory a page at a time with
+   * {@link FileSystemMaster#getFileInfoList(AlluxioURI, boolean, long, int)}.
+   *
+   * @throws Exception if a {@link FileSystemMaster} operation fails
+   */
+  @Test
+  public void getFileInfoListPageTest() throws Exception {
+    final int files = 10;
+    for (int i = 0; i < files; i++) {
+      createFileWithSingleBlock(NESTED_URI.join("file" + String.format("%05d", i)));
+    }
+
+    List<FileInfo> listed = new ArrayList<>();
+    long startAfterId = IdUtils.INVALID_FILE_ID;
+    List<FileInfo> page;
+    do {
+      page = mFileSystemMaster.getFileInfoList(NESTED_URI, false, startAfterId, 3);
+      Assert.assertTrue(page.size() <= 3);
+      for (FileInfo info : page) {
+        Assert.assertTrue(info.getFileId() > startAfterId);
+        startAfterId = info.getFileId();
+      }
+      listed.addAll(page);
+    } while (page.size() == 3);
+    Assert.assertEquals(files, listed.size());
+    Assert.assertEquals(new HashSet<>(mFileSystemMaster.getFileInfoList(NESTED_URI, false)),
+        new HashSet<>(listed));
+
+    // A file is listed in the first page only.
+    AlluxioURI fileUri = NESTED_URI.join("file00000");
+    long fileId = mFileSystemMaster.getFileId(fileUri);
+    Assert.assertEquals(1,
+        mFileSystemMaster.getFileInfoList(fileUri, false, IdUtils.INVALID_FILE_ID, 3).size());
+    Assert.assertTrue(mFileSystemMaster.getFileInfoList(fileUri, false, fileId, 3).isEmpty());
+  }
+
+  /**
+   * Tests that files of one directory can be deleted by several threads while the directory is
+   * listed, without a listing missing a file which is not deleted or showing a file twice.
+   *
+   * @throws Exception if a {@link FileSystemMaster} operation fails
+   */
+  @Test
+  public void concurrentDeleteAndListTest() throws Exception {
+    final int deleters = 4;
+    final int filesPerDeleter = 50;
+    final int keptFiles = 10;
+    final List<AlluxioURI> kept = new ArrayList<>();
+    for (int i = 0; i < keptFiles; i++) {
+      AlluxioURI uri = NESTED_URI.join("kept" + i);
+      mFileSystemMaster.createFile(uri, sNestedFileOptions);
+      kept.add(uri);
+    }
+    final List<List<AlluxioURI>> deleted = new ArrayList<>();
+    for (int i = 0; i < deleters; i++) {
+      List<AlluxioURI> uris = new ArrayList<>();
+      for (int j = 0; j < filesPerDeleter; j++) {
+        AlluxioURI uri = NESTED_URI.join("file" + i + "-" + j);
+        mFileSystemMaster.createFile(uri, sNestedFileOptions);
+        uris.add(uri);
+      }
+      deleted.add(uris);
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(deleters + 1);
+    try {
+      final CountDownLatch deletesDone = new CountDownLatch(deleters);
+      List<Future<?>> futures = new ArrayList<>();
+      for (final List<AlluxioURI> uris : deleted) {
+        futures.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            try {
+              for (AlluxioURI uri : uris) {
+                mFileSystemMaster.delete(uri, false);
+              }
+            } finally {
+              deletesDone.countDown();
+            }
+            return null;
+          }
+        }));
+      }
+      futures.add(executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          do {
+            List<String> paths = new ArrayList<>();
+            for (FileInfo info : mFileSystemMaster.getFileInfoList(NESTED_URI, false)) {
+              paths.add(info.getPath());
+            }
+            Assert.assertEquals(paths.size(), new HashSet<>(paths).size());
+            for (AlluxioURI uri : kept) {
+              Assert.assertTrue(paths.contains(uri.getPath()));
+            }
+          } while (deletesDone.getCount() > 0);
+          return null;
+        }
+      }));
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    List<FileInfo> remaining = mFileSystemMaster.getFileInfoList(NESTED_URI, false);
+    Assert.assertEquals(keptFiles, remaining.size());
+    for (List<AlluxioURI> uris : deleted) {
+      for (AlluxioURI uri : uris) {
+        Assert.assertEquals(IdUtils.INVALID_FILE_ID, mFileSystemMaster.getFileId(uri));
+      }
+    }
+  }
+
 
   @Test
   public void getFileBlockInfoListTest() throws Exception {
@@ -1087,6 +1369,33 @@ public final class FileSystemMasterTest {
         LoadMetadataOptions.defaults().setCreateAncestors(true).setLoadDirectChildren(true));
   }
 
+  /**
+   * Tests that loading metadata recursively loads all the descendants of a directory.
+   *
+   * @throws Exception if a {@link FileSystemMaster} operation fails
+   */
+  @Test
+  public void loadMetadataRecursiveTest() throws Exception {
+    // creates the children of a directory one at a time
+    MasterContext.getConf().set(Constants.MASTER_FILE_METADATA_LOAD_BATCH_SIZE, "1");
+    FileUtils.createDir(Paths.get(mUnderFS).resolve("a/b/c").toString());
+    FileUtils.createFile(Paths.get(mUnderFS).resolve("a/f1").toString());
+    FileUtils.createFile(Paths.get(mUnderFS).resolve("a/f2").toString());
+    FileUtils.createFile(Paths.get(mUnderFS).resolve("a/b/c/f").toString());
+
+    mFileSystemMaster.loadMetadata(new AlluxioURI("/a"),
+        LoadMetadataOptions.defaults().setCreateAncestors(true).setRecursive(true));
+
+    // Listing without loading direct children only returns the loaded children.
+    Assert.assertEquals(3, mFileSystemMaster.getFileInfoList(new AlluxioURI("/a"), false).size());
+    Assert.assertEquals(1, mFileSystemMaster.getFileInfoList(new AlluxioURI("/a/b"), false).size());
+    List<FileInfo> infos = mFileSystemMaster.getFileInfoList(new AlluxioURI("/a/b/c"), false);
+    Assert.assertEquals(1, infos.size());
+    Assert.assertEquals("f", infos.get(0).getName());
+    Assert.assertTrue(infos.get(0).isPersisted());
+    Assert.assertTrue(infos.get(0).isCompleted());
+  }
+
   /**
    * Tests load root metadata. It should not fail.
    *
@@ -0,0 +1,143 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file;
+
+import alluxio.AlluxioURI;
+import alluxio.Constants;
+import alluxio.master.MasterContext;
+import alluxio.master.file.meta.MountTable;
+import alluxio.underfs.UnderFileSystem;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link UfsStatusFetcher}.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({MountTable.class, MountTable.Resolution.class})
+public final class UfsStatusFetcherTest {
+  private static final String[] CHILDREN = new String[] {"child"};
+
+  private MountTable mMountTable;
+  private UfsStatusFetcher mFetcher;
+
+  /**
+   * Sets up a fetcher with two threads, and one call at a time per mount point.
+   */
+  @Before
+  public void before() {
+    MasterContext.getConf().set(Constants.MASTER_FILE_METADATA_LOAD_THREADS, "2");
+    MasterContext.getConf().set(Constants.MASTER_FILE_METADATA_LOAD_THREADS_PER_MOUNT, "1");
+    mMountTable = PowerMockito.mock(MountTable.class);
+    mFetcher = new UfsStatusFetcher(mMountTable);
+  }
+
+  /**
+   * Resets the configuration after a test ran.
+   */
+  @After
+  public void after() {
+    MasterContext.reset();
+  }
+
+  /**
+   * Tests that calls to a mount point whose calls hang do not keep the calls of another mount
+   * point from running.
+   *
+   * @throws Exception if mocking or listing fails
+   */
+  @Test
+  public void saturatedMountDoesNotBlockOtherMountTest() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger running = new AtomicInteger();
+    UnderFileSystem slowUfs = Mockito.mock(UnderFileSystem.class);
+    Mockito.when(slowUfs.list(Mockito.anyString())).thenAnswer(new Answer<String[]>() {
+      @Override
+      public String[] answer(InvocationOnMock invocation) throws Exception {
+        running.incrementAndGet();
+        started.countDown();
+        release.await();
+        return CHILDREN;
+      }
+    });
+    UnderFileSystem fastUfs = Mockito.mock(UnderFileSystem.class);
+    Mockito.when(fastUfs.list(Mockito.anyString())).thenReturn(CHILDREN);
+
+    final List<AlluxioURI> slowDirs = Lists.newArrayList(new AlluxioURI("/slow/a"),
+        new AlluxioURI("/slow/b"), new AlluxioURI("/slow/c"));
+    for (AlluxioURI dir : slowDirs) {
+      mockMount(dir, "/slow", slowUfs);
+    }
+    AlluxioURI fastDir = new AlluxioURI("/fast/a");
+    mockMount(fastDir, "/fast", fastUfs);
+
+    ExecutorService listers = Executors.newFixedThreadPool(2);
+    try {
+      Future<List<String[]>> slowList = listers.submit(new Callable<List<String[]>>() {
+        @Override
+        public List<String[]> call() throws Exception {
+          return mFetcher.list(slowDirs);
+        }
+      });
+      started.await();
+      final List<AlluxioURI> fastDirs = Lists.newArrayList(fastDir);
+      Future<List<String[]>> fastList = listers.submit(new Callable<List<String[]>>() {
+        @Override
+        public List<String[]> call() throws Exception {
+          return mFetcher.list(fastDirs);
+        }
+      });
+      // Were the waiting calls of /slow handed to the executor, they would hold its second thread.
+      Assert.assertArrayEquals(CHILDREN,
+          fastList.get(Constants.MINUTE_MS, TimeUnit.MILLISECONDS).get(0));
+      Assert.assertFalse(slowList.isDone());
+      Assert.assertEquals(1, running.get());
+
+      release.countDown();
+      Assert.assertEquals(3, slowList.get(Constants.MINUTE_MS, TimeUnit.MILLISECONDS).size());
+      Assert.assertEquals(3, running.get());
+    } finally {
+      release.countDown();
+      listers.shutdownNow();
+    }
+  }
+
+  private void mockMount(AlluxioURI path, String mountPoint, UnderFileSystem ufs)
+      throws Exception {
+    MountTable.Resolution resolution = PowerMockito.mock(MountTable.Resolution.class);
+    Mockito.when(resolution.getUfs()).thenReturn(ufs);
+    Mockito.when(resolution.getUri()).thenReturn(path);
+    Mockito.when(mMountTable.resolve(path)).thenReturn(resolution);
+    Mockito.when(mMountTable.getMountPoint(path)).thenReturn(mountPoint);
+  }
+}
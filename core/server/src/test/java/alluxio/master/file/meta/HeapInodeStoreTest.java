@@ -0,0 +1,56 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.master.MasterContext;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link HeapInodeStore}.
+ */
+public final class HeapInodeStoreTest extends AbstractInodeTest {
+  /**
+   * Tests that inodes can be added, found by id and removed.
+   */
+  @Test
+  public void addGetRemoveTest() {
+    InodeStore store = new HeapInodeStore();
+    InodeDirectory directory = createInodeDirectory();
+    InodeFile file = createInodeFile(2);
+    Assert.assertTrue(store.add(directory));
+    Assert.assertTrue(store.add(file));
+    Assert.assertFalse(store.add(createInodeFile(2)));
+    Assert.assertEquals(2, store.size());
+    Assert.assertSame(directory, store.get(directory.getId()));
+    Assert.assertSame(file, store.get(file.getId()));
+
+    Assert.assertTrue(store.remove(createInodeFile(2)));
+    Assert.assertFalse(store.remove(file));
+    Assert.assertNull(store.get(file.getId()));
+    Assert.assertEquals(1, store.size());
+
+    store.clear();
+    Assert.assertEquals(0, store.size());
+    Assert.assertNull(store.get(directory.getId()));
+  }
+
+  /**
+   * Tests that the factory creates the default store.
+   */
+  @Test
+  public void factoryTest() {
+    Assert.assertTrue(
+        InodeStore.Factory.create(MasterContext.getConf()) instanceof HeapInodeStore);
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import com.google.common.collect.Sets;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link InodeChildren}.
+ */
+public final class InodeChildrenTest extends AbstractInodeTest {
+  /**
+   * Tests that children can be found by id and name through random additions and removals, while
+   * the tables grow and shrink.
+   */
+  @Test
+  public void randomOperationsTest() {
+    InodeChildren children = new InodeChildren();
+    Map<Long, Inode<?>> expected = new HashMap<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 100000; i++) {
+      // Add more than remove in the first half, and remove more in the second half.
+      long id = random.nextInt(5000) + 1;
+      boolean add = random.nextInt(10) < (i < 50000 ? 7 : 3);
+      InodeFile file = createInodeFile(id);
+      if (add) {
+        Assert.assertEquals(!expected.containsKey(file.getId()), children.add(file));
+        if (!expected.containsKey(file.getId())) {
+          expected.put(file.getId(), file);
+        }
+      } else {
+        Assert.assertEquals(expected.remove(file.getId()) != null, children.remove(file));
+      }
+      Assert.assertEquals(expected.size(), children.size());
+    }
+    Assert.assertEquals(new HashSet<>(expected.values()), Sets.newHashSet(children));
+    for (long id = 1; id <= 5000; id++) {
+      Inode<?> child = expected.get(createInodeFileId(id));
+      Assert.assertSame(child, children.getById(createInodeFileId(id)));
+      Assert.assertSame(child, children.getByName("testFile" + id));
+    }
+    for (Inode<?> child : expected.values()) {
+      Assert.assertTrue(children.remove(child));
+    }
+    Assert.assertEquals(0, children.size());
+    Assert.assertFalse(children.iterator().hasNext());
+    Assert.assertNull(children.getByName("testFile1"));
+  }
+
+  /**
+   * Tests that pages of children come in id order, start after the given id and hold at most the
+   * given number of children.
+   */
+  @Test
+  public void pageAfterIdTest() {
+    InodeChildren children = new InodeChildren();
+    List<Long> ids = new ArrayList<>();
+    for (long id = 100; id > 0; id--) {
+      InodeFile file = createInodeFile(id);
+      children.add(file);
+      ids.add(file.getId());
+    }
+    Collections.sort(ids);
+
+    List<Long> listed = new ArrayList<>();
+    long startAfterId = -1;
+    List<Inode<?>> page;
+    do {
+      page = children.getPageAfterId(startAfterId, 7);
+      Assert.assertTrue(page.size() <= 7);
+      for (Inode<?> child : page) {
+        Assert.assertTrue(child.getId() > startAfterId);
+        listed.add(child.getId());
+        startAfterId = child.getId();
+      }
+    } while (page.size() == 7);
+    Assert.assertEquals(ids, listed);
+
+    List<Long> all = new ArrayList<>();
+    for (Inode<?> child : children.getPageAfterId(-1, 0)) {
+      all.add(child.getId());
+    }
+    Assert.assertEquals(ids, all);
+    Assert.assertTrue(children.getPageAfterId(ids.get(ids.size() - 1), 7).isEmpty());
+  }
+
+  /**
+   * Tests that pages stay in id order and hold exactly the current children while children are
+   * added and removed between pages, including children added back and children added out of id
+   * order.
+   */
+  @Test
+  public void pageAfterRandomOperationsTest() {
+    InodeChildren children = new InodeChildren();
+    Map<Long, Inode<?>> expected = new HashMap<>();
+    Random random = new Random(42);
+    long nextId = 1;
+    for (int i = 0; i < 20000; i++) {
+      int op = random.nextInt(10);
+      if (op < 5) {
+        // Mostly increasing ids, as they are allocated, and sometimes an older one.
+        long id = random.nextInt(10) == 0 ? random.nextInt((int) nextId) + 1 : nextId++;
+        InodeFile file = createInodeFile(id);
+        if (children.add(file)) {
+          expected.put(file.getId(), file);
+        }
+      } else if (op < 8) {
+        InodeFile file = createInodeFile(random.nextInt((int) nextId) + 1);
+        if (expected.remove(file.getId()) != null) {
+          Assert.assertTrue(children.remove(file));
+        }
+      } else {
+        List<Long> ids = new ArrayList<>(expected.keySet());
+        Collections.sort(ids);
+        long startAfterId = ids.isEmpty() || random.nextBoolean() ? -1
+            : ids.get(random.nextInt(ids.size()));
+        int limit = random.nextInt(20);
+        List<Long> paged = new ArrayList<>();
+        for (Inode<?> child : children.getPageAfterId(startAfterId, limit)) {
+          Assert.assertSame(expected.get(child.getId()), child);
+          paged.add(child.getId());
+        }
+        List<Long> after = new ArrayList<>();
+        for (long id : ids) {
+          if (id > startAfterId && (limit <= 0 || after.size() < limit)) {
+            after.add(id);
+          }
+        }
+        Assert.assertEquals(after, paged);
+      }
+    }
+  }
+
+  /**
+   * Tests that children with the same name are kept apart, and can be removed one by one.
+   */
+  @Test
+  public void sameNameTest() {
+    InodeChildren children = new InodeChildren();
+    InodeFile file1 = createInodeFile(1).setName("name");
+    InodeFile file2 = createInodeFile(2).setName("name");
+    Assert.assertTrue(children.add(file1));
+    Assert.assertTrue(children.add(file2));
+    Assert.assertFalse(children.add(createInodeFile(1)));
+    Assert.assertEquals(2, children.size());
+
+    Set<Inode<?>> found = new HashSet<>();
+    found.add(children.getByName("name"));
+    Assert.assertTrue(children.remove(found.iterator().next()));
+    found.add(children.getByName("name"));
+    Assert.assertEquals(Sets.<Inode<?>>newHashSet(file1, file2), found);
+    Assert.assertTrue(children.remove(children.getByName("name")));
+    Assert.assertNull(children.getByName("name"));
+  }
+}
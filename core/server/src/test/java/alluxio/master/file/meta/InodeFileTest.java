@@ -17,12 +17,14 @@ import alluxio.exception.FileAlreadyCompletedException;
 import alluxio.exception.InvalidFileSizeException;
 import alluxio.master.MasterContext;
 import alluxio.security.authorization.PermissionStatus;
+import alluxio.util.CommonUtils;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Unit tests for {@link InodeFile}.
@@ -175,4 +177,55 @@ public final class InodeFileTest extends AbstractInodeTest {
         new PermissionStatus(TEST_PERMISSION_STATUS).applyFileUMask(MasterContext.getConf())
             .getPermission().toShort(), inode1.getPermission());
   }
+
+  /**
+   * Tests that a file holds its lock only while it is locked, and that the lock still excludes
+   * writers from readers.
+   *
+   * @throws Exception if the other thread fails
+   */
+  @Test
+  public void lockTest() throws Exception {
+    final InodeFile inode = createInodeFile(1);
+    inode.lockRead();
+    inode.lockRead();
+    Assert.assertTrue(inode.isReadLocked());
+    Assert.assertFalse(inode.isWriteLocked());
+
+    final AtomicBoolean writeLocked = new AtomicBoolean(false);
+    Thread writer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        inode.lockWrite();
+        writeLocked.set(true);
+        inode.unlockWrite();
+      }
+    });
+    writer.start();
+    CommonUtils.sleepMs(100);
+    Assert.assertFalse(writeLocked.get());
+    inode.unlockRead();
+    Assert.assertTrue(inode.isReadLocked());
+    inode.unlockRead();
+    writer.join();
+    Assert.assertTrue(writeLocked.get());
+    Assert.assertFalse(inode.isReadLocked());
+    Assert.assertFalse(inode.isWriteLocked());
+
+    inode.lockWrite();
+    Assert.assertTrue(inode.isWriteLocked());
+    inode.unlockWrite();
+    Assert.assertFalse(inode.isWriteLocked());
+  }
+
+  /**
+   * Tests that the user and group names of inodes are shared.
+   */
+  @Test
+  public void internOwnerTest() {
+    InodeFile inode1 = createInodeFile(1).setUserName(new String(TEST_USER_NAME));
+    InodeFile inode2 = createInodeFile(2).setUserName(new String(TEST_USER_NAME));
+    Assert.assertSame(inode1.getUserName(), inode2.getUserName());
+    Assert.assertSame(createInodeFile(3).getGroupName(), createInodeFile(4).getGroupName());
+  }
 }
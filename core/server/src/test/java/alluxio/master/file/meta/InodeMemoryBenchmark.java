@@ -0,0 +1,119 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.Constants;
+import alluxio.master.file.options.CreateDirectoryOptions;
+import alluxio.master.file.options.CreateFileOptions;
+import alluxio.security.authorization.PermissionStatus;
+import alluxio.util.CommonUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Measures the heap taken by each inode of a namespace. This is not run as part of the unit tests;
+ * run it with
+ *
+ * <pre>
+ * java -Xmx4g -cp ... alluxio.master.file.meta.InodeMemoryBenchmark [numFiles] [blocksPerFile]
+ * </pre>
+ *
+ * The namespace has directories of {@link #FILES_PER_DIRECTORY} files under the root, each file
+ * with the given number of blocks, and owners and groups taken from a small set of users as they
+ * would be when the namespace is created by clients or loaded from the journal. Every inode is
+ * locked and unlocked once. The heap in use is measured after garbage collection before and after
+ * the namespace is created, and only counts the inodes, not the indexes of the inode tree.
+ */
+public final class InodeMemoryBenchmark {
+  private static final int DEFAULT_NUM_FILES = 1000000;
+  private static final int DEFAULT_BLOCKS_PER_FILE = 1;
+  private static final int FILES_PER_DIRECTORY = 1000;
+  private static final int NUM_USERS = 16;
+
+  private InodeMemoryBenchmark() {} // prevent instantiation
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args the number of files, and the number of blocks of each file
+   */
+  public static void main(String[] args) {
+    int numFiles = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_FILES;
+    int blocksPerFile = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BLOCKS_PER_FILE;
+
+    long heapBefore = getUsedHeapBytes();
+    InodeDirectory root = createNamespace(numFiles, blocksPerFile);
+    long heapAfter = getUsedHeapBytes();
+    int numInodes = numFiles + (numFiles + FILES_PER_DIRECTORY - 1) / FILES_PER_DIRECTORY + 1;
+    System.out.printf("%d inodes (%d files of %d blocks), %d heap bytes per inode%n", numInodes,
+        numFiles, blocksPerFile, (heapAfter - heapBefore) / numInodes);
+    // Keep the namespace reachable until it is measured.
+    System.out.printf("%d directories%n", root.getNumberOfChildren());
+  }
+
+  /**
+   * @param numFiles the number of files
+   * @param blocksPerFile the number of blocks of each file
+   * @return the root of the namespace
+   */
+  private static InodeDirectory createNamespace(int numFiles, int blocksPerFile) {
+    InodeDirectory root = InodeDirectory.create(0, InodeTree.NO_PARENT, "",
+        CreateDirectoryOptions.defaults().setPermissionStatus(createPermissionStatus(0)));
+    lockAndUnlock(root);
+    InodeDirectory directory = null;
+    for (int i = 0; i < numFiles; i++) {
+      if (i % FILES_PER_DIRECTORY == 0) {
+        int index = i / FILES_PER_DIRECTORY;
+        directory = InodeDirectory.create(index + 1, root.getId(), "dir" + index,
+            CreateDirectoryOptions.defaults().setPermissionStatus(createPermissionStatus(index)));
+        lockAndUnlock(directory);
+        root.addChild(directory);
+      }
+      InodeFile file = InodeFile.create(i, directory.getId(), "file" + i,
+          CreateFileOptions.defaults().setBlockSizeBytes(Constants.MB)
+              .setPermissionStatus(createPermissionStatus(i)));
+      for (int j = 0; j < blocksPerFile; j++) {
+        file.getNewBlockId();
+      }
+      lockAndUnlock(file);
+      directory.addChild(file);
+    }
+    return root;
+  }
+
+  /**
+   * @param index the index of the inode
+   * @return a permission status with user and group names built for the inode
+   */
+  private static PermissionStatus createPermissionStatus(int index) {
+    return new PermissionStatus("user" + index % NUM_USERS, "group" + index % NUM_USERS,
+        (short) 0755);
+  }
+
+  private static void lockAndUnlock(Inode<?> inode) {
+    inode.lockRead();
+    inode.unlockRead();
+  }
+
+  /**
+   * @return the bytes of heap in use after garbage collection
+   */
+  private static long getUsedHeapBytes() {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    for (int i = 0; i < 5; i++) {
+      memory.gc();
+      CommonUtils.sleepMs(100);
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+}
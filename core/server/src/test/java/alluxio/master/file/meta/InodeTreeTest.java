@@ -20,6 +20,7 @@ import alluxio.exception.FileAlreadyExistsException;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidPathException;
 import alluxio.master.MasterContext;
+import alluxio.master.MasterSource;
 import alluxio.master.block.BlockMaster;
 import alluxio.master.file.options.CreateDirectoryOptions;
 import alluxio.master.file.options.CreateFileOptions;
@@ -663,6 +664,35 @@ public final class InodeTreeTest {
     }
   }
 
+  /**
+   * Tests that paths are resolved from the path cache, and that cached inodes which were deleted
+   * are not returned.
+   *
+   * @throws Exception if an {@link InodeTree} operation fails
+   */
+  @Test
+  public void pathCacheTest() throws Exception {
+    createPath(mTree, NESTED_FILE_URI, sNestedFileOptions);
+    Inode<?> file = getInodeByPath(mTree, NESTED_FILE_URI);
+    long hits = getPathCacheHits();
+    Assert.assertSame(file, getInodeByPath(mTree, NESTED_FILE_URI));
+    Assert.assertEquals(hits + 1, getPathCacheHits());
+
+    deleteInodeByPath(mTree, NESTED_FILE_URI);
+    Assert.assertTrue(file.isDeleted());
+    Assert.assertFalse(mTree.inodePathExists(NESTED_FILE_URI));
+    createPath(mTree, NESTED_FILE_URI, sNestedFileOptions);
+    Inode<?> recreated = getInodeByPath(mTree, NESTED_FILE_URI);
+    Assert.assertNotSame(file, recreated);
+    Assert.assertFalse(recreated.isDeleted());
+    Assert.assertSame(recreated, getInodeByPath(mTree, NESTED_FILE_URI));
+  }
+
+  private static long getPathCacheHits() {
+    return MasterContext.getMasterSource().getMetricRegistry().getCounters()
+        .get(MasterSource.PATH_CACHE_HITS).getCount();
+  }
+
   // Helper to create a path.
   InodeTree.CreatePathResult createPath(InodeTree root, AlluxioURI path,
       CreatePathOptions<?> options)
@@ -0,0 +1,182 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.CommonTestUtils;
+import alluxio.Constants;
+import alluxio.master.journal.JournalOutputStream;
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import com.google.common.base.Function;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link TieredInodeStore}.
+ */
+public final class TieredInodeStoreTest extends AbstractInodeTest {
+  @Rule
+  public TemporaryFolder mTestFolder = new TemporaryFolder();
+
+  private TieredInodeStore mStore;
+
+  /**
+   * Closes the store after a test ran.
+   */
+  @After
+  public void after() {
+    if (mStore != null) {
+      mStore.close();
+    }
+  }
+
+  /**
+   * Tests that files beyond the cache size are evicted, and are moved back onto the heap when they
+   * are looked up by name or by id.
+   *
+   * @throws Exception if the store cannot be created
+   */
+  @Test
+  public void evictAndRestoreTest() throws Exception {
+    mStore = new TieredInodeStore(1, mTestFolder.newFolder("metastore").getPath());
+    InodeDirectory directory = addDirectory();
+    InodeFile[] files = new InodeFile[] {addFile(directory, 2), addFile(directory, 3),
+        addFile(directory, 4)};
+    waitForEvictedCount(2);
+    Assert.assertEquals(4, mStore.size());
+
+    directory.lockRead();
+    try {
+      // The evictor is blocked while the directory is read locked.
+      Assert.assertEquals(3, directory.getNumberOfChildren());
+      List<InodeFile> evicted = new ArrayList<>();
+      for (InodeFile file : files) {
+        if (file.isDeleted()) {
+          evicted.add(file);
+        }
+      }
+      Assert.assertEquals(2, evicted.size());
+
+      Inode<?> byName = directory.getChild(evicted.get(0).getName());
+      Assert.assertNotSame(evicted.get(0), byName);
+      Assert.assertEquals(evicted.get(0).getId(), byName.getId());
+      Assert.assertFalse(byName.isDeleted());
+      Assert.assertTrue(((InodeFile) byName).isCompleted());
+      Assert.assertSame(byName, mStore.get(byName.getId()));
+
+      Inode<?> byId = mStore.get(evicted.get(1).getId());
+      Assert.assertEquals(evicted.get(1).getName(), byId.getName());
+      Assert.assertSame(byId, directory.getChild(byId.getName()));
+      Assert.assertEquals(0, mStore.getEvictedCount());
+      Assert.assertEquals(4, mStore.size());
+      Assert.assertNull(directory.getChild("missing"));
+    } finally {
+      directory.unlockRead();
+    }
+  }
+
+  /**
+   * Tests that incomplete and pinned files and files with a TTL stay on the heap.
+   *
+   * @throws Exception if the store cannot be created
+   */
+  @Test
+  public void evictOnlyCompleteFilesTest() throws Exception {
+    mStore = new TieredInodeStore(0, mTestFolder.newFolder("metastore").getPath());
+    InodeDirectory directory = addDirectory();
+    InodeFile incomplete = addFile(directory, createInodeFile(2));
+    InodeFile pinned = addFile(directory, createInodeFile(3).setCompleted(true).setPinned(true));
+    InodeFile withTtl =
+        addFile(directory, createInodeFile(4).setCompleted(true).setTtl(Constants.HOUR_MS));
+    InodeFile complete = addFile(directory, 5);
+    waitForEvictedCount(1);
+    Assert.assertTrue(complete.isDeleted());
+    Assert.assertFalse(incomplete.isDeleted());
+    Assert.assertFalse(pinned.isDeleted());
+    Assert.assertFalse(withTtl.isDeleted());
+  }
+
+  /**
+   * Tests that a checkpoint writes the evicted files without moving them back, and that listing a
+   * directory moves them back.
+   *
+   * @throws Exception if the store cannot be created
+   */
+  @Test
+  public void checkpointAndListTest() throws Exception {
+    mStore = new TieredInodeStore(0, mTestFolder.newFolder("metastore").getPath());
+    InodeDirectory directory = addDirectory();
+    addFile(directory, 2);
+    addFile(directory, 3);
+    waitForEvictedCount(2);
+
+    directory.lockRead();
+    try {
+      JournalOutputStream outputStream = Mockito.mock(JournalOutputStream.class);
+      Assert.assertTrue(directory.streamChildrenToJournalCheckpoint(outputStream).isEmpty());
+      ArgumentCaptor<JournalEntry> entries = ArgumentCaptor.forClass(JournalEntry.class);
+      Mockito.verify(outputStream, Mockito.times(2)).writeEntry(entries.capture());
+      Set<Long> ids = new HashSet<>();
+      for (JournalEntry entry : entries.getAllValues()) {
+        ids.add(entry.getInodeFile().getId());
+      }
+      Assert.assertTrue(ids.contains(createInodeFile(2).getId()));
+      Assert.assertTrue(ids.contains(createInodeFile(3).getId()));
+      Assert.assertEquals(2, mStore.getEvictedCount());
+
+      Assert.assertEquals(ids, directory.getChildrenIds());
+      Assert.assertEquals(0, mStore.getEvictedCount());
+      Assert.assertEquals(2, directory.getChildrenPage(0, 10).size());
+    } finally {
+      directory.unlockRead();
+    }
+
+    mStore.clear();
+    Assert.assertEquals(0, mStore.size());
+    Assert.assertNull(mStore.get(directory.getId()));
+  }
+
+  private InodeDirectory addDirectory() {
+    InodeDirectory directory = createInodeDirectory();
+    mStore.add(directory);
+    return directory;
+  }
+
+  private InodeFile addFile(InodeDirectory directory, long id) {
+    return addFile(directory, createInodeFile(id).setCompleted(true));
+  }
+
+  private InodeFile addFile(InodeDirectory directory, InodeFile file) {
+    directory.addChild(file);
+    mStore.add(file);
+    return file;
+  }
+
+  private void waitForEvictedCount(final long count) {
+    CommonTestUtils.waitFor(new Function<Void, Boolean>() {
+      @Override
+      public Boolean apply(Void input) {
+        return mStore.getEvictedCount() == count;
+      }
+    }, 10 * Constants.SECOND_MS);
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.Constants;
+import alluxio.master.MasterContext;
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link AsyncJournalWriter}.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({JournalWriter.class})
+public class AsyncJournalWriterTest {
+  private JournalOutputStream mOutputStream;
+  private AsyncJournalWriter mAsyncJournalWriter;
+
+  /**
+   * Sets up a writer over a mocked journal before a test runs.
+   *
+   * @throws Exception if setting up the mocks fails
+   */
+  @Before
+  public void before() throws Exception {
+    // Batches are only cut by the entries available in these tests.
+    MasterContext.getConf().set(Constants.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS, "60000");
+    mOutputStream = Mockito.mock(JournalOutputStream.class);
+    JournalWriter journalWriter = Mockito.mock(JournalWriter.class);
+    Mockito.when(journalWriter.getEntryOutputStream()).thenReturn(mOutputStream);
+    mAsyncJournalWriter = new AsyncJournalWriter(journalWriter);
+  }
+
+  /**
+   * Stops the writer and resets the configuration after a test ran.
+   */
+  @After
+  public void after() {
+    mAsyncJournalWriter.close();
+    MasterContext.reset();
+  }
+
+  /**
+   * Tests that flushing waits for the appended entries to be written and flushed.
+   *
+   * @throws Exception if flushing fails
+   */
+  @Test
+  public void flushTest() throws Exception {
+    long counter = AsyncJournalWriter.INVALID_FLUSH_COUNTER;
+    for (int i = 0; i < 3; i++) {
+      counter = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+    }
+    Assert.assertEquals(3, counter);
+    mAsyncJournalWriter.flush(counter);
+    Mockito.verify(mOutputStream, Mockito.times(3)).writeEntry(JournalEntry.getDefaultInstance());
+    Mockito.verify(mOutputStream, Mockito.atLeastOnce()).flush();
+    // Flushing an already flushed counter returns right away.
+    mAsyncJournalWriter.flush(1);
+  }
+
+  /**
+   * Tests that entries appended while the journal is being flushed are flushed together.
+   *
+   * @throws Exception if flushing fails
+   */
+  @Test
+  public void groupCommitTest() throws Exception {
+    final CountDownLatch flushStarted = new CountDownLatch(1);
+    final CountDownLatch releaseFlush = new CountDownLatch(1);
+    final AtomicInteger flushes = new AtomicInteger();
+    Mockito.doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        if (flushes.incrementAndGet() == 1) {
+          flushStarted.countDown();
+          releaseFlush.await();
+        }
+        return null;
+      }
+    }).when(mOutputStream).flush();
+
+    mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+    flushStarted.await();
+    long counter = AsyncJournalWriter.INVALID_FLUSH_COUNTER;
+    for (int i = 0; i < 100; i++) {
+      counter = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+    }
+    releaseFlush.countDown();
+    mAsyncJournalWriter.flush(counter);
+    Assert.assertEquals(2, flushes.get());
+  }
+
+  /**
+   * Tests that a failure to flush the journal fails the waiting and all later flushes.
+   *
+   * @throws Exception if setting up the mocks fails
+   */
+  @Test
+  public void flushFailureTest() throws Exception {
+    Mockito.doThrow(new IOException("injected")).when(mOutputStream).flush();
+    long counter = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+    try {
+      mAsyncJournalWriter.flush(counter);
+      Assert.fail("flush should fail when the journal fails");
+    } catch (IOException e) {
+      // expected
+    }
+    counter = mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+    try {
+      mAsyncJournalWriter.flush(counter);
+      Assert.fail("flush should fail after the journal failed");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+}
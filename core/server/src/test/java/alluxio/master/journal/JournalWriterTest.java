@@ -0,0 +1,156 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.Constants;
+import alluxio.master.MasterContext;
+import alluxio.proto.journal.File.DeleteFileEntry;
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+/**
+ * Unit tests for {@link JournalWriter}.
+ */
+public class JournalWriterTest {
+  /** Enough entries for the checkpoint to be serialized in several segments. */
+  private static final int NUM_CHECKPOINT_ENTRIES = 5000;
+
+  private ReadWriteJournal mJournal;
+
+  /** Rule to create a new temporary folder during each test. */
+  @Rule
+  public TemporaryFolder mTestFolder = new TemporaryFolder();
+
+  /**
+   * Sets up a journal in a temporary folder before a test runs.
+   *
+   * @throws Exception if creating the temporary folder fails
+   */
+  @Before
+  public void before() throws Exception {
+    MasterContext.getConf().set(Constants.MASTER_JOURNAL_CHECKPOINT_THREADS, "4");
+    mJournal = new ReadWriteJournal(mTestFolder.newFolder().getAbsolutePath());
+  }
+
+  /**
+   * Resets the configuration after a test ran.
+   */
+  @After
+  public void after() {
+    MasterContext.reset();
+  }
+
+  private static JournalEntry entry(long id) {
+    return JournalEntry.newBuilder().setDeleteFile(DeleteFileEntry.newBuilder().setId(id)).build();
+  }
+
+  /**
+   * Writes a checkpoint of ids [0, numEntries) and closes it.
+   */
+  private JournalWriter writeCheckpoint(long latestSequenceNumber, int numEntries)
+      throws IOException {
+    JournalWriter writer = mJournal.getNewWriter();
+    writer.completeAllLogs();
+    JournalOutputStream checkpoint = writer.getCheckpointOutputStream(latestSequenceNumber);
+    for (int i = 0; i < numEntries; i++) {
+      checkpoint.writeEntry(entry(i));
+    }
+    checkpoint.close();
+    return writer;
+  }
+
+  /**
+   * Reads entries from a stream, checking that they have consecutive sequence numbers and ids.
+   *
+   * @return the number of entries read
+   */
+  private static int readEntries(JournalInputStream inputStream, long firstSequenceNumber,
+      long firstId) throws IOException {
+    int count = 0;
+    JournalEntry entry;
+    while ((entry = inputStream.getNextEntry()) != null) {
+      Assert.assertEquals(firstSequenceNumber + count, entry.getSequenceNumber());
+      Assert.assertEquals(firstId + count, entry.getDeleteFile().getId());
+      count++;
+    }
+    inputStream.close();
+    return count;
+  }
+
+  /**
+   * Tests that a checkpoint serialized in parallel holds all entries in order.
+   *
+   * @throws Exception if writing or reading the journal fails
+   */
+  @Test
+  public void parallelCheckpointTest() throws Exception {
+    JournalWriter writer = writeCheckpoint(10, NUM_CHECKPOINT_ENTRIES);
+    writer.close();
+
+    JournalReader reader = mJournal.getNewReader();
+    Assert.assertEquals(NUM_CHECKPOINT_ENTRIES,
+        readEntries(reader.getCheckpointInputStream(), 11, 0));
+  }
+
+  /**
+   * Tests that keeping the checkpoint keeps the completed logs, and that entries written
+   * afterwards follow them.
+   *
+   * @throws Exception if writing or reading the journal fails
+   */
+  @Test
+  public void keepCheckpointTest() throws Exception {
+    JournalWriter writer = writeCheckpoint(0, 10);
+    JournalOutputStream log = writer.getEntryOutputStream();
+    for (int i = 10; i < 20; i++) {
+      log.writeEntry(entry(i));
+    }
+    log.flush();
+    writer.close();
+
+    // A new leader keeps the checkpoint, and the log written before is completed.
+    writer = mJournal.getNewWriter();
+    writer.completeAllLogs();
+    writer.keepCheckpoint(20);
+    log = writer.getEntryOutputStream();
+    for (int i = 20; i < 30; i++) {
+      log.writeEntry(entry(i));
+    }
+    log.flush();
+    writer.close();
+    mJournal.getNewWriter().completeAllLogs();
+
+    JournalReader reader = mJournal.getNewReader();
+    Assert.assertEquals(10, readEntries(reader.getCheckpointInputStream(), 1, 0));
+    Assert.assertEquals(10, readEntries(reader.getNextInputStream(), 11, 10));
+    Assert.assertEquals(10, readEntries(reader.getNextInputStream(), 21, 20));
+    Assert.assertNull(reader.getNextInputStream());
+  }
+
+  /**
+   * Tests that entries cannot be written before the checkpoint is written or kept.
+   *
+   * @throws Exception if writing the journal fails
+   */
+  @Test(expected = IOException.class)
+  public void entriesBeforeCheckpointTest() throws Exception {
+    mJournal.getNewWriter().getEntryOutputStream();
+  }
+}
@@ -11,12 +11,78 @@
 
 package alluxio.master.journal;
 
+import alluxio.proto.journal.Block.BlockInfoEntry;
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
 /**
  * Unit tests for {@link ProtoBufJournalFormatter}.
  */
 public final class ProtoBufJournalFormatterTest extends AbstractJournalFormatterTest {
+  private static final int NUM_ENTRIES = 10000;
+
   @Override
   protected JournalFormatter getFormatter() {
     return new ProtoBufJournalFormatter();
   }
+
+  /**
+   * Tests that entries parsed on several threads are returned in the order of the stream.
+   *
+   * @throws IOException if reading or writing an entry fails
+   */
+  @Test
+  public void parallelDeserializeTest() throws IOException {
+    JournalInputStream is =
+        new ParallelJournalInputStream(new ByteArrayInputStream(serializeEntries()), 4);
+    for (int i = 1; i <= NUM_ENTRIES; i++) {
+      JournalEntry entry = is.getNextEntry();
+      Assert.assertEquals(i, entry.getSequenceNumber());
+      Assert.assertEquals(i, entry.getBlockInfo().getBlockId());
+      Assert.assertEquals(i, is.getLatestSequenceNumber());
+    }
+    Assert.assertNull(is.getNextEntry());
+    Assert.assertNull(is.getNextEntry());
+    is.close();
+  }
+
+  /**
+   * Tests that a stream ending in the middle of an entry fails after the entries before it are
+   * returned.
+   *
+   * @throws IOException if reading or writing an entry fails
+   */
+  @Test
+  public void parallelDeserializeTruncatedTest() throws IOException {
+    byte[] bytes = serializeEntries();
+    JournalInputStream is = new ParallelJournalInputStream(
+        new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)), 4);
+    for (int i = 1; i < NUM_ENTRIES; i++) {
+      Assert.assertEquals(i, is.getNextEntry().getSequenceNumber());
+    }
+    try {
+      is.getNextEntry();
+      Assert.fail("Reading a truncated entry should fail");
+    } catch (IOException e) {
+      // Expected
+    }
+    Assert.assertEquals(NUM_ENTRIES - 1, is.getLatestSequenceNumber());
+    is.close();
+  }
+
+  private byte[] serializeEntries() throws IOException {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    for (int i = 1; i <= NUM_ENTRIES; i++) {
+      mFormatter.serialize(JournalEntry.newBuilder().setSequenceNumber(i)
+          .setBlockInfo(BlockInfoEntry.newBuilder().setBlockId(i).setLength(i)).build(), os);
+    }
+    return os.toByteArray();
+  }
 }
@@ -11,6 +11,7 @@
 
 package alluxio.network.protocol;
 
+import com.google.common.primitives.Longs;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.junit.Assert;
@@ -26,6 +27,7 @@ public class RPCBlockReadRequestTest {
   private static final long LENGTH = 33;
   private static final long LOCK_ID = 44;
   private static final long SESSION_ID = 55;
+  private static final long REQUEST_ID = 66;
 
   private ByteBuf mBuffer = null;
 
@@ -39,6 +41,12 @@ public class RPCBlockReadRequestTest {
     Assert.assertEquals(sessionId, req.getSessionId());
   }
 
+  private int encodedLength(RPCBlockReadRequest req) {
+    ByteBuf buffer = Unpooled.buffer();
+    req.encode(buffer);
+    return buffer.readableBytes();
+  }
+
   private void assertValid(RPCBlockReadRequest req) {
     try {
       req.validate();
@@ -90,6 +98,51 @@ public class RPCBlockReadRequestTest {
     assertValid(BLOCK_ID, OFFSET, LENGTH, LOCK_ID, SESSION_ID, req2);
   }
 
+  /**
+   * Tests the {@link RPCBlockReadRequest#encode(ByteBuf)} and
+   * {@link RPCBlockReadRequest#decode(ByteBuf)} methods for a keep-alive request.
+   */
+  @Test
+  public void encodeDecodeKeepAliveTest() {
+    RPCBlockReadRequest req = new RPCBlockReadRequest(BLOCK_ID, OFFSET, LENGTH, LOCK_ID,
+        SESSION_ID, REQUEST_ID, true);
+    Assert.assertEquals(req.getEncodedLength(), encodedLength(req));
+    req.encode(mBuffer);
+    RPCBlockReadRequest req2 = RPCBlockReadRequest.decode(mBuffer);
+    assertValid(BLOCK_ID, OFFSET, LENGTH, LOCK_ID, SESSION_ID, req2);
+    Assert.assertEquals(REQUEST_ID, req2.getRequestId());
+    Assert.assertTrue(req2.isKeepAlive());
+  }
+
+  /**
+   * Tests that a request created without a request id does not ask to keep the channel alive.
+   */
+  @Test
+  public void defaultKeepAliveTest() {
+    RPCBlockReadRequest req = new RPCBlockReadRequest(BLOCK_ID, OFFSET, LENGTH, LOCK_ID,
+        SESSION_ID);
+    req.encode(mBuffer);
+    RPCBlockReadRequest req2 = RPCBlockReadRequest.decode(mBuffer);
+    Assert.assertFalse(req2.isKeepAlive());
+  }
+
+  /**
+   * Tests that a request which does not ask to keep the channel alive keeps the layout data
+   * servers read before keep-alive was added, so its request id is not sent.
+   */
+  @Test
+  public void compatibleLayoutTest() {
+    RPCBlockReadRequest req = new RPCBlockReadRequest(BLOCK_ID, OFFSET, LENGTH, LOCK_ID,
+        SESSION_ID, REQUEST_ID, false);
+    Assert.assertEquals(Longs.BYTES * 5, req.getEncodedLength());
+    req.encode(mBuffer);
+    Assert.assertEquals(Longs.BYTES * 5, mBuffer.readableBytes());
+    RPCBlockReadRequest req2 = RPCBlockReadRequest.decode(mBuffer);
+    assertValid(BLOCK_ID, OFFSET, LENGTH, LOCK_ID, SESSION_ID, req2);
+    Assert.assertEquals(0, req2.getRequestId());
+    Assert.assertFalse(req2.isKeepAlive());
+  }
+
   /**
    * Tests the {@link RPCBlockReadRequest#validate()} method.
    */
@@ -13,6 +13,8 @@ package alluxio.network.protocol;
 
 import alluxio.network.protocol.databuffer.DataByteBuffer;
 
+import com.google.common.primitives.Longs;
+import com.google.common.primitives.Shorts;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.junit.Assert;
@@ -34,6 +36,7 @@ public class RPCBlockReadResponseTest {
   private static final long LENGTH = 0;
   private static final long LOCK_ID = 4444;
   private static final long SESSION_ID = 5555;
+  private static final long REQUEST_ID = 6666;
 
   private static final RPCResponse.Status STATUS = RPCResponse.Status.SUCCESS;
 
@@ -92,6 +95,38 @@ public class RPCBlockReadResponseTest {
     assertValid(BLOCK_ID, OFFSET, LENGTH, STATUS, resp2);
   }
 
+  /**
+   * Tests that the request id survives {@link RPCBlockReadResponse#encode(ByteBuf)} and
+   * {@link RPCBlockReadResponse#decode(ByteBuf)}.
+   */
+  @Test
+  public void encodeDecodeRequestIdTest() {
+    RPCBlockReadResponse resp =
+        new RPCBlockReadResponse(BLOCK_ID, OFFSET, LENGTH, null, STATUS, REQUEST_ID);
+    resp.encode(mBuffer);
+    RPCBlockReadResponse resp2 = RPCBlockReadResponse.decode(mBuffer);
+    assertValid(BLOCK_ID, OFFSET, LENGTH, STATUS, resp2);
+    Assert.assertEquals(REQUEST_ID, resp2.getRequestId());
+  }
+
+  /**
+   * Tests that a response without a request id keeps the layout clients read before request ids
+   * were added, and that a response with one only appends it.
+   */
+  @Test
+  public void compatibleLayoutTest() {
+    RPCBlockReadResponse resp = new RPCBlockReadResponse(BLOCK_ID, OFFSET, LENGTH, null, STATUS);
+    resp.encode(mBuffer);
+    Assert.assertEquals(Longs.BYTES * 3 + Shorts.BYTES, mBuffer.readableBytes());
+    Assert.assertEquals(0, RPCBlockReadResponse.decode(mBuffer).getRequestId());
+
+    mBuffer.clear();
+    resp = new RPCBlockReadResponse(BLOCK_ID, OFFSET, LENGTH, null, STATUS, REQUEST_ID);
+    Assert.assertEquals(Longs.BYTES * 4 + Shorts.BYTES, resp.getEncodedLength());
+    resp.encode(mBuffer);
+    Assert.assertEquals(resp.getEncodedLength(), mBuffer.readableBytes());
+  }
+
   /**
    * Tests the {@link RPCBlockReadResponse#validate()} method.
    */
@@ -134,4 +169,16 @@ public class RPCBlockReadResponseTest {
       }
     }
   }
+
+  /**
+   * Tests that an error response carries the request id of the request it answers.
+   */
+  @Test
+  public void createErrorResponseRequestIdTest() {
+    RPCBlockReadRequest req = new RPCBlockReadRequest(BLOCK_ID, OFFSET, LENGTH, LOCK_ID,
+        SESSION_ID, REQUEST_ID, true);
+    RPCBlockReadResponse resp =
+        RPCBlockReadResponse.createErrorResponse(req, RPCResponse.Status.FILE_DNE);
+    Assert.assertEquals(REQUEST_ID, resp.getRequestId());
+  }
 }
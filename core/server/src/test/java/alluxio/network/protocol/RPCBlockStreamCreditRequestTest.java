@@ -0,0 +1,75 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RPCBlockStreamCreditRequest}.
+ */
+public class RPCBlockStreamCreditRequestTest {
+  private static final long REQUEST_ID = 11;
+  private static final int CREDITS = 22;
+
+  private ByteBuf mBuffer = null;
+
+  /**
+   * Sets up the buffer before a test runs.
+   */
+  @Before
+  public final void before() {
+    mBuffer = Unpooled.buffer();
+  }
+
+  /**
+   * Tests the {@link RPCBlockStreamCreditRequest#getEncodedLength()} method.
+   */
+  @Test
+  public void encodedLengthTest() {
+    RPCBlockStreamCreditRequest req = new RPCBlockStreamCreditRequest(REQUEST_ID, CREDITS);
+    int encodedLength = req.getEncodedLength();
+    req.encode(mBuffer);
+    Assert.assertEquals(encodedLength, mBuffer.readableBytes());
+  }
+
+  /**
+   * Tests the {@link RPCBlockStreamCreditRequest#encode(ByteBuf)} and
+   * {@link RPCBlockStreamCreditRequest#decode(ByteBuf)} methods.
+   */
+  @Test
+  public void encodeDecodeTest() {
+    RPCBlockStreamCreditRequest req = new RPCBlockStreamCreditRequest(REQUEST_ID, CREDITS);
+    req.encode(mBuffer);
+    RPCBlockStreamCreditRequest req2 = RPCBlockStreamCreditRequest.decode(mBuffer);
+    Assert.assertEquals(RPCMessage.Type.RPC_BLOCK_STREAM_CREDIT_REQUEST, req2.getType());
+    Assert.assertEquals(REQUEST_ID, req2.getRequestId());
+    Assert.assertEquals(CREDITS, req2.getCredits());
+  }
+
+  /**
+   * Tests the {@link RPCBlockStreamCreditRequest#validate()} method.
+   */
+  @Test
+  public void validateTest() {
+    new RPCBlockStreamCreditRequest(REQUEST_ID, CREDITS).validate();
+    try {
+      new RPCBlockStreamCreditRequest(REQUEST_ID, 0).validate();
+      Assert.fail("request should be invalid.");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RPCBlockStreamReadRequest}.
+ */
+public class RPCBlockStreamReadRequestTest {
+  private static final long BLOCK_ID = 11;
+  private static final long OFFSET = 22;
+  private static final long LENGTH = 33;
+  private static final long LOCK_ID = 44;
+  private static final long SESSION_ID = 55;
+  private static final long REQUEST_ID = 66;
+  private static final long CHUNK_SIZE = 77;
+  private static final int CREDITS = 8;
+
+  private ByteBuf mBuffer = null;
+
+  private void assertValid(long blockId, long offset, long length, long lockId, long sessionId,
+      long requestId, long chunkSize, int credits, RPCBlockStreamReadRequest req) {
+    Assert.assertEquals(RPCMessage.Type.RPC_BLOCK_STREAM_READ_REQUEST, req.getType());
+    Assert.assertEquals(blockId, req.getBlockId());
+    Assert.assertEquals(offset, req.getOffset());
+    Assert.assertEquals(length, req.getLength());
+    Assert.assertEquals(lockId, req.getLockId());
+    Assert.assertEquals(sessionId, req.getSessionId());
+    Assert.assertEquals(requestId, req.getRequestId());
+    Assert.assertEquals(chunkSize, req.getChunkSize());
+    Assert.assertEquals(credits, req.getCredits());
+  }
+
+  private void assertValid(RPCBlockStreamReadRequest req) {
+    try {
+      req.validate();
+    } catch (Exception e) {
+      Assert.fail("request should be valid.");
+    }
+  }
+
+  private void assertInvalid(RPCBlockStreamReadRequest req) {
+    try {
+      req.validate();
+      Assert.fail("request should be invalid.");
+    } catch (Exception e) {
+      return;
+    }
+  }
+
+  /**
+   * Sets up the buffer before a test runs.
+   */
+  @Before
+  public final void before() {
+    mBuffer = Unpooled.buffer();
+  }
+
+  /**
+   * Tests the {@link RPCBlockStreamReadRequest#getEncodedLength()} method.
+   */
+  @Test
+  public void encodedLengthTest() {
+    RPCBlockStreamReadRequest req = new RPCBlockStreamReadRequest(BLOCK_ID, OFFSET, LENGTH,
+        LOCK_ID, SESSION_ID, REQUEST_ID, CHUNK_SIZE, CREDITS);
+    int encodedLength = req.getEncodedLength();
+    req.encode(mBuffer);
+    Assert.assertEquals(encodedLength, mBuffer.readableBytes());
+  }
+
+  /**
+   * Tests the {@link RPCBlockStreamReadRequest#encode(ByteBuf)} and
+   * {@link RPCBlockStreamReadRequest#decode(ByteBuf)} methods.
+   */
+  @Test
+  public void encodeDecodeTest() {
+    RPCBlockStreamReadRequest req = new RPCBlockStreamReadRequest(BLOCK_ID, OFFSET, LENGTH,
+        LOCK_ID, SESSION_ID, REQUEST_ID, CHUNK_SIZE, CREDITS);
+    req.encode(mBuffer);
+    RPCBlockStreamReadRequest req2 = RPCBlockStreamReadRequest.decode(mBuffer);
+    assertValid(BLOCK_ID, OFFSET, LENGTH, LOCK_ID, SESSION_ID, REQUEST_ID, CHUNK_SIZE, CREDITS,
+        req);
+    assertValid(BLOCK_ID, OFFSET, LENGTH, LOCK_ID, SESSION_ID, REQUEST_ID, CHUNK_SIZE, CREDITS,
+        req2);
+  }
+
+  /**
+   * Tests the {@link RPCBlockStreamReadRequest#validate()} method.
+   */
+  @Test
+  public void validateTest() {
+    assertValid(new RPCBlockStreamReadRequest(BLOCK_ID, OFFSET, LENGTH, LOCK_ID, SESSION_ID,
+        REQUEST_ID, CHUNK_SIZE, CREDITS));
+    assertValid(new RPCBlockStreamReadRequest(BLOCK_ID, OFFSET, -1, LOCK_ID, SESSION_ID,
+        REQUEST_ID, CHUNK_SIZE, CREDITS));
+  }
+
+  /**
+   * Tests the {@link RPCBlockStreamReadRequest#validate()} method with invalid arguments.
+   */
+  @Test
+  public void invalidTest() {
+    assertInvalid(new RPCBlockStreamReadRequest(BLOCK_ID, -1, LENGTH, LOCK_ID, SESSION_ID,
+        REQUEST_ID, CHUNK_SIZE, CREDITS));
+    assertInvalid(new RPCBlockStreamReadRequest(BLOCK_ID, OFFSET, -100, LOCK_ID, SESSION_ID,
+        REQUEST_ID, CHUNK_SIZE, CREDITS));
+    assertInvalid(new RPCBlockStreamReadRequest(BLOCK_ID, OFFSET, LENGTH, LOCK_ID, SESSION_ID,
+        REQUEST_ID, 0, CREDITS));
+    assertInvalid(new RPCBlockStreamReadRequest(BLOCK_ID, OFFSET, LENGTH, LOCK_ID, SESSION_ID,
+        REQUEST_ID, CHUNK_SIZE, 0));
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol;
+
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.DataByteBuffer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Unit tests for {@link RPCBlockWriteRequest}.
+ */
+public class RPCBlockWriteRequestTest {
+  private static final long SESSION_ID = 1;
+  private static final long BLOCK_ID = 11;
+  private static final long OFFSET = 22;
+  private static final long LENGTH = 0;
+
+  private ByteBuf mBuffer = null;
+
+  private void assertValid(long sessionId, long blockId, long offset, long length,
+      boolean keepAlive, RPCBlockWriteRequest req) {
+    Assert.assertEquals(RPCMessage.Type.RPC_BLOCK_WRITE_REQUEST, req.getType());
+    Assert.assertEquals(sessionId, req.getSessionId());
+    Assert.assertEquals(blockId, req.getBlockId());
+    Assert.assertEquals(offset, req.getOffset());
+    Assert.assertEquals(length, req.getLength());
+    Assert.assertEquals(keepAlive, req.isKeepAlive());
+  }
+
+  /**
+   * Sets up the buffer before a test runs.
+   */
+  @Before
+  public final void before() {
+    mBuffer = Unpooled.buffer();
+  }
+
+  /**
+   * Tests the {@link RPCBlockWriteRequest#getEncodedLength()} method.
+   */
+  @Test
+  public void encodedLengthTest() {
+    RPCBlockWriteRequest req =
+        new RPCBlockWriteRequest(SESSION_ID, BLOCK_ID, OFFSET, LENGTH, null, true);
+    int encodedLength = req.getEncodedLength();
+    req.encode(mBuffer);
+    Assert.assertEquals(encodedLength, mBuffer.readableBytes());
+  }
+
+  /**
+   * Tests the {@link RPCBlockWriteRequest#encode(ByteBuf)} and
+   * {@link RPCBlockWriteRequest#decode(ByteBuf)} methods.
+   */
+  @Test
+  public void encodeDecodeTest() {
+    RPCBlockWriteRequest req = new RPCBlockWriteRequest(SESSION_ID, BLOCK_ID, OFFSET, LENGTH, null);
+    req.encode(mBuffer);
+    RPCBlockWriteRequest req2 = RPCBlockWriteRequest.decode(mBuffer);
+    assertValid(SESSION_ID, BLOCK_ID, OFFSET, LENGTH, false, req);
+    assertValid(SESSION_ID, BLOCK_ID, OFFSET, LENGTH, false, req2);
+  }
+
+  /**
+   * Tests the {@link RPCBlockWriteRequest#encode(ByteBuf)} and
+   * {@link RPCBlockWriteRequest#decode(ByteBuf)} methods with data in a write session.
+   */
+  @Test
+  public void encodeDecodeKeepAliveDataTest() {
+    int length = 10;
+    DataBuffer buffer = new DataByteBuffer(ByteBuffer.allocate(length), length);
+    RPCBlockWriteRequest req =
+        new RPCBlockWriteRequest(SESSION_ID, BLOCK_ID, OFFSET, length, buffer, true);
+    req.encode(mBuffer);
+    mBuffer.writeBytes(buffer.getReadOnlyByteBuffer());
+    RPCBlockWriteRequest req2 = RPCBlockWriteRequest.decode(mBuffer);
+    assertValid(SESSION_ID, BLOCK_ID, OFFSET, length, true, req);
+    assertValid(SESSION_ID, BLOCK_ID, OFFSET, length, true, req2);
+    Assert.assertEquals(length, req2.getPayloadDataBuffer().getLength());
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.Constants;
+import alluxio.worker.WorkerContext;
+
+import com.google.common.base.Throwables;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * Measures the throughput of {@link BlockLockManager} as the number of threads locking and
+ * unlocking blocks grows. This is not run as part of the unit tests; run it with
+ *
+ * <pre>
+ * java -cp ... alluxio.worker.block.BlockLockManagerBenchmark [maxThreads] [opsPerThread]
+ * </pre>
+ *
+ * Two workloads are measured: every thread locking the same block, which contends on a single
+ * block lock, and every thread locking its own blocks, which should scale with the number of
+ * threads.
+ */
+public final class BlockLockManagerBenchmark {
+  private static final int DEFAULT_MAX_THREADS = 64;
+  private static final int DEFAULT_OPS_PER_THREAD = 200000;
+  private static final int BLOCKS_PER_THREAD = 16;
+  private static final int WARMUP_ROUNDS = 2;
+
+  private BlockLockManagerBenchmark() {} // prevent instantiation
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args the maximum number of threads, and the lock/unlock pairs per thread
+   * @throws Exception if the benchmark fails
+   */
+  public static void main(String[] args) throws Exception {
+    int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MAX_THREADS;
+    int opsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_OPS_PER_THREAD;
+    WorkerContext.getConf().set(Constants.WORKER_TIERED_STORE_BLOCK_LOCKS,
+        Integer.toString(maxThreads * BLOCKS_PER_THREAD));
+
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      run(maxThreads, opsPerThread, false);
+    }
+    System.out.printf("%8s %20s %20s%n", "threads", "same block ops/s", "own blocks ops/s");
+    for (int threads = 1; threads <= maxThreads; threads *= 2) {
+      long shared = run(threads, opsPerThread, true);
+      long distinct = run(threads, opsPerThread, false);
+      System.out.printf("%8d %20d %20d%n", threads, shared, distinct);
+    }
+  }
+
+  /**
+   * Locks and unlocks blocks from the given number of threads.
+   *
+   * @param numThreads the number of threads
+   * @param opsPerThread the number of lock/unlock pairs per thread
+   * @param sameBlock whether all threads lock the same block
+   * @return the number of lock/unlock pairs per second
+   */
+  private static long run(int numThreads, final int opsPerThread, final boolean sameBlock)
+      throws Exception {
+    final BlockLockManager manager = new BlockLockManager();
+    final CyclicBarrier barrier = new CyclicBarrier(numThreads + 1);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < numThreads; i++) {
+      final long sessionId = i;
+      Thread t = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            barrier.await();
+            for (int j = 0; j < opsPerThread; j++) {
+              long blockId = sameBlock ? 0 : sessionId * BLOCKS_PER_THREAD + j % BLOCKS_PER_THREAD;
+              manager.unlockBlock(manager.lockBlock(sessionId, blockId, BlockLockType.READ));
+            }
+          } catch (Exception e) {
+            throw Throwables.propagate(e);
+          }
+        }
+      });
+      threads.add(t);
+      t.start();
+    }
+    barrier.await();
+    long startNs = System.nanoTime();
+    for (Thread t : threads) {
+      t.join();
+    }
+    long elapsedNs = Math.max(1, System.nanoTime() - startNs);
+    manager.validate();
+    return (long) numThreads * opsPerThread * Constants.SECOND_NANO / elapsedNs;
+  }
+}
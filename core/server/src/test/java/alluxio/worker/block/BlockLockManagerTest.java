@@ -317,6 +317,52 @@ public class BlockLockManagerTest {
     manager.validate();
   }
 
+  /**
+   * Tests that sessions locking distinct blocks concurrently can be cleaned up concurrently, and
+   * that all of their block locks are freed afterwards.
+   */
+  @Test(timeout = 10000)
+  public void concurrentCleanupSessionTest() throws Throwable {
+    final int numSessions = 50;
+    final int locksPerSession = 20;
+    setMaxLocks(numSessions * locksPerSession);
+    final BlockLockManager manager = new BlockLockManager();
+    final CyclicBarrier barrier = new CyclicBarrier(numSessions);
+    final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < numSessions; i++) {
+      final long sessionId = i;
+      Thread t = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            barrier.await();
+            for (int j = 0; j < locksPerSession; j++) {
+              manager.lockBlock(sessionId, sessionId * locksPerSession + j, BlockLockType.WRITE);
+            }
+            manager.cleanupSession(sessionId);
+          } catch (Throwable e) {
+            failures.add(e);
+          }
+        }
+      });
+      threads.add(t);
+      t.start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    if (!failures.isEmpty()) {
+      throw failures.get(0);
+    }
+    manager.validate();
+    Assert.assertTrue(manager.getLockedBlocks().isEmpty());
+    // All locks were freed, so all blocks can be locked again.
+    for (int i = 0; i < numSessions * locksPerSession; i++) {
+      manager.lockBlock(TEST_SESSION_ID, i, BlockLockType.WRITE);
+    }
+  }
+
   private void setMaxLocks(int maxLocks) {
     WorkerContext.getConf().set(Constants.WORKER_TIERED_STORE_BLOCK_LOCKS,
         Integer.toString(maxLocks));
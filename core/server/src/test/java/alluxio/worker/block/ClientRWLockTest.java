@@ -88,4 +88,20 @@ public final class ClientRWLockTest {
     Assert.assertEquals(10, mClientRWLock.dropReference());
     Assert.assertEquals(10, mClientRWLock.getReferenceCount());
   }
+
+  /**
+   * Tests that {@link ClientRWLock#tryAddReference()} fails once the reference count has dropped
+   * to zero.
+   */
+  @Test
+  public void tryAddReferenceTest() throws Exception {
+    Assert.assertFalse(mClientRWLock.tryAddReference());
+    mClientRWLock.addReference();
+    Assert.assertTrue(mClientRWLock.tryAddReference());
+    Assert.assertEquals(2, mClientRWLock.getReferenceCount());
+    Assert.assertEquals(1, mClientRWLock.dropReference());
+    Assert.assertEquals(0, mClientRWLock.dropReference());
+    Assert.assertFalse(mClientRWLock.tryAddReference());
+    Assert.assertEquals(0, mClientRWLock.getReferenceCount());
+  }
 }
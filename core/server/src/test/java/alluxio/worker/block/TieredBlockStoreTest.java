@@ -34,6 +34,9 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Unit tests for {@link TieredBlockStore}.
@@ -549,6 +552,58 @@ public final class TieredBlockStoreTest {
     mBlockStore.moveBlock(SESSION_ID1, TEMP_BLOCK_ID, mTestDir2.toBlockStoreLocation());
   }
 
+  /**
+   * Tests that blocks can be cached and moved concurrently between two directories, in both
+   * directions, without deadlock or corrupting the metadata of either directory.
+   *
+   * @throws Throwable if caching or moving a block fails
+   */
+  @Test(timeout = 10000)
+  public void concurrentCacheAndMoveTest() throws Throwable {
+    final int blocksPerThread = 10;
+    final long blockSize = 10;
+    final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+    List<Thread> threads = new ArrayList<>();
+    final StorageDir[][] srcAndDstDirs = {{mTestDir1, mTestDir3}, {mTestDir3, mTestDir1}};
+    for (int i = 0; i < srcAndDstDirs.length; i++) {
+      final long firstBlockId = BLOCK_ID1 + i * blocksPerThread;
+      final StorageDir srcDir = srcAndDstDirs[i][0];
+      final StorageDir dstDir = srcAndDstDirs[i][1];
+      Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            for (long blockId = firstBlockId; blockId < firstBlockId + blocksPerThread;
+                blockId++) {
+              TieredBlockStoreTestUtils.cache(SESSION_ID1, blockId, blockSize, mBlockStore,
+                  srcDir.toBlockStoreLocation());
+              mBlockStore.moveBlock(SESSION_ID1, blockId, dstDir.toBlockStoreLocation());
+            }
+          } catch (Throwable e) {
+            failures.add(e);
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    if (!failures.isEmpty()) {
+      throw failures.get(0);
+    }
+    for (int i = 0; i < srcAndDstDirs.length; i++) {
+      StorageDir dstDir = srcAndDstDirs[i][1];
+      for (int j = 0; j < blocksPerThread; j++) {
+        Assert.assertTrue(dstDir.hasBlockMeta(BLOCK_ID1 + i * blocksPerThread + j));
+      }
+      Assert.assertEquals(blocksPerThread * blockSize, dstDir.getCommittedBytes());
+      Assert.assertEquals(dstDir.getCapacityBytes() - blocksPerThread * blockSize,
+          dstDir.getAvailableBytes());
+    }
+  }
+
   /**
    * Tests that an exception is thrown when trying to cache a block which already exists in a
    * different directory.
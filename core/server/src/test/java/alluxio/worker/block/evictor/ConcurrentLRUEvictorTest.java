@@ -0,0 +1,177 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.evictor;
+
+import alluxio.worker.WorkerContext;
+import alluxio.worker.block.BlockStoreEventListener;
+import alluxio.worker.block.BlockStoreLocation;
+import alluxio.worker.block.TieredBlockStoreTestUtils;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Unit tests for specific behavior of {@link ConcurrentLRUEvictor} such as evicting least recently
+ * used blocks and applying buffered accesses.
+ */
+public class ConcurrentLRUEvictorTest extends EvictorTestBase {
+
+  /**
+   * Sets up all dependencies before a test runs.
+   *
+   * @throws Exception if setting up the meta manager, the lock manager or the evictor fails
+   */
+  @Before
+  public final void before() throws Exception {
+    init(ConcurrentLRUEvictor.class.getName());
+  }
+
+  /**
+   * Resets the context of the worker after a test ran.
+   */
+  @After
+  public void after() {
+    WorkerContext.reset();
+  }
+
+  // access the block to update evictor
+  private void access(long blockId) {
+    ((BlockStoreEventListener) mEvictor).onAccessBlock(SESSION_ID, blockId);
+  }
+
+  /**
+   * Tests that the eviction in the bottom tier works.
+   *
+   * @throws Exception if the caching fails
+   */
+  @Test
+  public void evictInBottomTierTest() throws Exception {
+    int bottomTierOrdinal =
+        TieredBlockStoreTestUtils.TIER_ORDINAL[TieredBlockStoreTestUtils.TIER_ORDINAL.length - 1];
+    // capacity increases with index
+    long[] bottomTierDirCapacity = TieredBlockStoreTestUtils.TIER_CAPACITY_BYTES[bottomTierOrdinal];
+    int nDir = bottomTierDirCapacity.length;
+    // fill in dirs from larger to smaller capacity with blockId equal to BLOCK_ID plus dir index
+    for (int i = nDir - 1; i >= 0; i--) {
+      cache(SESSION_ID, BLOCK_ID + i, bottomTierDirCapacity[i], bottomTierOrdinal, i);
+    }
+    BlockStoreLocation anyDirInBottomTier =
+        BlockStoreLocation.anyDirInTier(TieredBlockStoreTestUtils.TIER_ALIAS[bottomTierOrdinal]);
+    // request smallest capacity and update access time on the evicted block for nDir times, the dir
+    // to evict blocks from should be in the same order as caching
+    for (int i = nDir - 1; i >= 0; i--) {
+      EvictionPlan plan =
+          mEvictor.freeSpaceWithView(bottomTierDirCapacity[0], anyDirInBottomTier, mManagerView);
+      Assert.assertNotNull(plan);
+      Assert.assertTrue(plan.toMove().isEmpty());
+      Assert.assertEquals(1, plan.toEvict().size());
+      long toEvictBlockId = plan.toEvict().get(0).getFirst();
+      Assert.assertEquals(BLOCK_ID + i, toEvictBlockId);
+
+      access(toEvictBlockId);
+    }
+  }
+
+  /**
+   * Tests that accesses which have not been applied to the LRU order yet are taken into account
+   * by the next plan, and that removed blocks are never planned.
+   *
+   * @throws Exception if the caching fails
+   */
+  @Test
+  public void bufferedAccessTest() throws Exception {
+    int bottomTierOrdinal =
+        TieredBlockStoreTestUtils.TIER_ORDINAL[TieredBlockStoreTestUtils.TIER_ORDINAL.length - 1];
+    long capacity = TieredBlockStoreTestUtils.TIER_CAPACITY_BYTES[bottomTierOrdinal][0];
+    int nBlocks = 4;
+    long blockSize = capacity / nBlocks;
+    for (int i = 0; i < nBlocks; i++) {
+      cache(SESSION_ID, BLOCK_ID + i, blockSize, bottomTierOrdinal, 0);
+    }
+    access(BLOCK_ID);
+    ((BlockStoreEventListener) mEvictor).onRemoveBlockByClient(SESSION_ID, BLOCK_ID + 1);
+
+    BlockStoreLocation location =
+        new BlockStoreLocation(TieredBlockStoreTestUtils.TIER_ALIAS[bottomTierOrdinal], 0);
+    // the removed block is still in the dir, so at most three blocks can be freed
+    EvictionPlan plan = mEvictor.freeSpaceWithView(blockSize * 3, location, mManagerView);
+    Assert.assertNotNull(plan);
+    List<Long> evicted = new ArrayList<>();
+    for (int i = 0; i < plan.toEvict().size(); i++) {
+      evicted.add(plan.toEvict().get(i).getFirst());
+    }
+    // the accessed block is now the most recently used one
+    Assert.assertEquals(3, evicted.size());
+    Assert.assertEquals(BLOCK_ID + 2, (long) evicted.get(0));
+    Assert.assertEquals(BLOCK_ID + 3, (long) evicted.get(1));
+    Assert.assertEquals(BLOCK_ID, (long) evicted.get(2));
+  }
+
+  /**
+   * Tests that accesses, commits and removals from many threads leave the evictor able to produce
+   * a valid plan.
+   *
+   * @throws Exception if the caching or a thread fails
+   */
+  @Test
+  public void concurrentEventsTest() throws Exception {
+    final int bottomTierOrdinal =
+        TieredBlockStoreTestUtils.TIER_ORDINAL[TieredBlockStoreTestUtils.TIER_ORDINAL.length - 1];
+    final long capacity = TieredBlockStoreTestUtils.TIER_CAPACITY_BYTES[bottomTierOrdinal][0];
+    final int nBlocks = 10;
+    for (int i = 0; i < nBlocks; i++) {
+      cache(SESSION_ID, BLOCK_ID + i, capacity / nBlocks, bottomTierOrdinal, 0);
+    }
+
+    final int nThreads = 8;
+    final CountDownLatch start = new CountDownLatch(1);
+    final BlockStoreEventListener listener = (BlockStoreEventListener) mEvictor;
+    final BlockStoreLocation location =
+        new BlockStoreLocation(TieredBlockStoreTestUtils.TIER_ALIAS[bottomTierOrdinal], 0);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < nThreads; t++) {
+      // blocks committed and removed by the threads are unknown to the meta manager
+      final long unknownBlockId = BLOCK_ID + nBlocks + t;
+      Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException e) {
+            return;
+          }
+          for (int i = 0; i < 10000; i++) {
+            access(BLOCK_ID + i % nBlocks);
+            listener.onCommitBlock(SESSION_ID, unknownBlockId, location);
+            listener.onRemoveBlockByWorker(SESSION_ID, unknownBlockId);
+          }
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    EvictionPlan plan = mEvictor.freeSpaceWithView(capacity, location, mManagerView);
+    EvictorTestUtils.assertEvictionPlanValid(capacity, plan, mMetaManager);
+    Assert.assertEquals(nBlocks, plan.toEvict().size());
+  }
+}
@@ -15,6 +15,7 @@ import alluxio.AlluxioURI;
 import alluxio.Configuration;
 import alluxio.Constants;
 import alluxio.client.file.FileSystem;
+import alluxio.client.file.ListStatusIterator;
 import alluxio.client.file.URIStatus;
 import alluxio.exception.AlluxioException;
 import alluxio.util.FormatUtils;
@@ -24,6 +25,7 @@ import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Options;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -121,9 +123,13 @@ public final class LsCommand extends WithWildCardPathCommand {
 
   private List<URIStatus> listStatusSortedByIncreasingCreationTime(AlluxioURI path)
       throws IOException {
-    List<URIStatus> statuses;
+    // The entries are fetched a page at a time; they are sorted once all of them have arrived.
+    List<URIStatus> statuses = new ArrayList<>();
     try {
-      statuses = mFileSystem.listStatus(path);
+      ListStatusIterator iterator = mFileSystem.listStatusIterator(path);
+      while (iterator.hasNext()) {
+        statuses.add(iterator.next());
+      }
     } catch (AlluxioException e) {
       throw new IOException(e.getMessage());
     }
@@ -58,6 +58,7 @@ public class RPCMessageIntegrationTest {
   private static final long OFFSET = 22;
   private static final long LENGTH = 33;
   private static final long LOCK_ID = 44;
+  private static final long REQUEST_ID = 55;
 
   // This channel initializer sets up a simple pipeline with the encoder and decoder.
   private static class PipelineInitializer extends ChannelInitializer<SocketChannel> {
@@ -145,6 +146,8 @@ public class RPCMessageIntegrationTest {
     Assert.assertEquals(expected.getLength(), actual.getLength());
     Assert.assertEquals(expected.getLockId(), actual.getLockId());
     Assert.assertEquals(expected.getSessionId(), actual.getSessionId());
+    Assert.assertEquals(expected.getRequestId(), actual.getRequestId());
+    Assert.assertEquals(expected.isKeepAlive(), actual.isKeepAlive());
   }
 
   private void assertValid(RPCBlockReadResponse expected, RPCBlockReadResponse actual) {
@@ -154,6 +157,7 @@ public class RPCMessageIntegrationTest {
     Assert.assertEquals(expected.getOffset(), actual.getOffset());
     Assert.assertEquals(expected.getLength(), actual.getLength());
     Assert.assertEquals(expected.getStatus(), actual.getStatus());
+    Assert.assertEquals(expected.getRequestId(), actual.getRequestId());
     if (expected.getLength() == 0) {
       // Length is 0, so payloads should be null.
       Assert.assertNull(expected.getPayloadDataBuffer());
@@ -171,6 +175,7 @@ public class RPCMessageIntegrationTest {
     Assert.assertEquals(expected.getOffset(), actual.getOffset());
     Assert.assertEquals(expected.getLength(), actual.getLength());
     Assert.assertEquals(expected.getSessionId(), actual.getSessionId());
+    Assert.assertEquals(expected.isKeepAlive(), actual.isKeepAlive());
     if (expected.getLength() > 0) {
       Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer((int) OFFSET, (int) LENGTH, actual
           .getPayloadDataBuffer().getReadOnlyByteBuffer()));
@@ -222,6 +227,14 @@ public class RPCMessageIntegrationTest {
     assertValid(msg, decoded);
   }
 
+  @Test
+  public void RPCBlockReadKeepAliveRequestTest() {
+    RPCBlockReadRequest msg = new RPCBlockReadRequest(BLOCK_ID, OFFSET, LENGTH, LOCK_ID,
+        SESSION_ID, REQUEST_ID, true);
+    RPCBlockReadRequest decoded = (RPCBlockReadRequest) encodeThenDecode(msg);
+    assertValid(msg, decoded);
+  }
+
   @Test
   public void RPCBlockReadResponseTest() {
     ByteBuffer payload = BufferUtils.getIncreasingByteBuffer((int) OFFSET, (int) LENGTH);
@@ -232,6 +245,16 @@ public class RPCMessageIntegrationTest {
     assertValid(msg, decoded);
   }
 
+  @Test
+  public void RPCBlockReadResponseRequestIdTest() {
+    ByteBuffer payload = BufferUtils.getIncreasingByteBuffer((int) OFFSET, (int) LENGTH);
+    RPCBlockReadResponse msg =
+        new RPCBlockReadResponse(BLOCK_ID, OFFSET, LENGTH, new DataByteBuffer(payload, LENGTH),
+            RPCResponse.Status.SUCCESS, REQUEST_ID);
+    RPCBlockReadResponse decoded = (RPCBlockReadResponse) encodeThenDecode(msg);
+    assertValid(msg, decoded);
+  }
+
   @Test
   public void RPCBlockReadResponseEmptyPayloadTest() {
     RPCBlockReadResponse msg =
@@ -270,7 +293,7 @@ public class RPCMessageIntegrationTest {
     ByteBuffer payload = BufferUtils.getIncreasingByteBuffer((int) OFFSET, (int) LENGTH);
     RPCBlockWriteRequest msg =
         new RPCBlockWriteRequest(SESSION_ID, BLOCK_ID, OFFSET, LENGTH, new DataByteBuffer(payload,
-            LENGTH));
+            LENGTH), true);
     RPCBlockWriteRequest decoded = (RPCBlockWriteRequest) encodeThenDecode(msg);
     assertValid(msg, decoded);
   }